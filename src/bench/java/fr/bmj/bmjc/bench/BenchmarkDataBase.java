@@ -0,0 +1,235 @@
+/*
+ * This file is part of Breizh Mahjong Recorder.
+ *
+ * Breizh Mahjong Recorder is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Breizh Mahjong Recorder is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Breizh Mahjong Recorder. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.bmj.bmjc.bench;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import fr.bmj.bmjc.data.game.Tournament;
+import fr.bmj.bmjc.data.game.rcr.RCRGame;
+import fr.bmj.bmjc.data.game.rcr.RCRScore;
+import fr.bmj.bmjc.dataaccess.impl.db.DataAccessDataBaseMigration;
+
+public class BenchmarkDataBase {
+
+	private static final String SCHEMA_FILE = "src/main/sql/Tables.sql";
+	public static final LocalDate FIRST_DATE = LocalDate.of(2010, 1, 1);
+	private static final int GAMES_PER_WEEK = 84;
+	private static final int BATCH_SIZE = 1000;
+
+	public static final Tournament TOURNAMENT = new Tournament((short) 1, "Benchmark");
+	public static final int NUMBER_OF_PLAYERS = 40;
+
+	private static final int UMA_FOUR_PLAYERS[] = {
+		15000,
+		5000,
+		-5000,
+		-15000
+	};
+	private static final int UMA_FIVE_PLAYERS[] = {
+		15000,
+		5000,
+		0,
+		-5000,
+		-15000
+	};
+
+	public static Connection create(final File directory, final int numberOfGames, final long seed) throws Exception {
+		return createDataBase(directory, NUMBER_OF_PLAYERS, numberOfGames, GAMES_PER_WEEK, seed);
+	}
+
+	public static Connection create(final File directory, final int numberOfPlayers, final int numberOfYears, final int gamesPerWeek, final long seed)
+		throws Exception {
+		return createDataBase(directory, numberOfPlayers, numberOfYears * 52 * gamesPerWeek, gamesPerWeek, seed);
+	}
+
+	private static Connection createDataBase(final File directory, final int numberOfPlayers, final int numberOfGames, final int gamesPerWeek,
+		final long seed) throws Exception {
+		if (numberOfPlayers < 5 || numberOfPlayers > Short.MAX_VALUE || gamesPerWeek < 1 || gamesPerWeek > 7 * 99) {
+			throw new IllegalArgumentException("At least 5 players and from 1 to " + 7 * 99 + " games per week");
+		}
+		Class.forName("org.apache.derby.jdbc.EmbeddedDriver");
+		final Connection connection = DriverManager.getConnection("jdbc:derby:" + directory.getAbsolutePath() + ";create=true");
+		createTables(connection);
+		fill(connection, numberOfPlayers, numberOfGames, gamesPerWeek, new Random(seed));
+		return connection;
+	}
+
+	static void createTables(final Connection connection) throws Exception {
+		final String schema = new String(Files.readAllBytes(Paths.get(SCHEMA_FILE)), StandardCharsets.UTF_8);
+		final Statement statement = connection.createStatement();
+		for (final String query : schema.split(";")) {
+			if (query.trim().length() > 0) {
+				statement.execute(query);
+			}
+		}
+		statement.close();
+	}
+
+	private static void fill(final Connection connection, final int numberOfPlayers, final int numberOfGames, final int gamesPerWeek, final Random random)
+		throws SQLException {
+		connection.setAutoCommit(false);
+
+		final PreparedStatement playerStatement = connection
+			.prepareStatement("INSERT INTO player(id, name, display_name, frequent, regular) VALUES(?, ?, ?, ?, ?)");
+		for (short playerId = 1; playerId <= numberOfPlayers; playerId++) {
+			playerStatement.setShort(1, playerId);
+			playerStatement.setString(2, "Player " + playerId);
+			playerStatement.setString(3, "P" + playerId);
+			playerStatement.setBoolean(4, true);
+			playerStatement.setBoolean(5, playerId % 4 != 0);
+			playerStatement.executeUpdate();
+		}
+		playerStatement.close();
+
+		final PreparedStatement tournamentStatement = connection.prepareStatement("INSERT INTO rcr_tournament(id, name) VALUES(?, ?)");
+		tournamentStatement.setShort(1, TOURNAMENT.getId());
+		tournamentStatement.setString(2, TOURNAMENT.getName());
+		tournamentStatement.executeUpdate();
+		tournamentStatement.close();
+
+		final PreparedStatement idStatement = connection
+			.prepareStatement("INSERT INTO rcr_game_id(id, rcr_tournament_id, date, nb_players, nb_rounds) VALUES(?, ?, ?, ?, ?)");
+		final PreparedStatement scoreStatement = connection.prepareStatement(
+			"INSERT INTO rcr_game_score(rcr_game_id, player_id, ranking, game_score, uma_score, final_score) VALUES(?, ?, ?, ?, ?, ?)");
+		final short[] playerIds = new short[5];
+		final int[] gameScores = new int[5];
+		LocalDate lastDate = null;
+		int gameOfDay = 0;
+		for (int gameIndex = 0; gameIndex < numberOfGames; gameIndex++) {
+			final LocalDate date = FIRST_DATE.plusWeeks(gameIndex / gamesPerWeek).plusDays(gameIndex % gamesPerWeek * 7 / gamesPerWeek);
+			gameOfDay = date.equals(lastDate) ? gameOfDay + 1 : 1;
+			lastDate = date;
+			final long id = ((date.getYear() * 100 + date.getMonthValue()) * 100 + date.getDayOfMonth()) * 100L + gameOfDay;
+			final int nbPlayers = random.nextInt(4) == 0 ? 5 : 4;
+
+			idStatement.setLong(1, id);
+			idStatement.setShort(2, TOURNAMENT.getId());
+			idStatement.setDate(3, Date.valueOf(date));
+			idStatement.setShort(4, (short) nbPlayers);
+			idStatement.setShort(5, (short) (random.nextBoolean() ? 2 : 4));
+			idStatement.addBatch();
+
+			generateGame(random, numberOfPlayers, nbPlayers, playerIds, gameScores);
+			final int[] uma = nbPlayers == 4 ? UMA_FOUR_PLAYERS : UMA_FIVE_PLAYERS;
+			for (int ranking = 0; ranking < nbPlayers; ranking++) {
+				scoreStatement.setLong(1, id);
+				scoreStatement.setShort(2, playerIds[ranking]);
+				scoreStatement.setShort(3, (short) (ranking + 1));
+				scoreStatement.setInt(4, gameScores[ranking]);
+				scoreStatement.setInt(5, uma[ranking]);
+				scoreStatement.setInt(6, gameScores[ranking] + uma[ranking]);
+				scoreStatement.addBatch();
+			}
+
+			if ((gameIndex + 1) % BATCH_SIZE == 0) {
+				idStatement.executeBatch();
+				scoreStatement.executeBatch();
+				connection.commit();
+			}
+		}
+		idStatement.executeBatch();
+		scoreStatement.executeBatch();
+		connection.commit();
+		idStatement.close();
+		scoreStatement.close();
+
+		connection.setAutoCommit(true);
+
+		new DataAccessDataBaseMigration(connection).migrate();
+	}
+
+	public static RCRGame generateRCRGame(final Random random, final LocalDate date) {
+		return generateRCRGame(random, date, NUMBER_OF_PLAYERS);
+	}
+
+	public static RCRGame generateRCRGame(final Random random, final LocalDate date, final int numberOfPlayers) {
+		final int nbPlayers = random.nextInt(4) == 0 ? 5 : 4;
+		final short[] playerIds = new short[5];
+		final int[] gameScores = new int[5];
+		generateGame(random, numberOfPlayers, nbPlayers, playerIds, gameScores);
+		final int[] uma = nbPlayers == 4 ? UMA_FOUR_PLAYERS : UMA_FIVE_PLAYERS;
+		final List<RCRScore> scores = new ArrayList<RCRScore>();
+		for (int ranking = 0; ranking < nbPlayers; ranking++) {
+			scores.add(new RCRScore(playerIds[ranking], null, null, (short) (ranking + 1), gameScores[ranking], uma[ranking],
+				gameScores[ranking] + uma[ranking]));
+		}
+		return new RCRGame(0, TOURNAMENT.getId(), date.getYear(), date.getMonthValue() - 1, date.getDayOfMonth(),
+			(short) (random.nextBoolean() ? 2 : 4), (short) nbPlayers, scores);
+	}
+
+	private static void generateGame(final Random random, final int numberOfPlayers, final int nbPlayers, final short[] playerIds,
+		final int[] gameScores) {
+		for (int index = 0; index < nbPlayers; index++) {
+			boolean drawn;
+			do {
+				playerIds[index] = (short) (random.nextInt(numberOfPlayers) + 1);
+				drawn = false;
+				for (int previous = 0; previous < index; previous++) {
+					drawn |= playerIds[previous] == playerIds[index];
+				}
+			} while (drawn);
+		}
+
+		int total = 0;
+		for (int index = 0; index < nbPlayers - 1; index++) {
+			gameScores[index] = (random.nextInt(601) - 300) * 100;
+			total += gameScores[index];
+		}
+		gameScores[nbPlayers - 1] = -total;
+		for (int index = 1; index < nbPlayers; index++) {
+			final int score = gameScores[index];
+			int position = index;
+			while (position > 0 && gameScores[position - 1] < score) {
+				gameScores[position] = gameScores[position - 1];
+				position--;
+			}
+			gameScores[position] = score;
+		}
+	}
+
+	public static void shutdown(final File directory) {
+		try {
+			DriverManager.getConnection("jdbc:derby:" + directory.getAbsolutePath() + ";shutdown=true");
+		} catch (final SQLException e) {
+			// Derby always reports a shutdown with an exception
+		}
+	}
+
+	public static void delete(final File file) {
+		final File[] children = file.listFiles();
+		if (children != null) {
+			for (final File child : children) {
+				delete(child);
+			}
+		}
+		file.delete();
+	}
+
+}
@@ -0,0 +1,96 @@
+/*
+ * This file is part of Breizh Mahjong Recorder.
+ *
+ * Breizh Mahjong Recorder is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Breizh Mahjong Recorder is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Breizh Mahjong Recorder. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.bmj.bmjc.bench;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import fr.bmj.bmjc.dataaccess.abs.UpdateResult;
+import fr.bmj.bmjc.dataaccess.impl.db.DataAccessDataBaseStatementCache;
+import fr.bmj.bmjc.dataaccess.impl.db.rcr.DataAccessDataBaseRCR;
+
+public class BenchmarkRCRAddGame {
+
+	private static final int GAMES_PER_DAY = 64;
+
+	public static void main(final String[] args) throws Exception {
+		final int numberOfGames = args.length > 0 ? Integer.parseInt(args[0]) : 50000;
+		final int numberOfTables = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+		final int gamesPerTable = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+
+		final File directory = new File(Files.createTempDirectory("bmjc-bench").toFile(), "DataBase");
+		try {
+			long time = System.nanoTime();
+			final Connection connection = BenchmarkDataBase.create(directory, numberOfGames, 0);
+			System.out.println("Generated " + numberOfGames + " games in " + (System.nanoTime() - time) / 1000000 + " ms");
+
+			final DataAccessDataBaseRCR dataAccess = new DataAccessDataBaseRCR(connection);
+			final LocalDate firstDate = LocalDate.of(2100, 1, 1);
+			final AtomicInteger submissionIndex = new AtomicInteger();
+			final AtomicInteger failures = new AtomicInteger();
+			final long latencies[] = new long[numberOfTables * gamesPerTable];
+			final CountDownLatch start = new CountDownLatch(1);
+			final Thread tables[] = new Thread[numberOfTables];
+			for (int tableIndex = 0; tableIndex < numberOfTables; tableIndex++) {
+				final Random random = new Random(tableIndex);
+				tables[tableIndex] = new Thread(() -> {
+					try {
+						start.await();
+						for (int gameIndex = 0; gameIndex < gamesPerTable; gameIndex++) {
+							final int index = submissionIndex.getAndIncrement();
+							final LocalDate date = firstDate.plusDays(index / GAMES_PER_DAY);
+							final long gameStart = System.nanoTime();
+							final UpdateResult result = dataAccess.addRCRGame(BenchmarkDataBase.generateRCRGame(random, date));
+							latencies[index] = System.nanoTime() - gameStart;
+							if (!result.getResult()) {
+								failures.incrementAndGet();
+							}
+						}
+					} catch (final InterruptedException e) {
+						e.printStackTrace();
+					}
+				});
+				tables[tableIndex].start();
+			}
+
+			time = System.nanoTime();
+			start.countDown();
+			for (final Thread table : tables) {
+				table.join();
+			}
+			final long elapsed = System.nanoTime() - time;
+
+			Arrays.sort(latencies);
+			System.out.println(numberOfTables + " tables, " + latencies.length + " games in " + elapsed / 1000000 + " ms: "
+				+ latencies.length * 1000000000L / elapsed + " games/s, " + failures.get() + " failures");
+			System.out.println("Latency: median " + latencies[latencies.length / 2] / 1000 + " us, 99th percentile "
+				+ latencies[latencies.length * 99 / 100] / 1000 + " us, max " + latencies[latencies.length - 1] / 1000 + " us");
+			System.out.println(DataAccessDataBaseStatementCache.forConnection(connection));
+			connection.close();
+		} finally {
+			BenchmarkDataBase.shutdown(directory);
+			BenchmarkDataBase.delete(directory.getParentFile());
+		}
+	}
+
+}
@@ -0,0 +1,75 @@
+/*
+ * This file is part of Breizh Mahjong Recorder.
+ *
+ * Breizh Mahjong Recorder is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Breizh Mahjong Recorder is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Breizh Mahjong Recorder. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.bmj.bmjc.bench;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.sql.Connection;
+
+import fr.bmj.bmjc.dataaccess.impl.db.DataAccessDataBaseConnectionPool;
+import fr.bmj.bmjc.dataaccess.impl.db.rcr.DataAccessDataBaseRCR;
+import fr.bmj.bmjc.enums.EnumPeriodMode;
+import fr.bmj.bmjc.enums.EnumScoreMode;
+
+public class BenchmarkRCRConnectionPool {
+
+	public static void main(final String[] args) throws Exception {
+		final int numberOfGames = args.length > 0 ? Integer.parseInt(args[0]) : 50000;
+		final int nbReadConnections = args.length > 1 ? Integer.parseInt(args[1]) : DataAccessDataBaseConnectionPool.DEFAULT_READ_CONNECTIONS;
+		final int iterations = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+		final File directory = new File(Files.createTempDirectory("bmjc-bench").toFile(), "DataBase");
+		try {
+			final Connection connection = BenchmarkDataBase.create(directory, numberOfGames, 0);
+			final String url = "jdbc:derby:" + directory.getAbsolutePath();
+
+			final DataAccessDataBaseConnectionPool noPool = new DataAccessDataBaseConnectionPool(url, connection, 0);
+			run(new DataAccessDataBaseRCR(connection, noPool), "Single connection", iterations);
+			final DataAccessDataBaseConnectionPool pool = new DataAccessDataBaseConnectionPool(url, connection, nbReadConnections);
+			run(new DataAccessDataBaseRCR(connection, pool), nbReadConnections + " read connections", iterations);
+			System.out.println(pool);
+			pool.close();
+			connection.close();
+		} finally {
+			BenchmarkDataBase.shutdown(directory);
+			BenchmarkDataBase.delete(directory.getParentFile());
+		}
+	}
+
+	private static void run(final DataAccessDataBaseRCR dataAccess, final String name, final int iterations) throws InterruptedException {
+		long best = Long.MAX_VALUE;
+		for (int iteration = 0; iteration < iterations; iteration++) {
+			final Thread threads[] = {
+				new Thread(() -> dataAccess.getRCRDataPackageTrend(BenchmarkDataBase.TOURNAMENT, EnumPeriodMode.ALL, 0, 0, 0, 0)),
+				new Thread(() -> dataAccess.getRCRDataPackageScoreAnalyze(BenchmarkDataBase.TOURNAMENT, EnumPeriodMode.ALL, 0, 0, 0, 0)),
+				new Thread(() -> dataAccess.getRCRDataPackagePersonalAnalyze(BenchmarkDataBase.TOURNAMENT, (short) 1, EnumScoreMode.FINAL_SCORE,
+					EnumPeriodMode.ALL, 0, 0, 0, 0)),
+				new Thread(() -> dataAccess.getRCRGameDates(BenchmarkDataBase.TOURNAMENT))
+			};
+			final long time = System.nanoTime();
+			for (final Thread thread : threads) {
+				thread.start();
+			}
+			for (final Thread thread : threads) {
+				thread.join();
+			}
+			best = Math.min(best, System.nanoTime() - time);
+		}
+		System.out.println(name + ": best " + best / 1000000 + " ms");
+	}
+
+}
@@ -0,0 +1,210 @@
+/*
+ * This file is part of Breizh Mahjong Recorder.
+ *
+ * Breizh Mahjong Recorder is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Breizh Mahjong Recorder is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Breizh Mahjong Recorder. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.bmj.bmjc.bench;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import fr.bmj.bmjc.data.game.rcr.RCRGame;
+import fr.bmj.bmjc.data.game.rcr.RCRGameDate;
+import fr.bmj.bmjc.data.stat.rcr.RCRDataPackagePersonalAnalyze;
+import fr.bmj.bmjc.data.stat.rcr.RCRDataPackageScoreAnalyze;
+import fr.bmj.bmjc.data.stat.rcr.RCRDataPackageTrend;
+import fr.bmj.bmjc.data.stat.rcr.RCRTotalScore;
+import fr.bmj.bmjc.dataaccess.abs.UpdateResult;
+import fr.bmj.bmjc.dataaccess.abs.rcr.DataAccessRCR;
+import fr.bmj.bmjc.dataaccess.impl.cache.rcr.DataAccessCacheRCR;
+import fr.bmj.bmjc.dataaccess.impl.db.rcr.DataAccessDataBaseRCR;
+import fr.bmj.bmjc.dataaccess.impl.db.rcr.DataAccessDataBaseRCRInMemory;
+import fr.bmj.bmjc.enums.EnumPeriodMode;
+import fr.bmj.bmjc.enums.EnumRankingMode;
+import fr.bmj.bmjc.enums.EnumScoreMode;
+import fr.bmj.bmjc.enums.EnumSortingMode;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BenchmarkRCRDataAccess {
+
+	private static final int YEAR = BenchmarkDataBase.FIRST_DATE.getYear();
+	private static final int MONTH = 5;
+	private static final int ADDED_GAMES_PER_DAY = 64;
+
+	@State(Scope.Benchmark)
+	public static class ClubDataBase {
+
+		@Param({
+			"40"
+		})
+		public int numberOfPlayers;
+
+		@Param({
+			"5"
+		})
+		public int numberOfYears;
+
+		@Param({
+			"100"
+		})
+		public int gamesPerWeek;
+
+		@Param({
+			"dataBase",
+			"inMemory"
+		})
+		public String implementation;
+
+		private File directory;
+		private Connection connection;
+		private DataAccessRCR dataAccess;
+		private DataAccessDataBaseRCR dataAccessDataBase;
+		private DataAccessCacheRCR dataAccessCache;
+		private long gameIds[];
+
+		@Setup(Level.Trial)
+		public void setUp() throws Exception {
+			directory = new File(Files.createTempDirectory("bmjc-jmh").toFile(), "DataBase");
+			connection = BenchmarkDataBase.create(directory, numberOfPlayers, numberOfYears, gamesPerWeek, 0);
+			if (implementation.equals("inMemory")) {
+				dataAccessCache = new DataAccessCacheRCR(new DataAccessDataBaseRCRInMemory(connection), DataAccessCacheRCR.getConfiguredSize());
+				dataAccess = dataAccessCache;
+			} else {
+				dataAccessDataBase = new DataAccessDataBaseRCR(connection);
+				dataAccess = dataAccessDataBase;
+			}
+
+			final List<RCRGameDate> gameDates = dataAccess.getRCRGameDates(BenchmarkDataBase.TOURNAMENT);
+			gameIds = new long[gameDates.size()];
+			for (int index = 0; index < gameIds.length; index++) {
+				gameIds[index] = gameDates.get(index).getId();
+			}
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() throws Exception {
+			connection.close();
+			BenchmarkDataBase.shutdown(directory);
+			BenchmarkDataBase.delete(directory.getParentFile());
+		}
+
+	}
+
+	@State(Scope.Benchmark)
+	public static class Uncached {
+
+		@Setup(Level.Invocation)
+		public void invalidate(final ClubDataBase dataBase) {
+			if (dataBase.dataAccessCache != null) {
+				dataBase.dataAccessCache.invalidate();
+			}
+			if (dataBase.dataAccessDataBase != null) {
+				dataBase.dataAccessDataBase.reloadPlayers();
+			}
+		}
+
+	}
+
+	@State(Scope.Benchmark)
+	public static class Period {
+
+		@Param({
+			"ALL",
+			"YEAR",
+			"MONTH"
+		})
+		public EnumPeriodMode periodMode;
+
+	}
+
+	@State(Scope.Benchmark)
+	public static class Ranking {
+
+		@Param
+		public EnumRankingMode rankingMode;
+
+	}
+
+	@State(Scope.Thread)
+	public static class Cursor {
+
+		private final Random random = new Random(0);
+		private int addedGames;
+
+	}
+
+	@Benchmark
+	public List<RCRTotalScore> ranking(final ClubDataBase dataBase, final Uncached uncached, final Ranking ranking, final Period period) {
+		return dataBase.dataAccess.getRCRDataPackageRanking(BenchmarkDataBase.TOURNAMENT, ranking.rankingMode, EnumSortingMode.DESCENDING,
+			period.periodMode, YEAR, 0, MONTH, 1);
+	}
+
+	@Benchmark
+	public RCRDataPackageTrend trend(final ClubDataBase dataBase, final Uncached uncached, final Period period) {
+		return dataBase.dataAccess.getRCRDataPackageTrend(BenchmarkDataBase.TOURNAMENT, period.periodMode, YEAR, 0, MONTH, 1);
+	}
+
+	@Benchmark
+	public RCRDataPackagePersonalAnalyze personalAnalyze(final ClubDataBase dataBase, final Uncached uncached, final Period period) {
+		return dataBase.dataAccess.getRCRDataPackagePersonalAnalyze(BenchmarkDataBase.TOURNAMENT, (short) 1, EnumScoreMode.FINAL_SCORE,
+			period.periodMode, YEAR, 0, MONTH, 1);
+	}
+
+	@Benchmark
+	public Map<Short, RCRDataPackagePersonalAnalyze> personalAnalyzeAllPlayers(final ClubDataBase dataBase, final Uncached uncached, final Period period) {
+		return dataBase.dataAccess.getRCRDataPackagePersonalAnalyzeAllPlayers(BenchmarkDataBase.TOURNAMENT, EnumScoreMode.FINAL_SCORE,
+			period.periodMode, YEAR, 0, MONTH, 1);
+	}
+
+	@Benchmark
+	public RCRDataPackageScoreAnalyze scoreAnalyze(final ClubDataBase dataBase, final Uncached uncached, final Period period) {
+		return dataBase.dataAccess.getRCRDataPackageScoreAnalyze(BenchmarkDataBase.TOURNAMENT, period.periodMode, YEAR, 0, MONTH, 1);
+	}
+
+	@Benchmark
+	public RCRGame getRCRGame(final ClubDataBase dataBase, final Cursor cursor) {
+		return dataBase.dataAccess.getRCRGame(dataBase.gameIds[cursor.random.nextInt(dataBase.gameIds.length)]);
+	}
+
+	@Benchmark
+	public UpdateResult addRCRGame(final ClubDataBase dataBase, final Cursor cursor) {
+		final LocalDate date = LocalDate.of(2100, 1, 1).plusDays(cursor.addedGames++ / ADDED_GAMES_PER_DAY);
+		return dataBase.dataAccess.addRCRGame(BenchmarkDataBase.generateRCRGame(cursor.random, date, dataBase.numberOfPlayers));
+	}
+
+}
@@ -0,0 +1,255 @@
+/*
+ * This file is part of Breizh Mahjong Recorder.
+ *
+ * Breizh Mahjong Recorder is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Breizh Mahjong Recorder is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Breizh Mahjong Recorder. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.bmj.bmjc.bench;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import fr.bmj.bmjc.dataaccess.impl.cache.rcr.DataAccessCacheRCR;
+import fr.bmj.bmjc.dataaccess.impl.db.rcr.DataAccessDataBaseRCRInMemory;
+import fr.bmj.bmjc.enums.EnumRankingMode;
+import fr.bmj.bmjc.server.RCRHttpServer;
+
+public class BenchmarkRCRHttpServer {
+
+	private static final int NUMBER_OF_GAMES = 43800;
+	private static final Pattern TOURNAMENT_ID = Pattern.compile("\"id\":(\\d+)");
+	private static final Pattern PLAYER_ID = Pattern.compile("\"playerId\":(\\d+)");
+	private static final Pattern YEAR = Pattern.compile("(\\d+)");
+
+	public static void main(final String[] args) throws Exception {
+		final String target = args.length > 0 ? args[0] : "local";
+		final int numberOfClients = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+		final int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+		final int writesPerSecond = args.length > 3 ? Integer.parseInt(args[3]) : 0;
+
+		if (!target.equals("local")) {
+			run(target, numberOfClients, seconds);
+			return;
+		}
+
+		final File directory = new File(Files.createTempDirectory("bmjc-bench").toFile(), "DataBase");
+		try {
+			long time = System.nanoTime();
+			final Connection connection = BenchmarkDataBase.create(directory, NUMBER_OF_GAMES, 0);
+			System.out.println("Generated " + NUMBER_OF_GAMES + " games in " + (System.nanoTime() - time) / 1000000 + " ms");
+
+			final DataAccessCacheRCR dataAccess = new DataAccessCacheRCR(new DataAccessDataBaseRCRInMemory(connection), DataAccessCacheRCR.DEFAULT_SIZE);
+			final RCRHttpServer server = new RCRHttpServer(dataAccess, dataAccess::getGeneration, 0, RCRHttpServer.getConfiguredWorkers(),
+				RCRHttpServer.DEFAULT_CACHE_SIZE);
+			server.start();
+
+			final AtomicLong nbWrites = new AtomicLong();
+			final Thread writer = new Thread(() -> {
+				final Random random = new Random(1);
+				final LocalDate firstDate = LocalDate.of(2100, 1, 1);
+				try {
+					while (writesPerSecond > 0) {
+						Thread.sleep(1000 / writesPerSecond);
+						dataAccess.addRCRGame(BenchmarkDataBase.generateRCRGame(random, firstDate.plusDays(nbWrites.getAndIncrement() / 64)));
+					}
+				} catch (final InterruptedException e) {
+				}
+			});
+			writer.start();
+
+			run("http://localhost:" + server.getPort(), numberOfClients, seconds);
+
+			writer.interrupt();
+			writer.join();
+			server.stop();
+			System.out.println(nbWrites.get() + " games added during the test");
+			System.out.println(server);
+			System.out.println(dataAccess);
+			connection.close();
+		} finally {
+			BenchmarkDataBase.shutdown(directory);
+			BenchmarkDataBase.delete(directory.getParentFile());
+		}
+	}
+
+	private static void run(final String baseUrl, final int numberOfClients, final int seconds) throws Exception {
+		final List<String> paths = getPaths(baseUrl);
+		System.out.println(paths.size() + " distinct requests, " + numberOfClients + " clients, " + seconds + " s");
+
+		final long latencies[][] = new long[numberOfClients][];
+		final int counts[] = new int[numberOfClients];
+		final long statuses[][] = new long[numberOfClients][6];
+		final long bytes[] = new long[numberOfClients];
+		final CountDownLatch start = new CountDownLatch(1);
+		final Thread clients[] = new Thread[numberOfClients];
+		for (int clientIndex = 0; clientIndex < numberOfClients; clientIndex++) {
+			final int client = clientIndex;
+			clients[client] = new Thread(() -> {
+				final Random random = new Random(client);
+				final Map<String, String> eTags = new HashMap<String, String>();
+				latencies[client] = new long[1024];
+				try {
+					start.await();
+					final long end = System.nanoTime() + seconds * 1000000000L;
+					while (System.nanoTime() < end) {
+						final String path = paths.get(random.nextInt(paths.size()));
+						final long requestStart = System.nanoTime();
+						final HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+						connection.setRequestProperty("Accept-Encoding", "gzip");
+						final String eTag = eTags.get(path);
+						if (eTag != null) {
+							connection.setRequestProperty("If-None-Match", eTag);
+						}
+						final int status = connection.getResponseCode();
+						bytes[client] += drain(status < 400 ? connection.getInputStream() : connection.getErrorStream());
+						if (connection.getHeaderField("ETag") != null) {
+							eTags.put(path, connection.getHeaderField("ETag"));
+						}
+						final long latency = System.nanoTime() - requestStart;
+
+						if (counts[client] == latencies[client].length) {
+							latencies[client] = Arrays.copyOf(latencies[client], counts[client] * 2);
+						}
+						latencies[client][counts[client]++] = latency;
+						statuses[client][Math.min(status / 100, 5)]++;
+					}
+				} catch (final Exception e) {
+					e.printStackTrace();
+				}
+			});
+			clients[client].start();
+		}
+
+		final long time = System.nanoTime();
+		start.countDown();
+		for (final Thread client : clients) {
+			client.join();
+		}
+		final long elapsed = System.nanoTime() - time;
+
+		int total = 0;
+		for (final int count : counts) {
+			total += count;
+		}
+		final long allLatencies[] = new long[total];
+		int offset = 0;
+		final long allStatuses[] = new long[6];
+		long allBytes = 0;
+		for (int client = 0; client < numberOfClients; client++) {
+			System.arraycopy(latencies[client], 0, allLatencies, offset, counts[client]);
+			offset += counts[client];
+			for (int index = 0; index < allStatuses.length; index++) {
+				allStatuses[index] += statuses[client][index];
+			}
+			allBytes += bytes[client];
+		}
+		if (total == 0) {
+			System.out.println("No request completed");
+			return;
+		}
+
+		Arrays.sort(allLatencies);
+		System.out.println(total + " requests in " + elapsed / 1000000 + " ms: " + total * 1000000000L / elapsed + " requests/s, "
+			+ allBytes * 1000000000L / elapsed / 1024 + " KB/s");
+		System.out.println("Status: 2xx " + allStatuses[2] + ", 304 " + allStatuses[3] + ", 4xx " + allStatuses[4] + ", 5xx " + allStatuses[5]);
+		System.out.println("Latency: median " + allLatencies[total / 2] / 1000 + " us, 90th percentile " + allLatencies[total * 9 / 10] / 1000
+			+ " us, 99th percentile " + allLatencies[total * 99 / 100] / 1000 + " us, max " + allLatencies[total - 1] / 1000 + " us");
+	}
+
+	private static List<String> getPaths(final String baseUrl) throws Exception {
+		final String tournamentId = first(TOURNAMENT_ID, get(baseUrl + "/api/tournaments"));
+		final String tournament = "tournament=" + tournamentId;
+		final List<String> periods = new ArrayList<String>();
+		periods.add("all");
+		periods.addAll(all(YEAR, get(baseUrl + "/api/years?" + tournament)));
+		final List<String> players = all(PLAYER_ID, get(baseUrl + "/api/players"));
+
+		final List<String> paths = new ArrayList<String>();
+		for (final String period : periods) {
+			for (final EnumRankingMode rankingMode : EnumRankingMode.values()) {
+				paths.add("/api/ranking?" + tournament + "&mode=" + rankingMode.name() + "&period=" + period);
+			}
+			paths.add("/api/trend?" + tournament + "&period=" + period);
+			paths.add("/api/cards?" + tournament + "&period=" + period);
+		}
+		for (final String player : players) {
+			paths.add("/api/personal?" + tournament + "&player=" + player);
+		}
+		return paths;
+	}
+
+	private static String get(final String url) throws Exception {
+		final HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+		if (connection.getResponseCode() != 200) {
+			throw new IllegalStateException(url + ": " + connection.getResponseCode());
+		}
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		final InputStream input = connection.getInputStream();
+		final byte buffer[] = new byte[8192];
+		int length;
+		while ((length = input.read(buffer)) >= 0) {
+			output.write(buffer, 0, length);
+		}
+		input.close();
+		return new String(output.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+	private static long drain(final InputStream input) throws Exception {
+		if (input == null) {
+			return 0;
+		}
+		final byte buffer[] = new byte[8192];
+		long total = 0;
+		int length;
+		while ((length = input.read(buffer)) >= 0) {
+			total += length;
+		}
+		input.close();
+		return total;
+	}
+
+	private static String first(final Pattern pattern, final String text) {
+		final Matcher matcher = pattern.matcher(text);
+		if (!matcher.find()) {
+			throw new IllegalStateException("Nothing found in " + text);
+		}
+		return matcher.group(1);
+	}
+
+	private static List<String> all(final Pattern pattern, final String text) {
+		final List<String> values = new ArrayList<String>();
+		final Matcher matcher = pattern.matcher(text);
+		while (matcher.find()) {
+			values.add(matcher.group(1));
+		}
+		return values;
+	}
+
+}
@@ -0,0 +1,120 @@
+/*
+ * This file is part of Breizh Mahjong Recorder.
+ *
+ * Breizh Mahjong Recorder is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Breizh Mahjong Recorder is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Breizh Mahjong Recorder. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.bmj.bmjc.bench;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Connection;
+
+import fr.bmj.bmjc.dataaccess.impl.db.rcr.DataAccessDataBaseRCRPersonalAnalyze;
+import fr.bmj.bmjc.dataaccess.impl.db.rcr.DataAccessDataBaseRCRRanking;
+import fr.bmj.bmjc.dataaccess.impl.db.rcr.DataAccessDataBaseRCRTrend;
+import fr.bmj.bmjc.enums.EnumPeriodMode;
+import fr.bmj.bmjc.enums.EnumRankingMode;
+import fr.bmj.bmjc.enums.EnumScoreMode;
+import fr.bmj.bmjc.enums.EnumSortingMode;
+
+public class BenchmarkRCRIndexUsage {
+
+	private static final String CHECKED_TABLES[] = {
+		"RCR_GAME_ID",
+		"RCR_GAME_SCORE",
+		"RCR_PLAYER_PERIOD_STATS"
+	};
+
+	private interface Query {
+		public void run();
+	}
+
+	public static void main(final String[] args) throws Exception {
+		final int numberOfGames = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+
+		final File directory = new File(Files.createTempDirectory("bmjc-bench").toFile(), "DataBase");
+		final File logFile = new File(directory.getParentFile(), "derby.log");
+		System.setProperty("derby.stream.error.file", logFile.getAbsolutePath());
+		System.setProperty("derby.language.logQueryPlan", "true");
+		boolean success = true;
+		try {
+			final Connection connection = BenchmarkDataBase.create(directory, numberOfGames, 0);
+			final DataAccessDataBaseRCRRanking ranking = new DataAccessDataBaseRCRRanking(connection);
+			final DataAccessDataBaseRCRTrend trend = new DataAccessDataBaseRCRTrend(connection);
+			final DataAccessDataBaseRCRPersonalAnalyze personalAnalyze = new DataAccessDataBaseRCRPersonalAnalyze(connection);
+
+			success &= check(logFile, "Ranking, month", () -> ranking.getRCRDataPackageRanking(BenchmarkDataBase.TOURNAMENT,
+				EnumRankingMode.TOTAL_FINAL_SCORE, EnumSortingMode.DESCENDING, EnumPeriodMode.MONTH, 2011, 0, 5, 0));
+			success &= check(logFile, "Ranking, mensual", () -> ranking.getRCRDataPackageRanking(BenchmarkDataBase.TOURNAMENT,
+				EnumRankingMode.MENSUAL_TOTAL_FINAL_SCORE, EnumSortingMode.DESCENDING, EnumPeriodMode.YEAR, 2011, 0, 0, 0));
+			success &= check(logFile, "Trend, month",
+				() -> trend.getRCRDataPackageTrend(BenchmarkDataBase.TOURNAMENT, EnumPeriodMode.MONTH, 2011, 0, 5, 0));
+			success &= check(logFile, "Personal analysis, month", () -> personalAnalyze.getRCRDataPackagePersonalAnalyze(BenchmarkDataBase.TOURNAMENT,
+				(short) 1, EnumScoreMode.FINAL_SCORE, EnumPeriodMode.MONTH, 2011, 0, 5, 0));
+			success &= check(logFile, "Personal analysis, all", () -> personalAnalyze.getRCRDataPackagePersonalAnalyze(BenchmarkDataBase.TOURNAMENT,
+				(short) 1, EnumScoreMode.FINAL_SCORE, EnumPeriodMode.ALL, 0, 0, 0, 0));
+			connection.close();
+		} finally {
+			BenchmarkDataBase.shutdown(directory);
+			BenchmarkDataBase.delete(directory.getParentFile());
+		}
+		System.out.println(success ? "All the queries use index scans" : "Some queries scan whole tables");
+		System.exit(success ? 0 : 1);
+	}
+
+	private static boolean check(final File logFile, final String name, final Query query) throws Exception {
+		final long offset = logFile.length();
+		query.run();
+		final String plans = readFrom(logFile, offset);
+
+		boolean success = true;
+		final StringBuilder report = new StringBuilder(name);
+		for (final String table : CHECKED_TABLES) {
+			final int indexScans = count(plans, "Index Scan ResultSet for " + table);
+			final int tableScans = count(plans, "Table Scan ResultSet for " + table);
+			if (indexScans + tableScans > 0) {
+				report.append(", " + table + ": " + indexScans + " index scans, " + tableScans + " table scans");
+			}
+			success &= tableScans == 0;
+		}
+		report.append(success ? " OK" : " FAILED");
+		System.out.println(report);
+		return success;
+	}
+
+	private static String readFrom(final File file, final long offset) throws Exception {
+		final RandomAccessFile input = new RandomAccessFile(file, "r");
+		try {
+			input.seek(offset);
+			final byte content[] = new byte[(int) (input.length() - offset)];
+			input.readFully(content);
+			return new String(content, StandardCharsets.UTF_8);
+		} finally {
+			input.close();
+		}
+	}
+
+	private static int count(final String text, final String pattern) {
+		int count = 0;
+		int index = text.indexOf(pattern);
+		while (index >= 0) {
+			count++;
+			index = text.indexOf(pattern, index + pattern.length());
+		}
+		return count;
+	}
+
+}
@@ -0,0 +1,76 @@
+/*
+ * This file is part of Breizh Mahjong Recorder.
+ *
+ * Breizh Mahjong Recorder is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Breizh Mahjong Recorder is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Breizh Mahjong Recorder. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.bmj.bmjc.bench;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.sql.Connection;
+
+import fr.bmj.bmjc.data.stat.rcr.RCRDataPackageScoreAnalyze;
+import fr.bmj.bmjc.dataaccess.impl.db.DataAccessDataBaseStatementCache;
+import fr.bmj.bmjc.dataaccess.impl.db.rcr.DataAccessDataBaseRCRScoreAnalyze;
+import fr.bmj.bmjc.enums.EnumPeriodMode;
+
+public class BenchmarkRCRScoreAnalyze {
+
+	public static void main(final String[] args) throws Exception {
+		final int numberOfGames = args.length > 0 ? Integer.parseInt(args[0]) : 50000;
+		final int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+		final File directory = new File(Files.createTempDirectory("bmjc-bench").toFile(), "DataBase");
+		try {
+			long time = System.nanoTime();
+			final Connection connection = BenchmarkDataBase.create(directory, numberOfGames, 0);
+			System.out.println("Generated " + numberOfGames + " games in " + (System.nanoTime() - time) / 1000000 + " ms");
+
+			final DataAccessDataBaseRCRScoreAnalyze dataAccess = new DataAccessDataBaseRCRScoreAnalyze(connection);
+			dataAccess.setStreamingMode(false);
+			final RCRDataPackageScoreAnalyze perGame = run(dataAccess, "Per game query", iterations);
+			dataAccess.setStreamingMode(true);
+			final RCRDataPackageScoreAnalyze streaming = run(dataAccess, "Single ordered join", iterations);
+
+			double maxDifference = 0.0;
+			for (int x = 0; x < perGame.scores.getNumberOfPlayers(); x++) {
+				for (int y = 0; y < perGame.scores.getNumberOfPlayers(); y++) {
+					maxDifference = Math.max(maxDifference, Math.abs(perGame.scores.get(x, y) - streaming.scores.get(x, y)));
+				}
+			}
+			System.out.println("Maximum difference between the two matrices: " + maxDifference);
+			System.out.println(DataAccessDataBaseStatementCache.forConnection(connection));
+			connection.close();
+		} finally {
+			BenchmarkDataBase.shutdown(directory);
+			BenchmarkDataBase.delete(directory.getParentFile());
+		}
+	}
+
+	private static RCRDataPackageScoreAnalyze run(final DataAccessDataBaseRCRScoreAnalyze dataAccess, final String name, final int iterations) {
+		RCRDataPackageScoreAnalyze result = dataAccess.getRCRDataPackageScoreAnalyze(BenchmarkDataBase.TOURNAMENT, EnumPeriodMode.ALL, 0, 0, 0, 0);
+		long best = Long.MAX_VALUE;
+		long total = 0;
+		for (int iteration = 0; iteration < iterations; iteration++) {
+			final long time = System.nanoTime();
+			result = dataAccess.getRCRDataPackageScoreAnalyze(BenchmarkDataBase.TOURNAMENT, EnumPeriodMode.ALL, 0, 0, 0, 0);
+			final long elapsed = System.nanoTime() - time;
+			best = Math.min(best, elapsed);
+			total += elapsed;
+		}
+		System.out.println(name + ": best " + best / 1000000 + " ms, mean " + total / iterations / 1000000 + " ms");
+		return result;
+	}
+
+}
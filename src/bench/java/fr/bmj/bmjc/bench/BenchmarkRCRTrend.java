@@ -0,0 +1,117 @@
+/*
+ * This file is part of Breizh Mahjong Recorder.
+ *
+ * Breizh Mahjong Recorder is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Breizh Mahjong Recorder is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Breizh Mahjong Recorder. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.bmj.bmjc.bench;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+import fr.bmj.bmjc.data.stat.rcr.RCRDataPackageTrend;
+import fr.bmj.bmjc.dataaccess.abs.rcr.DataAccessRCRTrend;
+import fr.bmj.bmjc.dataaccess.impl.db.rcr.DataAccessDataBaseRCRInMemory;
+import fr.bmj.bmjc.dataaccess.impl.db.rcr.DataAccessDataBaseRCRTrend;
+import fr.bmj.bmjc.enums.EnumPeriodMode;
+
+public class BenchmarkRCRTrend {
+
+	public static void main(final String[] args) throws Exception {
+		final int numberOfGames = args.length > 0 ? Integer.parseInt(args[0]) : 43800;
+		final int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+		final File directory = new File(Files.createTempDirectory("bmjc-bench").toFile(), "DataBase");
+		try {
+			long time = System.nanoTime();
+			final Connection connection = BenchmarkDataBase.create(directory, numberOfGames, 0);
+			System.out.println("Generated " + numberOfGames + " games in " + (System.nanoTime() - time) / 1000000 + " ms");
+
+			final RCRDataPackageTrend trend = run(new DataAccessDataBaseRCRTrend(connection), "Data base", iterations);
+			run(new DataAccessDataBaseRCRInMemory(connection), "In memory", iterations);
+			System.out.println(trend.getNumberOfPlayers() + " players, " + trend.getNumberOfDates() + " dates");
+
+			final long matrixHeap = retainedHeap(() -> new DataAccessDataBaseRCRTrend(connection).getRCRDataPackageTrend(BenchmarkDataBase.TOURNAMENT,
+				EnumPeriodMode.ALL, 0, 0, 0, 0));
+			final long boxedHeap = retainedHeap(() -> toBoxedMaps(trend));
+			System.out.println("Heap: matrix " + matrixHeap / 1024 + " KB, boxed per name maps " + boxedHeap / 1024 + " KB");
+			connection.close();
+		} finally {
+			BenchmarkDataBase.shutdown(directory);
+			BenchmarkDataBase.delete(directory.getParentFile());
+		}
+	}
+
+	private static RCRDataPackageTrend run(final DataAccessRCRTrend dataAccess, final String name, final int iterations) {
+		RCRDataPackageTrend trend = null;
+		long best = Long.MAX_VALUE;
+		long total = 0;
+		for (int iteration = 0; iteration < iterations; iteration++) {
+			final long time = System.nanoTime();
+			trend = dataAccess.getRCRDataPackageTrend(BenchmarkDataBase.TOURNAMENT, EnumPeriodMode.ALL, 0, 0, 0, 0);
+			final long elapsed = System.nanoTime() - time;
+			best = Math.min(best, elapsed);
+			total += elapsed;
+		}
+		System.out.println(name + ": best " + best / 1000000 + " ms, mean " + total / iterations / 1000000 + " ms");
+		return trend;
+	}
+
+	private static Object toBoxedMaps(final RCRDataPackageTrend trend) {
+		final List<Long> dates = new ArrayList<Long>();
+		for (final long date : trend.dates) {
+			dates.add(date);
+		}
+		final List<SortedMap<String, List<Integer>>> maps = new ArrayList<SortedMap<String, List<Integer>>>();
+		maps.add(new TreeMap<String, List<Integer>>());
+		maps.add(new TreeMap<String, List<Integer>>());
+		for (int playerIndex = 0; playerIndex < trend.getNumberOfPlayers(); playerIndex++) {
+			for (int mapIndex = 0; mapIndex < maps.size(); mapIndex++) {
+				final List<Integer> scores = new ArrayList<Integer>();
+				for (final int score : trend.scores[playerIndex]) {
+					scores.add(score);
+				}
+				maps.get(mapIndex).put(trend.getName(playerIndex, mapIndex == 0), scores);
+			}
+		}
+		final List<Object> boxed = new ArrayList<Object>();
+		boxed.add(dates);
+		boxed.add(maps);
+		return boxed;
+	}
+
+	private static long retainedHeap(final Supplier<Object> allocation) {
+		final long before = usedHeap();
+		final Object retained = allocation.get();
+		final long after = usedHeap();
+		if (retained == null) {
+			throw new IllegalStateException();
+		}
+		return after - before;
+	}
+
+	private static long usedHeap() {
+		final Runtime runtime = Runtime.getRuntime();
+		for (int index = 0; index < 4; index++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+}
@@ -0,0 +1,155 @@
+/*
+ * This file is part of Breizh Mahjong Recorder.
+ *
+ * Breizh Mahjong Recorder is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Breizh Mahjong Recorder is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Breizh Mahjong Recorder. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.bmj.bmjc.bench;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import fr.bmj.bmjc.data.stat.rcr.RCRTotalScore;
+import fr.bmj.bmjc.dataaccess.abs.rcr.DataAccessRCRRanking;
+import fr.bmj.bmjc.dataaccess.impl.db.rcr.DataAccessDataBaseRCRInMemory;
+import fr.bmj.bmjc.dataaccess.impl.db.rcr.DataAccessDataBaseRCRRanking;
+import fr.bmj.bmjc.enums.EnumPeriodMode;
+import fr.bmj.bmjc.enums.EnumRankingMode;
+import fr.bmj.bmjc.enums.EnumSortingMode;
+
+public class RCRRankingParityCheck {
+
+	private static final int NUMBER_TOP = 32;
+	private static final int YEARS = 4;
+	private static final int NB_DAYS = 7;
+
+	private static int nbChecks = 0;
+	private static int nbDifferences = 0;
+
+	public static void main(final String[] args) throws Exception {
+		final int numberOfGames = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+
+		final File directory = new File(Files.createTempDirectory("bmjc-parity").toFile(), "DataBase");
+		try {
+			final Connection connection = BenchmarkDataBase.create(directory, numberOfGames, 0);
+			final RCRRankingReference reference = new RCRRankingReference(connection);
+			final DataAccessDataBaseRCRRanking dataBase = new DataAccessDataBaseRCRRanking(connection);
+			final DataAccessDataBaseRCRInMemory inMemory = new DataAccessDataBaseRCRInMemory(connection);
+
+			for (final boolean onlyRegularPlayers : new boolean[] {
+				false,
+				true
+			}) {
+				for (final boolean useMinimumGame : new boolean[] {
+					false,
+					true
+				}) {
+					for (final DataAccessRCRRanking ranking : new DataAccessRCRRanking[] {
+						reference,
+						dataBase,
+						inMemory
+					}) {
+						ranking.setOnlyRegularPlayers(onlyRegularPlayers);
+						ranking.setUseMinimumGame(useMinimumGame);
+					}
+					final String filters = (onlyRegularPlayers ? "regular" : "all") + (useMinimumGame ? ", minimum" : "");
+					check(reference, dataBase, inMemory, filters, EnumPeriodMode.ALL, 0, 0, 0, 0);
+					final int firstYear = BenchmarkDataBase.FIRST_DATE.getYear();
+					for (int year = firstYear; year < firstYear + YEARS; year++) {
+						check(reference, dataBase, inMemory, filters, EnumPeriodMode.YEAR, year, 0, 0, 0);
+					}
+					for (int trimester = 0; trimester < 4; trimester++) {
+						check(reference, dataBase, inMemory, filters, EnumPeriodMode.TRIMESTER, firstYear + 1, trimester, 0, 0);
+					}
+					for (int month = 0; month < 12; month++) {
+						check(reference, dataBase, inMemory, filters, EnumPeriodMode.MONTH, firstYear + 2, 0, month, 0);
+					}
+					for (int day = 1; day <= NB_DAYS; day++) {
+						check(reference, dataBase, inMemory, filters, EnumPeriodMode.DAY, firstYear + 3, 0, 2, day);
+					}
+				}
+			}
+			connection.close();
+		} finally {
+			BenchmarkDataBase.shutdown(directory);
+			BenchmarkDataBase.delete(directory.getParentFile());
+		}
+
+		System.out.println(nbChecks + " rankings checked, " + nbDifferences + " differences");
+		System.exit(nbDifferences == 0 ? 0 : 1);
+	}
+
+	private static void check(final DataAccessRCRRanking reference, final DataAccessRCRRanking dataBase, final DataAccessRCRRanking inMemory,
+		final String filters, final EnumPeriodMode periodMode, final int year, final int trimester, final int month, final int day) {
+		for (final EnumRankingMode rankingMode : EnumRankingMode.values()) {
+			if (rankingMode == EnumRankingMode.ELO_RATING) {
+				continue;
+			}
+			for (final EnumSortingMode sortingMode : EnumSortingMode.values()) {
+				final List<String> expected = normalize(reference.getRCRDataPackageRanking(BenchmarkDataBase.TOURNAMENT, rankingMode, sortingMode,
+					periodMode, year, trimester, month, day));
+				final String name = rankingMode.name() + " " + sortingMode.name() + " " + periodMode.name() + " " + year + "/" + trimester + "/" + month + "/"
+					+ day + " (" + filters + ")";
+				compare("data base", name, expected, normalize(dataBase.getRCRDataPackageRanking(BenchmarkDataBase.TOURNAMENT, rankingMode, sortingMode,
+					periodMode, year, trimester, month, day)));
+				compare("in memory", name, expected, normalize(inMemory.getRCRDataPackageRanking(BenchmarkDataBase.TOURNAMENT, rankingMode, sortingMode,
+					periodMode, year, trimester, month, day)));
+			}
+		}
+	}
+
+	private static void compare(final String implementation, final String name, final List<String> expected, final List<String> actual) {
+		nbChecks++;
+		if (!expected.equals(actual)) {
+			nbDifferences++;
+			System.out.println("Difference in " + implementation + " " + name);
+			System.out.println("  expected " + expected);
+			System.out.println("  actual   " + actual);
+		}
+	}
+
+	private static List<String> normalize(final List<RCRTotalScore> ranking) {
+		final List<String> rows = new ArrayList<String>();
+		int start = 0;
+		while (start < ranking.size()) {
+			final String score = format(ranking.get(start).totalScore);
+			int end = start + 1;
+			while (end < ranking.size() && format(ranking.get(end).totalScore).equals(score)) {
+				end++;
+			}
+			if (end == ranking.size() && ranking.size() == NUMBER_TOP && start > 0) {
+				rows.add(score + " x" + (end - start));
+			} else {
+				final List<String> tie = new ArrayList<String>();
+				for (int index = start; index < end; index++) {
+					final RCRTotalScore total = ranking.get(index);
+					tie.add(total.playerName + "|" + total.displayName + "|" + score + "|" + format(total.umaScore) + "|" + format(total.numberOfGame) + "|"
+						+ total.year + "|" + total.month + "|" + total.day);
+				}
+				Collections.sort(tie);
+				rows.addAll(tie);
+			}
+			start = end;
+		}
+		return rows;
+	}
+
+	private static String format(final Number value) {
+		return value != null ? String.format("%.6f", value.doubleValue()) : "null";
+	}
+
+}
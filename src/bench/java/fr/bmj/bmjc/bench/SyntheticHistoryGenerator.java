@@ -0,0 +1,507 @@
+/*
+ * This file is part of Breizh Mahjong Recorder.
+ *
+ * Breizh Mahjong Recorder is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Breizh Mahjong Recorder is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Breizh Mahjong Recorder. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.bmj.bmjc.bench;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import fr.bmj.bmjc.data.game.rcr.RCRUmaTable;
+import fr.bmj.bmjc.dataaccess.abs.rcr.RCRGameVisitor;
+import fr.bmj.bmjc.dataaccess.impl.db.DataAccessDataBaseMigration;
+import fr.bmj.bmjc.export.CSVWriter;
+
+public class SyntheticHistoryGenerator {
+
+	private static final int FIRST_YEAR = 1990;
+	private static final int BATCH_SIZE = 2000;
+	private static final int MAX_GAMES_PER_DAY = 99;
+
+	private static final int INITIAL_SCORE = 30000;
+	private static final int FIVE_PLAYERS_PERCENT = 25;
+	private static final short NUMBER_OF_ROUNDS[] = {
+		1, 2, 4
+	};
+	private static final int NUMBER_OF_ROUNDS_PERCENT[] = {
+		20, 70, 10
+	};
+
+	private static final int DRAW_PERCENT = 15;
+	private static final int TENPAI_PERCENT = 45;
+	private static final int NOTEN_PAYMENT = 1000;
+	private static final int TSUMO_PERCENT = 35;
+	private static final int HONBA = 300;
+	private static final int MAX_HANDS_PER_ROUND = 40;
+	// Non dealer ron values and their frequency in per mille
+	private static final int HAND_VALUES[] = {
+		1000, 2000, 2600, 3900, 5200, 6400, 8000, 12000, 16000, 24000, 32000
+	};
+	private static final int HAND_VALUES_PER_MILLE[] = {
+		170, 220, 80, 160, 90, 50, 160, 45, 17, 6, 2
+	};
+	private static final double SKILL_WEIGHT = 0.2;
+	private static final double MAX_ATTENDANCE = 20.0;
+
+	private final int numberOfPlayers;
+	private final int numberOfTournaments;
+	private final int firstYear;
+	private final int numberOfYears;
+	private final int gamesPerWeek;
+	private final long seed;
+
+	private final double skills[];
+	private final double attendances[];
+	private final int activityFirstYears[];
+	private final int activityLastYears[];
+
+	public SyntheticHistoryGenerator(final int numberOfPlayers, final int numberOfTournaments, final int firstYear, final int numberOfYears,
+		final int gamesPerWeek, final long seed) {
+		if (numberOfPlayers < 5 || numberOfPlayers > Short.MAX_VALUE || numberOfTournaments < 1 || numberOfTournaments > Short.MAX_VALUE
+			|| numberOfYears < 1 || gamesPerWeek < 1 || (gamesPerWeek + 6) / 7 > MAX_GAMES_PER_DAY) {
+			throw new IllegalArgumentException("At least 5 players, 1 tournament, 1 year and from 1 to " + MAX_GAMES_PER_DAY * 7 + " games per week");
+		}
+		this.numberOfPlayers = numberOfPlayers;
+		this.numberOfTournaments = numberOfTournaments;
+		this.firstYear = firstYear;
+		this.numberOfYears = numberOfYears;
+		this.gamesPerWeek = gamesPerWeek;
+		this.seed = seed;
+
+		final Random random = new Random(seed);
+		skills = new double[numberOfPlayers];
+		attendances = new double[numberOfPlayers];
+		activityFirstYears = new int[numberOfPlayers];
+		activityLastYears = new int[numberOfPlayers];
+		for (int index = 0; index < numberOfPlayers; index++) {
+			skills[index] = random.nextGaussian();
+			// A few regulars play most of the games
+			attendances[index] = Math.min(MAX_ATTENDANCE, 1.0 / Math.pow(1.0 - random.nextDouble(), 0.8) - 0.9);
+			activityFirstYears[index] = firstYear - 5 + random.nextInt(numberOfYears + 5);
+			activityLastYears[index] = activityFirstYears[index] + (int) (-6.0 * Math.log(1.0 - random.nextDouble()));
+		}
+	}
+
+	public int getNumberOfPlayers() {
+		return numberOfPlayers;
+	}
+
+	public int getNumberOfTournaments() {
+		return numberOfTournaments;
+	}
+
+	public int getFirstYear() {
+		return firstYear;
+	}
+
+	public int getNumberOfYears() {
+		return numberOfYears;
+	}
+
+	public static short getPlayerId(final int playerIndex) {
+		return (short) (playerIndex + 1);
+	}
+
+	public static short getTournamentId(final int tournamentIndex) {
+		return (short) (tournamentIndex + 1);
+	}
+
+	public int generateYear(final int year, final RCRGameVisitor visitor) throws Exception {
+		final Random random = new Random(seed * 31 + year);
+		final double cumulatedAttendances[] = getCumulatedAttendances(year);
+		final double cumulatedTournaments[] = new double[numberOfTournaments];
+		for (int index = 0; index < numberOfTournaments; index++) {
+			cumulatedTournaments[index] = (index > 0 ? cumulatedTournaments[index - 1] : 0.0) + 1.0 / (index + 1);
+		}
+
+		final int tablePlayers[] = new int[5];
+		final int stacks[] = new int[5];
+		final int gameScores[] = new int[5];
+		final short places[] = new short[5];
+		final int umaScores[] = new int[5];
+		final int finalScores[] = new int[5];
+		int numberOfGames = 0;
+		LocalDate date = LocalDate.of(year, 1, 1);
+		while (date.getYear() == year) {
+			final int dayOfWeek = (date.getDayOfYear() - 1) % 7;
+			final int gamesOfDay = (dayOfWeek + 1) * gamesPerWeek / 7 - dayOfWeek * gamesPerWeek / 7;
+			final long dayId = ((date.getYear() * 100 + date.getMonthValue()) * 100 + date.getDayOfMonth()) * 100L;
+			for (int gameOfDay = 1; gameOfDay <= gamesOfDay; gameOfDay++) {
+				final int nbPlayers = random.nextInt(100) < FIVE_PLAYERS_PERCENT ? 5 : 4;
+				final short nbRounds = NUMBER_OF_ROUNDS[draw(random, NUMBER_OF_ROUNDS_PERCENT, 100)];
+				final short tournamentId = getTournamentId(drawCumulated(random, cumulatedTournaments));
+
+				drawPlayers(random, cumulatedAttendances, nbPlayers, tablePlayers);
+				playGame(random, nbPlayers, nbRounds, tablePlayers, stacks);
+				sortByStack(nbPlayers, tablePlayers, stacks);
+				int total = 0;
+				for (int index = 0; index < nbPlayers; index++) {
+					gameScores[index] = stacks[index] - INITIAL_SCORE;
+					total += gameScores[index];
+				}
+				if (total != 0) {
+					throw new IllegalStateException("Game " + (dayId + gameOfDay) + " is not zero sum: " + total);
+				}
+				RCRUmaTable.distribute(RCRUmaTable.DEFAULT_UMA_SET_INDEX, nbPlayers, nbRounds, gameScores, places, umaScores, finalScores);
+
+				final long id = dayId + gameOfDay;
+				visitor.visitGame(id, tournamentId, year, date.getMonthValue() - 1, date.getDayOfMonth(), (short) nbPlayers, nbRounds);
+				for (int index = 0; index < nbPlayers; index++) {
+					visitor.visitScore(id, getPlayerId(tablePlayers[index]), null, null, places[index], gameScores[index], umaScores[index],
+						finalScores[index]);
+				}
+				numberOfGames++;
+			}
+			date = date.plusDays(1);
+		}
+		return numberOfGames;
+	}
+
+	private double[] getCumulatedAttendances(final int year) {
+		final double cumulatedAttendances[] = new double[numberOfPlayers];
+		int numberOfActivePlayers = 0;
+		for (int index = 0; index < numberOfPlayers; index++) {
+			if (year >= activityFirstYears[index] && year <= activityLastYears[index]) {
+				numberOfActivePlayers++;
+			}
+		}
+		// Too few active players to fill a table: everybody comes
+		final boolean everybody = numberOfActivePlayers < 5;
+		double total = 0.0;
+		for (int index = 0; index < numberOfPlayers; index++) {
+			if (everybody || year >= activityFirstYears[index] && year <= activityLastYears[index]) {
+				total += attendances[index];
+			}
+			cumulatedAttendances[index] = total;
+		}
+		return cumulatedAttendances;
+	}
+
+	private static int draw(final Random random, final int frequencies[], final int total) {
+		int value = random.nextInt(total);
+		int index = 0;
+		while (value >= frequencies[index]) {
+			value -= frequencies[index];
+			index++;
+		}
+		return index;
+	}
+
+	private static int drawCumulated(final Random random, final double cumulatedWeights[]) {
+		final double value = random.nextDouble() * cumulatedWeights[cumulatedWeights.length - 1];
+		final int index = Arrays.binarySearch(cumulatedWeights, value);
+		return Math.min(index >= 0 ? index + 1 : -index - 1, cumulatedWeights.length - 1);
+	}
+
+	private static void drawPlayers(final Random random, final double cumulatedAttendances[], final int nbPlayers, final int tablePlayers[]) {
+		for (int index = 0; index < nbPlayers; index++) {
+			boolean drawn;
+			do {
+				tablePlayers[index] = drawCumulated(random, cumulatedAttendances);
+				drawn = false;
+				for (int previous = 0; previous < index; previous++) {
+					drawn |= tablePlayers[previous] == tablePlayers[index];
+				}
+			} while (drawn);
+		}
+	}
+
+	private void playGame(final Random random, final int nbPlayers, final short nbRounds, final int tablePlayers[], final int stacks[]) {
+		Arrays.fill(stacks, 0, nbPlayers, INITIAL_SCORE);
+		int round = 0;
+		int dealer = 0;
+		int honba = 0;
+		int handsInRound = 0;
+		boolean bust = false;
+		while (round < nbRounds && !bust) {
+			boolean dealerRepeats;
+			if (random.nextInt(100) < DRAW_PERCENT) {
+				final boolean tenpai[] = new boolean[nbPlayers];
+				for (int index = 0; index < nbPlayers; index++) {
+					tenpai[index] = random.nextInt(100) < TENPAI_PERCENT;
+				}
+				for (int noten = 0; noten < nbPlayers; noten++) {
+					for (int winner = 0; winner < nbPlayers; winner++) {
+						if (!tenpai[noten] && tenpai[winner]) {
+							stacks[noten] -= NOTEN_PAYMENT;
+							stacks[winner] += NOTEN_PAYMENT;
+						}
+					}
+				}
+				dealerRepeats = tenpai[dealer];
+				honba++;
+			} else {
+				final int winner = drawBySkill(random, tablePlayers, nbPlayers, -1, SKILL_WEIGHT);
+				final int value = HAND_VALUES[draw(random, HAND_VALUES_PER_MILLE, 1000)];
+				if (random.nextInt(100) < TSUMO_PERCENT) {
+					// The dealer pays twice the share of the others, or everybody pays the same share to the dealer
+					final int shares = winner == dealer ? nbPlayers - 1 : nbPlayers;
+					final int share = roundUp(winner == dealer ? value * 3 / 2 / shares : value / shares);
+					for (int index = 0; index < nbPlayers; index++) {
+						if (index != winner) {
+							final int payment = (index == dealer ? 2 * share : share) + honba * HONBA / 3;
+							stacks[index] -= payment;
+							stacks[winner] += payment;
+						}
+					}
+				} else {
+					final int loser = drawBySkill(random, tablePlayers, nbPlayers, winner, -SKILL_WEIGHT);
+					final int payment = roundUp(winner == dealer ? value * 3 / 2 : value) + honba * HONBA;
+					stacks[loser] -= payment;
+					stacks[winner] += payment;
+				}
+				dealerRepeats = winner == dealer;
+				honba = dealerRepeats ? honba + 1 : 0;
+			}
+
+			for (int index = 0; index < nbPlayers; index++) {
+				bust |= stacks[index] < 0;
+			}
+			handsInRound++;
+			if (!dealerRepeats || handsInRound >= MAX_HANDS_PER_ROUND) {
+				dealer++;
+				if (dealer == nbPlayers) {
+					dealer = 0;
+					round++;
+					handsInRound = 0;
+				}
+			}
+		}
+	}
+
+	private int drawBySkill(final Random random, final int tablePlayers[], final int nbPlayers, final int excluded, final double skillWeight) {
+		double total = 0.0;
+		final double weights[] = new double[nbPlayers];
+		for (int index = 0; index < nbPlayers; index++) {
+			weights[index] = index == excluded ? 0.0 : Math.exp(skillWeight * skills[tablePlayers[index]]);
+			total += weights[index];
+		}
+		double value = random.nextDouble() * total;
+		for (int index = 0; index < nbPlayers; index++) {
+			value -= weights[index];
+			if (value < 0.0 && index != excluded) {
+				return index;
+			}
+		}
+		return excluded == nbPlayers - 1 ? nbPlayers - 2 : nbPlayers - 1;
+	}
+
+	private static int roundUp(final int value) {
+		return (value + 99) / 100 * 100;
+	}
+
+	private static void sortByStack(final int nbPlayers, final int tablePlayers[], final int stacks[]) {
+		for (int index = 1; index < nbPlayers; index++) {
+			final int stack = stacks[index];
+			final int player = tablePlayers[index];
+			int position = index;
+			while (position > 0 && stacks[position - 1] < stack) {
+				stacks[position] = stacks[position - 1];
+				tablePlayers[position] = tablePlayers[position - 1];
+				position--;
+			}
+			stacks[position] = stack;
+			tablePlayers[position] = player;
+		}
+	}
+
+	private static class DataBaseVisitor implements RCRGameVisitor {
+
+		private final Connection connection;
+		private final PreparedStatement idStatement;
+		private final PreparedStatement scoreStatement;
+		private int nbBatchGames;
+
+		public DataBaseVisitor(final Connection connection) throws SQLException {
+			this.connection = connection;
+			connection.setAutoCommit(false);
+			idStatement = connection.prepareStatement("INSERT INTO rcr_game_id(id, rcr_tournament_id, date, nb_players, nb_rounds) VALUES(?, ?, ?, ?, ?)");
+			scoreStatement = connection.prepareStatement(
+				"INSERT INTO rcr_game_score(rcr_game_id, player_id, ranking, game_score, uma_score, final_score) VALUES(?, ?, ?, ?, ?, ?)");
+		}
+
+		@Override
+		public void visitGame(final long id, final short tournamentId, final int year, final int month, final int day, final short nbPlayers,
+			final short nbRounds) throws Exception {
+			if (nbBatchGames >= BATCH_SIZE) {
+				flush();
+			}
+			idStatement.setLong(1, id);
+			idStatement.setShort(2, tournamentId);
+			idStatement.setDate(3, Date.valueOf(LocalDate.of(year, month + 1, day)));
+			idStatement.setShort(4, nbPlayers);
+			idStatement.setShort(5, nbRounds);
+			idStatement.addBatch();
+			nbBatchGames++;
+		}
+
+		@Override
+		public void visitScore(final long id, final short playerId, final String playerName, final String displayName, final short place,
+			final int gameScore, final int umaScore, final int finalScore) throws Exception {
+			scoreStatement.setLong(1, id);
+			scoreStatement.setShort(2, playerId);
+			scoreStatement.setShort(3, place);
+			scoreStatement.setInt(4, gameScore);
+			scoreStatement.setInt(5, umaScore);
+			scoreStatement.setInt(6, finalScore);
+			scoreStatement.addBatch();
+		}
+
+		private void flush() throws SQLException {
+			idStatement.executeBatch();
+			scoreStatement.executeBatch();
+			connection.commit();
+			nbBatchGames = 0;
+		}
+
+		public void close() throws SQLException {
+			flush();
+			idStatement.close();
+			scoreStatement.close();
+			connection.setAutoCommit(true);
+			connection.close();
+		}
+
+	}
+
+	private static class CSVVisitor implements RCRGameVisitor {
+
+		private final CSVWriter writer;
+
+		public CSVVisitor(final CSVWriter writer) {
+			this.writer = writer;
+		}
+
+		@Override
+		public void visitGame(final long id, final short tournamentId, final int year, final int month, final int day, final short nbPlayers,
+			final short nbRounds) throws Exception {
+			writer.writeField("#").writeField(id).writeField(tournamentId).writeDateField(year, month + 1, day).writeField(nbPlayers).writeField(nbRounds)
+				.writeField("");
+			writer.endRow();
+		}
+
+		@Override
+		public void visitScore(final long id, final short playerId, final String playerName, final String displayName, final short place,
+			final int gameScore, final int umaScore, final int finalScore) throws Exception {
+			writer.writeField("*").writeField(id).writeField(playerId).writeField(place).writeField(gameScore).writeField(umaScore).writeField(finalScore);
+			writer.endRow();
+		}
+
+	}
+
+	private static void createPlayersAndTournaments(final Connection connection, final SyntheticHistoryGenerator generator) throws SQLException {
+		connection.setAutoCommit(false);
+		final PreparedStatement playerStatement = connection
+			.prepareStatement("INSERT INTO player(id, name, display_name, frequent, regular) VALUES(?, ?, ?, ?, ?)");
+		for (int index = 0; index < generator.numberOfPlayers; index++) {
+			final boolean regular = generator.attendances[index] >= 1.0;
+			playerStatement.setShort(1, getPlayerId(index));
+			playerStatement.setString(2, "Player " + getPlayerId(index));
+			playerStatement.setString(3, "P" + getPlayerId(index));
+			playerStatement.setBoolean(4, regular);
+			playerStatement.setBoolean(5, regular);
+			playerStatement.addBatch();
+		}
+		playerStatement.executeBatch();
+		playerStatement.close();
+
+		final PreparedStatement tournamentStatement = connection.prepareStatement("INSERT INTO rcr_tournament(id, name) VALUES(?, ?)");
+		for (int index = 0; index < generator.numberOfTournaments; index++) {
+			tournamentStatement.setShort(1, getTournamentId(index));
+			tournamentStatement.setString(2, "Tournament " + getTournamentId(index));
+			tournamentStatement.addBatch();
+		}
+		tournamentStatement.executeBatch();
+		tournamentStatement.close();
+		connection.commit();
+		connection.setAutoCommit(true);
+	}
+
+	public static void main(final String[] args) throws Exception {
+		if (args.length < 1) {
+			System.out.println("Arguments: data base directory or file.csv[.gz], players, tournaments, years, games per week, threads, seed");
+			return;
+		}
+		final String output = args[0];
+		final int numberOfPlayers = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+		final int numberOfTournaments = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+		final int numberOfYears = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+		final int gamesPerWeek = args.length > 4 ? Integer.parseInt(args[4]) : 100;
+		final int numberOfThreads = args.length > 5 ? Integer.parseInt(args[5]) : Runtime.getRuntime().availableProcessors();
+		final long seed = args.length > 6 ? Long.parseLong(args[6]) : 0;
+
+		final SyntheticHistoryGenerator generator = new SyntheticHistoryGenerator(numberOfPlayers, numberOfTournaments, FIRST_YEAR, numberOfYears,
+			gamesPerWeek, seed);
+		final boolean csv = output.endsWith(".csv") || output.endsWith(".csv" + CSVWriter.GZIP_EXTENSION);
+		final File directory = new File(output);
+		final String url = "jdbc:derby:" + directory.getAbsolutePath();
+		if (!csv) {
+			Class.forName("org.apache.derby.jdbc.EmbeddedDriver");
+			final Connection connection = DriverManager.getConnection(url + ";create=true");
+			BenchmarkDataBase.createTables(connection);
+			createPlayersAndTournaments(connection, generator);
+			connection.close();
+		}
+
+		final long time = System.nanoTime();
+		final ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, numberOfThreads));
+		final List<Future<Integer>> results = new ArrayList<Future<Integer>>();
+		for (int yearIndex = 0; yearIndex < numberOfYears; yearIndex++) {
+			final int year = FIRST_YEAR + yearIndex;
+			results.add(executor.submit(() -> {
+				if (csv) {
+					final int extension = output.lastIndexOf(".csv");
+					final CSVWriter writer = new CSVWriter(new File(output.substring(0, extension) + "-" + year + output.substring(extension)));
+					try {
+						return generator.generateYear(year, new CSVVisitor(writer));
+					} finally {
+						writer.close();
+					}
+				}
+				final DataBaseVisitor visitor = new DataBaseVisitor(DriverManager.getConnection(url));
+				final int numberOfGames = generator.generateYear(year, visitor);
+				visitor.close();
+				return numberOfGames;
+			}));
+		}
+		long numberOfGames = 0;
+		for (final Future<Integer> result : results) {
+			numberOfGames += result.get();
+		}
+		executor.shutdown();
+		final long elapsed = System.nanoTime() - time;
+		System.out.println("Generated " + numberOfGames + " games in " + elapsed / 1000000 + " ms: " + numberOfGames * 1000000000L / elapsed + " games/s");
+
+		if (!csv) {
+			final Connection connection = DriverManager.getConnection(url);
+			System.out.println(new DataAccessDataBaseMigration(connection).migrate().getMessage());
+			connection.close();
+			BenchmarkDataBase.shutdown(directory);
+		}
+	}
+
+}
@@ -20,6 +20,8 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import fr.bmj.bmjc.enums.EnumPeriodMode;
+
 public class RCRGame {
 	private final long id;
 	private final short tournamentId;
@@ -77,4 +79,21 @@ public class RCRGame {
 		return scores;
 	}
 
+	public boolean isInPeriod(final EnumPeriodMode periodMode, final int year, final int trimester, final int month, final int day) {
+		switch (periodMode) {
+			case ALL:
+				return true;
+			case YEAR:
+				return this.year == year;
+			case TRIMESTER:
+				return this.year == year && this.month / 3 == trimester;
+			case MONTH:
+				return this.year == year && this.month == month;
+			case DAY:
+				return this.year == year && this.month == month && this.day == day;
+			default:
+				return false;
+		}
+	}
+
 }
@@ -0,0 +1,76 @@
+/*
+ * This file is part of Breizh Mahjong Recorder.
+ *
+ * Breizh Mahjong Recorder is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Breizh Mahjong Recorder is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Breizh Mahjong Recorder. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.bmj.bmjc.data.game.rcr;
+
+public class RCRUmaTable {
+
+	public static final String UMA_SET_NAMES[] = {
+		"+15000", "+30000"
+	};
+	public static final int DEFAULT_UMA_SET_INDEX = 0;
+
+	// UMA[UMA_SET][NB_PLAYERS - 4][RANKING]
+	private static final int UMA[][][] = {
+		{
+			{
+				15000, 5000, -5000, -15000
+			}, {
+				15000, 5000, 0, -5000, -15000
+			}
+		}, {
+			{
+				30000, 10000, -10000, -30000
+			}, {
+				30000, 10000, 0, -10000, -30000
+			}
+		}
+	};
+
+	public static void distribute(final int umaSetIndex, final int nbPlayers, final short nbRounds, final int gameScores[], final short places[],
+		final int umaScores[], final int finalScores[]) {
+		final int uma[] = UMA[umaSetIndex][nbPlayers - 4];
+		int playerIndex = 0;
+		while (playerIndex < nbPlayers) {
+			int equalityPlayerIndex = playerIndex + 1;
+			int totalUma = uma[playerIndex];
+			while (equalityPlayerIndex < nbPlayers && gameScores[playerIndex] == gameScores[equalityPlayerIndex]) {
+				totalUma += uma[equalityPlayerIndex];
+				equalityPlayerIndex++;
+			}
+
+			totalUma /= equalityPlayerIndex - playerIndex;
+			for (int index = playerIndex; index < equalityPlayerIndex; index++) {
+				places[index] = (short) (playerIndex + 1);
+				umaScores[index] = totalUma;
+				finalScores[index] = adjustToRounds(gameScores[index] + totalUma, nbRounds);
+			}
+			playerIndex = equalityPlayerIndex;
+		}
+	}
+
+	private static int adjustToRounds(final int score, final short nbRounds) {
+		switch (nbRounds) {
+			case 1:
+				return score / 2;
+			case 4:
+				return score * 2;
+			default:
+				return score;
+		}
+	}
+
+}
@@ -16,16 +16,16 @@
  */
 package fr.bmj.bmjc.data.stat.rcr;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
-import java.util.List;
 
 public class RCRDataPackagePersonalAnalyze {
 
-	private final List<Long> listGameID;
-	private final List<Integer> listScore;
-	private final List<Integer> listSum;
+	private static final long EMPTY_GAME_IDS[] = new long[0];
+	private static final int EMPTY_SCORES[] = new int[0];
+
+	private long gameIds[];
+	private int scores[];
+	private int sums[];
 	private int numberOfGames;
 
 	private int maxScore;
@@ -53,9 +53,9 @@ public class RCRDataPackagePersonalAnalyze {
 	private final int fivePlayerGamePlacePercent[];
 
 	public RCRDataPackagePersonalAnalyze() {
-		listGameID = new ArrayList<>();
-		listScore = new ArrayList<>();
-		listSum = new ArrayList<>();
+		gameIds = EMPTY_GAME_IDS;
+		scores = EMPTY_SCORES;
+		sums = EMPTY_SCORES;
 		numberOfGames = 0;
 		maxScore = 0;
 		minScore = 0;
@@ -188,29 +188,36 @@ public class RCRDataPackagePersonalAnalyze {
 		this.numberOfFivePlayerGames = numberOfFivePlayerGames;
 	}
 
-	public void setLists(final List<Long> listGameID, final List<Integer> listScore, final List<Integer> listSum) {
-		if (listGameID != null && listScore != null && listSum != null && listGameID.size() == listScore.size() && listScore.size() == listSum.size()) {
-			this.listGameID.clear();
-			this.listScore.clear();
-			this.listSum.clear();
-			for (int index = 0; index < listScore.size(); index++) {
-				this.listGameID.add(index, listGameID.get(index));
-				this.listScore.add(index, listScore.get(index));
-				this.listSum.add(index, listSum.get(index));
-			}
+	public void setArrays(final long gameIds[], final int scores[], final int sums[], final int length) {
+		if (gameIds != null && scores != null && sums != null && length <= gameIds.length && length <= scores.length && length <= sums.length) {
+			this.gameIds = gameIds.length == length ? gameIds : Arrays.copyOf(gameIds, length);
+			this.scores = scores.length == length ? scores : Arrays.copyOf(scores, length);
+			this.sums = sums.length == length ? sums : Arrays.copyOf(sums, length);
 		}
 	}
 
-	public List<Long> getListGameID() {
-		return Collections.unmodifiableList(listGameID);
+	public long getGameId(final int index) {
+		return gameIds[index];
+	}
+
+	public int getScore(final int index) {
+		return scores[index];
+	}
+
+	public int getSum(final int index) {
+		return sums[index];
+	}
+
+	public long[] getGameIds() {
+		return Arrays.copyOf(gameIds, gameIds.length);
 	}
 
-	public List<Integer> getListScore() {
-		return Collections.unmodifiableList(listScore);
+	public int[] getScores() {
+		return Arrays.copyOf(scores, scores.length);
 	}
 
-	public List<Integer> getListSum() {
-		return Collections.unmodifiableList(listSum);
+	public int[] getSums() {
+		return Arrays.copyOf(sums, sums.length);
 	}
 
 	public void setFourPlayerGamePlaces(final int fourPlayerGamePlaces[]) {
@@ -2,18 +2,82 @@ package fr.bmj.bmjc.data.stat.rcr;
 
 import java.util.List;
 
+import fr.bmj.bmjc.data.game.rcr.RCRGame;
+import fr.bmj.bmjc.data.game.rcr.RCRScore;
+
 public class RCRDataPackageScoreAnalyze {
 
 	public final List<String> playerNames;
 	public final List<String> displayNames;
-	public final double[][] scores;
-	public final double[] sums;
+	public final RCRScoreMatrix scores;
 
-	public RCRDataPackageScoreAnalyze(final List<String> playerNames, final List<String> displayNames, final double[][] scores, final double[] sums) {
+	public RCRDataPackageScoreAnalyze(final List<String> playerNames, final List<String> displayNames, final RCRScoreMatrix scores) {
 		this.playerNames = playerNames;
 		this.displayNames = displayNames;
 		this.scores = scores;
-		this.sums = sums;
+	}
+
+	public static void distributeGameScores(final int[] playerIndexGame, final long[] playerScoreGame, final int nbPlayers,
+		final RCRScoreMatrix scores) {
+		int scoreIndex = 0;
+		double totalPositive = 0;
+		while (scoreIndex < nbPlayers && playerScoreGame[scoreIndex] > 0) {
+			totalPositive += playerScoreGame[scoreIndex];
+			scoreIndex++;
+		}
+		if (totalPositive != 0) {
+			final int nbPositives = scoreIndex;
+			while (scoreIndex < nbPlayers && playerScoreGame[scoreIndex] == 0) {
+				scoreIndex++;
+			}
+			while (scoreIndex < nbPlayers) {
+				final int playerNegativeIndex = playerIndexGame[scoreIndex];
+				for (int positiveIndex = 0; positiveIndex < nbPositives; positiveIndex++) {
+					final double scorePart = -playerScoreGame[scoreIndex] * playerScoreGame[positiveIndex] / totalPositive;
+					scores.transfer(playerNegativeIndex, playerIndexGame[positiveIndex], scorePart);
+				}
+				scoreIndex++;
+			}
+		}
+	}
+
+	public int[] getPlayerIndexes(final RCRGame game) {
+		final List<RCRScore> gameScores = game.getScores();
+		final int playerIndexes[] = new int[gameScores.size()];
+		for (int index = 0; index < playerIndexes.length; index++) {
+			playerIndexes[index] = playerNames.indexOf(gameScores.get(index).getPlayerName());
+			if (playerIndexes[index] < 0) {
+				return null;
+			}
+		}
+		return playerIndexes;
+	}
+
+	public RCRDataPackageScoreAnalyze withGame(final RCRGame game) {
+		final int playerIndexes[] = getPlayerIndexes(game);
+		if (playerIndexes == null) {
+			return null;
+		}
+
+		final List<RCRScore> gameScores = game.getScores();
+		final int nbPlayers = gameScores.size();
+		final int playerIndexGame[] = new int[nbPlayers];
+		final long playerScoreGame[] = new long[nbPlayers];
+		for (int index = 0; index < nbPlayers; index++) {
+			final long score = gameScores.get(index).getGameScore();
+			int position = index;
+			while (position > 0 && playerScoreGame[position - 1] < score) {
+				playerIndexGame[position] = playerIndexGame[position - 1];
+				playerScoreGame[position] = playerScoreGame[position - 1];
+				position--;
+			}
+			playerIndexGame[position] = playerIndexes[index];
+			playerScoreGame[position] = score;
+		}
+
+		final RCRScoreMatrix newScores = scores.copy();
+		distributeGameScores(playerIndexGame, playerScoreGame, nbPlayers, newScores);
+		return new RCRDataPackageScoreAnalyze(playerNames, displayNames, newScores);
 	}
 
 }
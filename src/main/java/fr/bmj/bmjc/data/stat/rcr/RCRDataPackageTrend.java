@@ -1,35 +1,121 @@
-/*
- * This file is part of Breizh Mahjong Recorder.
- *
- * Breizh Mahjong Recorder is free software: you can redistribute it and/or
- * modify it under the terms of the GNU General Public License as published by
- * the Free Software Foundation, either version 3 of the License, or (at your
- * option) any later version.
- *
- * Breizh Mahjong Recorder is distributed in the hope that it will be useful,
- * but WITHOUT ANY WARRANTY; without even the implied warranty of
- * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
- * Public License for more details.
- *
- * You should have received a copy of the GNU General Public License along with
- * Breizh Mahjong Recorder. If not, see <http://www.gnu.org/licenses/>.
- */
 package fr.bmj.bmjc.data.stat.rcr;
 
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
-import java.util.SortedMap;
+
+import fr.bmj.bmjc.data.game.rcr.RCRGame;
+import fr.bmj.bmjc.data.game.rcr.RCRScore;
 
 public class RCRDataPackageTrend {
 
-	public final List<Long> dates;
-	public final SortedMap<String, List<Integer>> dataWithPlayerName;
-	public final SortedMap<String, List<Integer>> dataWithDisplayName;
+	public final long[] dates;
+	public final String[] playerNames;
+	public final String[] displayNames;
+	public final int[][] scores;
+
+	private final int[] playerNameOrder;
+	private final int[] displayNameOrder;
 
-	public RCRDataPackageTrend(final List<Long> dates, final SortedMap<String, List<Integer>> dataWithPlayerName,
-		final SortedMap<String, List<Integer>> dataWithDisplayName) {
+	public RCRDataPackageTrend(final long[] dates, final String[] playerNames, final String[] displayNames, final int[][] scores) {
 		this.dates = dates;
-		this.dataWithPlayerName = dataWithPlayerName;
-		this.dataWithDisplayName = dataWithDisplayName;
+		this.playerNames = playerNames;
+		this.displayNames = displayNames;
+		this.scores = scores;
+		playerNameOrder = sortPlayers(playerNames);
+		displayNameOrder = sortPlayers(displayNames);
+	}
+
+	private static int[] sortPlayers(final String[] names) {
+		final Integer order[] = new Integer[names.length];
+		for (int index = 0; index < order.length; index++) {
+			order[index] = index;
+		}
+		Arrays.sort(order, Comparator.comparing((final Integer index) -> names[index]));
+		final int sortedOrder[] = new int[order.length];
+		for (int index = 0; index < order.length; index++) {
+			sortedOrder[index] = order[index];
+		}
+		return sortedOrder;
+	}
+
+	public int getNumberOfPlayers() {
+		return scores.length;
+	}
+
+	public int getNumberOfDates() {
+		return dates.length;
+	}
+
+	public int[] getPlayerOrder(final boolean fullName) {
+		return fullName ? playerNameOrder : displayNameOrder;
+	}
+
+	public String getName(final int playerIndex, final boolean fullName) {
+		return fullName ? playerNames[playerIndex] : displayNames[playerIndex];
+	}
+
+	public RCRDataPackageTrend withGame(final RCRGame game) {
+		final long date = LocalDate.of(game.getYear(), game.getMonth() + 1, game.getDay()).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+		int dateIndex = Arrays.binarySearch(dates, 1, dates.length, date);
+		final boolean newDate = dateIndex < 0;
+		if (newDate) {
+			dateIndex = -dateIndex - 1;
+		}
+		final long newDates[] = newDate ? insertColumn(dates, dateIndex, date) : dates;
+
+		final List<RCRScore> gameScores = game.getScores();
+		final List<String> names = Arrays.asList(playerNames);
+		final int playerIndexes[] = new int[gameScores.size()];
+		int nbPlayers = playerNames.length;
+		for (int index = 0; index < playerIndexes.length; index++) {
+			playerIndexes[index] = names.indexOf(gameScores.get(index).getPlayerName());
+			if (playerIndexes[index] < 0) {
+				playerIndexes[index] = nbPlayers++;
+			}
+		}
+
+		final String newPlayerNames[] = Arrays.copyOf(playerNames, nbPlayers);
+		final String newDisplayNames[] = Arrays.copyOf(displayNames, nbPlayers);
+		final int newScores[][] = new int[nbPlayers][];
+		for (int playerIndex = 0; playerIndex < nbPlayers; playerIndex++) {
+			if (playerIndex < scores.length) {
+				newScores[playerIndex] = newDate ? insertColumn(scores[playerIndex], dateIndex) : scores[playerIndex].clone();
+			} else {
+				newScores[playerIndex] = new int[newDates.length];
+			}
+		}
+		for (int index = 0; index < playerIndexes.length; index++) {
+			final RCRScore score = gameScores.get(index);
+			final int playerIndex = playerIndexes[index];
+			if (playerIndex >= playerNames.length) {
+				newPlayerNames[playerIndex] = score.getPlayerName();
+				newDisplayNames[playerIndex] = score.getDisplayName();
+			}
+			final int playerScores[] = newScores[playerIndex];
+			for (int column = dateIndex; column < playerScores.length; column++) {
+				playerScores[column] += score.getFinalScore();
+			}
+		}
+		return new RCRDataPackageTrend(newDates, newPlayerNames, newDisplayNames, newScores);
+	}
+
+	private static long[] insertColumn(final long[] values, final int index, final long value) {
+		final long inserted[] = new long[values.length + 1];
+		System.arraycopy(values, 0, inserted, 0, index);
+		inserted[index] = value;
+		System.arraycopy(values, index, inserted, index + 1, values.length - index);
+		return inserted;
+	}
+
+	private static int[] insertColumn(final int[] values, final int index) {
+		final int inserted[] = new int[values.length + 1];
+		System.arraycopy(values, 0, inserted, 0, index);
+		inserted[index] = values[index - 1];
+		System.arraycopy(values, index, inserted, index + 1, values.length - index);
+		return inserted;
 	}
 
 }
@@ -0,0 +1,138 @@
+/*
+ * This file is part of Breizh Mahjong Recorder.
+ *
+ * Breizh Mahjong Recorder is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Breizh Mahjong Recorder is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Breizh Mahjong Recorder. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.bmj.bmjc.data.stat.rcr;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import fr.bmj.bmjc.data.game.rcr.RCRGame;
+import fr.bmj.bmjc.data.game.rcr.RCRScore;
+import fr.bmj.bmjc.enums.EnumRankingMode;
+import fr.bmj.bmjc.enums.EnumSortingMode;
+
+public class RCRRankingUpdate {
+
+	private RCRRankingUpdate() {
+	}
+
+	public static boolean isSupported(final EnumRankingMode rankingMode) {
+		switch (rankingMode) {
+			case TOTAL_FINAL_SCORE:
+			case TOTAL_GAME_SCORE:
+			case WIN_RATE_4:
+			case WIN_RATE_5:
+			case POSITIVE_RATE_4:
+			case POSITIVE_RATE_5:
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	private static int getNumberOfPlayers(final EnumRankingMode rankingMode) {
+		switch (rankingMode) {
+			case WIN_RATE_4:
+			case POSITIVE_RATE_4:
+				return 4;
+			case WIN_RATE_5:
+			case POSITIVE_RATE_5:
+				return 5;
+			default:
+				return 0;
+		}
+	}
+
+	private static Comparator<RCRTotalScore> getComparator(final EnumSortingMode sortingMode) {
+		if (sortingMode == EnumSortingMode.ASCENDING) {
+			return (final RCRTotalScore o1, final RCRTotalScore o2) -> Double.compare(o1.totalScore.doubleValue(), o2.totalScore.doubleValue());
+		}
+		return (final RCRTotalScore o1, final RCRTotalScore o2) -> -Double.compare(o1.totalScore.doubleValue(), o2.totalScore.doubleValue());
+	}
+
+	public static List<RCRTotalScore> withGame(final List<RCRTotalScore> ranking, final EnumRankingMode rankingMode, final EnumSortingMode sortingMode,
+		final RCRGame game) {
+		if (!isSupported(rankingMode)) {
+			return null;
+		}
+		final int nbPlayers = getNumberOfPlayers(rankingMode);
+		if (nbPlayers != 0 && game.getNbPlayers() != nbPlayers) {
+			return ranking;
+		}
+
+		final Map<String, RCRScore> gameScores = new HashMap<String, RCRScore>();
+		for (final RCRScore score : game.getScores()) {
+			gameScores.put(score.getPlayerName(), score);
+		}
+		final List<RCRTotalScore> newRanking = new ArrayList<RCRTotalScore>(ranking.size());
+		final List<RCRTotalScore> updatedRows = new ArrayList<RCRTotalScore>(gameScores.size());
+		for (final RCRTotalScore row : ranking) {
+			final RCRScore score = gameScores.get(row.playerName);
+			if (score != null) {
+				updatedRows.add(withScore(row, rankingMode, score));
+			} else {
+				newRanking.add(row);
+			}
+		}
+		if (updatedRows.size() != gameScores.size()) {
+			return null;
+		}
+
+		final Comparator<RCRTotalScore> comparator = getComparator(sortingMode);
+		for (final RCRTotalScore row : updatedRows) {
+			final int index = Collections.binarySearch(newRanking, row, comparator);
+			newRanking.add(index < 0 ? -index - 1 : index, row);
+		}
+		return newRanking;
+	}
+
+	private static RCRTotalScore withScore(final RCRTotalScore row, final EnumRankingMode rankingMode, final RCRScore score) {
+		final RCRTotalScore newRow = new RCRTotalScore(row.playerName, row.displayName, row.year, row.month, row.day);
+		final int numberOfGame = row.numberOfGame.intValue() + 1;
+		newRow.numberOfGame = numberOfGame;
+		switch (rankingMode) {
+			case TOTAL_FINAL_SCORE:
+				newRow.totalScore = row.totalScore.intValue() + score.getFinalScore();
+				newRow.umaScore = row.umaScore;
+				break;
+			case TOTAL_GAME_SCORE:
+				newRow.totalScore = row.totalScore.intValue() + score.getGameScore();
+				newRow.umaScore = row.umaScore;
+				break;
+			case WIN_RATE_4:
+			case WIN_RATE_5:
+				setRate(newRow, row.umaScore.intValue() + (score.getPlace() == 1 ? 1 : 0));
+				break;
+			case POSITIVE_RATE_4:
+			case POSITIVE_RATE_5:
+				setRate(newRow, row.umaScore.intValue() + (score.getFinalScore() > 0 ? 1 : 0));
+				break;
+			default:
+				break;
+		}
+		return newRow;
+	}
+
+	private static void setRate(final RCRTotalScore row, final int successes) {
+		row.umaScore = successes;
+		row.totalScore = successes * 100.0 / row.numberOfGame.intValue();
+	}
+
+}
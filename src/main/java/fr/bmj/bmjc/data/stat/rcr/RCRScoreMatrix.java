@@ -0,0 +1,124 @@
+/*
+ * This file is part of Breizh Mahjong Recorder.
+ *
+ * Breizh Mahjong Recorder is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Breizh Mahjong Recorder is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Breizh Mahjong Recorder. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.bmj.bmjc.data.stat.rcr;
+
+import java.util.Arrays;
+
+public class RCRScoreMatrix {
+
+	private static final int INITIAL_CAPACITY = 64;
+	private static final long EMPTY = -1L;
+	private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+	private final int nbPlayers;
+	private final double sums[];
+	private long keys[];
+	private double values[];
+	private int nbPairs;
+
+	public RCRScoreMatrix(final int nbPlayers) {
+		this.nbPlayers = nbPlayers;
+		sums = new double[nbPlayers];
+		keys = new long[INITIAL_CAPACITY];
+		Arrays.fill(keys, EMPTY);
+		values = new double[INITIAL_CAPACITY];
+		nbPairs = 0;
+	}
+
+	private RCRScoreMatrix(final RCRScoreMatrix matrix) {
+		nbPlayers = matrix.nbPlayers;
+		sums = matrix.sums.clone();
+		keys = matrix.keys.clone();
+		values = matrix.values.clone();
+		nbPairs = matrix.nbPairs;
+	}
+
+	public RCRScoreMatrix copy() {
+		return new RCRScoreMatrix(this);
+	}
+
+	public int getNumberOfPlayers() {
+		return nbPlayers;
+	}
+
+	public int getNumberOfPairs() {
+		return nbPairs;
+	}
+
+	private static long getKey(final int lowIndex, final int highIndex) {
+		return (long) lowIndex << 32 | highIndex;
+	}
+
+	private int getSlot(final long key) {
+		final int mask = keys.length - 1;
+		int slot = (int) (key * HASH_MULTIPLIER >>> 32) & mask;
+		while (keys[slot] != EMPTY && keys[slot] != key) {
+			slot = slot + 1 & mask;
+		}
+		return slot;
+	}
+
+	private void grow() {
+		final long oldKeys[] = keys;
+		final double oldValues[] = values;
+		keys = new long[oldKeys.length * 2];
+		Arrays.fill(keys, EMPTY);
+		values = new double[oldValues.length * 2];
+		for (int index = 0; index < oldKeys.length; index++) {
+			if (oldKeys[index] != EMPTY) {
+				final int slot = getSlot(oldKeys[index]);
+				keys[slot] = oldKeys[index];
+				values[slot] = oldValues[index];
+			}
+		}
+	}
+
+	public void transfer(final int fromIndex, final int toIndex, final double score) {
+		final long key = fromIndex < toIndex ? getKey(fromIndex, toIndex) : getKey(toIndex, fromIndex);
+		int slot = getSlot(key);
+		if (keys[slot] == EMPTY) {
+			// At most half full
+			if (2 * (nbPairs + 1) > keys.length) {
+				grow();
+				slot = getSlot(key);
+			}
+			keys[slot] = key;
+			nbPairs++;
+		}
+		// The stored value is what the lower index won from the higher one
+		values[slot] += fromIndex < toIndex ? -score : score;
+		sums[toIndex] += score;
+		sums[fromIndex] -= score;
+	}
+
+	public double get(final int playerIndex, final int opponentIndex) {
+		if (playerIndex == opponentIndex) {
+			return 0.0;
+		}
+		final long key = playerIndex < opponentIndex ? getKey(playerIndex, opponentIndex) : getKey(opponentIndex, playerIndex);
+		final int slot = getSlot(key);
+		if (keys[slot] == EMPTY) {
+			return 0.0;
+		}
+		return playerIndex < opponentIndex ? values[slot] : -values[slot];
+	}
+
+	public double getSum(final int playerIndex) {
+		return sums[playerIndex];
+	}
+
+}
@@ -0,0 +1,93 @@
+/*
+ * This file is part of Breizh Mahjong Recorder.
+ *
+ * Breizh Mahjong Recorder is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Breizh Mahjong Recorder is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Breizh Mahjong Recorder. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.bmj.bmjc.dataaccess.abs;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+public class DataAccessCancellation {
+
+	public interface Cancellable {
+		public void cancel() throws Exception;
+	}
+
+	private static final ThreadLocal<DataAccessCancellation> CURRENT = new ThreadLocal<DataAccessCancellation>();
+
+	private final Map<Object, Cancellable> running;
+	private boolean cancelled;
+
+	public DataAccessCancellation() {
+		running = new IdentityHashMap<Object, Cancellable>();
+		cancelled = false;
+	}
+
+	public static DataAccessCancellation current() {
+		return CURRENT.get();
+	}
+
+	public void bind() {
+		CURRENT.set(this);
+	}
+
+	public void unbind() {
+		if (CURRENT.get() == this) {
+			CURRENT.remove();
+		}
+	}
+
+	public void register(final Object key, final Cancellable cancellable) {
+		final boolean alreadyCancelled;
+		synchronized (this) {
+			alreadyCancelled = cancelled;
+			if (!alreadyCancelled) {
+				running.put(key, cancellable);
+			}
+		}
+		if (alreadyCancelled) {
+			cancel(cancellable);
+		}
+	}
+
+	public synchronized void unregister(final Object key) {
+		running.remove(key);
+	}
+
+	public synchronized boolean isCancelled() {
+		return cancelled;
+	}
+
+	public void cancel() {
+		final Cancellable cancellables[];
+		synchronized (this) {
+			cancelled = true;
+			cancellables = running.values().toArray(new Cancellable[running.size()]);
+			running.clear();
+		}
+		for (final Cancellable cancellable : cancellables) {
+			cancel(cancellable);
+		}
+	}
+
+	private static void cancel(final Cancellable cancellable) {
+		try {
+			cancellable.cancel();
+		} catch (final Exception e) {
+			// The query ends normally if it can not be cancelled, its result is ignored
+		}
+	}
+
+}
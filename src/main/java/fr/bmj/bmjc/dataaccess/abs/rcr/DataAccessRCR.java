@@ -17,6 +17,11 @@
 package fr.bmj.bmjc.dataaccess.abs.rcr;
 
 public interface DataAccessRCR
-	extends DataAccessRCRTournament, DataAccessRCRGame, DataAccessRCRRanking, DataAccessRCRTrend, DataAccessRCRPersonalAnalyze, DataAccessRCRScoreAnalyze {
+	extends DataAccessRCRTournament, DataAccessRCRGame, DataAccessRCRRanking, DataAccessRCRTrend, DataAccessRCRRating, DataAccessRCRPersonalAnalyze,
+	DataAccessRCRScoreAnalyze {
+
+	public void addRCRGameListener(final RCRGameListener listener);
+
+	public void removeRCRGameListener(final RCRGameListener listener);
 
 }
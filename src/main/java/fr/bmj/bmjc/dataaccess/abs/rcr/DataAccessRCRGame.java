@@ -1,10 +1,13 @@
 package fr.bmj.bmjc.dataaccess.abs.rcr;
 
+import java.io.Reader;
+import java.time.LocalDate;
 import java.util.List;
 
 import fr.bmj.bmjc.data.game.Player;
 import fr.bmj.bmjc.data.game.Tournament;
 import fr.bmj.bmjc.data.game.rcr.RCRGame;
+import fr.bmj.bmjc.data.game.rcr.RCRGameDate;
 import fr.bmj.bmjc.dataaccess.abs.UpdateResult;
 
 public interface DataAccessRCRGame {
@@ -19,10 +22,18 @@ public interface DataAccessRCRGame {
 
 	public List<Long> getRCRGameIds(final Tournament tournament, final int year, final int month, final int day);
 
+	public List<RCRGameDate> getRCRGameDates(final Tournament tournament);
+
 	public RCRGame getRCRGame(final long id);
 
+	public boolean getRCRGames(final Tournament tournament, final LocalDate from, final LocalDate to, final RCRGameVisitor visitor);
+
 	public UpdateResult deleteRCRGame(final long id);
 
+	public UpdateResult importRCRGames(final Reader reader, final int batchSize);
+
 	public List<Player> getRCRPlayers();
 
+	public List<Player> getRCRPlayers(final boolean onlyRegularPlayers);
+
 }
@@ -1,5 +1,7 @@
 package fr.bmj.bmjc.dataaccess.abs.rcr;
 
+import java.util.Map;
+
 import fr.bmj.bmjc.data.game.Tournament;
 import fr.bmj.bmjc.data.stat.rcr.RCRDataPackagePersonalAnalyze;
 import fr.bmj.bmjc.enums.EnumPeriodMode;
@@ -10,4 +12,7 @@ public interface DataAccessRCRPersonalAnalyze {
 	public RCRDataPackagePersonalAnalyze getRCRDataPackagePersonalAnalyze(final Tournament tournament, final short playerId, final EnumScoreMode scoreMode,
 		final EnumPeriodMode periodMode, final int year, final int trimester, final int month, final int day);
 
+	public Map<Short, RCRDataPackagePersonalAnalyze> getRCRDataPackagePersonalAnalyzeAllPlayers(final Tournament tournament, final EnumScoreMode scoreMode,
+		final EnumPeriodMode periodMode, final int year, final int trimester, final int month, final int day);
+
 }
@@ -17,4 +17,8 @@ public interface DataAccessRCRRanking {
 	public List<RCRTotalScore> getRCRDataPackageRanking(final Tournament tournament, final EnumRankingMode rankingMode, final EnumSortingMode sortingMode,
 		final EnumPeriodMode periodMode, final int year, final int trimester, final int month, final int day);
 
+	public List<RCRTotalScore> getRCRDataPackageRanking(final Tournament tournament, final EnumRankingMode rankingMode, final EnumSortingMode sortingMode,
+		final EnumPeriodMode periodMode, final int year, final int trimester, final int month, final int day, final boolean onlyRegularPlayers,
+		final boolean useMinimumGame);
+
 }
@@ -0,0 +1,102 @@
+/*
+ * This file is part of Breizh Mahjong Recorder.
+ *
+ * Breizh Mahjong Recorder is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Breizh Mahjong Recorder is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Breizh Mahjong Recorder. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.bmj.bmjc.dataaccess.abs.rcr;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import fr.bmj.bmjc.data.game.Player;
+import fr.bmj.bmjc.data.game.rcr.RCRGame;
+import fr.bmj.bmjc.data.game.rcr.RCRScore;
+
+public class RCRGameEventBus {
+
+	private final List<RCRGameListener> listeners;
+
+	public RCRGameEventBus() {
+		listeners = new CopyOnWriteArrayList<RCRGameListener>();
+	}
+
+	public void addListener(final RCRGameListener listener) {
+		if (listener != null) {
+			listeners.add(listener);
+		}
+	}
+
+	public void removeListener(final RCRGameListener listener) {
+		listeners.remove(listener);
+	}
+
+	public boolean hasListeners() {
+		return !listeners.isEmpty();
+	}
+
+	public void fireGameAdded(final RCRGame game) {
+		for (final RCRGameListener listener : listeners) {
+			try {
+				listener.rcrGameAdded(game);
+			} catch (final Exception e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	public void fireGameDeleted(final RCRGame game) {
+		for (final RCRGameListener listener : listeners) {
+			try {
+				listener.rcrGameDeleted(game);
+			} catch (final Exception e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	public void fireDataChanged() {
+		for (final RCRGameListener listener : listeners) {
+			try {
+				listener.rcrDataChanged();
+			} catch (final Exception e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	public static RCRGame withPlayerNames(final RCRGame game, final List<Player> players) {
+		final Map<Short, Player> playerMap = new HashMap<Short, Player>();
+		if (players != null) {
+			for (final Player player : players) {
+				playerMap.put(player.getPlayerID(), player);
+			}
+		}
+		final List<RCRScore> scores = new ArrayList<RCRScore>(game.getScores().size());
+		for (final RCRScore score : game.getScores()) {
+			final Player player = playerMap.get(score.getPlayerId());
+			if (player != null && (score.getPlayerName() == null || score.getPlayerName().isEmpty())) {
+				scores.add(new RCRScore(score.getPlayerId(), player.getPlayerName(), player.getDisplayName(), score.getPlace(), score.getGameScore(),
+					score.getUmaScore(), score.getFinalScore()));
+			} else {
+				scores.add(score);
+			}
+		}
+		return new RCRGame(game.getId(), game.getTournamentId(), game.getYear(), game.getMonth(), game.getDay(), game.getNbRounds(), game.getNbPlayers(),
+			scores);
+	}
+
+}
@@ -0,0 +1,570 @@
+/*
+ * This file is part of Breizh Mahjong Recorder.
+ *
+ * Breizh Mahjong Recorder is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Breizh Mahjong Recorder is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Breizh Mahjong Recorder. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.bmj.bmjc.dataaccess.impl.cache.rcr;
+
+import java.io.Reader;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import fr.bmj.bmjc.data.game.Player;
+import fr.bmj.bmjc.data.game.Tournament;
+import fr.bmj.bmjc.data.game.rcr.RCRGame;
+import fr.bmj.bmjc.data.game.rcr.RCRGameDate;
+import fr.bmj.bmjc.data.stat.rcr.RCRDataPackagePersonalAnalyze;
+import fr.bmj.bmjc.data.stat.rcr.RCRDataPackageScoreAnalyze;
+import fr.bmj.bmjc.data.stat.rcr.RCRDataPackageTrend;
+import fr.bmj.bmjc.data.stat.rcr.RCRTotalScore;
+import fr.bmj.bmjc.dataaccess.abs.DataAccessCancellation;
+import fr.bmj.bmjc.dataaccess.abs.UpdateResult;
+import fr.bmj.bmjc.dataaccess.abs.rcr.DataAccessRCR;
+import fr.bmj.bmjc.dataaccess.abs.rcr.RCRGameEventBus;
+import fr.bmj.bmjc.dataaccess.abs.rcr.RCRGameListener;
+import fr.bmj.bmjc.dataaccess.abs.rcr.RCRGameVisitor;
+import fr.bmj.bmjc.dataaccess.impl.db.rcr.RCRRankingAggregator;
+import fr.bmj.bmjc.enums.EnumPeriodMode;
+import fr.bmj.bmjc.enums.EnumRankingMode;
+import fr.bmj.bmjc.enums.EnumScoreMode;
+import fr.bmj.bmjc.enums.EnumSortingMode;
+
+public class DataAccessCacheRCR implements DataAccessRCR {
+
+	public static final String SIZE_PROPERTY = "bmjc.rcrCacheSize";
+	public static final int DEFAULT_SIZE = 256;
+
+	private static final short ALL_TOURNAMENTS = -1;
+	private static final short TOURNAMENT_LIST = -2;
+
+	private static final int FIRST_DAY = 0;
+	private static final int LAST_DAY = 99991231;
+
+	private final DataAccessRCR dataAccess;
+	private final int maximumSize;
+	private final Map<CacheKey, CacheEntry> entries;
+	private final RCRGameEventBus eventBus;
+
+	private boolean onlyRegularPlayers;
+	private boolean useMinimumGame;
+
+	private long generation;
+	private long nbHits;
+	private long nbMisses;
+	private long nbEvictions;
+	private long nbInvalidations;
+	private long savedTime;
+
+	public DataAccessCacheRCR(final DataAccessRCR dataAccess, final int maximumSize) {
+		this.dataAccess = dataAccess;
+		this.maximumSize = maximumSize;
+		entries = new LinkedHashMap<CacheKey, CacheEntry>(16, 0.75f, true) {
+			private static final long serialVersionUID = 2546512378164418734L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<CacheKey, CacheEntry> eldest) {
+				if (size() > DataAccessCacheRCR.this.maximumSize) {
+					nbEvictions++;
+					return true;
+				}
+				return false;
+			}
+		};
+		eventBus = new RCRGameEventBus();
+	}
+
+	public static int getConfiguredSize() {
+		try {
+			return Math.max(0, Integer.parseInt(System.getProperty(SIZE_PROPERTY, Integer.toString(DEFAULT_SIZE))));
+		} catch (final NumberFormatException e) {
+			return DEFAULT_SIZE;
+		}
+	}
+
+	private CacheKey key(final String query, final Object... parameters) {
+		final boolean regular;
+		final boolean minimum;
+		synchronized (this) {
+			regular = onlyRegularPlayers;
+			minimum = useMinimumGame;
+		}
+		return new CacheKey(query, regular, minimum, parameters);
+	}
+
+	private synchronized boolean isOnlyRegularPlayers() {
+		return onlyRegularPlayers;
+	}
+
+	private synchronized boolean isUseMinimumGame() {
+		return useMinimumGame;
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> T cached(final CacheKey key, final short tournamentId, final int from, final int to, final Supplier<T> query) {
+		final long startGeneration;
+		synchronized (this) {
+			final CacheEntry entry = entries.get(key);
+			if (entry != null) {
+				nbHits++;
+				savedTime += entry.loadTime;
+				return (T) entry.value;
+			}
+			nbMisses++;
+			startGeneration = generation;
+		}
+
+		final long start = System.nanoTime();
+		final T value = query.get();
+		final long loadTime = System.nanoTime() - start;
+
+		// A cancelled query may have returned a partial result
+		final DataAccessCancellation cancellation = DataAccessCancellation.current();
+		if (value != null && (cancellation == null || !cancellation.isCancelled())) {
+			synchronized (this) {
+				// The result is dropped when an update happened while it was loaded
+				if (generation == startGeneration) {
+					entries.put(key, new CacheEntry(value, tournamentId, from, to, loadTime));
+				}
+			}
+		}
+		return value;
+	}
+
+	private <T> T cachedPeriod(final String query, final Tournament tournament, final EnumPeriodMode periodMode, final int year, final int trimester,
+		final int month, final int day, final Supplier<T> loader, final Object... parameters) {
+		return cachedPeriod(query, tournament, periodMode, year, trimester, month, day, false, loader, parameters);
+	}
+
+	private <T> T cachedPeriod(final String query, final Tournament tournament, final EnumPeriodMode periodMode, final int year, final int trimester,
+		final int month, final int day, final boolean cumulative, final Supplier<T> loader, final Object... parameters) {
+		return cachedPeriod(query, isOnlyRegularPlayers(), isUseMinimumGame(), tournament, periodMode, year, trimester, month, day, cumulative, loader,
+			parameters);
+	}
+
+	private <T> T cachedPeriod(final String query, final boolean onlyRegularPlayers, final boolean useMinimumGame, final Tournament tournament,
+		final EnumPeriodMode periodMode, final int year, final int trimester, final int month, final int day, final boolean cumulative,
+		final Supplier<T> loader, final Object... parameters) {
+		final int from;
+		final int to;
+		final int keyYear;
+		final int keyTrimester;
+		final int keyMonth;
+		final int keyDay;
+		switch (periodMode) {
+			case YEAR:
+				from = toDay(year, 0, 1);
+				to = toDay(year, 11, 31);
+				keyYear = year;
+				keyTrimester = 0;
+				keyMonth = 0;
+				keyDay = 0;
+				break;
+			case TRIMESTER:
+				from = toDay(year, trimester * 3, 1);
+				to = toDay(year, trimester * 3 + 2, 31);
+				keyYear = year;
+				keyTrimester = trimester;
+				keyMonth = 0;
+				keyDay = 0;
+				break;
+			case MONTH:
+				from = toDay(year, month, 1);
+				to = toDay(year, month, 31);
+				keyYear = year;
+				keyTrimester = 0;
+				keyMonth = month;
+				keyDay = 0;
+				break;
+			case DAY:
+				from = toDay(year, month, day);
+				to = from;
+				keyYear = year;
+				keyTrimester = 0;
+				keyMonth = month;
+				keyDay = day;
+				break;
+			default:
+				from = FIRST_DAY;
+				to = LAST_DAY;
+				keyYear = 0;
+				keyTrimester = 0;
+				keyMonth = 0;
+				keyDay = 0;
+				break;
+		}
+
+		final Object keyParameters[] = Arrays.copyOf(parameters, parameters.length + 6);
+		keyParameters[parameters.length] = tournament.getId();
+		keyParameters[parameters.length + 1] = periodMode;
+		keyParameters[parameters.length + 2] = keyYear;
+		keyParameters[parameters.length + 3] = keyTrimester;
+		keyParameters[parameters.length + 4] = keyMonth;
+		keyParameters[parameters.length + 5] = keyDay;
+		return cached(new CacheKey(query, onlyRegularPlayers, useMinimumGame, keyParameters), tournament.getId(), cumulative ? FIRST_DAY : from, to,
+			loader);
+	}
+
+	private static int toDay(final int year, final int month, final int day) {
+		return (year * 100 + month + 1) * 100 + day;
+	}
+
+	private synchronized void invalidateGames(final short tournamentId, final int day) {
+		generation++;
+		final Iterator<CacheEntry> iterator = entries.values().iterator();
+		while (iterator.hasNext()) {
+			final CacheEntry entry = iterator.next();
+			if ((entry.tournamentId == tournamentId || entry.tournamentId == ALL_TOURNAMENTS) && entry.from <= day && day <= entry.to) {
+				iterator.remove();
+				nbInvalidations++;
+			}
+		}
+	}
+
+	private synchronized void invalidateTournament(final short tournamentId, final boolean withGames) {
+		generation++;
+		final Iterator<CacheEntry> iterator = entries.values().iterator();
+		while (iterator.hasNext()) {
+			final CacheEntry entry = iterator.next();
+			if (entry.tournamentId == tournamentId || entry.tournamentId == TOURNAMENT_LIST || withGames && entry.tournamentId == ALL_TOURNAMENTS) {
+				iterator.remove();
+				nbInvalidations++;
+			}
+		}
+	}
+
+	private synchronized void invalidateAll() {
+		generation++;
+		nbInvalidations += entries.size();
+		entries.clear();
+	}
+
+	public void invalidate() {
+		invalidateAll();
+		eventBus.fireDataChanged();
+	}
+
+	@Override
+	public void addRCRGameListener(final RCRGameListener listener) {
+		eventBus.addListener(listener);
+	}
+
+	@Override
+	public void removeRCRGameListener(final RCRGameListener listener) {
+		eventBus.removeListener(listener);
+	}
+
+	public void reloadPlayers() {
+		invalidate();
+	}
+
+	@Override
+	public UpdateResult addRCRTournament(final String tournamentName) {
+		final UpdateResult result = dataAccess.addRCRTournament(tournamentName);
+		if (result.getResult()) {
+			invalidateTournament(TOURNAMENT_LIST, false);
+			eventBus.fireDataChanged();
+		}
+		return result;
+	}
+
+	@Override
+	public UpdateResult modifyRCRTournament(final short tournamentId, final String tournamentName) {
+		final UpdateResult result = dataAccess.modifyRCRTournament(tournamentId, tournamentName);
+		if (result.getResult()) {
+			invalidateTournament(tournamentId, false);
+			eventBus.fireDataChanged();
+		}
+		return result;
+	}
+
+	@Override
+	public List<Tournament> getRCRTournaments() {
+		return cached(key("tournaments"), TOURNAMENT_LIST, FIRST_DAY, LAST_DAY, () -> dataAccess.getRCRTournaments());
+	}
+
+	@Override
+	public UpdateResult deleteRCRTournament(final short tournamentId) {
+		final UpdateResult result = dataAccess.deleteRCRTournament(tournamentId);
+		if (result.getResult()) {
+			invalidateTournament(tournamentId, true);
+			eventBus.fireDataChanged();
+		}
+		return result;
+	}
+
+	@Override
+	public UpdateResult addRCRGame(final RCRGame game) {
+		final UpdateResult result = dataAccess.addRCRGame(game);
+		if (result.getResult()) {
+			invalidateGames(game.getTournamentId(), toDay(game.getYear(), game.getMonth(), game.getDay()));
+			if (eventBus.hasListeners()) {
+				eventBus.fireGameAdded(RCRGameEventBus.withPlayerNames(game, getRCRPlayers()));
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public void setOnlyRegularPlayers(final boolean onlyRegularPlayers) {
+		dataAccess.setOnlyRegularPlayers(onlyRegularPlayers);
+		final boolean changed;
+		synchronized (this) {
+			changed = this.onlyRegularPlayers != onlyRegularPlayers;
+			if (changed) {
+				this.onlyRegularPlayers = onlyRegularPlayers;
+				generation++;
+			}
+		}
+		if (changed) {
+			eventBus.fireDataChanged();
+		}
+	}
+
+	@Override
+	public List<Integer> getRCRYears(final Tournament tournament) {
+		return cached(key("years", tournament.getId()), tournament.getId(), FIRST_DAY, LAST_DAY, () -> dataAccess.getRCRYears(tournament));
+	}
+
+	@Override
+	public List<Integer> getRCRGameDays(final Tournament tournament, final int year, final int month) {
+		return cached(key("days", tournament.getId(), year, month), tournament.getId(), toDay(year, month, 1), toDay(year, month, 31),
+			() -> dataAccess.getRCRGameDays(tournament, year, month));
+	}
+
+	@Override
+	public List<Long> getRCRGameIds(final Tournament tournament, final int year, final int month, final int day) {
+		return cached(key("ids", tournament.getId(), year, month, day), tournament.getId(), toDay(year, month, day), toDay(year, month, day),
+			() -> dataAccess.getRCRGameIds(tournament, year, month, day));
+	}
+
+	@Override
+	public List<RCRGameDate> getRCRGameDates(final Tournament tournament) {
+		return cached(key("dates", tournament.getId()), tournament.getId(), FIRST_DAY, LAST_DAY, () -> dataAccess.getRCRGameDates(tournament));
+	}
+
+	@Override
+	public RCRGame getRCRGame(final long id) {
+		return dataAccess.getRCRGame(id);
+	}
+
+	@Override
+	public boolean getRCRGames(final Tournament tournament, final LocalDate from, final LocalDate to, final RCRGameVisitor visitor) {
+		return dataAccess.getRCRGames(tournament, from, to, visitor);
+	}
+
+	@Override
+	public UpdateResult deleteRCRGame(final long id) {
+		final RCRGame game = dataAccess.getRCRGame(id);
+		final UpdateResult result = dataAccess.deleteRCRGame(id);
+		if (result.getResult()) {
+			if (game != null) {
+				invalidateGames(game.getTournamentId(), toDay(game.getYear(), game.getMonth(), game.getDay()));
+				eventBus.fireGameDeleted(game);
+			} else {
+				invalidate();
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public UpdateResult importRCRGames(final Reader reader, final int batchSize) {
+		final UpdateResult result = dataAccess.importRCRGames(reader, batchSize);
+		// The games are committed by batches, some may have been imported even on failure
+		invalidate();
+		return result;
+	}
+
+	@Override
+	public List<Player> getRCRPlayers() {
+		return cached(key("players"), ALL_TOURNAMENTS, FIRST_DAY, LAST_DAY, () -> dataAccess.getRCRPlayers());
+	}
+
+	@Override
+	public List<Player> getRCRPlayers(final boolean onlyRegularPlayers) {
+		return cached(new CacheKey("players", onlyRegularPlayers, false, new Object[0]), ALL_TOURNAMENTS, FIRST_DAY, LAST_DAY,
+			() -> dataAccess.getRCRPlayers(onlyRegularPlayers));
+	}
+
+	@Override
+	public void setUseMinimumGame(final boolean useMinimumGame) {
+		dataAccess.setUseMinimumGame(useMinimumGame);
+		final boolean changed;
+		synchronized (this) {
+			changed = this.useMinimumGame != useMinimumGame;
+			if (changed) {
+				this.useMinimumGame = useMinimumGame;
+				generation++;
+			}
+		}
+		if (changed) {
+			eventBus.fireDataChanged();
+		}
+	}
+
+	@Override
+	public List<RCRTotalScore> getRCRDataPackageRanking(final Tournament tournament, final EnumRankingMode rankingMode, final EnumSortingMode sortingMode,
+		final EnumPeriodMode periodMode, final int year, final int trimester, final int month, final int day) {
+		return getRCRDataPackageRanking(tournament, rankingMode, sortingMode, periodMode, year, trimester, month, day, isOnlyRegularPlayers(),
+			isUseMinimumGame());
+	}
+
+	@Override
+	public List<RCRTotalScore> getRCRDataPackageRanking(final Tournament tournament, final EnumRankingMode rankingMode, final EnumSortingMode sortingMode,
+		final EnumPeriodMode periodMode, final int year, final int trimester, final int month, final int day, final boolean onlyRegularPlayers,
+		final boolean useMinimumGame) {
+		final Supplier<List<RCRTotalScore>> loader = () -> dataAccess.getRCRDataPackageRanking(tournament, rankingMode, sortingMode, periodMode, year,
+			trimester, month, day, onlyRegularPlayers, useMinimumGame);
+		if (rankingMode == EnumRankingMode.ELO_RATING || RCRRankingAggregator.isPeriodRankingMode(rankingMode)) {
+			// The ratings and the period rankings do not depend on the selected period
+			return cachedPeriod("ranking", onlyRegularPlayers, useMinimumGame, tournament, EnumPeriodMode.ALL, 0, 0, 0, 0, false, loader, rankingMode,
+				sortingMode);
+		}
+		return cachedPeriod("ranking", onlyRegularPlayers, useMinimumGame, tournament, periodMode, year, trimester, month, day, false, loader, rankingMode,
+			sortingMode);
+	}
+
+	@Override
+	public RCRDataPackageTrend getRCRDataPackageTrend(final Tournament tournament, final EnumPeriodMode periodMode, final int year, final int trimester,
+		final int month, final int day) {
+		return cachedPeriod("trend", tournament, periodMode, year, trimester, month, day,
+			() -> dataAccess.getRCRDataPackageTrend(tournament, periodMode, year, trimester, month, day));
+	}
+
+	@Override
+	public RCRDataPackageTrend getRCRDataPackageRatingTrend(final Tournament tournament, final EnumPeriodMode periodMode, final int year,
+		final int trimester, final int month, final int day) {
+		return cachedPeriod("ratingTrend", tournament, periodMode, year, trimester, month, day, true,
+			() -> dataAccess.getRCRDataPackageRatingTrend(tournament, periodMode, year, trimester, month, day));
+	}
+
+	@Override
+	public RCRDataPackagePersonalAnalyze getRCRDataPackagePersonalAnalyze(final Tournament tournament, final short playerId, final EnumScoreMode scoreMode,
+		final EnumPeriodMode periodMode, final int year, final int trimester, final int month, final int day) {
+		return cachedPeriod("personal", tournament, periodMode, year, trimester, month, day,
+			() -> dataAccess.getRCRDataPackagePersonalAnalyze(tournament, playerId, scoreMode, periodMode, year, trimester, month, day), playerId, scoreMode);
+	}
+
+	@Override
+	public Map<Short, RCRDataPackagePersonalAnalyze> getRCRDataPackagePersonalAnalyzeAllPlayers(final Tournament tournament, final EnumScoreMode scoreMode,
+		final EnumPeriodMode periodMode, final int year, final int trimester, final int month, final int day) {
+		return cachedPeriod("personalAll", tournament, periodMode, year, trimester, month, day,
+			() -> dataAccess.getRCRDataPackagePersonalAnalyzeAllPlayers(tournament, scoreMode, periodMode, year, trimester, month, day), scoreMode);
+	}
+
+	@Override
+	public RCRDataPackageScoreAnalyze getRCRDataPackageScoreAnalyze(final Tournament tournament, final EnumPeriodMode periodMode, final int year,
+		final int trimester, final int month, final int day) {
+		return cachedPeriod("score", tournament, periodMode, year, trimester, month, day,
+			() -> dataAccess.getRCRDataPackageScoreAnalyze(tournament, periodMode, year, trimester, month, day));
+	}
+
+	public synchronized long getGeneration() {
+		return generation;
+	}
+
+	public int getMaximumSize() {
+		return maximumSize;
+	}
+
+	public synchronized int getSize() {
+		return entries.size();
+	}
+
+	public synchronized long getNbHits() {
+		return nbHits;
+	}
+
+	public synchronized long getNbMisses() {
+		return nbMisses;
+	}
+
+	public synchronized double getHitRate() {
+		final long nbRequests = nbHits + nbMisses;
+		return nbRequests > 0 ? (double) nbHits / nbRequests : 0.0;
+	}
+
+	public synchronized long getNbEvictions() {
+		return nbEvictions;
+	}
+
+	public synchronized long getNbInvalidations() {
+		return nbInvalidations;
+	}
+
+	public synchronized long getSavedMilliseconds() {
+		return savedTime / 1000000;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "RCR cache " + Integer.toString(entries.size()) + "/" + Integer.toString(maximumSize) + " entries, hits " + Long.toString(nbHits) + ", misses "
+			+ Long.toString(nbMisses) + " (" + Long.toString(Math.round(getHitRate() * 100)) + " %), saved " + Long.toString(savedTime / 1000000)
+			+ " ms, evictions " + Long.toString(nbEvictions) + ", invalidations " + Long.toString(nbInvalidations);
+	}
+
+	private static class CacheKey {
+		private final String query;
+		private final boolean onlyRegularPlayers;
+		private final boolean useMinimumGame;
+		private final Object parameters[];
+		private final int hashCode;
+
+		private CacheKey(final String query, final boolean onlyRegularPlayers, final boolean useMinimumGame, final Object parameters[]) {
+			this.query = query;
+			this.onlyRegularPlayers = onlyRegularPlayers;
+			this.useMinimumGame = useMinimumGame;
+			this.parameters = parameters;
+			hashCode = ((query.hashCode() * 31 + Boolean.hashCode(onlyRegularPlayers)) * 31 + Boolean.hashCode(useMinimumGame)) * 31
+				+ Arrays.hashCode(parameters);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(final Object object) {
+			if (!(object instanceof CacheKey)) {
+				return false;
+			}
+			final CacheKey key = (CacheKey) object;
+			return hashCode == key.hashCode && query.equals(key.query) && onlyRegularPlayers == key.onlyRegularPlayers
+				&& useMinimumGame == key.useMinimumGame && Arrays.equals(parameters, key.parameters);
+		}
+	}
+
+	private static class CacheEntry {
+		private final Object value;
+		private final short tournamentId;
+		private final int from;
+		private final int to;
+		private final long loadTime;
+
+		private CacheEntry(final Object value, final short tournamentId, final int from, final int to, final long loadTime) {
+			this.value = value;
+			this.tournamentId = tournamentId;
+			this.from = from;
+			this.to = to;
+			this.loadTime = loadTime;
+		}
+	}
+
+}
@@ -21,18 +21,28 @@ import java.sql.Connection;
 import java.sql.DriverManager;
 
 import fr.bmj.bmjc.dataaccess.abs.DataAccess;
+import fr.bmj.bmjc.dataaccess.abs.UpdateResult;
 import fr.bmj.bmjc.dataaccess.abs.player.DataAccessManagePlayer;
 import fr.bmj.bmjc.dataaccess.abs.rcr.DataAccessRCR;
+import fr.bmj.bmjc.dataaccess.impl.cache.rcr.DataAccessCacheRCR;
 import fr.bmj.bmjc.dataaccess.impl.db.player.DataAccessDataBaseManagePlayer;
 import fr.bmj.bmjc.dataaccess.impl.db.rcr.DataAccessDataBaseRCR;
+import fr.bmj.bmjc.dataaccess.impl.db.rcr.DataAccessDataBaseRCRInMemory;
+import fr.bmj.bmjc.dataaccess.impl.db.rcr.DataAccessDataBaseRCRPeriodStats;
 
 public class DataAccessDataBase implements DataAccess {
 
+	public static final String RCR_IN_MEMORY_PROPERTY = "bmjc.rcrInMemory";
+
 	private static final String DATABASE_NAME = "DataBase";
 	private Connection dataBaseConnection;
+	private DataAccessDataBaseConnectionPool connectionPool;
 
 	private DataAccessManagePlayer dataAccessManagePlayer;
 	private DataAccessRCR dataAccessRCR;
+	private DataAccessDataBaseRCR dataAccessRCRDataBase;
+	private DataAccessCacheRCR dataAccessRCRCache;
+	private UpdateResult initializeResult;
 
 	public DataAccessDataBase() {
 	}
@@ -43,15 +53,74 @@ public class DataAccessDataBase implements DataAccess {
 			final File dataBaseFile = new File(DATABASE_NAME);
 			Class.forName("org.apache.derby.jdbc.EmbeddedDriver");
 			if (dataBaseFile.exists() && dataBaseFile.isDirectory()) {
-				dataBaseConnection = DriverManager.getConnection("jdbc:derby:" + dataBaseFile.getAbsolutePath());
-				dataAccessManagePlayer = new DataAccessDataBaseManagePlayer(dataBaseConnection);
-				dataAccessRCR = new DataAccessDataBaseRCR(dataBaseConnection);
+				final String url = "jdbc:derby:" + dataBaseFile.getAbsolutePath();
+				dataBaseConnection = DriverManager.getConnection(url);
+				initializeResult = new DataAccessDataBaseMigration(dataBaseConnection).migrate();
+				if (isConfiguredRCRInMemory()) {
+					final DataAccessDataBaseRCRInMemory dataAccessRCRInMemory = new DataAccessDataBaseRCRInMemory(dataBaseConnection);
+					dataAccessRCRCache = new DataAccessCacheRCR(dataAccessRCRInMemory, DataAccessCacheRCR.getConfiguredSize());
+					dataAccessManagePlayer = new DataAccessDataBaseManagePlayer(dataBaseConnection, () -> {
+						dataAccessRCRInMemory.reloadPlayers();
+						dataAccessRCRCache.reloadPlayers();
+					});
+				} else {
+					final UpdateResult rebuildResult = new DataAccessDataBaseRCRPeriodStats(dataBaseConnection).rebuildIfEmpty();
+					if (initializeResult.getResult()) {
+						initializeResult = rebuildResult;
+					}
+					connectionPool = new DataAccessDataBaseConnectionPool(url, dataBaseConnection, DataAccessDataBaseConnectionPool.getConfiguredReadConnections());
+					dataAccessRCRDataBase = new DataAccessDataBaseRCR(dataBaseConnection, connectionPool);
+					dataAccessRCRCache = new DataAccessCacheRCR(dataAccessRCRDataBase, DataAccessCacheRCR.getConfiguredSize());
+					dataAccessManagePlayer = new DataAccessDataBaseManagePlayer(dataBaseConnection, () -> {
+						dataAccessRCRDataBase.reloadPlayers();
+						dataAccessRCRCache.reloadPlayers();
+					});
+				}
+				dataAccessRCR = dataAccessRCRCache;
 			} else {
 				dataBaseConnection = null;
+				initializeResult = new UpdateResult(false, "Pas de connxion à la base de données");
 			}
 		} catch (final Exception e) {
 			e.printStackTrace();
+			initializeResult = new UpdateResult(false, "Erreur de connexion de base de données");
+		}
+	}
+
+	public static boolean isConfiguredRCRInMemory() {
+		return Boolean.parseBoolean(System.getProperty(RCR_IN_MEMORY_PROPERTY, "true"));
+	}
+
+	public UpdateResult rebuildRCRPeriodStats() {
+		if (dataBaseConnection == null) {
+			return new UpdateResult(false, "Pas de connxion à la base de données");
+		}
+		final UpdateResult result = new DataAccessDataBaseRCRPeriodStats(dataBaseConnection).rebuild();
+		if (result.getResult()) {
+			if (dataAccessRCRDataBase != null) {
+				dataAccessRCRDataBase.reloadPlayers();
+			}
+			if (dataAccessRCRCache != null) {
+				dataAccessRCRCache.invalidate();
+			}
 		}
+		return result;
+	}
+
+	public DataAccessDataBaseStatementCache getStatementCache() {
+		return dataBaseConnection != null ? DataAccessDataBaseStatementCache.forConnection(dataBaseConnection) : null;
+	}
+
+	public DataAccessDataBaseConnectionPool getConnectionPool() {
+		return connectionPool;
+	}
+
+	public DataAccessCacheRCR getRCRCache() {
+		return dataAccessRCRCache;
+	}
+
+	public UpdateResult getInitializeResult() {
+		return initializeResult;
 	}
 
 	@Override
@@ -63,6 +132,10 @@ public class DataAccessDataBase implements DataAccess {
 	public void disconnect() {
 		if (dataBaseConnection != null) {
 			try {
+				if (connectionPool != null) {
+					connectionPool.close();
+				}
+				DataAccessDataBaseStatementCache.discard(dataBaseConnection);
 				dataBaseConnection.close();
 			} catch (final Exception e) {
 				e.printStackTrace();
@@ -0,0 +1,156 @@
+/*
+ * This file is part of Breizh Mahjong Recorder.
+ *
+ * Breizh Mahjong Recorder is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Breizh Mahjong Recorder is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Breizh Mahjong Recorder. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.bmj.bmjc.dataaccess.impl.db;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Supplier;
+
+public class DataAccessDataBaseConnectionPool {
+
+	public static final String READ_CONNECTIONS_PROPERTY = "bmjc.readConnections";
+	public static final int DEFAULT_READ_CONNECTIONS = 4;
+
+	private static final ThreadLocal<Connection> BOUND_READ_CONNECTION = new ThreadLocal<Connection>();
+
+	private final Connection writeConnection;
+	private final List<Connection> readConnections;
+	private final BlockingQueue<Connection> idleReadConnections;
+
+	private long nbAcquisitions;
+	private long nbWaits;
+	private long totalWaitTime;
+	private long maxWaitTime;
+
+	public DataAccessDataBaseConnectionPool(final String url, final Connection writeConnection, final int nbReadConnections) throws SQLException {
+		this.writeConnection = writeConnection;
+		readConnections = new ArrayList<Connection>(nbReadConnections);
+		idleReadConnections = new ArrayBlockingQueue<Connection>(Math.max(nbReadConnections, 1));
+		for (int index = 0; index < nbReadConnections; index++) {
+			final Connection connection = DriverManager.getConnection(url);
+			connection.setReadOnly(true);
+			readConnections.add(connection);
+			idleReadConnections.add(connection);
+		}
+	}
+
+	public static int getConfiguredReadConnections() {
+		try {
+			return Math.max(0, Integer.parseInt(System.getProperty(READ_CONNECTIONS_PROPERTY, Integer.toString(DEFAULT_READ_CONNECTIONS))));
+		} catch (final NumberFormatException e) {
+			return DEFAULT_READ_CONNECTIONS;
+		}
+	}
+
+	public static Connection getBoundReadConnection() {
+		return BOUND_READ_CONNECTION.get();
+	}
+
+	public Connection getWriteConnection() {
+		return writeConnection;
+	}
+
+	public <T> T read(final Supplier<T> query) {
+		if (readConnections.isEmpty() || BOUND_READ_CONNECTION.get() != null) {
+			return query.get();
+		}
+
+		final Connection connection;
+		try {
+			connection = acquire();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return query.get();
+		}
+		BOUND_READ_CONNECTION.set(connection);
+		try {
+			return query.get();
+		} finally {
+			BOUND_READ_CONNECTION.remove();
+			idleReadConnections.add(connection);
+		}
+	}
+
+	private Connection acquire() throws InterruptedException {
+		Connection connection = idleReadConnections.poll();
+		long waitTime = 0;
+		if (connection == null) {
+			final long start = System.nanoTime();
+			connection = idleReadConnections.take();
+			waitTime = System.nanoTime() - start;
+		}
+		synchronized (this) {
+			nbAcquisitions++;
+			if (waitTime > 0) {
+				nbWaits++;
+				totalWaitTime += waitTime;
+				maxWaitTime = Math.max(maxWaitTime, waitTime);
+			}
+		}
+		return connection;
+	}
+
+	public int getNbReadConnections() {
+		return readConnections.size();
+	}
+
+	public int getNbIdleReadConnections() {
+		return idleReadConnections.size();
+	}
+
+	public synchronized long getNbAcquisitions() {
+		return nbAcquisitions;
+	}
+
+	public synchronized long getNbWaits() {
+		return nbWaits;
+	}
+
+	public synchronized long getTotalWaitTime() {
+		return totalWaitTime;
+	}
+
+	public synchronized long getMaxWaitTime() {
+		return maxWaitTime;
+	}
+
+	public void close() {
+		for (final Connection connection : readConnections) {
+			try {
+				DataAccessDataBaseStatementCache.discard(connection);
+				connection.close();
+			} catch (final SQLException e) {
+				e.printStackTrace();
+			}
+		}
+		readConnections.clear();
+		idleReadConnections.clear();
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "Read connections " + Integer.toString(idleReadConnections.size()) + "/" + Integer.toString(readConnections.size()) + " idle, acquisitions "
+			+ Long.toString(nbAcquisitions) + ", waits " + Long.toString(nbWaits) + ", total wait " + Long.toString(totalWaitTime / 1000000)
+			+ " ms, max wait " + Long.toString(maxWaitTime / 1000000) + " ms";
+	}
+
+}
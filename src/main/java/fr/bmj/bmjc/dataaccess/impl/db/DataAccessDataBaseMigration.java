@@ -0,0 +1,156 @@
+/*
+ * This file is part of Breizh Mahjong Recorder.
+ *
+ * Breizh Mahjong Recorder is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Breizh Mahjong Recorder is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Breizh Mahjong Recorder. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.bmj.bmjc.dataaccess.impl.db;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+
+import fr.bmj.bmjc.dataaccess.abs.UpdateResult;
+import fr.bmj.bmjc.dataaccess.impl.db.rcr.DataAccessDataBaseRCRPeriodStats;
+
+public class DataAccessDataBaseMigration {
+
+	private static final String TABLE_NAME = "SCHEMA_VERSION";
+	private static final String CREATE_TABLE_QUERY = "CREATE TABLE Schema_Version(version integer, description varchar(128) not null,"
+		+ " applied_on timestamp not null, constraint schema_version_pk primary key(version))";
+
+	private static final Migration MIGRATIONS[] = {
+		new Migration(1, "Statistiques mensuelles et index des requêtes d'analyse RCR",
+			DataAccessDataBaseRCRPeriodStats.CREATE_TABLE_QUERY,
+			DataAccessDataBaseRCRPeriodStats.FILL_QUERY,
+			"CREATE INDEX rgi_tournament_date_idx ON RCR_Game_Id(rcr_tournament_id, date, id, nb_players)",
+			"CREATE INDEX rgi_date_idx ON RCR_Game_Id(date, id)",
+			"CREATE INDEX rgs_game_cover_idx ON RCR_Game_Score(rcr_game_id, player_id, ranking, final_score, game_score, uma_score)",
+			"CREATE INDEX rgs_player_idx ON RCR_Game_Score(player_id, rcr_game_id, ranking, final_score, game_score)",
+			"CREATE INDEX rpps_period_idx ON RCR_Player_Period_Stats(rcr_tournament_id, period_year, period_month)"),
+		new Migration(2, "Points de contrôle du classement Elo",
+			"CREATE TABLE RCR_Rating_Checkpoint(rcr_game_id bigint, player_id smallint, rcr_tournament_id smallint not null,"
+				+ " nb_games integer not null, rating double not null, nb_player_games integer not null,"
+				+ " constraint rrc_pk primary key(rcr_game_id, player_id),"
+				+ " constraint rrc_game_id_fk foreign key(rcr_game_id) references RCR_Game_Id(id) on delete cascade on update restrict,"
+				+ " constraint rrc_player_id_fk foreign key(player_id) references Player(id) on delete restrict on update restrict)",
+			"CREATE INDEX rrc_tournament_idx ON RCR_Rating_Checkpoint(rcr_tournament_id, rcr_game_id, nb_games)")
+	};
+
+	private final Connection dataBaseConnection;
+
+	public DataAccessDataBaseMigration(final Connection dataBaseConnection) {
+		this.dataBaseConnection = dataBaseConnection;
+	}
+
+	public static int getLatestVersion() {
+		return MIGRATIONS[MIGRATIONS.length - 1].version;
+	}
+
+	private boolean versionTableExists() throws SQLException {
+		final ResultSet tables = dataBaseConnection.getMetaData().getTables(null, null, TABLE_NAME, null);
+		final boolean exists = tables.next();
+		tables.close();
+		return exists;
+	}
+
+	public int getVersion() throws SQLException {
+		if (!versionTableExists()) {
+			return 0;
+		}
+
+		int version = 0;
+		final Statement statement = dataBaseConnection.createStatement();
+		final ResultSet result = statement.executeQuery("SELECT MAX(version) FROM schema_version");
+		if (result.next()) {
+			version = result.getInt(1);
+		}
+		result.close();
+		statement.close();
+		return version;
+	}
+
+	public UpdateResult migrate() {
+		int version;
+		try {
+			if (!versionTableExists()) {
+				final Statement statement = dataBaseConnection.createStatement();
+				statement.executeUpdate(CREATE_TABLE_QUERY);
+				statement.close();
+			}
+			version = getVersion();
+		} catch (final SQLException e) {
+			e.printStackTrace();
+			return new UpdateResult(false, "Erreur de connexion de base de données");
+		}
+
+		final int initialVersion = version;
+		for (final Migration migration : MIGRATIONS) {
+			if (migration.version > version) {
+				try {
+					dataBaseConnection.setAutoCommit(false);
+					final Statement statement = dataBaseConnection.createStatement();
+					for (final String query : migration.queries) {
+						statement.executeUpdate(query);
+					}
+					statement.close();
+
+					final PreparedStatement versionStatement = dataBaseConnection
+						.prepareStatement("INSERT INTO schema_version(version, description, applied_on) VALUES(?, ?, ?)");
+					versionStatement.setInt(1, migration.version);
+					versionStatement.setString(2, migration.description);
+					versionStatement.setTimestamp(3, new Timestamp(System.currentTimeMillis()));
+					versionStatement.executeUpdate();
+					versionStatement.close();
+					dataBaseConnection.commit();
+					version = migration.version;
+				} catch (final SQLException e) {
+					e.printStackTrace();
+					try {
+						dataBaseConnection.rollback();
+					} catch (final SQLException rollbackException) {
+						rollbackException.printStackTrace();
+					}
+					return new UpdateResult(false, "La migration " + Integer.toString(migration.version) + " (" + migration.description + ") a échoué");
+				} finally {
+					try {
+						dataBaseConnection.setAutoCommit(true);
+					} catch (final SQLException e) {
+						e.printStackTrace();
+					}
+				}
+			}
+		}
+
+		if (version == initialVersion) {
+			return new UpdateResult(true, "Schéma à jour. Version " + Integer.toString(version) + ".");
+		}
+		return new UpdateResult(true, "Schéma migré de la version " + Integer.toString(initialVersion) + " à la version " + Integer.toString(version) + ".");
+	}
+
+	private static class Migration {
+		private final int version;
+		private final String description;
+		private final String queries[];
+
+		public Migration(final int version, final String description, final String... queries) {
+			this.version = version;
+			this.description = description;
+			this.queries = queries;
+		}
+	}
+
+}
@@ -0,0 +1,149 @@
+/*
+ * This file is part of Breizh Mahjong Recorder.
+ *
+ * Breizh Mahjong Recorder is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Breizh Mahjong Recorder is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Breizh Mahjong Recorder. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.bmj.bmjc.dataaccess.impl.db;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import fr.bmj.bmjc.dataaccess.impl.monitor.DataAccessQueryMetrics;
+
+public class DataAccessDataBaseStatementCache {
+
+	private static final int DEFAULT_CAPACITY = 64;
+	private static final Map<Connection, DataAccessDataBaseStatementCache> CACHES = new HashMap<Connection, DataAccessDataBaseStatementCache>();
+
+	private final Connection dataBaseConnection;
+	private final int capacity;
+	private final LinkedHashMap<String, PreparedStatement> statements;
+	private final Map<PreparedStatement, String> leasedStatements;
+	private long hitCount;
+	private long missCount;
+
+	public DataAccessDataBaseStatementCache(final Connection dataBaseConnection, final int capacity) {
+		this.dataBaseConnection = dataBaseConnection;
+		this.capacity = capacity;
+		statements = new LinkedHashMap<String, PreparedStatement>(capacity, 0.75f, true);
+		leasedStatements = new IdentityHashMap<PreparedStatement, String>();
+		hitCount = 0;
+		missCount = 0;
+	}
+
+	public static DataAccessDataBaseStatementCache forConnection(final Connection dataBaseConnection) {
+		synchronized (CACHES) {
+			DataAccessDataBaseStatementCache cache = CACHES.get(dataBaseConnection);
+			if (cache == null) {
+				cache = new DataAccessDataBaseStatementCache(dataBaseConnection, DEFAULT_CAPACITY);
+				CACHES.put(dataBaseConnection, cache);
+			}
+			return cache;
+		}
+	}
+
+	public static void discard(final Connection dataBaseConnection) {
+		final DataAccessDataBaseStatementCache cache;
+		synchronized (CACHES) {
+			cache = CACHES.remove(dataBaseConnection);
+		}
+		if (cache != null) {
+			cache.clear();
+		}
+	}
+
+	public PreparedStatement prepareStatement(final String query) throws SQLException {
+		PreparedStatement statement;
+		synchronized (this) {
+			statement = statements.remove(query);
+			if (statement != null && !statement.isClosed()) {
+				hitCount++;
+				leasedStatements.put(statement, query);
+				return DataAccessQueryMetrics.measure(statement);
+			}
+			missCount++;
+		}
+		statement = dataBaseConnection.prepareStatement(query);
+		synchronized (this) {
+			leasedStatements.put(statement, query);
+		}
+		return DataAccessQueryMetrics.measure(statement);
+	}
+
+	public void releaseStatement(final PreparedStatement leasedStatement) throws SQLException {
+		final PreparedStatement statement = DataAccessQueryMetrics.unwrap(leasedStatement);
+		final String query;
+		PreparedStatement replaced = null;
+		PreparedStatement evicted = null;
+		synchronized (this) {
+			query = leasedStatements.remove(statement);
+			if (query != null) {
+				statement.clearParameters();
+				replaced = statements.put(query, statement);
+				if (statements.size() > capacity) {
+					final Iterator<Entry<String, PreparedStatement>> iterator = statements.entrySet().iterator();
+					evicted = iterator.next().getValue();
+					iterator.remove();
+				}
+			}
+		}
+		if (query == null) {
+			statement.close();
+		}
+		if (replaced != null) {
+			replaced.close();
+		}
+		if (evicted != null) {
+			evicted.close();
+		}
+	}
+
+	public synchronized void clear() {
+		for (final PreparedStatement statement : statements.values()) {
+			try {
+				statement.close();
+			} catch (final SQLException e) {
+				e.printStackTrace();
+			}
+		}
+		statements.clear();
+	}
+
+	public synchronized long getHitCount() {
+		return hitCount;
+	}
+
+	public synchronized long getMissCount() {
+		return missCount;
+	}
+
+	public synchronized int size() {
+		return statements.size();
+	}
+
+	@Override
+	public synchronized String toString() {
+		final long total = hitCount + missCount;
+		return "Statements " + Integer.toString(statements.size()) + "/" + Integer.toString(capacity) + ", hits " + Long.toString(hitCount)
+			+ ", misses " + Long.toString(missCount) + (total > 0 ? ", hit rate " + Long.toString(hitCount * 100 / total) + "%" : "");
+	}
+
+}
@@ -20,7 +20,6 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.sql.Types;
 import java.util.ArrayList;
 import java.util.List;
@@ -28,15 +27,31 @@ import java.util.List;
 import fr.bmj.bmjc.data.game.Player;
 import fr.bmj.bmjc.dataaccess.abs.UpdateResult;
 import fr.bmj.bmjc.dataaccess.abs.player.DataAccessManagePlayer;
+import fr.bmj.bmjc.dataaccess.impl.db.DataAccessDataBaseStatementCache;
 
 public class DataAccessDataBaseManagePlayer implements DataAccessManagePlayer {
 
 	protected final Connection dataBaseConnection;
+	protected final DataAccessDataBaseStatementCache statementCache;
+
+	private final Runnable playersModifiedListener;
 
 	private boolean onlyFrequentPlayers;
 
 	public DataAccessDataBaseManagePlayer(final Connection dataBaseConnection) {
+		this(dataBaseConnection, null);
+	}
+
+	public DataAccessDataBaseManagePlayer(final Connection dataBaseConnection, final Runnable playersModifiedListener) {
 		this.dataBaseConnection = dataBaseConnection;
+		statementCache = DataAccessDataBaseStatementCache.forConnection(dataBaseConnection);
+		this.playersModifiedListener = playersModifiedListener;
+	}
+
+	private void firePlayersModified() {
+		if (playersModifiedListener != null) {
+			playersModifiedListener.run();
+		}
 	}
 
 	private boolean isConnected() {
@@ -56,18 +71,21 @@ public class DataAccessDataBaseManagePlayer implements DataAccessManagePlayer {
 		boolean added;
 		try {
 			final String query = "SELECT id FROM player ORDER BY id";
-			final Statement statement = dataBaseConnection.createStatement();
-			final ResultSet result = statement.executeQuery(query);
-			newId = 1;
-			while (result.next()) {
-				if (newId == result.getInt(1)) {
-					newId++;
-				} else {
-					break;
+			final PreparedStatement statement = statementCache.prepareStatement(query);
+			try {
+				final ResultSet result = statement.executeQuery();
+				newId = 1;
+				while (result.next()) {
+					if (newId == result.getInt(1)) {
+						newId++;
+					} else {
+						break;
+					}
 				}
+				result.close();
+			} finally {
+				statementCache.releaseStatement(statement);
 			}
-			result.close();
-			statement.close();
 		} catch (final SQLException e) {
 			e.printStackTrace();
 			return new UpdateResult(false, "Erreur de connexion de données");
@@ -75,20 +93,24 @@ public class DataAccessDataBaseManagePlayer implements DataAccessManagePlayer {
 
 		try {
 			final String query = "INSERT INTO player(id, name, display_name, frequent, regular) VALUES(?, ?, ?, ?, ?)";
-			final PreparedStatement statement = dataBaseConnection.prepareStatement(query);
-			statement.setShort(1, newId);
-			statement.setString(2, name);
-			statement.setString(3, displayName);
-			statement.setBoolean(4, true);
-			statement.setBoolean(5, true);
-			added = statement.executeUpdate() == 1;
-			statement.close();
+			final PreparedStatement statement = statementCache.prepareStatement(query);
+			try {
+				statement.setShort(1, newId);
+				statement.setString(2, name);
+				statement.setString(3, displayName);
+				statement.setBoolean(4, true);
+				statement.setBoolean(5, true);
+				added = statement.executeUpdate() == 1;
+			} finally {
+				statementCache.releaseStatement(statement);
+			}
 		} catch (final SQLException e) {
 			e.printStackTrace();
 			return new UpdateResult(false, "Erreur de connexion de données");
 		}
 
 		if (added) {
+			firePlayersModified();
 			return new UpdateResult(true, "OK");
 		} else {
 			return new UpdateResult(false, "Le nom est déjà utilisé");
@@ -100,14 +122,18 @@ public class DataAccessDataBaseManagePlayer implements DataAccessManagePlayer {
 		final List<Player> playerList = new ArrayList<Player>();
 		if (dataBaseConnection != null) {
 			try {
-				final Statement statement = dataBaseConnection.createStatement();
-				final ResultSet result = statement.executeQuery("SELECT id, name, display_name, frequent, regular, license FROM player ORDER BY id");
-				while (result.next()) {
-					playerList.add(new Player(result.getShort(1), result.getString(2), result.getString(3), result.getBoolean(4), result.getBoolean(5),
-						result.getString(6)));
+				final PreparedStatement statement = statementCache
+					.prepareStatement("SELECT id, name, display_name, frequent, regular, license FROM player ORDER BY id");
+				try {
+					final ResultSet result = statement.executeQuery();
+					while (result.next()) {
+						playerList.add(new Player(result.getShort(1), result.getString(2), result.getString(3), result.getBoolean(4), result.getBoolean(5),
+							result.getString(6)));
+					}
+					result.close();
+				} finally {
+					statementCache.releaseStatement(statement);
 				}
-				result.close();
-				statement.close();
 			} catch (final Exception e) {
 				e.printStackTrace();
 			}
@@ -128,25 +154,29 @@ public class DataAccessDataBaseManagePlayer implements DataAccessManagePlayer {
 		boolean modified;
 		try {
 			final String query = "UPDATE player SET name=?, display_name=?, frequent=?, regular=?, license=? WHERE id=?";
-			final PreparedStatement statement = dataBaseConnection.prepareStatement(query);
-			statement.setString(1, name);
-			statement.setString(2, displayName);
-			statement.setBoolean(3, frequent);
-			statement.setBoolean(4, regular);
-			if (license == null || license.length() == 0) {
-				statement.setNull(5, Types.VARCHAR);
-			} else {
-				statement.setString(5, license);
+			final PreparedStatement statement = statementCache.prepareStatement(query);
+			try {
+				statement.setString(1, name);
+				statement.setString(2, displayName);
+				statement.setBoolean(3, frequent);
+				statement.setBoolean(4, regular);
+				if (license == null || license.length() == 0) {
+					statement.setNull(5, Types.VARCHAR);
+				} else {
+					statement.setString(5, license);
+				}
+				statement.setShort(6, id);
+				modified = statement.executeUpdate() == 1;
+			} finally {
+				statementCache.releaseStatement(statement);
 			}
-			statement.setShort(6, id);
-			modified = statement.executeUpdate() == 1;
-			statement.close();
 		} catch (final SQLException e) {
 			e.printStackTrace();
 			return new UpdateResult(false, "Erreur de connexion de données");
 		}
 
 		if (modified) {
+			firePlayersModified();
 			return new UpdateResult(true, "OK");
 		} else {
 			return new UpdateResult(false, "Le nom est déjà utilisé");
@@ -162,16 +192,20 @@ public class DataAccessDataBaseManagePlayer implements DataAccessManagePlayer {
 		boolean modified;
 		try {
 			final String query = "DELETE FROM player WHERE id=?";
-			final PreparedStatement statement = dataBaseConnection.prepareStatement(query);
-			statement.setShort(1, id);
-			modified = statement.executeUpdate() == 1;
-			statement.close();
+			final PreparedStatement statement = statementCache.prepareStatement(query);
+			try {
+				statement.setShort(1, id);
+				modified = statement.executeUpdate() == 1;
+			} finally {
+				statementCache.releaseStatement(statement);
+			}
 		} catch (final SQLException e) {
 			e.printStackTrace();
 			return new UpdateResult(false, "Erreur de connexion de données");
 		}
 
 		if (modified) {
+			firePlayersModified();
 			return new UpdateResult(true, "OK");
 		} else {
 			return new UpdateResult(false, "Le joueur n'a pas été supprimé");
@@ -193,13 +227,16 @@ public class DataAccessDataBaseManagePlayer implements DataAccessManagePlayer {
 					query = query + "WHERE frequent=true ";
 				}
 				query = query + "ORDER BY id";
-				final Statement statement = dataBaseConnection.createStatement();
-				final ResultSet result = statement.executeQuery(query);
-				while (result.next()) {
-					playerList.add(new Player(result.getShort(1), result.getString(2), result.getString(3), false, true, ""));
+				final PreparedStatement statement = statementCache.prepareStatement(query);
+				try {
+					final ResultSet result = statement.executeQuery();
+					while (result.next()) {
+						playerList.add(new Player(result.getShort(1), result.getString(2), result.getString(3), false, true, ""));
+					}
+					result.close();
+				} finally {
+					statementCache.releaseStatement(statement);
 				}
-				result.close();
-				statement.close();
 			} catch (final Exception e) {
 				e.printStackTrace();
 			}
@@ -16,18 +16,27 @@
  */
 package fr.bmj.bmjc.dataaccess.impl.db.rcr;
 
+import java.io.Reader;
 import java.sql.Connection;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
 import fr.bmj.bmjc.data.game.Player;
 import fr.bmj.bmjc.data.game.Tournament;
 import fr.bmj.bmjc.data.game.rcr.RCRGame;
+import fr.bmj.bmjc.data.game.rcr.RCRGameDate;
 import fr.bmj.bmjc.data.stat.rcr.RCRDataPackagePersonalAnalyze;
 import fr.bmj.bmjc.data.stat.rcr.RCRDataPackageScoreAnalyze;
 import fr.bmj.bmjc.data.stat.rcr.RCRDataPackageTrend;
 import fr.bmj.bmjc.data.stat.rcr.RCRTotalScore;
 import fr.bmj.bmjc.dataaccess.abs.UpdateResult;
 import fr.bmj.bmjc.dataaccess.abs.rcr.DataAccessRCR;
+import fr.bmj.bmjc.dataaccess.abs.rcr.RCRGameEventBus;
+import fr.bmj.bmjc.dataaccess.abs.rcr.RCRGameListener;
+import fr.bmj.bmjc.dataaccess.abs.rcr.RCRGameVisitor;
+import fr.bmj.bmjc.dataaccess.impl.db.DataAccessDataBaseConnectionPool;
 import fr.bmj.bmjc.enums.EnumPeriodMode;
 import fr.bmj.bmjc.enums.EnumRankingMode;
 import fr.bmj.bmjc.enums.EnumScoreMode;
@@ -41,104 +50,221 @@ public class DataAccessDataBaseRCR implements DataAccessRCR {
 	private final DataAccessDataBaseRCRScoreAnalyze dataAccessRCRScoreAnalyze;
 	private final DataAccessDataBaseRCRRanking dataAccessRCRRanking;
 	private final DataAccessDataBaseRCRTrend dataAccessRCRTrend;
+	private final DataAccessDataBaseRCRRating dataAccessRCRRating;
+	private final RCRRatingTracker ratingTracker;
+
+	private final DataAccessDataBaseConnectionPool connectionPool;
+	private final RCRGameEventBus eventBus;
 
 	public DataAccessDataBaseRCR(final Connection connection) {
+		this(connection, null);
+	}
+
+	public DataAccessDataBaseRCR(final Connection connection, final DataAccessDataBaseConnectionPool connectionPool) {
+		this.connectionPool = connectionPool;
+		ratingTracker = new RCRRatingTracker(new DataAccessDataBaseRCRRatingCheckpoints(connection));
 		dataAccessRCRTournament = new DataAccessDataBaseRCRTournament(connection);
-		dataAccessRCRGame = new DataAccessDataBaseRCRGame(connection);
+		dataAccessRCRGame = new DataAccessDataBaseRCRGame(connection, ratingTracker);
 		dataAccessRCRPeronalAnalyze = new DataAccessDataBaseRCRPersonalAnalyze(connection);
 		dataAccessRCRScoreAnalyze = new DataAccessDataBaseRCRScoreAnalyze(connection);
-		dataAccessRCRRanking = new DataAccessDataBaseRCRRanking(connection);
+		dataAccessRCRRating = new DataAccessDataBaseRCRRating(connection, ratingTracker);
+		dataAccessRCRRanking = new DataAccessDataBaseRCRRanking(connection, dataAccessRCRRating);
 		dataAccessRCRTrend = new DataAccessDataBaseRCRTrend(connection);
+		eventBus = new RCRGameEventBus();
+	}
+
+	private <T> T read(final Supplier<T> query) {
+		return connectionPool != null ? connectionPool.read(query) : query.get();
+	}
+
+	@Override
+	public void addRCRGameListener(final RCRGameListener listener) {
+		eventBus.addListener(listener);
+	}
+
+	@Override
+	public void removeRCRGameListener(final RCRGameListener listener) {
+		eventBus.removeListener(listener);
 	}
 
 	@Override
 	public UpdateResult addRCRTournament(final String tournamentName) {
-		return dataAccessRCRTournament.addRCRTournament(tournamentName);
+		final UpdateResult result = dataAccessRCRTournament.addRCRTournament(tournamentName);
+		if (result.getResult()) {
+			eventBus.fireDataChanged();
+		}
+		return result;
 	}
 
 	@Override
 	public UpdateResult modifyRCRTournament(final short tournamentId, final String tournamentName) {
-		return dataAccessRCRTournament.modifyRCRTournament(tournamentId, tournamentName);
+		final UpdateResult result = dataAccessRCRTournament.modifyRCRTournament(tournamentId, tournamentName);
+		if (result.getResult()) {
+			eventBus.fireDataChanged();
+		}
+		return result;
 	}
 
 	@Override
 	public List<Tournament> getRCRTournaments() {
-		return dataAccessRCRTournament.getRCRTournaments();
+		return read(() -> dataAccessRCRTournament.getRCRTournaments());
 	}
 
 	@Override
 	public UpdateResult deleteRCRTournament(final short tournamentId) {
-		return dataAccessRCRTournament.deleteRCRTournament(tournamentId);
+		final UpdateResult result = dataAccessRCRTournament.deleteRCRTournament(tournamentId);
+		if (result.getResult()) {
+			eventBus.fireDataChanged();
+		}
+		return result;
 	}
 
 	@Override
 	public UpdateResult addRCRGame(final RCRGame game) {
-		return dataAccessRCRGame.addRCRGame(game);
+		final UpdateResult result = dataAccessRCRGame.addRCRGame(game);
+		if (result.getResult()) {
+			dataAccessRCRRanking.invalidate();
+			ratingTracker.invalidateFrom(game.getTournamentId(), getFirstGameIdOfDay(game));
+			if (eventBus.hasListeners()) {
+				eventBus.fireGameAdded(RCRGameEventBus.withPlayerNames(game, getRCRPlayers()));
+			}
+		}
+		return result;
+	}
+
+	static long getFirstGameIdOfDay(final RCRGame game) {
+		return ((game.getYear() * 100L + game.getMonth() + 1) * 100 + game.getDay()) * 100;
 	}
 
 	@Override
 	public void setOnlyRegularPlayers(final boolean onlyRegularPlayers) {
 		dataAccessRCRGame.setOnlyRegularPlayers(onlyRegularPlayers);
 		dataAccessRCRRanking.setOnlyRegularPlayers(onlyRegularPlayers);
+		eventBus.fireDataChanged();
 	}
 
 	@Override
 	public List<Integer> getRCRYears(final Tournament tournament) {
-		return dataAccessRCRGame.getRCRYears(tournament);
+		return read(() -> dataAccessRCRGame.getRCRYears(tournament));
 	}
 
 	@Override
 	public List<Integer> getRCRGameDays(final Tournament tournament, final int year, final int month) {
-		return dataAccessRCRGame.getRCRGameDays(tournament, year, month);
+		return read(() -> dataAccessRCRGame.getRCRGameDays(tournament, year, month));
 	}
 
 	@Override
 	public List<Long> getRCRGameIds(final Tournament tournament, final int year, final int month, final int day) {
-		return dataAccessRCRGame.getRCRGameIds(tournament, year, month, day);
+		return read(() -> dataAccessRCRGame.getRCRGameIds(tournament, year, month, day));
+	}
+
+	@Override
+	public List<RCRGameDate> getRCRGameDates(final Tournament tournament) {
+		return read(() -> dataAccessRCRGame.getRCRGameDates(tournament));
 	}
 
 	@Override
 	public RCRGame getRCRGame(final long id) {
-		return dataAccessRCRGame.getRCRGame(id);
+		return read(() -> dataAccessRCRGame.getRCRGame(id));
+	}
+
+	@Override
+	public boolean getRCRGames(final Tournament tournament, final LocalDate from, final LocalDate to, final RCRGameVisitor visitor) {
+		return read(() -> dataAccessRCRGame.getRCRGames(tournament, from, to, visitor));
 	}
 
 	@Override
 	public UpdateResult deleteRCRGame(final long id) {
-		return dataAccessRCRGame.deleteRCRGame(id);
+		final RCRGame game = getRCRGame(id);
+		final UpdateResult result = dataAccessRCRGame.deleteRCRGame(id);
+		if (result.getResult()) {
+			dataAccessRCRRanking.invalidate();
+			if (game != null) {
+				ratingTracker.invalidateFrom(game.getTournamentId(), id);
+			} else {
+				ratingTracker.invalidate();
+			}
+			if (game != null) {
+				eventBus.fireGameDeleted(game);
+			} else {
+				eventBus.fireDataChanged();
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public UpdateResult importRCRGames(final Reader reader, final int batchSize) {
+		final UpdateResult result = dataAccessRCRGame.importRCRGames(reader, batchSize);
+		dataAccessRCRRanking.invalidate();
+		ratingTracker.invalidate();
+		eventBus.fireDataChanged();
+		return result;
+	}
+
+	public void reloadPlayers() {
+		dataAccessRCRRanking.invalidate();
+		eventBus.fireDataChanged();
 	}
 
 	@Override
 	public List<Player> getRCRPlayers() {
-		return dataAccessRCRGame.getRCRPlayers();
+		return read(() -> dataAccessRCRGame.getRCRPlayers());
+	}
+
+	@Override
+	public List<Player> getRCRPlayers(final boolean onlyRegularPlayers) {
+		return read(() -> dataAccessRCRGame.getRCRPlayers(onlyRegularPlayers));
 	}
 
 	@Override
 	public void setUseMinimumGame(final boolean useMinimumGame) {
 		dataAccessRCRRanking.setUseMinimumGame(useMinimumGame);
+		eventBus.fireDataChanged();
 	}
 
 	@Override
 	public List<RCRTotalScore> getRCRDataPackageRanking(final Tournament tournament, final EnumRankingMode rankingMode, final EnumSortingMode sortingMode,
 		final EnumPeriodMode periodMode, final int year, final int trimester, final int month, final int day) {
-		return dataAccessRCRRanking.getRCRDataPackageRanking(tournament, rankingMode, sortingMode, periodMode, year, trimester, month, day);
+		return read(() -> dataAccessRCRRanking.getRCRDataPackageRanking(tournament, rankingMode, sortingMode, periodMode, year, trimester, month, day));
+	}
+
+	@Override
+	public List<RCRTotalScore> getRCRDataPackageRanking(final Tournament tournament, final EnumRankingMode rankingMode, final EnumSortingMode sortingMode,
+		final EnumPeriodMode periodMode, final int year, final int trimester, final int month, final int day, final boolean onlyRegularPlayers,
+		final boolean useMinimumGame) {
+		return read(() -> dataAccessRCRRanking.getRCRDataPackageRanking(tournament, rankingMode, sortingMode, periodMode, year, trimester, month, day,
+			onlyRegularPlayers, useMinimumGame));
 	}
 
 	@Override
 	public RCRDataPackageTrend getRCRDataPackageTrend(final Tournament tournament, final EnumPeriodMode periodMode, final int year, final int trimester,
 		final int month, final int day) {
-		return dataAccessRCRTrend.getRCRDataPackageTrend(tournament, periodMode, year, trimester, month, day);
+		return read(() -> dataAccessRCRTrend.getRCRDataPackageTrend(tournament, periodMode, year, trimester, month, day));
+	}
+
+	@Override
+	public RCRDataPackageTrend getRCRDataPackageRatingTrend(final Tournament tournament, final EnumPeriodMode periodMode, final int year,
+		final int trimester, final int month, final int day) {
+		return read(() -> dataAccessRCRRating.getRCRDataPackageRatingTrend(tournament, periodMode, year, trimester, month, day));
 	}
 
 	@Override
 	public RCRDataPackagePersonalAnalyze getRCRDataPackagePersonalAnalyze(final Tournament tournament, final short playerId, final EnumScoreMode scoreMode,
 		final EnumPeriodMode periodMode, final int year, final int trimester, final int month, final int day) {
-		return dataAccessRCRPeronalAnalyze.getRCRDataPackagePersonalAnalyze(tournament, playerId, scoreMode, periodMode, year, trimester, month, day);
+		return read(() -> dataAccessRCRPeronalAnalyze.getRCRDataPackagePersonalAnalyze(tournament, playerId, scoreMode, periodMode, year, trimester, month, day));
+	}
+
+	@Override
+	public Map<Short, RCRDataPackagePersonalAnalyze> getRCRDataPackagePersonalAnalyzeAllPlayers(final Tournament tournament, final EnumScoreMode scoreMode,
+		final EnumPeriodMode periodMode, final int year, final int trimester, final int month, final int day) {
+		return read(() -> dataAccessRCRPeronalAnalyze.getRCRDataPackagePersonalAnalyzeAllPlayers(tournament, scoreMode, periodMode, year, trimester, month, day));
 	}
 
 	@Override
 	public RCRDataPackageScoreAnalyze getRCRDataPackageScoreAnalyze(final Tournament tournament, final EnumPeriodMode periodMode, final int year,
 		final int trimester, final int month, final int day) {
-		return dataAccessRCRScoreAnalyze.getRCRDataPackageScoreAnalyze(tournament, periodMode, year, trimester, month, day);
+		return read(() -> dataAccessRCRScoreAnalyze.getRCRDataPackageScoreAnalyze(tournament, periodMode, year, trimester, month, day));
 	}
 
 }
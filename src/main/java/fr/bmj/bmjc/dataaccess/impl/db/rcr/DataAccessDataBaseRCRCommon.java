@@ -1,14 +1,49 @@
 package fr.bmj.bmjc.dataaccess.impl.db.rcr;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 
+import fr.bmj.bmjc.dataaccess.abs.DataAccessCancellation;
+import fr.bmj.bmjc.dataaccess.impl.db.DataAccessDataBaseConnectionPool;
+import fr.bmj.bmjc.dataaccess.impl.db.DataAccessDataBaseStatementCache;
+
 public abstract class DataAccessDataBaseRCRCommon {
 
 	protected final Connection dataBaseConnection;
+	protected final DataAccessDataBaseStatementCache statementCache;
 
 	public DataAccessDataBaseRCRCommon(final Connection dataBaseConnection) {
 		this.dataBaseConnection = dataBaseConnection;
+		statementCache = DataAccessDataBaseStatementCache.forConnection(dataBaseConnection);
+	}
+
+	protected PreparedStatement prepareStatement(final String query) throws SQLException {
+		final Connection readConnection = DataAccessDataBaseConnectionPool.getBoundReadConnection();
+		final PreparedStatement statement;
+		if (readConnection != null) {
+			statement = DataAccessDataBaseStatementCache.forConnection(readConnection).prepareStatement(query);
+		} else {
+			statement = statementCache.prepareStatement(query);
+		}
+		final DataAccessCancellation cancellation = DataAccessCancellation.current();
+		if (cancellation != null) {
+			cancellation.register(statement, statement::cancel);
+		}
+		return statement;
+	}
+
+	protected void releaseStatement(final PreparedStatement statement) throws SQLException {
+		final DataAccessCancellation cancellation = DataAccessCancellation.current();
+		if (cancellation != null) {
+			cancellation.unregister(statement);
+		}
+		final Connection connection = statement.getConnection();
+		if (connection != dataBaseConnection) {
+			DataAccessDataBaseStatementCache.forConnection(connection).releaseStatement(statement);
+		} else {
+			statementCache.releaseStatement(statement);
+		}
 	}
 
 	protected boolean isConnected() {
@@ -19,4 +54,20 @@ public abstract class DataAccessDataBaseRCRCommon {
 		}
 	}
 
+	protected void rollback() {
+		try {
+			dataBaseConnection.rollback();
+		} catch (final SQLException e) {
+			e.printStackTrace();
+		}
+	}
+
+	protected void resetAutoCommit() {
+		try {
+			dataBaseConnection.setAutoCommit(true);
+		} catch (final SQLException e) {
+			e.printStackTrace();
+		}
+	}
+
 }
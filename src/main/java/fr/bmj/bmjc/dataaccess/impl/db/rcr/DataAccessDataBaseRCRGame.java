@@ -1,11 +1,12 @@
 package fr.bmj.bmjc.dataaccess.impl.db.rcr;
 
+import java.io.Reader;
 import java.sql.Connection;
 import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.List;
@@ -13,83 +14,115 @@ import java.util.List;
 import fr.bmj.bmjc.data.game.Player;
 import fr.bmj.bmjc.data.game.Tournament;
 import fr.bmj.bmjc.data.game.rcr.RCRGame;
+import fr.bmj.bmjc.data.game.rcr.RCRGameDate;
 import fr.bmj.bmjc.data.game.rcr.RCRScore;
 import fr.bmj.bmjc.dataaccess.abs.UpdateResult;
 import fr.bmj.bmjc.dataaccess.abs.rcr.DataAccessRCRGame;
+import fr.bmj.bmjc.dataaccess.abs.rcr.RCRGameVisitor;
 
 public class DataAccessDataBaseRCRGame extends DataAccessDataBaseRCRCommon implements DataAccessRCRGame {
 
+	static final String ID_TABLE_QUERY = "INSERT INTO rcr_game_id(id, rcr_tournament_id, date, nb_players, nb_rounds) VALUES(?, ?, ?, ?, ?)";
+	static final String SCORE_TABLE_QUERY = "INSERT INTO rcr_game_score(rcr_game_id, player_id, ranking, game_score, uma_score, final_score) values(?, ?, ?, ?, ?, ?)";
+	static final int MAX_GAMES_PER_DAY = 99;
+
+	private final DataAccessDataBaseRCRPeriodStats periodStats;
+	private final RCRRatingTracker ratingTracker;
+	private final DataAccessDataBaseRCRImport importer;
 	private boolean onlyRegularPlayers;
 
 	public DataAccessDataBaseRCRGame(final Connection dataBaseConnection) {
+		this(dataBaseConnection, new RCRRatingTracker(new DataAccessDataBaseRCRRatingCheckpoints(dataBaseConnection)));
+	}
+
+	public DataAccessDataBaseRCRGame(final Connection dataBaseConnection, final RCRRatingTracker ratingTracker) {
+		this(dataBaseConnection, ratingTracker, true);
+	}
+
+	public DataAccessDataBaseRCRGame(final Connection dataBaseConnection, final RCRRatingTracker ratingTracker, final boolean maintainPeriodStats) {
 		super(dataBaseConnection);
+		periodStats = new DataAccessDataBaseRCRPeriodStats(dataBaseConnection, maintainPeriodStats);
+		this.ratingTracker = ratingTracker;
+		importer = new DataAccessDataBaseRCRImport(dataBaseConnection, periodStats, ratingTracker);
 	}
 
 	@Override
 	public UpdateResult addRCRGame(final RCRGame game) {
-		if (!isConnected()) {
-			return new UpdateResult(false, "Pas de connxion à la base de données");
-		}
-		if (game == null) {
-			return new UpdateResult(false, "L'information du jeu ne peut pas être vide");
-		}
+		synchronized (dataBaseConnection) {
+			if (!isConnected()) {
+				return new UpdateResult(false, "Pas de connxion à la base de données");
+			}
+			if (game == null) {
+				return new UpdateResult(false, "L'information du jeu ne peut pas être vide");
+			}
 
-		final Calendar calendar = Calendar.getInstance();
-		calendar.set(Calendar.YEAR, game.getYear());
-		calendar.set(Calendar.MONTH, game.getMonth());
-		calendar.set(Calendar.DAY_OF_MONTH, game.getDay());
-		final Date date = new Date(calendar.getTimeInMillis());
-		long newId;
-		try {
-			final String query = "SELECT id FROM rcr_game_id WHERE date=? ORDER BY id";
-			final PreparedStatement statement = dataBaseConnection.prepareStatement(query);
-			statement.setDate(1, date);
-			final ResultSet result = statement.executeQuery();
-			newId = ((game.getYear() * 100 + game.getMonth() + 1) * 100 + game.getDay()) * 100 + 1;
-			while (result.next()) {
-				if (newId == result.getInt(1)) {
-					newId++;
-				} else {
-					break;
+			final Date date = Date.valueOf(LocalDate.of(game.getYear(), game.getMonth() + 1, game.getDay()));
+			long newId;
+			boolean dayFull = false;
+			try {
+				dataBaseConnection.setAutoCommit(false);
+				final PreparedStatement maxIdStatement = prepareStatement("SELECT MAX(id) FROM rcr_game_id WHERE date=?");
+				try {
+					maxIdStatement.setDate(1, date);
+					final ResultSet result = maxIdStatement.executeQuery();
+					newId = ((game.getYear() * 100 + game.getMonth() + 1) * 100 + game.getDay()) * 100 + 1;
+					if (result.next()) {
+						final long maxId = result.getLong(1);
+						if (!result.wasNull()) {
+							newId = Math.max(newId, maxId + 1);
+							dayFull = maxId % 100 >= MAX_GAMES_PER_DAY;
+						}
+					}
+					result.close();
+				} finally {
+					releaseStatement(maxIdStatement);
+				}
+				if (dayFull) {
+					return new UpdateResult(false, "Plus de " + Integer.toString(MAX_GAMES_PER_DAY) + " parties le " + date.toString());
 				}
-			}
-			result.close();
-			statement.close();
-		} catch (final SQLException e) {
-			e.printStackTrace();
-			return new UpdateResult(false, "Erreur de connexion de base de données");
-		}
 
-		try {
-			final String idTableQuery = "INSERT INTO rcr_game_id(id, rcr_tournament_id, date, nb_players, nb_rounds) VALUES(?, ?, ?, ?, ?)";
-			final PreparedStatement idTableStatement = dataBaseConnection.prepareStatement(idTableQuery);
-			idTableStatement.setLong(1, newId);
-			idTableStatement.setShort(2, game.getTournamentId());
-			idTableStatement.setDate(3, date);
-			idTableStatement.setShort(4, game.getNbPlayers());
-			idTableStatement.setShort(5, game.getNbRounds());
-			idTableStatement.executeUpdate();
-			idTableStatement.close();
-
-			final String scoreTableQuery = "INSERT INTO rcr_game_score(rcr_game_id, player_id, ranking, game_score, uma_score, final_score) values(?, ?, ?, ?, ?, ?)";
-			final PreparedStatement scoreTableStatement = dataBaseConnection.prepareStatement(scoreTableQuery);
-			for (int playerIndex = 0; playerIndex < game.getScores().size(); playerIndex++) {
-				final RCRScore score = game.getScores().get(playerIndex);
-				scoreTableStatement.setLong(1, newId);
-				scoreTableStatement.setShort(2, score.getPlayerId());
-				scoreTableStatement.setShort(3, score.getPlace());
-				scoreTableStatement.setInt(4, score.getGameScore());
-				scoreTableStatement.setInt(5, score.getUmaScore());
-				scoreTableStatement.setInt(6, score.getFinalScore());
-				scoreTableStatement.execute();
-				scoreTableStatement.clearParameters();
+				final PreparedStatement idTableStatement = prepareStatement(ID_TABLE_QUERY);
+				try {
+					idTableStatement.setLong(1, newId);
+					idTableStatement.setShort(2, game.getTournamentId());
+					idTableStatement.setDate(3, date);
+					idTableStatement.setShort(4, game.getNbPlayers());
+					idTableStatement.setShort(5, game.getNbRounds());
+					idTableStatement.executeUpdate();
+				} finally {
+					releaseStatement(idTableStatement);
+				}
+
+				final PreparedStatement scoreTableStatement = prepareStatement(SCORE_TABLE_QUERY);
+				try {
+					for (int playerIndex = 0; playerIndex < game.getScores().size(); playerIndex++) {
+						final RCRScore score = game.getScores().get(playerIndex);
+						scoreTableStatement.setLong(1, newId);
+						scoreTableStatement.setShort(2, score.getPlayerId());
+						scoreTableStatement.setShort(3, score.getPlace());
+						scoreTableStatement.setInt(4, score.getGameScore());
+						scoreTableStatement.setInt(5, score.getUmaScore());
+						scoreTableStatement.setInt(6, score.getFinalScore());
+						scoreTableStatement.addBatch();
+					}
+					scoreTableStatement.executeBatch();
+				} finally {
+					scoreTableStatement.clearBatch();
+					releaseStatement(scoreTableStatement);
+				}
+
+				periodStats.addGame(game);
+				ratingTracker.discardFrom(game.getTournamentId(), newId);
+				dataBaseConnection.commit();
+			} catch (final SQLException e) {
+				e.printStackTrace();
+				rollback();
+				return new UpdateResult(false, "Erreur de connexion de base de données");
+			} finally {
+				resetAutoCommit();
 			}
-			scoreTableStatement.close();
-		} catch (final SQLException e) {
-			e.printStackTrace();
-			return new UpdateResult(false, "Erreur de connexion de base de données");
+			return new UpdateResult(true, "Scores enregistrés. ID " + Long.toString(newId) + ".");
 		}
-		return new UpdateResult(true, "Scores enregistrés. ID " + Long.toString(newId) + ".");
 	}
 
 	@Override
@@ -97,15 +130,17 @@ public class DataAccessDataBaseRCRGame extends DataAccessDataBaseRCRCommon imple
 		final List<Integer> yearList = new ArrayList<Integer>();
 		if (isConnected()) {
 			try {
-				final PreparedStatement statement = dataBaseConnection
-					.prepareStatement("SELECT DISTINCT YEAR(date) FROM rcr_game_id WHERE rcr_tournament_id=? ORDER BY YEAR(date) DESC");
-				statement.setShort(1, tournament.getId());
-				final ResultSet result = statement.executeQuery();
-				while (result.next()) {
-					yearList.add(result.getInt(1));
+				final PreparedStatement statement = prepareStatement("SELECT DISTINCT YEAR(date) FROM rcr_game_id WHERE rcr_tournament_id=? ORDER BY YEAR(date) DESC");
+				try {
+					statement.setShort(1, tournament.getId());
+					final ResultSet result = statement.executeQuery();
+					while (result.next()) {
+						yearList.add(result.getInt(1));
+					}
+					result.close();
+				} finally {
+					releaseStatement(statement);
 				}
-				result.close();
-				statement.close();
 			} catch (final Exception e) {
 				e.printStackTrace();
 			}
@@ -118,18 +153,21 @@ public class DataAccessDataBaseRCRGame extends DataAccessDataBaseRCRCommon imple
 		final List<Integer> dayList = new ArrayList<Integer>();
 		if (isConnected()) {
 			try {
-				final PreparedStatement statement = dataBaseConnection.prepareStatement(
+				final PreparedStatement statement = prepareStatement(
 					"SELECT DISTINCT day(date) FROM rcr_game_id WHERE rcr_tournament_id=? AND year(date)=? AND month(date)=? ORDER BY day(date)");
-				statement.setShort(1, tournament.getId());
-				statement.setInt(2, year);
-				statement.setInt(3, month + 1);
+				try {
+					statement.setShort(1, tournament.getId());
+					statement.setInt(2, year);
+					statement.setInt(3, month + 1);
 
-				final ResultSet result = statement.executeQuery();
-				while (result.next()) {
-					dayList.add(result.getInt(1));
+					final ResultSet result = statement.executeQuery();
+					while (result.next()) {
+						dayList.add(result.getInt(1));
+					}
+					result.close();
+				} finally {
+					releaseStatement(statement);
 				}
-				result.close();
-				statement.close();
 			} catch (final Exception e) {
 				e.printStackTrace();
 			}
@@ -146,17 +184,19 @@ public class DataAccessDataBaseRCRGame extends DataAccessDataBaseRCRCommon imple
 				calendar.set(Calendar.YEAR, year);
 				calendar.set(Calendar.MONTH, month);
 				calendar.set(Calendar.DAY_OF_MONTH, day);
-				final PreparedStatement statement = dataBaseConnection
-					.prepareStatement("SELECT id FROM rcr_game_id WHERE rcr_tournament_id=? AND date=? ORDER BY id");
-				statement.setShort(1, tournament.getId());
-				statement.setDate(2, new Date(calendar.getTimeInMillis()));
+				final PreparedStatement statement = prepareStatement("SELECT id FROM rcr_game_id WHERE rcr_tournament_id=? AND date=? ORDER BY id");
+				try {
+					statement.setShort(1, tournament.getId());
+					statement.setDate(2, new Date(calendar.getTimeInMillis()));
 
-				final ResultSet result = statement.executeQuery();
-				while (result.next()) {
-					idList.add(new Long(result.getLong(1)));
+					final ResultSet result = statement.executeQuery();
+					while (result.next()) {
+						idList.add(new Long(result.getLong(1)));
+					}
+					result.close();
+				} finally {
+					releaseStatement(statement);
 				}
-				result.close();
-				statement.close();
 			} catch (final Exception e) {
 				e.printStackTrace();
 			}
@@ -164,6 +204,38 @@ public class DataAccessDataBaseRCRGame extends DataAccessDataBaseRCRCommon imple
 		return idList;
 	}
 
+	@Override
+	public List<RCRGameDate> getRCRGameDates(final Tournament tournament) {
+		final List<RCRGameDate> gameDateList = new ArrayList<RCRGameDate>();
+		if (isConnected()) {
+			try {
+				final PreparedStatement statement = prepareStatement("SELECT id, date FROM rcr_game_id WHERE rcr_tournament_id=? ORDER BY date, id");
+				try {
+					statement.setShort(1, tournament.getId());
+
+					final Calendar calendar = Calendar.getInstance();
+					Date lastDate = null;
+					final ResultSet result = statement.executeQuery();
+					while (result.next()) {
+						final Date date = result.getDate(2);
+						if (!date.equals(lastDate)) {
+							lastDate = date;
+							calendar.setTime(date);
+						}
+						gameDateList.add(new RCRGameDate(result.getLong(1), calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH),
+							calendar.get(Calendar.DAY_OF_MONTH)));
+					}
+					result.close();
+				} finally {
+					releaseStatement(statement);
+				}
+			} catch (final Exception e) {
+				e.printStackTrace();
+			}
+		}
+		return gameDateList;
+	}
+
 	@Override
 	public RCRGame getRCRGame(final long id) {
 		if (isConnected()) {
@@ -172,31 +244,36 @@ public class DataAccessDataBaseRCRGame extends DataAccessDataBaseRCRCommon imple
 				short nbPlayers = 0;
 				short nbRounds = 0;
 				short tournamentId = 0;
-				PreparedStatement statement = dataBaseConnection
-					.prepareStatement("SELECT rcr_tournament_id, date, nb_players, nb_rounds FROM rcr_game_id WHERE id=?");
-				statement.setLong(1, id);
-				ResultSet result = statement.executeQuery();
-				if (result.next()) {
-					tournamentId = result.getShort(1);
-					calendar.setTimeInMillis(result.getDate(2).getTime());
-					nbPlayers = result.getShort(3);
-					nbRounds = result.getShort(4);
+				final PreparedStatement statement = prepareStatement("SELECT rcr_tournament_id, date, nb_players, nb_rounds FROM rcr_game_id WHERE id=?");
+				try {
+					statement.setLong(1, id);
+					final ResultSet result = statement.executeQuery();
+					if (result.next()) {
+						tournamentId = result.getShort(1);
+						calendar.setTimeInMillis(result.getDate(2).getTime());
+						nbPlayers = result.getShort(3);
+						nbRounds = result.getShort(4);
+					}
+					result.close();
+				} finally {
+					releaseStatement(statement);
 				}
-				result.close();
-				statement.close();
 
 				if (nbPlayers > 0) {
 					final List<RCRScore> scoreList = new ArrayList<RCRScore>(nbPlayers);
-					statement = dataBaseConnection.prepareStatement(
+					final PreparedStatement scoreStatement = prepareStatement(
 						"SELECT player.id, player.name, player.display_name, rcr_game_score.ranking, rcr_game_score.game_score, rcr_game_score.uma_score, rcr_game_score.final_score FROM player, rcr_game_score WHERE player.id=rcr_game_score.player_id AND rcr_game_score.rcr_game_id=? ORDER BY rcr_game_score.ranking");
-					statement.setLong(1, id);
-					result = statement.executeQuery();
-					while (result.next()) {
-						scoreList.add(new RCRScore(result.getShort(1), result.getString(2), result.getString(3), result.getShort(4), result.getInt(5),
-							result.getInt(6), result.getInt(7)));
+					try {
+						scoreStatement.setLong(1, id);
+						final ResultSet scoreResult = scoreStatement.executeQuery();
+						while (scoreResult.next()) {
+							scoreList.add(new RCRScore(scoreResult.getShort(1), scoreResult.getString(2), scoreResult.getString(3), scoreResult.getShort(4),
+								scoreResult.getInt(5), scoreResult.getInt(6), scoreResult.getInt(7)));
+						}
+						scoreResult.close();
+					} finally {
+						releaseStatement(scoreStatement);
 					}
-					result.close();
-					statement.close();
 
 					return new RCRGame(id, tournamentId, calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH), calendar.get(Calendar.DAY_OF_MONTH),
 						nbRounds, nbPlayers, scoreList);
@@ -211,27 +288,99 @@ public class DataAccessDataBaseRCRGame extends DataAccessDataBaseRCRCommon imple
 	}
 
 	@Override
-	public UpdateResult deleteRCRGame(final long id) {
+	public boolean getRCRGames(final Tournament tournament, final LocalDate from, final LocalDate to, final RCRGameVisitor visitor) {
 		if (!isConnected()) {
-			return new UpdateResult(false, "Pas de connxion à la base de données");
+			return false;
 		}
-
-		boolean modified;
 		try {
-			final String query = "DELETE FROM rcr_game_id WHERE id=?";
-			final PreparedStatement statement = dataBaseConnection.prepareStatement(query);
-			statement.setLong(1, id);
-			modified = statement.executeUpdate() == 1;
-			statement.close();
-		} catch (final SQLException e) {
+			final String querySelectPart = "SELECT rcr_game_id.id, rcr_game_id.date, rcr_game_id.nb_players, rcr_game_id.nb_rounds, player.id, player.name, player.display_name, rcr_game_score.ranking, rcr_game_score.game_score, rcr_game_score.uma_score, rcr_game_score.final_score FROM rcr_game_id, rcr_game_score, player";
+			final String queryWherePart = " WHERE rcr_game_id.id=rcr_game_score.rcr_game_id AND player.id=rcr_game_score.player_id AND rcr_game_id.rcr_tournament_id=? AND rcr_game_id.date>=? AND rcr_game_id.date<=?";
+			final String queryOrderPart = " ORDER BY rcr_game_id.date, rcr_game_id.id, rcr_game_score.ranking";
+			final PreparedStatement statement = prepareStatement(querySelectPart + queryWherePart + queryOrderPart);
+			try {
+				statement.setShort(1, tournament.getId());
+				statement.setDate(2, Date.valueOf(from));
+				statement.setDate(3, Date.valueOf(to));
+
+				final Calendar calendar = Calendar.getInstance();
+				long lastId = -1;
+				final ResultSet result = statement.executeQuery();
+				while (result.next()) {
+					final long id = result.getLong(1);
+					if (id != lastId) {
+						lastId = id;
+						calendar.setTime(result.getDate(2));
+						visitor.visitGame(id, tournament.getId(), calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH), calendar.get(Calendar.DAY_OF_MONTH),
+							result.getShort(3), result.getShort(4));
+					}
+					visitor.visitScore(id, result.getShort(5), result.getString(6), result.getString(7), result.getShort(8), result.getInt(9),
+						result.getInt(10), result.getInt(11));
+				}
+				result.close();
+			} finally {
+				releaseStatement(statement);
+			}
+			return true;
+		} catch (final Exception e) {
 			e.printStackTrace();
-			return new UpdateResult(false, "Erreur de connexion de données");
+			return false;
 		}
+	}
+
+	@Override
+	public UpdateResult deleteRCRGame(final long id) {
+		synchronized (dataBaseConnection) {
+			if (!isConnected()) {
+				return new UpdateResult(false, "Pas de connxion à la base de données");
+			}
+
+			boolean modified;
+			try {
+				dataBaseConnection.setAutoCommit(false);
+				short tournamentId = 0;
+				Date date = null;
+				final PreparedStatement selectStatement = prepareStatement("SELECT rcr_tournament_id, date FROM rcr_game_id WHERE id=?");
+				try {
+					selectStatement.setLong(1, id);
+					final ResultSet result = selectStatement.executeQuery();
+					if (result.next()) {
+						tournamentId = result.getShort(1);
+						date = result.getDate(2);
+					}
+					result.close();
+				} finally {
+					releaseStatement(selectStatement);
+				}
+
+				final String query = "DELETE FROM rcr_game_id WHERE id=?";
+				final PreparedStatement statement = prepareStatement(query);
+				try {
+					statement.setLong(1, id);
+					modified = statement.executeUpdate() == 1;
+				} finally {
+					releaseStatement(statement);
+				}
+
+				if (modified) {
+					final Calendar calendar = Calendar.getInstance();
+					calendar.setTime(date);
+					periodStats.refreshMonth(tournamentId, calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH));
+					ratingTracker.discardFrom(tournamentId, id);
+				}
+				dataBaseConnection.commit();
+			} catch (final SQLException e) {
+				e.printStackTrace();
+				rollback();
+				return new UpdateResult(false, "Erreur de connexion de données");
+			} finally {
+				resetAutoCommit();
+			}
 
-		if (modified) {
-			return new UpdateResult(true, "OK");
-		} else {
-			return new UpdateResult(false, "Le tournoi n'a pas été supprimé");
+			if (modified) {
+				return new UpdateResult(true, "OK");
+			} else {
+				return new UpdateResult(false, "Le tournoi n'a pas été supprimé");
+			}
 		}
 	}
 
@@ -240,8 +389,20 @@ public class DataAccessDataBaseRCRGame extends DataAccessDataBaseRCRCommon imple
 		this.onlyRegularPlayers = onlyRegularPlayers;
 	}
 
+	@Override
+	public UpdateResult importRCRGames(final Reader reader, final int batchSize) {
+		synchronized (dataBaseConnection) {
+			return importer.importRCRGames(reader, batchSize);
+		}
+	}
+
 	@Override
 	public List<Player> getRCRPlayers() {
+		return getRCRPlayers(onlyRegularPlayers);
+	}
+
+	@Override
+	public List<Player> getRCRPlayers(final boolean onlyRegularPlayers) {
 		final List<Player> playerList = new ArrayList<Player>();
 		if (isConnected()) {
 			try {
@@ -250,13 +411,16 @@ public class DataAccessDataBaseRCRGame extends DataAccessDataBaseRCRCommon imple
 				final String queryRegularPart = onlyRegularPlayers ? " AND player.regular=TRUE" : "";
 				final String queryOrderPart = "  ORDER BY player.id";
 
-				final Statement statement = dataBaseConnection.createStatement();
-				final ResultSet result = statement.executeQuery(querySelectPart + queryWherePart + queryRegularPart + queryOrderPart);
-				while (result.next()) {
-					playerList.add(new Player(result.getShort(1), result.getString(2), result.getString(3), false, true, ""));
+				final PreparedStatement statement = prepareStatement(querySelectPart + queryWherePart + queryRegularPart + queryOrderPart);
+				try {
+					final ResultSet result = statement.executeQuery();
+					while (result.next()) {
+						playerList.add(new Player(result.getShort(1), result.getString(2), result.getString(3), false, true, ""));
+					}
+					result.close();
+				} finally {
+					releaseStatement(statement);
 				}
-				result.close();
-				statement.close();
 			} catch (final Exception e) {
 				e.printStackTrace();
 			}
@@ -0,0 +1,386 @@
+/*
+ * This file is part of Breizh Mahjong Recorder.
+ *
+ * Breizh Mahjong Recorder is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Breizh Mahjong Recorder is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Breizh Mahjong Recorder. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.bmj.bmjc.dataaccess.impl.db.rcr;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import fr.bmj.bmjc.dataaccess.abs.UpdateResult;
+
+public class DataAccessDataBaseRCRImport extends DataAccessDataBaseRCRCommon {
+
+	private static final String SEPARATOR = ";";
+	private static final String GAME_MARK = "#";
+	private static final String SCORE_MARK = "*";
+	private static final int GAME_NB_FIELDS = 6;
+	private static final int SCORE_NB_FIELDS = 7;
+	private static final int MAX_REPORTED_ERRORS = 10;
+	private final DataAccessDataBaseRCRPeriodStats periodStats;
+	private final RCRRatingTracker ratingTracker;
+
+	private Set<Long> existingIds;
+	private Set<Short> tournamentIds;
+	private Set<Short> playerIds;
+	private List<String> errors;
+	private int nbErrors;
+
+	private int lineNumber;
+	private int gameLineNumber;
+	private long gameFileId;
+	private short gameTournamentId;
+	private LocalDate gameDate;
+	private short gameNbPlayers;
+	private short gameNbRounds;
+	private final short scorePlayerIds[];
+	private final short scorePlaces[];
+	private final int scoreGameScores[];
+	private final int scoreUmaScores[];
+	private final int scoreFinalScores[];
+	private int gameNbScores;
+	private boolean gameValid;
+
+	public DataAccessDataBaseRCRImport(final Connection dataBaseConnection, final DataAccessDataBaseRCRPeriodStats periodStats,
+		final RCRRatingTracker ratingTracker) {
+		super(dataBaseConnection);
+		this.periodStats = periodStats;
+		this.ratingTracker = ratingTracker;
+		scorePlayerIds = new short[5];
+		scorePlaces = new short[5];
+		scoreGameScores = new int[5];
+		scoreUmaScores = new int[5];
+		scoreFinalScores = new int[5];
+	}
+
+	public synchronized UpdateResult importRCRGames(final Reader reader, final int batchSize) {
+		if (!isConnected()) {
+			return new UpdateResult(false, "Pas de connxion à la base de données");
+		}
+		if (reader == null || batchSize <= 0) {
+			return new UpdateResult(false, "Paramètres d'import invalides");
+		}
+
+		errors = new ArrayList<String>();
+		nbErrors = 0;
+		lineNumber = 0;
+		gameLineNumber = 0;
+		try {
+			existingIds = readIds("SELECT id FROM rcr_game_id");
+			tournamentIds = new HashSet<Short>();
+			for (final Long id : readIds("SELECT id FROM rcr_tournament")) {
+				tournamentIds.add(id.shortValue());
+			}
+			playerIds = new HashSet<Short>();
+			for (final Long id : readIds("SELECT id FROM player")) {
+				playerIds.add(id.shortValue());
+			}
+		} catch (final SQLException e) {
+			e.printStackTrace();
+			return new UpdateResult(false, "Erreur de connexion de base de données");
+		}
+
+		final Set<Long> batchMonths = new HashSet<Long>();
+		final Set<Long> committedMonths = new HashSet<Long>();
+		final Map<Short, Long> firstIds = new HashMap<Short, Long>();
+		int nbImportedGames = 0;
+		int nbBatchGames = 0;
+		UpdateResult failure = null;
+		PreparedStatement idTableStatement = null;
+		PreparedStatement scoreTableStatement = null;
+		try {
+			dataBaseConnection.setAutoCommit(false);
+			idTableStatement = prepareStatement(DataAccessDataBaseRCRGame.ID_TABLE_QUERY);
+			scoreTableStatement = prepareStatement(DataAccessDataBaseRCRGame.SCORE_TABLE_QUERY);
+
+			final BufferedReader lineReader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+			String line;
+			boolean end = false;
+			while (!end) {
+				line = lineReader.readLine();
+				lineNumber++;
+				end = line == null;
+				if (end || line.startsWith(GAME_MARK)) {
+					if (gameLineNumber > 0 && validateGame()) {
+						final long id = allocateId();
+						if (id < 0) {
+							addError(gameLineNumber, "plus de " + Integer.toString(DataAccessDataBaseRCRGame.MAX_GAMES_PER_DAY) + " parties le " + gameDate.toString());
+						} else {
+							addGameToBatch(idTableStatement, scoreTableStatement, id);
+							final Long firstId = firstIds.get(gameTournamentId);
+							if (firstId == null || id < firstId.longValue()) {
+								firstIds.put(gameTournamentId, id);
+							}
+							batchMonths.add(getMonthKey(gameTournamentId, gameDate));
+							nbBatchGames++;
+							if (nbBatchGames >= batchSize) {
+								commitBatch(idTableStatement, scoreTableStatement);
+								nbImportedGames += nbBatchGames;
+								nbBatchGames = 0;
+								committedMonths.addAll(batchMonths);
+								batchMonths.clear();
+							}
+						}
+					}
+					if (!end) {
+						parseGame(line);
+					}
+				} else if (line.startsWith(SCORE_MARK)) {
+					parseScore(line);
+				} else if (line.trim().length() > 0) {
+					addError(lineNumber, "ligne non reconnue");
+				}
+			}
+			if (nbBatchGames > 0) {
+				commitBatch(idTableStatement, scoreTableStatement);
+				nbImportedGames += nbBatchGames;
+				committedMonths.addAll(batchMonths);
+			}
+		} catch (final SQLException e) {
+			e.printStackTrace();
+			rollback();
+			failure = new UpdateResult(false, "Erreur de connexion de base de données. " + Integer.toString(nbImportedGames) + " parties importées.");
+		} catch (final IOException e) {
+			e.printStackTrace();
+			rollback();
+			failure = new UpdateResult(false, "Erreur de lecture du fichier. " + Integer.toString(nbImportedGames) + " parties importées.");
+		} finally {
+			try {
+				if (idTableStatement != null) {
+					idTableStatement.clearBatch();
+					releaseStatement(idTableStatement);
+				}
+				if (scoreTableStatement != null) {
+					scoreTableStatement.clearBatch();
+					releaseStatement(scoreTableStatement);
+				}
+			} catch (final SQLException e) {
+				e.printStackTrace();
+			}
+		}
+
+		try {
+			for (final Long monthKey : committedMonths) {
+				final long key = monthKey.longValue();
+				periodStats.refreshMonth((short) (key / 1000000), (int) (key % 1000000 / 12), (int) (key % 12));
+			}
+			for (final Map.Entry<Short, Long> firstId : firstIds.entrySet()) {
+				ratingTracker.discardFrom(firstId.getKey(), firstId.getValue());
+			}
+			dataBaseConnection.commit();
+		} catch (final SQLException e) {
+			e.printStackTrace();
+			rollback();
+			if (failure == null) {
+				failure = new UpdateResult(false, "Les statistiques n'ont pas pu être mises à jour. Reconstruisez-les.");
+			}
+		} finally {
+			resetAutoCommit();
+		}
+		existingIds = null;
+		tournamentIds = null;
+		playerIds = null;
+
+		if (failure != null) {
+			return failure;
+		}
+		final StringBuilder message = new StringBuilder();
+		message.append(Integer.toString(nbImportedGames));
+		message.append(" parties importées, ");
+		message.append(Integer.toString(nbErrors));
+		message.append(" erreurs.");
+		for (final String error : errors) {
+			message.append("\n");
+			message.append(error);
+		}
+		return new UpdateResult(nbErrors == 0, message.toString());
+	}
+
+	private Set<Long> readIds(final String query) throws SQLException {
+		final Set<Long> ids = new HashSet<Long>();
+		final PreparedStatement statement = prepareStatement(query);
+		try {
+			final ResultSet result = statement.executeQuery();
+			while (result.next()) {
+				ids.add(result.getLong(1));
+			}
+			result.close();
+		} finally {
+			releaseStatement(statement);
+		}
+		return ids;
+	}
+
+	private void addError(final int line, final String error) {
+		nbErrors++;
+		if (errors.size() < MAX_REPORTED_ERRORS) {
+			errors.add("Ligne " + Integer.toString(line) + " : " + error);
+		}
+	}
+
+	private void parseGame(final String line) {
+		gameLineNumber = lineNumber;
+		gameNbScores = 0;
+		gameValid = false;
+		final String fields[] = line.split(SEPARATOR, -1);
+		if (fields.length < GAME_NB_FIELDS) {
+			addError(lineNumber, "partie incomplète");
+			return;
+		}
+		try {
+			gameFileId = Long.parseLong(fields[1].trim());
+			gameTournamentId = Short.parseShort(fields[2].trim());
+			gameDate = LocalDate.parse(fields[3].trim());
+			gameNbPlayers = Short.parseShort(fields[4].trim());
+			gameNbRounds = Short.parseShort(fields[5].trim());
+		} catch (final NumberFormatException | DateTimeParseException e) {
+			addError(lineNumber, "champ invalide dans la partie");
+			return;
+		}
+		if (!tournamentIds.contains(gameTournamentId)) {
+			addError(lineNumber, "tournoi " + Short.toString(gameTournamentId) + " inconnu");
+		} else if (gameNbPlayers != 4 && gameNbPlayers != 5) {
+			addError(lineNumber, "nombre de joueurs invalide");
+		} else if (gameNbRounds <= 0) {
+			addError(lineNumber, "nombre de tours invalide");
+		} else {
+			gameValid = true;
+		}
+	}
+
+	private void parseScore(final String line) {
+		if (gameLineNumber == 0) {
+			addError(lineNumber, "score sans partie");
+			return;
+		}
+		if (!gameValid) {
+			return;
+		}
+		final String fields[] = line.split(SEPARATOR, -1);
+		if (fields.length < SCORE_NB_FIELDS) {
+			addError(lineNumber, "score incomplet");
+			gameValid = false;
+			return;
+		}
+		try {
+			final long id = Long.parseLong(fields[1].trim());
+			if (id != gameFileId) {
+				addError(lineNumber, "le score n'appartient pas à la partie de la ligne " + Integer.toString(gameLineNumber));
+				gameValid = false;
+				return;
+			}
+			if (gameNbScores >= gameNbPlayers) {
+				addError(lineNumber, "trop de scores pour la partie");
+				gameValid = false;
+				return;
+			}
+			final short playerId = Short.parseShort(fields[2].trim());
+			final short place = Short.parseShort(fields[3].trim());
+			if (!playerIds.contains(playerId)) {
+				addError(lineNumber, "joueur " + Short.toString(playerId) + " inconnu");
+				gameValid = false;
+				return;
+			}
+			if (place < 1 || place > gameNbPlayers) {
+				addError(lineNumber, "place invalide");
+				gameValid = false;
+				return;
+			}
+			scorePlayerIds[gameNbScores] = playerId;
+			scorePlaces[gameNbScores] = place;
+			scoreGameScores[gameNbScores] = Integer.parseInt(fields[4].trim());
+			scoreUmaScores[gameNbScores] = Integer.parseInt(fields[5].trim());
+			scoreFinalScores[gameNbScores] = Integer.parseInt(fields[6].trim());
+			gameNbScores++;
+		} catch (final NumberFormatException e) {
+			addError(lineNumber, "champ invalide dans le score");
+			gameValid = false;
+		}
+	}
+
+	private boolean validateGame() {
+		if (!gameValid) {
+			return false;
+		}
+		if (gameNbScores != gameNbPlayers) {
+			addError(gameLineNumber, "nombre de scores différent du nombre de joueurs");
+			return false;
+		}
+		for (int index = 0; index < gameNbScores; index++) {
+			for (int otherIndex = index + 1; otherIndex < gameNbScores; otherIndex++) {
+				if (scorePlayerIds[index] == scorePlayerIds[otherIndex]) {
+					addError(gameLineNumber, "joueur présent deux fois");
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	private long allocateId() {
+		final long firstId = ((gameDate.getYear() * 100L + gameDate.getMonthValue()) * 100 + gameDate.getDayOfMonth()) * 100 + 1;
+		for (long id = firstId; id < firstId + DataAccessDataBaseRCRGame.MAX_GAMES_PER_DAY; id++) {
+			if (existingIds.add(id)) {
+				return id;
+			}
+		}
+		return -1;
+	}
+
+	private void addGameToBatch(final PreparedStatement idTableStatement, final PreparedStatement scoreTableStatement, final long id)
+		throws SQLException {
+		idTableStatement.setLong(1, id);
+		idTableStatement.setShort(2, gameTournamentId);
+		idTableStatement.setDate(3, Date.valueOf(gameDate));
+		idTableStatement.setShort(4, gameNbPlayers);
+		idTableStatement.setShort(5, gameNbRounds);
+		idTableStatement.addBatch();
+
+		for (int index = 0; index < gameNbScores; index++) {
+			scoreTableStatement.setLong(1, id);
+			scoreTableStatement.setShort(2, scorePlayerIds[index]);
+			scoreTableStatement.setShort(3, scorePlaces[index]);
+			scoreTableStatement.setInt(4, scoreGameScores[index]);
+			scoreTableStatement.setInt(5, scoreUmaScores[index]);
+			scoreTableStatement.setInt(6, scoreFinalScores[index]);
+			scoreTableStatement.addBatch();
+		}
+	}
+
+	private void commitBatch(final PreparedStatement idTableStatement, final PreparedStatement scoreTableStatement) throws SQLException {
+		idTableStatement.executeBatch();
+		scoreTableStatement.executeBatch();
+		dataBaseConnection.commit();
+	}
+
+	private static long getMonthKey(final short tournamentId, final LocalDate date) {
+		return tournamentId * 1000000L + date.getYear() * 12L + date.getMonthValue() - 1;
+	}
+
+}
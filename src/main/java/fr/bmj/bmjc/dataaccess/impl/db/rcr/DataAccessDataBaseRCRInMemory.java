@@ -0,0 +1,837 @@
+/*
+ * This file is part of Breizh Mahjong Recorder.
+ *
+ * Breizh Mahjong Recorder is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Breizh Mahjong Recorder is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Breizh Mahjong Recorder. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.bmj.bmjc.dataaccess.impl.db.rcr;
+
+import java.io.Reader;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import fr.bmj.bmjc.data.game.Player;
+import fr.bmj.bmjc.data.game.Tournament;
+import fr.bmj.bmjc.data.game.rcr.RCRGame;
+import fr.bmj.bmjc.data.game.rcr.RCRGameDate;
+import fr.bmj.bmjc.data.game.rcr.RCRScore;
+import fr.bmj.bmjc.data.stat.rcr.RCRDataPackagePersonalAnalyze;
+import fr.bmj.bmjc.data.stat.rcr.RCRDataPackageScoreAnalyze;
+import fr.bmj.bmjc.data.stat.rcr.RCRDataPackageTrend;
+import fr.bmj.bmjc.data.stat.rcr.RCRScoreMatrix;
+import fr.bmj.bmjc.data.stat.rcr.RCRTotalScore;
+import fr.bmj.bmjc.dataaccess.abs.UpdateResult;
+import fr.bmj.bmjc.dataaccess.abs.rcr.DataAccessRCR;
+import fr.bmj.bmjc.dataaccess.abs.rcr.RCRGameEventBus;
+import fr.bmj.bmjc.dataaccess.abs.rcr.RCRGameListener;
+import fr.bmj.bmjc.dataaccess.abs.rcr.RCRGameVisitor;
+import fr.bmj.bmjc.enums.EnumPeriodMode;
+import fr.bmj.bmjc.enums.EnumRankingMode;
+import fr.bmj.bmjc.enums.EnumScoreMode;
+import fr.bmj.bmjc.enums.EnumSortingMode;
+
+public class DataAccessDataBaseRCRInMemory implements DataAccessRCR {
+
+	private static final int MINIMUM_GAME_MONTH = 4;
+	private static final int MINIMUM_GAME_TRIMESTER = 8;
+	private static final int MINIMUM_GAME_YEAR = 32;
+
+	private static final double DAYS_PER_YEAR = 365.25;
+
+	private static final String QUERY_SCORES = "SELECT rcr_game_id.id, rcr_game_id.date, rcr_game_id.rcr_tournament_id, rcr_game_id.nb_players, rcr_game_id.nb_rounds, rcr_game_score.player_id, rcr_game_score.ranking, rcr_game_score.game_score, rcr_game_score.uma_score, rcr_game_score.final_score FROM rcr_game_id, rcr_game_score WHERE rcr_game_id.id=rcr_game_score.rcr_game_id";
+	private static final String QUERY_ORDER_PART = " ORDER BY rcr_game_id.date, rcr_game_id.id, rcr_game_score.ranking";
+
+	private final Connection dataBaseConnection;
+	private final DataAccessDataBaseRCRTournament dataAccessRCRTournament;
+	private final DataAccessDataBaseRCRGame dataAccessRCRGame;
+	private final RCRRatingTracker ratingTracker;
+	private final RCRRatingTracker.Source ratingSource;
+
+	private final RCRScoreStore store;
+	private Player[] players;
+	private final ReadWriteLock lock;
+	private final RCRGameEventBus eventBus;
+
+	private boolean onlyRegularPlayers;
+	private boolean useMinimumGame;
+
+	public DataAccessDataBaseRCRInMemory(final Connection dataBaseConnection) {
+		this.dataBaseConnection = dataBaseConnection;
+		dataAccessRCRTournament = new DataAccessDataBaseRCRTournament(dataBaseConnection);
+		ratingTracker = new RCRRatingTracker(new DataAccessDataBaseRCRRatingCheckpoints(dataBaseConnection));
+		dataAccessRCRGame = new DataAccessDataBaseRCRGame(dataBaseConnection, ratingTracker, false);
+		ratingSource = (final short tournamentId, final long afterGameId, final int lastDate, final RCRRatingEngine engine) -> replayRatings(
+			tournamentId, afterGameId, lastDate, engine);
+		store = new RCRScoreStore();
+		players = new Player[0];
+		lock = new ReentrantReadWriteLock();
+		eventBus = new RCRGameEventBus();
+		reloadPlayers();
+		reloadScores();
+	}
+
+	private boolean isConnected() {
+		try {
+			return dataBaseConnection != null && !dataBaseConnection.isClosed();
+		} catch (final SQLException e) {
+			return false;
+		}
+	}
+
+	public void reloadPlayers() {
+		if (isConnected()) {
+			try {
+				final List<Player> playerList = new ArrayList<Player>();
+				int maxId = 0;
+				final Statement statement = dataBaseConnection.createStatement();
+				final ResultSet result = statement.executeQuery("SELECT id, name, display_name, frequent, regular, license FROM player");
+				while (result.next()) {
+					final Player player = new Player(result.getShort(1), result.getString(2), result.getString(3), result.getBoolean(4),
+						result.getBoolean(5), result.getString(6));
+					playerList.add(player);
+					maxId = Math.max(maxId, player.getPlayerID());
+				}
+				result.close();
+				statement.close();
+
+				final Player[] newPlayers = new Player[maxId + 1];
+				for (final Player player : playerList) {
+					newPlayers[player.getPlayerID()] = player;
+				}
+				lock.writeLock().lock();
+				try {
+					players = newPlayers;
+				} finally {
+					lock.writeLock().unlock();
+				}
+			} catch (final Exception e) {
+				e.printStackTrace();
+			}
+		}
+		eventBus.fireDataChanged();
+	}
+
+	public void reloadScores() {
+		if (isConnected()) {
+			lock.writeLock().lock();
+			try {
+				store.clear();
+				final Statement statement = dataBaseConnection.createStatement();
+				final ResultSet result = statement.executeQuery(QUERY_SCORES + QUERY_ORDER_PART);
+				while (result.next()) {
+					store.add(result.getLong(1), (int) result.getDate(2).toLocalDate().toEpochDay(), result.getShort(3), result.getByte(4),
+						result.getByte(5), result.getShort(6), result.getByte(7), result.getInt(8), result.getInt(9), result.getInt(10));
+				}
+				result.close();
+				statement.close();
+			} catch (final Exception e) {
+				e.printStackTrace();
+			} finally {
+				lock.writeLock().unlock();
+			}
+		}
+		ratingTracker.invalidate();
+	}
+
+	private void loadScoresOfDate(final LocalDate date) throws SQLException {
+		final PreparedStatement statement = dataBaseConnection.prepareStatement(QUERY_SCORES + " AND rcr_game_id.date=?" + QUERY_ORDER_PART);
+		statement.setDate(1, Date.valueOf(date));
+		final ResultSet result = statement.executeQuery();
+		long lastGameId = -1;
+		boolean toInsert = false;
+		while (result.next()) {
+			final long gameId = result.getLong(1);
+			if (gameId != lastGameId) {
+				lastGameId = gameId;
+				toInsert = store.indexOfGame(gameId, (int) date.toEpochDay()) < 0;
+			}
+			if (toInsert) {
+				store.insert(gameId, (int) date.toEpochDay(), result.getShort(3), result.getByte(4), result.getByte(5), result.getShort(6),
+					result.getByte(7), result.getInt(8), result.getInt(9), result.getInt(10));
+			}
+		}
+		result.close();
+		statement.close();
+	}
+
+	private Player getPlayer(final short playerId) {
+		return playerId >= 0 && playerId < players.length ? players[playerId] : null;
+	}
+
+	private int getPlayerCapacity() {
+		return Math.max(players.length, store.getMaxPlayerId() + 1);
+	}
+
+	private boolean isRegular(final short playerId) {
+		final Player player = getPlayer(playerId);
+		return player != null && player.isRegular();
+	}
+
+	private String getPlayerName(final short playerId) {
+		final Player player = getPlayer(playerId);
+		return player != null ? player.getPlayerName() : Short.toString(playerId);
+	}
+
+	private String getDisplayName(final short playerId) {
+		final Player player = getPlayer(playerId);
+		return player != null ? player.getDisplayName() : Short.toString(playerId);
+	}
+
+	private static int getPeriodFirstDate(final EnumPeriodMode periodMode, final int year, final int trimester, final int month, final int day) {
+		switch (periodMode) {
+			case YEAR:
+				return (int) LocalDate.of(year, 1, 1).toEpochDay();
+			case TRIMESTER:
+				return (int) LocalDate.of(year, trimester * 3 + 1, 1).toEpochDay();
+			case MONTH:
+				return (int) LocalDate.of(year, month + 1, 1).toEpochDay();
+			case DAY:
+				return (int) LocalDate.of(year, month + 1, day).toEpochDay();
+			case ALL:
+			default:
+				return Integer.MIN_VALUE;
+		}
+	}
+
+	private static int getPeriodLastDate(final EnumPeriodMode periodMode, final int year, final int trimester, final int month, final int day) {
+		switch (periodMode) {
+			case YEAR:
+				return (int) LocalDate.of(year, 1, 1).plusYears(1).toEpochDay();
+			case TRIMESTER:
+				return (int) LocalDate.of(year, trimester * 3 + 1, 1).plusMonths(3).toEpochDay();
+			case MONTH:
+				return (int) LocalDate.of(year, month + 1, 1).plusMonths(1).toEpochDay();
+			case DAY:
+				return (int) LocalDate.of(year, month + 1, day).plusDays(1).toEpochDay();
+			case ALL:
+			default:
+				return Integer.MAX_VALUE;
+		}
+	}
+
+	private static long toMilliseconds(final int date) {
+		return LocalDate.ofEpochDay(date).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+	}
+
+	private void replayRatings(final short tournamentId, final long afterGameId, final int lastDate, final RCRRatingEngine engine) {
+		final long afterDay = afterGameId / 100;
+		final int first = afterGameId < 0 ? 0
+			: store.lowerBound((int) LocalDate.of((int) (afterDay / 10000), (int) (afterDay / 100 % 100), (int) (afterDay % 100)).toEpochDay());
+		final int last = lastDate == Integer.MAX_VALUE ? store.size() : store.lowerBound(lastDate + 1);
+		for (int index = first; index < last; index++) {
+			if (store.getTournamentId(index) == tournamentId && store.getGameId(index) > afterGameId) {
+				engine.addScore(store.getGameId(index), store.getDate(index), store.getPlayerId(index), store.getRanking(index));
+			}
+		}
+	}
+
+	@Override
+	public void addRCRGameListener(final RCRGameListener listener) {
+		eventBus.addListener(listener);
+	}
+
+	@Override
+	public void removeRCRGameListener(final RCRGameListener listener) {
+		eventBus.removeListener(listener);
+	}
+
+	@Override
+	public UpdateResult addRCRTournament(final String tournamentName) {
+		final UpdateResult result = dataAccessRCRTournament.addRCRTournament(tournamentName);
+		if (result.getResult()) {
+			eventBus.fireDataChanged();
+		}
+		return result;
+	}
+
+	@Override
+	public UpdateResult modifyRCRTournament(final short tournamentId, final String tournamentName) {
+		final UpdateResult result = dataAccessRCRTournament.modifyRCRTournament(tournamentId, tournamentName);
+		if (result.getResult()) {
+			eventBus.fireDataChanged();
+		}
+		return result;
+	}
+
+	@Override
+	public List<Tournament> getRCRTournaments() {
+		return dataAccessRCRTournament.getRCRTournaments();
+	}
+
+	@Override
+	public UpdateResult deleteRCRTournament(final short tournamentId) {
+		final UpdateResult result = dataAccessRCRTournament.deleteRCRTournament(tournamentId);
+		if (result.getResult()) {
+			eventBus.fireDataChanged();
+		}
+		return result;
+	}
+
+	@Override
+	public UpdateResult addRCRGame(final RCRGame game) {
+		final UpdateResult result = dataAccessRCRGame.addRCRGame(game);
+		if (result.getResult()) {
+			lock.writeLock().lock();
+			try {
+				loadScoresOfDate(LocalDate.of(game.getYear(), game.getMonth() + 1, game.getDay()));
+			} catch (final Exception e) {
+				e.printStackTrace();
+				reloadScores();
+			} finally {
+				lock.writeLock().unlock();
+			}
+			ratingTracker.invalidateFrom(game.getTournamentId(), DataAccessDataBaseRCR.getFirstGameIdOfDay(game));
+			if (eventBus.hasListeners()) {
+				eventBus.fireGameAdded(RCRGameEventBus.withPlayerNames(game, getRCRPlayers()));
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public UpdateResult deleteRCRGame(final long id) {
+		final RCRGame game = getRCRGame(id);
+		final UpdateResult result = dataAccessRCRGame.deleteRCRGame(id);
+		if (result.getResult()) {
+			lock.writeLock().lock();
+			try {
+				store.removeGame(id);
+			} finally {
+				lock.writeLock().unlock();
+			}
+			if (game != null) {
+				ratingTracker.invalidateFrom(game.getTournamentId(), id);
+			} else {
+				ratingTracker.invalidate();
+			}
+			if (game != null) {
+				eventBus.fireGameDeleted(game);
+			} else {
+				eventBus.fireDataChanged();
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public UpdateResult importRCRGames(final Reader reader, final int batchSize) {
+		final UpdateResult result = dataAccessRCRGame.importRCRGames(reader, batchSize);
+		reloadScores();
+		eventBus.fireDataChanged();
+		return result;
+	}
+
+	@Override
+	public void setOnlyRegularPlayers(final boolean onlyRegularPlayers) {
+		if (this.onlyRegularPlayers != onlyRegularPlayers) {
+			this.onlyRegularPlayers = onlyRegularPlayers;
+			eventBus.fireDataChanged();
+		}
+	}
+
+	@Override
+	public List<Integer> getRCRYears(final Tournament tournament) {
+		final List<Integer> yearList = new ArrayList<Integer>();
+		lock.readLock().lock();
+		try {
+			final short tournamentId = tournament.getId();
+			int lastYear = Integer.MIN_VALUE;
+			int lastDate = Integer.MIN_VALUE;
+			for (int index = store.size() - 1; index >= 0; index--) {
+				final int date = store.getDate(index);
+				if (date != lastDate && store.getTournamentId(index) == tournamentId) {
+					lastDate = date;
+					final int year = LocalDate.ofEpochDay(date).getYear();
+					if (year != lastYear) {
+						lastYear = year;
+						yearList.add(year);
+					}
+				}
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+		return yearList;
+	}
+
+	@Override
+	public List<Integer> getRCRGameDays(final Tournament tournament, final int year, final int month) {
+		final List<Integer> dayList = new ArrayList<Integer>();
+		lock.readLock().lock();
+		try {
+			final short tournamentId = tournament.getId();
+			final LocalDate firstDay = LocalDate.of(year, month + 1, 1);
+			final int last = store.lowerBound((int) firstDay.plusMonths(1).toEpochDay());
+			int lastDate = Integer.MIN_VALUE;
+			for (int index = store.lowerBound((int) firstDay.toEpochDay()); index < last; index++) {
+				final int date = store.getDate(index);
+				if (date != lastDate && store.getTournamentId(index) == tournamentId) {
+					lastDate = date;
+					dayList.add(LocalDate.ofEpochDay(date).getDayOfMonth());
+				}
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+		return dayList;
+	}
+
+	@Override
+	public List<Long> getRCRGameIds(final Tournament tournament, final int year, final int month, final int day) {
+		final List<Long> idList = new ArrayList<Long>();
+		lock.readLock().lock();
+		try {
+			final short tournamentId = tournament.getId();
+			final int date = (int) LocalDate.of(year, month + 1, day).toEpochDay();
+			final int last = store.lowerBound(date + 1);
+			long lastGameId = -1;
+			for (int index = store.lowerBound(date); index < last; index++) {
+				final long gameId = store.getGameId(index);
+				if (gameId != lastGameId && store.getTournamentId(index) == tournamentId) {
+					lastGameId = gameId;
+					idList.add(gameId);
+				}
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+		return idList;
+	}
+
+	@Override
+	public List<RCRGameDate> getRCRGameDates(final Tournament tournament) {
+		final List<RCRGameDate> gameDateList = new ArrayList<RCRGameDate>();
+		lock.readLock().lock();
+		try {
+			final short tournamentId = tournament.getId();
+			int lastDate = Integer.MIN_VALUE;
+			LocalDate localDate = null;
+			long lastGameId = -1;
+			for (int index = 0; index < store.size(); index++) {
+				final long gameId = store.getGameId(index);
+				if (gameId != lastGameId && store.getTournamentId(index) == tournamentId) {
+					lastGameId = gameId;
+					final int date = store.getDate(index);
+					if (date != lastDate) {
+						lastDate = date;
+						localDate = LocalDate.ofEpochDay(date);
+					}
+					gameDateList.add(new RCRGameDate(gameId, localDate.getYear(), localDate.getMonthValue() - 1, localDate.getDayOfMonth()));
+				}
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+		return gameDateList;
+	}
+
+	@Override
+	public RCRGame getRCRGame(final long id) {
+		lock.readLock().lock();
+		try {
+			final int first = store.indexOfGame(id);
+			if (first >= 0) {
+				final List<RCRScore> scoreList = new ArrayList<RCRScore>();
+				for (int index = first; index < store.size() && store.getGameId(index) == id; index++) {
+					final short playerId = store.getPlayerId(index);
+					scoreList.add(new RCRScore(playerId, getPlayerName(playerId), getDisplayName(playerId), store.getRanking(index),
+						store.getGameScore(index), store.getUmaScore(index), store.getFinalScore(index)));
+				}
+				final LocalDate date = LocalDate.ofEpochDay(store.getDate(first));
+				return new RCRGame(id, store.getTournamentId(first), date.getYear(), date.getMonthValue() - 1, date.getDayOfMonth(),
+					store.getNbRounds(first), store.getNbPlayers(first), scoreList);
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+		return null;
+	}
+
+	@Override
+	public boolean getRCRGames(final Tournament tournament, final LocalDate from, final LocalDate to, final RCRGameVisitor visitor) {
+		lock.readLock().lock();
+		try {
+			final short tournamentId = tournament.getId();
+			final int last = store.lowerBound((int) to.toEpochDay() + 1);
+			long lastGameId = -1;
+			for (int index = store.lowerBound((int) from.toEpochDay()); index < last; index++) {
+				if (store.getTournamentId(index) == tournamentId) {
+					final long gameId = store.getGameId(index);
+					if (gameId != lastGameId) {
+						lastGameId = gameId;
+						final LocalDate date = LocalDate.ofEpochDay(store.getDate(index));
+						visitor.visitGame(gameId, tournamentId, date.getYear(), date.getMonthValue() - 1, date.getDayOfMonth(), store.getNbPlayers(index),
+							store.getNbRounds(index));
+					}
+					final short playerId = store.getPlayerId(index);
+					visitor.visitScore(gameId, playerId, getPlayerName(playerId), getDisplayName(playerId), store.getRanking(index),
+						store.getGameScore(index), store.getUmaScore(index), store.getFinalScore(index));
+				}
+			}
+			return true;
+		} catch (final Exception e) {
+			e.printStackTrace();
+			return false;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public List<Player> getRCRPlayers() {
+		return getRCRPlayers(onlyRegularPlayers);
+	}
+
+	@Override
+	public List<Player> getRCRPlayers(final boolean onlyRegularPlayers) {
+		final List<Player> playerList = new ArrayList<Player>();
+		lock.readLock().lock();
+		try {
+			final boolean[] played = new boolean[getPlayerCapacity()];
+			for (int index = 0; index < store.size(); index++) {
+				final short playerId = store.getPlayerId(index);
+				if (playerId >= 0 && playerId < played.length) {
+					played[playerId] = true;
+				}
+			}
+			for (short playerId = 0; playerId < played.length; playerId++) {
+				if (played[playerId] && (!onlyRegularPlayers || isRegular(playerId))) {
+					playerList.add(new Player(playerId, getPlayerName(playerId), getDisplayName(playerId), false, true, ""));
+				}
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+		return playerList;
+	}
+
+	@Override
+	public void setUseMinimumGame(final boolean useMinimumGame) {
+		if (this.useMinimumGame != useMinimumGame) {
+			this.useMinimumGame = useMinimumGame;
+			eventBus.fireDataChanged();
+		}
+	}
+
+	private float getNumberOfYearOfAllGamePeriod(final short tournamentId) {
+		int first = 0;
+		while (first < store.size() && store.getTournamentId(first) != tournamentId) {
+			first++;
+		}
+		int last = store.size() - 1;
+		while (last >= first && store.getTournamentId(last) != tournamentId) {
+			last--;
+		}
+		if (first <= last) {
+			return (float) ((store.getDate(last) - store.getDate(first)) / DAYS_PER_YEAR);
+		} else {
+			return 0.0f;
+		}
+	}
+
+	private static float getProportionalPeriod(final int from, final int to) {
+		if (from < to) {
+			final long today = LocalDate.now().toEpochDay();
+			if (today >= from && to >= today) {
+				return (float) ((double) (today - from) / (double) (to - from));
+			} else {
+				return 1.0f;
+			}
+		} else {
+			return 0.0f;
+		}
+	}
+
+	private int getMinimumGames(final short tournamentId, final EnumRankingMode rankingMode, final EnumPeriodMode periodMode, final int from,
+		final int to, final boolean useMinimumGame) {
+		if (!useMinimumGame) {
+			return 0;
+		}
+		switch (rankingMode) {
+			case MENSUAL_TOTAL_FINAL_SCORE:
+			case MENSUAL_TOTAL_GAME_SCORE:
+				return MINIMUM_GAME_MONTH;
+			case TRIMESTRIAL_TOTAL_FINAL_SCORE:
+			case TRIMESTRIAL_TOTAL_GAME_SCORE:
+				return MINIMUM_GAME_TRIMESTER;
+			case ANNUAL_TOTAL_FINAL_SCORE:
+			case ANNUAL_TOTAL_GAME_SCORE:
+				return MINIMUM_GAME_YEAR;
+			default:
+				break;
+		}
+		switch (periodMode) {
+			case ALL:
+				return Math.round(MINIMUM_GAME_YEAR * getNumberOfYearOfAllGamePeriod(tournamentId));
+			case YEAR:
+				return Math.round(getProportionalPeriod(from, to) * MINIMUM_GAME_YEAR);
+			case TRIMESTER:
+				return Math.round(getProportionalPeriod(from, to) * MINIMUM_GAME_TRIMESTER);
+			case MONTH:
+				return Math.round(getProportionalPeriod(from, to) * MINIMUM_GAME_MONTH);
+			case DAY:
+			default:
+				return 0;
+		}
+	}
+
+	@Override
+	public List<RCRTotalScore> getRCRDataPackageRanking(final Tournament tournament, final EnumRankingMode rankingMode, final EnumSortingMode sortingMode,
+		final EnumPeriodMode periodMode, final int year, final int trimester, final int month, final int day) {
+		return getRCRDataPackageRanking(tournament, rankingMode, sortingMode, periodMode, year, trimester, month, day, onlyRegularPlayers, useMinimumGame);
+	}
+
+	@Override
+	public List<RCRTotalScore> getRCRDataPackageRanking(final Tournament tournament, final EnumRankingMode rankingMode, final EnumSortingMode sortingMode,
+		final EnumPeriodMode periodMode, final int year, final int trimester, final int month, final int day, final boolean onlyRegularPlayers,
+		final boolean useMinimumGame) {
+		lock.readLock().lock();
+		try {
+			final short tournamentId = tournament.getId();
+			if (rankingMode == EnumRankingMode.ELO_RATING) {
+				return ratingTracker.getRanking(tournamentId, ratingSource, players, onlyRegularPlayers, sortingMode,
+					getMinimumGames(tournamentId, rankingMode, EnumPeriodMode.ALL, Integer.MIN_VALUE, Integer.MAX_VALUE, useMinimumGame));
+			}
+			final boolean periodRanking = RCRRankingAggregator.isPeriodRankingMode(rankingMode);
+			final int from = periodRanking ? Integer.MIN_VALUE : getPeriodFirstDate(periodMode, year, trimester, month, day);
+			final int to = periodRanking ? Integer.MAX_VALUE : getPeriodLastDate(periodMode, year, trimester, month, day);
+			final int first = store.lowerBound(from);
+			final int last = store.lowerBound(to);
+
+			final RCRRankingAggregator aggregator = first < last ? new RCRRankingAggregator(store.getDate(first), store.getDate(last - 1))
+				: new RCRRankingAggregator(0, -1);
+			for (int index = first; index < last; index++) {
+				final short playerId = store.getPlayerId(index);
+				if (store.getTournamentId(index) == tournamentId && (!onlyRegularPlayers || isRegular(playerId))) {
+					aggregator.addScore(playerId, getPlayerName(playerId), getDisplayName(playerId), store.getDate(index), store.getNbPlayers(index),
+						store.getRanking(index), store.getGameScore(index), store.getUmaScore(index), store.getFinalScore(index));
+				}
+			}
+			return aggregator.getRanking(rankingMode, sortingMode, getMinimumGames(tournamentId, rankingMode, periodMode, from, to, useMinimumGame));
+		} catch (final Exception e) {
+			e.printStackTrace();
+		} finally {
+			lock.readLock().unlock();
+		}
+		return new ArrayList<RCRTotalScore>();
+	}
+
+	@Override
+	public RCRDataPackageTrend getRCRDataPackageTrend(final Tournament tournament, final EnumPeriodMode periodMode, final int year, final int trimester,
+		final int month, final int day) {
+		lock.readLock().lock();
+		try {
+			final short tournamentId = tournament.getId();
+			final int first = store.lowerBound(getPeriodFirstDate(periodMode, year, trimester, month, day));
+			final int last = store.lowerBound(getPeriodLastDate(periodMode, year, trimester, month, day));
+
+			final boolean[] played = new boolean[getPlayerCapacity()];
+			final List<Short> playerIds = new ArrayList<Short>();
+			for (int index = first; index < last; index++) {
+				final short playerId = store.getPlayerId(index);
+				if (store.getTournamentId(index) == tournamentId && !played[playerId]) {
+					played[playerId] = true;
+					playerIds.add(playerId);
+				}
+			}
+
+			final int[] playerIndexes = new int[getPlayerCapacity()];
+			final String[] playerNames = new String[playerIds.size()];
+			final String[] displayNames = new String[playerIds.size()];
+			for (int playerIndex = 0; playerIndex < playerIds.size(); playerIndex++) {
+				final short playerId = playerIds.get(playerIndex);
+				playerIndexes[playerId] = playerIndex;
+				playerNames[playerIndex] = getPlayerName(playerId);
+				displayNames[playerIndex] = getDisplayName(playerId);
+			}
+
+			final RCRTrendMatrix matrix = new RCRTrendMatrix(playerNames, displayNames);
+			int lastDate = Integer.MIN_VALUE;
+			for (int index = first; index < last; index++) {
+				if (store.getTournamentId(index) == tournamentId) {
+					final int date = store.getDate(index);
+					if (date != lastDate) {
+						if (lastDate != Integer.MIN_VALUE) {
+							matrix.endDate(toMilliseconds(lastDate));
+						}
+						lastDate = date;
+					}
+					matrix.addScore(playerIndexes[store.getPlayerId(index)], store.getFinalScore(index));
+				}
+			}
+			if (lastDate != Integer.MIN_VALUE) {
+				matrix.endDate(toMilliseconds(lastDate));
+			}
+			return matrix.getDataPackage();
+		} catch (final Exception e) {
+			e.printStackTrace();
+		} finally {
+			lock.readLock().unlock();
+		}
+		return null;
+	}
+
+	@Override
+	public RCRDataPackageTrend getRCRDataPackageRatingTrend(final Tournament tournament, final EnumPeriodMode periodMode, final int year,
+		final int trimester, final int month, final int day) {
+		lock.readLock().lock();
+		try {
+			final int to = getPeriodLastDate(periodMode, year, trimester, month, day);
+			return ratingTracker.getTrend(tournament.getId(), ratingSource, getPeriodFirstDate(periodMode, year, trimester, month, day),
+				to == Integer.MAX_VALUE ? to : to - 1, players);
+		} catch (final Exception e) {
+			e.printStackTrace();
+		} finally {
+			lock.readLock().unlock();
+		}
+		return null;
+	}
+
+	@Override
+	public RCRDataPackagePersonalAnalyze getRCRDataPackagePersonalAnalyze(final Tournament tournament, final short playerId, final EnumScoreMode scoreMode,
+		final EnumPeriodMode periodMode, final int year, final int trimester, final int month, final int day) {
+		lock.readLock().lock();
+		try {
+			final short tournamentId = tournament.getId();
+			final int first = store.lowerBound(getPeriodFirstDate(periodMode, year, trimester, month, day));
+			final int last = store.lowerBound(getPeriodLastDate(periodMode, year, trimester, month, day));
+
+			final RCRPersonalAnalyzeAccumulator accumulator = new RCRPersonalAnalyzeAccumulator();
+			for (int index = first; index < last; index++) {
+				if (store.getPlayerId(index) == playerId && store.getTournamentId(index) == tournamentId) {
+					final int score = scoreMode == EnumScoreMode.GAME_SCORE ? store.getGameScore(index) : store.getFinalScore(index);
+					accumulator.addGame(store.getGameId(index), store.getNbPlayers(index), store.getRanking(index), score);
+				}
+			}
+			return accumulator.getDataPackage();
+		} catch (final Exception e) {
+			e.printStackTrace();
+		} finally {
+			lock.readLock().unlock();
+		}
+		return new RCRDataPackagePersonalAnalyze();
+	}
+
+	@Override
+	public Map<Short, RCRDataPackagePersonalAnalyze> getRCRDataPackagePersonalAnalyzeAllPlayers(final Tournament tournament, final EnumScoreMode scoreMode,
+		final EnumPeriodMode periodMode, final int year, final int trimester, final int month, final int day) {
+		final Map<Short, RCRDataPackagePersonalAnalyze> dataPackages = new LinkedHashMap<Short, RCRDataPackagePersonalAnalyze>();
+		lock.readLock().lock();
+		try {
+			final short tournamentId = tournament.getId();
+			final int first = store.lowerBound(getPeriodFirstDate(periodMode, year, trimester, month, day));
+			final int last = store.lowerBound(getPeriodLastDate(periodMode, year, trimester, month, day));
+
+			final RCRPersonalAnalyzeAccumulator[] accumulators = new RCRPersonalAnalyzeAccumulator[getPlayerCapacity()];
+			for (int index = first; index < last; index++) {
+				if (store.getTournamentId(index) == tournamentId) {
+					final short playerId = store.getPlayerId(index);
+					if (accumulators[playerId] == null) {
+						accumulators[playerId] = new RCRPersonalAnalyzeAccumulator();
+					}
+					final int score = scoreMode == EnumScoreMode.GAME_SCORE ? store.getGameScore(index) : store.getFinalScore(index);
+					accumulators[playerId].addGame(store.getGameId(index), store.getNbPlayers(index), store.getRanking(index), score);
+				}
+			}
+			for (int playerId = 0; playerId < accumulators.length; playerId++) {
+				if (accumulators[playerId] != null) {
+					dataPackages.put((short) playerId, accumulators[playerId].getDataPackage());
+				}
+			}
+		} catch (final Exception e) {
+			dataPackages.clear();
+			e.printStackTrace();
+		} finally {
+			lock.readLock().unlock();
+		}
+		return dataPackages;
+	}
+
+	@Override
+	public RCRDataPackageScoreAnalyze getRCRDataPackageScoreAnalyze(final Tournament tournament, final EnumPeriodMode periodMode, final int year,
+		final int trimester, final int month, final int day) {
+		lock.readLock().lock();
+		try {
+			final short tournamentId = tournament.getId();
+			final int first = store.lowerBound(getPeriodFirstDate(periodMode, year, trimester, month, day));
+			final int last = store.lowerBound(getPeriodLastDate(periodMode, year, trimester, month, day));
+
+			final int[] mapId2Index = new int[getPlayerCapacity()];
+			Arrays.fill(mapId2Index, -1);
+			for (int index = first; index < last; index++) {
+				if (store.getTournamentId(index) == tournamentId) {
+					mapId2Index[store.getPlayerId(index)] = 0;
+				}
+			}
+			final List<String> playerNames = new ArrayList<String>();
+			final List<String> displayNames = new ArrayList<String>();
+			for (short playerId = 0; playerId < mapId2Index.length; playerId++) {
+				if (mapId2Index[playerId] == 0) {
+					mapId2Index[playerId] = playerNames.size();
+					playerNames.add(getPlayerName(playerId));
+					displayNames.add(getDisplayName(playerId));
+				}
+			}
+
+			final RCRScoreMatrix scores = new RCRScoreMatrix(playerNames.size());
+			final int[] playerIndexGame = new int[5];
+			final long[] playerScoreGame = new long[5];
+
+			int index = first;
+			while (index < last) {
+				final long gameId = store.getGameId(index);
+				if (store.getTournamentId(index) != tournamentId) {
+					index++;
+					continue;
+				}
+				int nbPlayers = 0;
+				while (index < last && store.getGameId(index) == gameId) {
+					final int playerIndex = mapId2Index[store.getPlayerId(index)];
+					final long score = store.getGameScore(index);
+					int position = nbPlayers;
+					while (position > 0 && playerScoreGame[position - 1] < score) {
+						playerIndexGame[position] = playerIndexGame[position - 1];
+						playerScoreGame[position] = playerScoreGame[position - 1];
+						position--;
+					}
+					playerIndexGame[position] = playerIndex;
+					playerScoreGame[position] = score;
+					nbPlayers++;
+					index++;
+				}
+
+				RCRDataPackageScoreAnalyze.distributeGameScores(playerIndexGame, playerScoreGame, nbPlayers, scores);
+			}
+			return new RCRDataPackageScoreAnalyze(playerNames, displayNames, scores);
+		} catch (final Exception e) {
+			e.printStackTrace();
+		} finally {
+			lock.readLock().unlock();
+		}
+		return null;
+	}
+
+}
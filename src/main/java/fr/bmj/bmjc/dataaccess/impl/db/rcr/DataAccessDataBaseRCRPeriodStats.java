@@ -0,0 +1,211 @@
+/*
+ * This file is part of Breizh Mahjong Recorder.
+ *
+ * Breizh Mahjong Recorder is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Breizh Mahjong Recorder is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Breizh Mahjong Recorder. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.bmj.bmjc.dataaccess.impl.db.rcr;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import fr.bmj.bmjc.data.game.rcr.RCRGame;
+import fr.bmj.bmjc.data.game.rcr.RCRScore;
+import fr.bmj.bmjc.dataaccess.abs.UpdateResult;
+
+public class DataAccessDataBaseRCRPeriodStats extends DataAccessDataBaseRCRCommon {
+
+	public static final String CREATE_TABLE_QUERY = "CREATE TABLE RCR_Player_Period_Stats("
+		+ "rcr_tournament_id smallint, player_id smallint, period_year smallint, period_month smallint,"
+		+ " nb_games integer not null, nb_games_4 integer not null, nb_games_5 integer not null,"
+		+ " wins_4 integer not null, wins_5 integer not null, positives_4 integer not null, positives_5 integer not null,"
+		+ " sum_final bigint not null, sum_game bigint not null, best_final integer not null, best_game integer not null,"
+		+ " constraint rpps_pk primary key(rcr_tournament_id, player_id, period_year, period_month),"
+		+ " constraint rpps_tid_fk foreign key(rcr_tournament_id) references RCR_Tournament(id) on delete restrict on update restrict,"
+		+ " constraint rpps_player_id_fk foreign key(player_id) references Player(id) on delete restrict on update restrict)";
+
+	private static final String INSERT_PART = "INSERT INTO rcr_player_period_stats(rcr_tournament_id, player_id, period_year, period_month, nb_games, nb_games_4, nb_games_5, wins_4, wins_5, positives_4, positives_5, sum_final, sum_game, best_final, best_game)";
+	private static final String AGGREGATE_SELECT_PART = " SELECT t, p, y, m, COUNT(*), SUM(g4), SUM(g5), SUM(w4), SUM(w5), SUM(p4), SUM(p5), SUM(f), SUM(g), MAX(f), MAX(g) FROM";
+	private static final String AGGREGATE_SUB_SELECT_PART = " (SELECT rcr_game_id.rcr_tournament_id AS t, rcr_game_score.player_id AS p, YEAR(rcr_game_id.date) AS y, MONTH(rcr_game_id.date) AS m,"
+		+ " CASE WHEN rcr_game_id.nb_players=4 THEN 1 ELSE 0 END AS g4, CASE WHEN rcr_game_id.nb_players=5 THEN 1 ELSE 0 END AS g5,"
+		+ " CASE WHEN rcr_game_id.nb_players=4 AND rcr_game_score.ranking=1 THEN 1 ELSE 0 END AS w4, CASE WHEN rcr_game_id.nb_players=5 AND rcr_game_score.ranking=1 THEN 1 ELSE 0 END AS w5,"
+		+ " CASE WHEN rcr_game_id.nb_players=4 AND rcr_game_score.final_score>0 THEN 1 ELSE 0 END AS p4, CASE WHEN rcr_game_id.nb_players=5 AND rcr_game_score.final_score>0 THEN 1 ELSE 0 END AS p5,"
+		+ " CAST(rcr_game_score.final_score AS BIGINT) AS f, CAST(rcr_game_score.game_score AS BIGINT) AS g FROM rcr_game_id, rcr_game_score";
+	private static final String AGGREGATE_SUB_WHERE_PART = " WHERE rcr_game_id.id=rcr_game_score.rcr_game_id";
+	private static final String AGGREGATE_SUB_MONTH_PART = " AND rcr_game_id.rcr_tournament_id=? AND YEAR(rcr_game_id.date)=? AND MONTH(rcr_game_id.date)=?";
+	private static final String AGGREGATE_SUB_FINAL_PART = ") AS month_score";
+	private static final String AGGREGATE_GROUP_PART = " GROUP BY t, p, y, m";
+	public static final String FILL_QUERY = INSERT_PART + AGGREGATE_SELECT_PART + AGGREGATE_SUB_SELECT_PART + AGGREGATE_SUB_WHERE_PART
+		+ AGGREGATE_SUB_FINAL_PART + AGGREGATE_GROUP_PART;
+
+	private final boolean maintained;
+
+	public DataAccessDataBaseRCRPeriodStats(final Connection dataBaseConnection) {
+		this(dataBaseConnection, true);
+	}
+
+	public DataAccessDataBaseRCRPeriodStats(final Connection dataBaseConnection, final boolean maintained) {
+		super(dataBaseConnection);
+		this.maintained = maintained;
+	}
+
+	private void clear() throws SQLException {
+		final PreparedStatement statement = prepareStatement("DELETE FROM rcr_player_period_stats");
+		try {
+			statement.executeUpdate();
+		} finally {
+			releaseStatement(statement);
+		}
+	}
+
+	public UpdateResult rebuildIfEmpty() {
+		if (!isConnected()) {
+			return new UpdateResult(false, "Pas de connxion à la base de données");
+		}
+
+		try {
+			boolean empty = false;
+			final Statement statement = dataBaseConnection.createStatement();
+			final ResultSet result = statement
+				.executeQuery("SELECT (SELECT COUNT(*) FROM rcr_player_period_stats), (SELECT COUNT(*) FROM rcr_game_id) FROM sysibm.sysdummy1");
+			if (result.next()) {
+				empty = result.getInt(1) == 0 && result.getInt(2) > 0;
+			}
+			result.close();
+			statement.close();
+			if (!empty) {
+				return new UpdateResult(true, "Statistiques à jour.");
+			}
+		} catch (final SQLException e) {
+			e.printStackTrace();
+			return new UpdateResult(false, "Erreur de connexion de base de données");
+		}
+		return rebuild();
+	}
+
+	public UpdateResult rebuild() {
+		synchronized (dataBaseConnection) {
+			if (!isConnected()) {
+				return new UpdateResult(false, "Pas de connxion à la base de données");
+			}
+
+			try {
+				dataBaseConnection.setAutoCommit(false);
+				final Statement statement = dataBaseConnection.createStatement();
+				statement.executeUpdate("DELETE FROM rcr_player_period_stats");
+				final int nbRows = statement.executeUpdate(FILL_QUERY);
+				statement.close();
+				dataBaseConnection.commit();
+				return new UpdateResult(true, "Statistiques reconstruites. " + Integer.toString(nbRows) + " lignes.");
+			} catch (final SQLException e) {
+				e.printStackTrace();
+				rollback();
+				return new UpdateResult(false, "Erreur de connexion de base de données");
+			} finally {
+				resetAutoCommit();
+			}
+		}
+	}
+
+	public void addGame(final RCRGame game) throws SQLException {
+		if (!maintained) {
+			clear();
+			return;
+		}
+		final PreparedStatement updateStatement = prepareStatement(
+			"UPDATE rcr_player_period_stats SET nb_games=nb_games+1, nb_games_4=nb_games_4+?, nb_games_5=nb_games_5+?, wins_4=wins_4+?, wins_5=wins_5+?, positives_4=positives_4+?, positives_5=positives_5+?, sum_final=sum_final+?, sum_game=sum_game+?,"
+				+ " best_final=CASE WHEN best_final<? THEN ? ELSE best_final END, best_game=CASE WHEN best_game<? THEN ? ELSE best_game END"
+				+ " WHERE rcr_tournament_id=? AND player_id=? AND period_year=? AND period_month=?");
+		try {
+			final PreparedStatement insertStatement = prepareStatement(INSERT_PART + " VALUES(?, ?, ?, ?, 1, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+			try {
+				final short year = (short) game.getYear();
+				final short month = (short) (game.getMonth() + 1);
+				final int fourPlayers = game.getNbPlayers() == 4 ? 1 : 0;
+				final int fivePlayers = game.getNbPlayers() == 5 ? 1 : 0;
+				for (final RCRScore score : game.getScores()) {
+					final int win = score.getPlace() == 1 ? 1 : 0;
+					final int positive = score.getFinalScore() > 0 ? 1 : 0;
+					updateStatement.setInt(1, fourPlayers);
+					updateStatement.setInt(2, fivePlayers);
+					updateStatement.setInt(3, win * fourPlayers);
+					updateStatement.setInt(4, win * fivePlayers);
+					updateStatement.setInt(5, positive * fourPlayers);
+					updateStatement.setInt(6, positive * fivePlayers);
+					updateStatement.setLong(7, score.getFinalScore());
+					updateStatement.setLong(8, score.getGameScore());
+					updateStatement.setInt(9, score.getFinalScore());
+					updateStatement.setInt(10, score.getFinalScore());
+					updateStatement.setInt(11, score.getGameScore());
+					updateStatement.setInt(12, score.getGameScore());
+					updateStatement.setShort(13, game.getTournamentId());
+					updateStatement.setShort(14, score.getPlayerId());
+					updateStatement.setShort(15, year);
+					updateStatement.setShort(16, month);
+					if (updateStatement.executeUpdate() == 0) {
+						insertStatement.setShort(1, game.getTournamentId());
+						insertStatement.setShort(2, score.getPlayerId());
+						insertStatement.setShort(3, year);
+						insertStatement.setShort(4, month);
+						insertStatement.setInt(5, fourPlayers);
+						insertStatement.setInt(6, fivePlayers);
+						insertStatement.setInt(7, win * fourPlayers);
+						insertStatement.setInt(8, win * fivePlayers);
+						insertStatement.setInt(9, positive * fourPlayers);
+						insertStatement.setInt(10, positive * fivePlayers);
+						insertStatement.setLong(11, score.getFinalScore());
+						insertStatement.setLong(12, score.getGameScore());
+						insertStatement.setInt(13, score.getFinalScore());
+						insertStatement.setInt(14, score.getGameScore());
+						insertStatement.executeUpdate();
+					}
+				}
+			} finally {
+				releaseStatement(insertStatement);
+			}
+		} finally {
+			releaseStatement(updateStatement);
+		}
+	}
+
+	public void refreshMonth(final short tournamentId, final int year, final int month) throws SQLException {
+		if (!maintained) {
+			clear();
+			return;
+		}
+		final PreparedStatement deleteStatement = prepareStatement("DELETE FROM rcr_player_period_stats WHERE rcr_tournament_id=? AND period_year=? AND period_month=?");
+		try {
+			deleteStatement.setShort(1, tournamentId);
+			deleteStatement.setInt(2, year);
+			deleteStatement.setInt(3, month + 1);
+			deleteStatement.executeUpdate();
+		} finally {
+			releaseStatement(deleteStatement);
+		}
+
+		final PreparedStatement insertStatement = prepareStatement(INSERT_PART + AGGREGATE_SELECT_PART + AGGREGATE_SUB_SELECT_PART
+			+ AGGREGATE_SUB_WHERE_PART + AGGREGATE_SUB_MONTH_PART + AGGREGATE_SUB_FINAL_PART + AGGREGATE_GROUP_PART);
+		try {
+			insertStatement.setShort(1, tournamentId);
+			insertStatement.setInt(2, year);
+			insertStatement.setInt(3, month + 1);
+			insertStatement.executeUpdate();
+		} finally {
+			releaseStatement(insertStatement);
+		}
+	}
+
+}
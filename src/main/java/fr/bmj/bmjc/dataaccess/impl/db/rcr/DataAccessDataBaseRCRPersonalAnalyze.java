@@ -4,9 +4,9 @@ import java.sql.Connection;
 import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
-import java.util.ArrayList;
 import java.util.Calendar;
-import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import fr.bmj.bmjc.data.game.Tournament;
 import fr.bmj.bmjc.data.stat.rcr.RCRDataPackagePersonalAnalyze;
@@ -25,6 +25,102 @@ public class DataAccessDataBaseRCRPersonalAnalyze extends DataAccessDataBaseRCRC
 		final EnumPeriodMode periodMode, final int year, final int trimester, final int month, final int day) {
 		final Calendar calendarFrom = Calendar.getInstance();
 		final Calendar calendarTo = Calendar.getInstance();
+		setPeriod(calendarFrom, calendarTo, periodMode, year, trimester, month, day);
+
+		try {
+			final String fieldString = getScoreField(scoreMode);
+			final RCRPersonalAnalyzeAccumulator accumulator = new RCRPersonalAnalyzeAccumulator();
+			PreparedStatement statement = null;
+			try {
+				if (periodMode == EnumPeriodMode.ALL) {
+					statement = prepareStatement("SELECT rcr_game_id.id, rcr_game_id.nb_players, rcr_game_score.ranking, rcr_game_score."
+						+ fieldString
+						+ " FROM rcr_game_id, rcr_game_score WHERE rcr_game_id.id=rcr_game_score.rcr_game_id AND rcr_game_score.player_id=? AND rcr_game_id.rcr_tournament_id=? ORDER BY rcr_game_id.id ASC");
+					statement.setShort(1, playerId);
+					statement.setShort(2, tournament.getId());
+				} else {
+					statement = prepareStatement("SELECT rcr_game_id.id, rcr_game_id.nb_players, rcr_game_score.ranking, rcr_game_score."
+						+ fieldString
+						+ " FROM rcr_game_id, rcr_game_score WHERE rcr_game_id.id=rcr_game_score.rcr_game_id AND rcr_game_score.player_id=? AND rcr_game_id.rcr_tournament_id=? AND rcr_game_id.date>=? AND rcr_game_id.date<? ORDER BY rcr_game_id.id ASC");
+					statement.setShort(1, playerId);
+					statement.setShort(2, tournament.getId());
+					statement.setDate(3, new Date(calendarFrom.getTimeInMillis()));
+					statement.setDate(4, new Date(calendarTo.getTimeInMillis()));
+				}
+				final ResultSet result = statement.executeQuery();
+				while (result.next()) {
+					accumulator.addGame(result.getLong(1), result.getShort(2), result.getShort(3), result.getInt(4));
+				}
+				result.close();
+			} finally {
+				if (statement != null) {
+					releaseStatement(statement);
+				}
+			}
+			return accumulator.getDataPackage();
+		} catch (final Exception e) {
+			e.printStackTrace();
+		}
+		return new RCRDataPackagePersonalAnalyze();
+	}
+
+	@Override
+	public Map<Short, RCRDataPackagePersonalAnalyze> getRCRDataPackagePersonalAnalyzeAllPlayers(final Tournament tournament, final EnumScoreMode scoreMode,
+		final EnumPeriodMode periodMode, final int year, final int trimester, final int month, final int day) {
+		final Calendar calendarFrom = Calendar.getInstance();
+		final Calendar calendarTo = Calendar.getInstance();
+		setPeriod(calendarFrom, calendarTo, periodMode, year, trimester, month, day);
+
+		final Map<Short, RCRDataPackagePersonalAnalyze> dataPackages = new LinkedHashMap<Short, RCRDataPackagePersonalAnalyze>();
+		try {
+			final String fieldString = getScoreField(scoreMode);
+			PreparedStatement statement = null;
+			try {
+				if (periodMode == EnumPeriodMode.ALL) {
+					statement = prepareStatement("SELECT rcr_game_score.player_id, rcr_game_id.id, rcr_game_id.nb_players, rcr_game_score.ranking, rcr_game_score."
+						+ fieldString
+						+ " FROM rcr_game_id, rcr_game_score WHERE rcr_game_id.id=rcr_game_score.rcr_game_id AND rcr_game_id.rcr_tournament_id=? ORDER BY rcr_game_score.player_id ASC, rcr_game_id.id ASC");
+					statement.setShort(1, tournament.getId());
+				} else {
+					statement = prepareStatement("SELECT rcr_game_score.player_id, rcr_game_id.id, rcr_game_id.nb_players, rcr_game_score.ranking, rcr_game_score."
+						+ fieldString
+						+ " FROM rcr_game_id, rcr_game_score WHERE rcr_game_id.id=rcr_game_score.rcr_game_id AND rcr_game_id.rcr_tournament_id=? AND rcr_game_id.date>=? AND rcr_game_id.date<? ORDER BY rcr_game_score.player_id ASC, rcr_game_id.id ASC");
+					statement.setShort(1, tournament.getId());
+					statement.setDate(2, new Date(calendarFrom.getTimeInMillis()));
+					statement.setDate(3, new Date(calendarTo.getTimeInMillis()));
+				}
+				final ResultSet result = statement.executeQuery();
+				RCRPersonalAnalyzeAccumulator accumulator = null;
+				short currentPlayerId = 0;
+				while (result.next()) {
+					final short playerId = result.getShort(1);
+					if (accumulator == null || playerId != currentPlayerId) {
+						if (accumulator != null) {
+							dataPackages.put(currentPlayerId, accumulator.getDataPackage());
+						}
+						accumulator = new RCRPersonalAnalyzeAccumulator();
+						currentPlayerId = playerId;
+					}
+					accumulator.addGame(result.getLong(2), result.getShort(3), result.getShort(4), result.getInt(5));
+				}
+				if (accumulator != null) {
+					dataPackages.put(currentPlayerId, accumulator.getDataPackage());
+				}
+				result.close();
+			} finally {
+				if (statement != null) {
+					releaseStatement(statement);
+				}
+			}
+		} catch (final Exception e) {
+			dataPackages.clear();
+			e.printStackTrace();
+		}
+		return dataPackages;
+	}
+
+	private static void setPeriod(final Calendar calendarFrom, final Calendar calendarTo, final EnumPeriodMode periodMode, final int year,
+		final int trimester, final int month, final int day) {
 		switch (periodMode) {
 			case ALL:
 				break;
@@ -59,138 +155,17 @@ public class DataAccessDataBaseRCRPersonalAnalyze extends DataAccessDataBaseRCRC
 			default:
 				break;
 		}
+	}
 
-		final RCRDataPackagePersonalAnalyze dataPackage = new RCRDataPackagePersonalAnalyze();
-		try {
-			String fieldString = null;
-			switch (scoreMode) {
-				case FINAL_SCORE:
-					fieldString = "final_score";
-					break;
-				case GAME_SCORE:
-					fieldString = "game_score";
-					break;
-				default:
-					fieldString = "";
-					break;
-			}
-
-			PreparedStatement statement = null;
-			if (periodMode == EnumPeriodMode.ALL) {
-				statement = dataBaseConnection.prepareStatement("SELECT rcr_game_id.id, rcr_game_id.nb_players, rcr_game_score.ranking, rcr_game_score."
-					+ fieldString
-					+ " FROM rcr_game_id, rcr_game_score WHERE rcr_game_id.id=rcr_game_score.rcr_game_id AND rcr_game_score.player_id=? AND rcr_game_id.rcr_tournament_id=? ORDER BY rcr_game_id.id ASC");
-				statement.setShort(1, playerId);
-				statement.setShort(2, tournament.getId());
-			} else {
-				statement = dataBaseConnection.prepareStatement("SELECT rcr_game_id.id, rcr_game_id.nb_players, rcr_game_score.ranking, rcr_game_score."
-					+ fieldString
-					+ " FROM rcr_game_id, rcr_game_score WHERE rcr_game_id.id=rcr_game_score.rcr_game_id AND rcr_game_score.player_id=? AND rcr_game_id.rcr_tournament_id=? AND rcr_game_id.date>=? AND rcr_game_id.date<? ORDER BY rcr_game_id.id ASC");
-				statement.setShort(1, playerId);
-				statement.setShort(2, tournament.getId());
-				statement.setDate(3, new Date(calendarFrom.getTimeInMillis()));
-				statement.setDate(4, new Date(calendarTo.getTimeInMillis()));
-			}
-			final ResultSet result = statement.executeQuery();
-
-			int numberOfGames = 0;
-			final List<Long> listGameID = new ArrayList<Long>();
-			final List<Integer> listScore = new ArrayList<Integer>();
-			final List<Integer> listSum = new ArrayList<Integer>();
-
-			int numberOfFourPlayersGames = 0;
-			int numberOfFivePlayersGames = 0;
-			int totalScore = 0;
-			int positiveGames = 0;
-			int negativeGames = 0;
-			final int placeFourPlayers[] = new int[4];
-			final int placeFourPlayersPercent[] = new int[4];
-			final int placeFivePlayers[] = new int[5];
-			final int placeFivePlayersPercent[] = new int[5];
-			int maxScore = Integer.MIN_VALUE;
-			int minScore = Integer.MAX_VALUE;
-			int positiveTotal = 0;
-			int negativeTotal = 0;
-
-			while (result.next()) {
-				final long gameID = result.getLong(1);
-				final short nbPlayers = result.getShort(2);
-				final short ranking = result.getShort(3);
-				final int score = result.getInt(4);
-
-				listGameID.add(numberOfGames, gameID);
-				listScore.add(numberOfGames, score);
-
-				if (score >= 0) {
-					positiveGames++;
-					positiveTotal += score;
-				} else {
-					negativeGames++;
-					negativeTotal += score;
-				}
-				maxScore = Math.max(maxScore, score);
-				minScore = Math.min(minScore, score);
-
-				totalScore += score;
-				listSum.add(numberOfGames, totalScore);
-
-				if (nbPlayers == 4) {
-					placeFourPlayers[ranking - 1]++;
-					numberOfFourPlayersGames++;
-				} else if (nbPlayers == 5) {
-					placeFivePlayers[ranking - 1]++;
-					numberOfFivePlayersGames++;
-				}
-				numberOfGames++;
-			}
-			final double averageScore = (double) totalScore / numberOfGames;
-			double deviation = 0.0;
-			for (int index = 0; index < numberOfGames; index++) {
-				deviation += Math.pow(listScore.get(index) - averageScore, 2.0);
-			}
-			final long standardDeviation = numberOfGames <= 1 ? 0 : Math.round(Math.sqrt(deviation / numberOfGames));
-
-			for (int index = 0; index < 4; index++) {
-				placeFourPlayersPercent[index] = Math.round(placeFourPlayers[index] * 100f / numberOfFourPlayersGames);
-			}
-			for (int index = 0; index < 5; index++) {
-				placeFivePlayersPercent[index] = Math.round(placeFivePlayers[index] * 100f / numberOfFivePlayersGames);
-			}
-
-			dataPackage.setLists(listGameID, listScore, listSum);
-			dataPackage.setNumberOfGames(numberOfGames);
-
-			dataPackage.setMaxScore(maxScore);
-			dataPackage.setMinScore(minScore);
-
-			dataPackage.setPositiveGames(positiveGames);
-			dataPackage.setPositiveGamesPercent(Math.round(positiveGames * 100f / numberOfGames));
-
-			dataPackage.setNegativeGames(negativeGames);
-			dataPackage.setNegativeGamesPercent(Math.round(negativeGames * 100f / numberOfGames));
-
-			dataPackage.setScoreTotal(totalScore);
-			dataPackage.setScoreMean((int) Math.round(averageScore));
-			dataPackage.setScoreStandardDeviation((int) standardDeviation);
-
-			dataPackage.setPositiveTotal(positiveTotal);
-			dataPackage.setNegativeTotal(negativeTotal);
-
-			dataPackage.setNumberOfFourPlayerGames(numberOfFourPlayersGames);
-			dataPackage.setFourPlayerGamePlaces(placeFourPlayers);
-			dataPackage.setFourPlayerGamePlacePercent(placeFourPlayersPercent);
-
-			dataPackage.setNumberOfFivePlayerGames(numberOfFivePlayersGames);
-			dataPackage.setFivePlayerGamePlaces(placeFivePlayers);
-			dataPackage.setFivePlayerGamePlacePercent(placeFivePlayersPercent);
-
-			result.close();
-			statement.close();
-		} catch (final Exception e) {
-			dataPackage.setNumberOfGames(0);
-			e.printStackTrace();
+	private static String getScoreField(final EnumScoreMode scoreMode) {
+		switch (scoreMode) {
+			case FINAL_SCORE:
+				return "final_score";
+			case GAME_SCORE:
+				return "game_score";
+			default:
+				return "";
 		}
-		return dataPackage;
 	}
 
 }
@@ -4,12 +4,10 @@ import java.sql.Connection;
 import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Calendar;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import fr.bmj.bmjc.data.game.Tournament;
 import fr.bmj.bmjc.data.stat.rcr.RCRTotalScore;
@@ -25,11 +23,24 @@ public class DataAccessDataBaseRCRRanking extends DataAccessDataBaseRCRCommon im
 	private static final int MINIMUM_GAME_TRIMESTER = 8;
 	private static final int MINIMUM_GAME_YEAR = 32;
 
+	private final DataAccessDataBaseRCRRating dataAccessRCRRating;
 	private boolean useMinimumGame;
 	private boolean onlyRegularPlayers;
 
+	private RCRRankingAggregator cachedAggregator;
+	private short cachedTournamentId;
+	private long cachedFrom;
+	private long cachedTo;
+	private boolean cachedOnlyRegularPlayers;
+	private long cacheGeneration;
+
 	public DataAccessDataBaseRCRRanking(final Connection dataBaseConnection) {
+		this(dataBaseConnection, null);
+	}
+
+	public DataAccessDataBaseRCRRanking(final Connection dataBaseConnection, final DataAccessDataBaseRCRRating dataAccessRCRRating) {
 		super(dataBaseConnection);
+		this.dataAccessRCRRating = dataAccessRCRRating;
 	}
 
 	@Override
@@ -42,27 +53,61 @@ public class DataAccessDataBaseRCRRanking extends DataAccessDataBaseRCRCommon im
 		this.onlyRegularPlayers = onlyRegularPlayers;
 	}
 
+	public synchronized void invalidate() {
+		cachedAggregator = null;
+		cacheGeneration++;
+	}
+
+	private synchronized long getCacheGeneration() {
+		return cacheGeneration;
+	}
+
+	private synchronized RCRRankingAggregator getCachedAggregator(final short tournamentId, final long from, final long to,
+		final boolean onlyRegularPlayers) {
+		if (cachedAggregator != null && cachedTournamentId == tournamentId && cachedFrom == from && cachedTo == to
+			&& cachedOnlyRegularPlayers == onlyRegularPlayers) {
+			return cachedAggregator;
+		}
+		return null;
+	}
+
+	private synchronized void setCachedAggregator(final RCRRankingAggregator aggregator, final short tournamentId, final long from, final long to,
+		final boolean onlyRegularPlayers, final long generation) {
+		if (generation == cacheGeneration) {
+			cachedAggregator = aggregator;
+			cachedTournamentId = tournamentId;
+			cachedFrom = from;
+			cachedTo = to;
+			cachedOnlyRegularPlayers = onlyRegularPlayers;
+		}
+	}
+
 	private static final double MILLISECONDS_PER_YEAR = 31557600000.0f;
 
-	private float getNumberOfYearOfAllGamePeriod(final Tournament tournament) {
-		Date firstDate = null;
-		Date lastDate = null;
+	private Date[] getAllGamePeriod(final Tournament tournament) {
+		final Date allGamePeriod[] = new Date[2];
 		try {
-			final PreparedStatement statement = dataBaseConnection.prepareStatement("SELECT MIN(date), MAX(date) FROM rcr_game_id WHERE rcr_tournament_id=?");
-			statement.setShort(1, tournament.getId());
-			final ResultSet result = statement.executeQuery();
-			if (result.next()) {
-				firstDate = result.getDate(1);
-				lastDate = result.getDate(2);
+			final PreparedStatement statement = prepareStatement("SELECT MIN(date), MAX(date) FROM rcr_game_id WHERE rcr_tournament_id=?");
+			try {
+				statement.setShort(1, tournament.getId());
+				final ResultSet result = statement.executeQuery();
+				if (result.next()) {
+					allGamePeriod[0] = result.getDate(1);
+					allGamePeriod[1] = result.getDate(2);
+				}
+				result.close();
+			} finally {
+				releaseStatement(statement);
 			}
-			result.close();
-			statement.close();
 		} catch (final Exception e) {
 			e.printStackTrace();
 		}
+		return allGamePeriod;
+	}
 
-		if (firstDate != null && lastDate != null) {
-			return (float) ((lastDate.getTime() - firstDate.getTime()) / MILLISECONDS_PER_YEAR);
+	private float getNumberOfYearOfAllGamePeriod(final Date allGamePeriod[]) {
+		if (allGamePeriod[0] != null && allGamePeriod[1] != null) {
+			return (float) ((allGamePeriod[1].getTime() - allGamePeriod[0].getTime()) / MILLISECONDS_PER_YEAR);
 		} else {
 			return 0.0f;
 		}
@@ -83,15 +128,35 @@ public class DataAccessDataBaseRCRRanking extends DataAccessDataBaseRCRCommon im
 	}
 
 	@Override
-	public List<RCRTotalScore> getRCRDataPackageRanking(final Tournament tournament, final EnumRankingMode rankingMode, final EnumSortingMode sortingMode,
-		final EnumPeriodMode periodMode, final int year, final int trimester, final int month, final int day) {
+	public List<RCRTotalScore> getRCRDataPackageRanking(final Tournament tournament, final EnumRankingMode rankingMode,
+		final EnumSortingMode sortingMode, final EnumPeriodMode periodMode, final int year, final int trimester, final int month, final int day) {
+		return getRCRDataPackageRanking(tournament, rankingMode, sortingMode, periodMode, year, trimester, month, day, onlyRegularPlayers, useMinimumGame);
+	}
+
+	@Override
+	public List<RCRTotalScore> getRCRDataPackageRanking(final Tournament tournament, final EnumRankingMode rankingMode,
+		final EnumSortingMode sortingMode, final EnumPeriodMode periodMode, final int year, final int trimester, final int month, final int day,
+		final boolean onlyRegularPlayers, final boolean useMinimumGame) {
+		if (RCRRankingAggregator.isPeriodRankingMode(rankingMode)) {
+			return getPeriodRanking(tournament, rankingMode, sortingMode, onlyRegularPlayers, useMinimumGame);
+		}
+		if (rankingMode == EnumRankingMode.ELO_RATING) {
+			if (dataAccessRCRRating == null) {
+				return new ArrayList<RCRTotalScore>();
+			}
+			final int minimumGames = useMinimumGame ? Math.round(MINIMUM_GAME_YEAR * getNumberOfYearOfAllGamePeriod(getAllGamePeriod(tournament))) : 0;
+			return dataAccessRCRRating.getRanking(tournament, sortingMode, onlyRegularPlayers, minimumGames);
+		}
+
 		final Calendar calendarFrom = Calendar.getInstance();
 		final Calendar calendarTo = Calendar.getInstance();
+		Date allGamePeriod[] = null;
 		int minimumGames = 0;
 		switch (periodMode) {
 			case ALL:
+				allGamePeriod = getAllGamePeriod(tournament);
 				if (useMinimumGame) {
-					minimumGames = Math.round(MINIMUM_GAME_YEAR * getNumberOfYearOfAllGamePeriod(tournament));
+					minimumGames = Math.round(MINIMUM_GAME_YEAR * getNumberOfYearOfAllGamePeriod(allGamePeriod));
 				}
 				break;
 			case YEAR:
@@ -130,663 +195,142 @@ public class DataAccessDataBaseRCRRanking extends DataAccessDataBaseRCRCommon im
 				break;
 		}
 
-		final List<RCRTotalScore> rankingScores = new ArrayList<>();
-		try {
-			switch (rankingMode) {
-				case TOTAL_FINAL_SCORE: {
-					final String querySelectPart = "SELECT player.name, player.display_name, SUM(rcr_game_score.final_score) AS total, COUNT(*) AS nb_games FROM player, rcr_game_id, rcr_game_score";
-					final String queryWherePart = " WHERE player.id=rcr_game_score.player_id AND rcr_game_id.id=rcr_game_score.rcr_game_id AND rcr_game_id.rcr_tournament_id=?";
-					final String queryRegularPart = onlyRegularPlayers ? " AND player.regular=TRUE" : "";
-					final String queryPeriodPart = " AND rcr_game_id.date>=? AND rcr_game_id.date<?";
-					final String queryGroupPart = " GROUP BY player.name, player.display_name";
-					final String queryHavingPart = useMinimumGame ? " HAVING COUNT(*)>=" + Integer.toString(minimumGames) : "";
-					final String queryOrderPart = sortingMode == EnumSortingMode.DESCENDING ? " ORDER BY total DESC" : " ORDER BY total ASC";
-					PreparedStatement statement = null;
-					if (periodMode == EnumPeriodMode.ALL) {
-						statement = dataBaseConnection
-							.prepareStatement(querySelectPart + queryWherePart + queryRegularPart + queryGroupPart + queryHavingPart + queryOrderPart);
-						statement.setShort(1, tournament.getId());
-					} else {
-						statement = dataBaseConnection.prepareStatement(
-							querySelectPart + queryWherePart + queryRegularPart + queryPeriodPart + queryGroupPart + queryHavingPart + queryOrderPart);
-						statement.setShort(1, tournament.getId());
-						statement.setDate(2, new Date(calendarFrom.getTimeInMillis()));
-						statement.setDate(3, new Date(calendarTo.getTimeInMillis()));
-					}
-
-					final ResultSet result = statement.executeQuery();
-					while (result.next()) {
-						final RCRTotalScore total = new RCRTotalScore(result.getString(1), result.getString(2), 0, 0, 0);
-						total.totalScore = new Integer(result.getInt(3));
-						total.numberOfGame = new Integer(result.getInt(4));
-						rankingScores.add(total);
-					}
-					result.close();
-					statement.close();
-				}
-					break;
-				case MEAN_FINAL_SCORE: {
-					final String querySelectPart = "SELECT player.name, player.display_name, AVG(rcr_game_score.final_score) AS mean, STDDEV_POP(rcr_game_score.final_score) as stddev, COUNT(*) AS nb_games FROM player, rcr_game_id, rcr_game_score";
-					final String queryWherePart = " WHERE player.id=rcr_game_score.player_id AND rcr_game_id.id=rcr_game_score.rcr_game_id AND rcr_game_id.rcr_tournament_id=?";
-					final String queryRegularPart = onlyRegularPlayers ? " AND player.regular=TRUE" : "";
-					final String queryPeriodPart = " AND rcr_game_id.date>=? AND rcr_game_id.date<?";
-					final String queryGroupPart = " GROUP BY player.name, player.display_name";
-					final String queryHavingPart = useMinimumGame ? " HAVING COUNT(*)>=" + Integer.toString(minimumGames) : "";
-					final String queryOrderPart = sortingMode == EnumSortingMode.DESCENDING ? " ORDER BY mean DESC" : " ORDER BY mean ASC";
-					PreparedStatement statement = null;
-					if (periodMode == EnumPeriodMode.ALL) {
-						statement = dataBaseConnection
-							.prepareStatement(querySelectPart + queryWherePart + queryRegularPart + queryGroupPart + queryHavingPart + queryOrderPart);
-						statement.setShort(1, tournament.getId());
-					} else {
-						statement = dataBaseConnection.prepareStatement(
-							querySelectPart + queryWherePart + queryRegularPart + queryPeriodPart + queryGroupPart + queryHavingPart + queryOrderPart);
-						statement.setShort(1, tournament.getId());
-						statement.setDate(2, new Date(calendarFrom.getTimeInMillis()));
-						statement.setDate(3, new Date(calendarTo.getTimeInMillis()));
-					}
-
-					final ResultSet result = statement.executeQuery();
-					while (result.next()) {
-						final RCRTotalScore total = new RCRTotalScore(result.getString(1), result.getString(2), 0, 0, 0);
-						total.totalScore = result.getInt(3);
-						total.umaScore = new Long(Math.round(result.getDouble(4)));
-						total.numberOfGame = new Integer(result.getInt(5));
-						rankingScores.add(total);
-					}
-					result.close();
-					statement.close();
-				}
-					break;
-				case BEST_FINAL_SCORE: {
-					final String querySelectPart = " SELECT player.name, player.display_name, YEAR(rcr_game_id.date), MONTH(rcr_game_id.date)-1, DAY(rcr_game_id.date), rcr_game_score.final_score, rcr_game_score.uma_score FROM player, rcr_game_id, rcr_game_score";
-					final String queryWherePart = " WHERE player.id=rcr_game_score.player_id AND rcr_game_id.id=rcr_game_score.rcr_game_id AND rcr_game_id.rcr_tournament_id=?";
-					final String queryRegularPart = onlyRegularPlayers ? " AND player.regular=TRUE" : "";
-					final String queryPeriodPart = " AND rcr_game_id.date>=? AND rcr_game_id.date<?";
-					final String queryOrderPart = sortingMode == EnumSortingMode.DESCENDING ? " ORDER BY rcr_game_score.final_score DESC"
-						: " ORDER BY rcr_game_score.final_score ASC";
-					final String queryFetchPart = " FETCH FIRST " + Integer.toString(NUMBER_TOP) + " ROWS ONLY";
-					PreparedStatement statement = null;
-					if (periodMode == EnumPeriodMode.ALL) {
-						statement = dataBaseConnection.prepareStatement(querySelectPart + queryWherePart + queryRegularPart + queryOrderPart + queryFetchPart);
-						statement.setShort(1, tournament.getId());
-					} else {
-						statement = dataBaseConnection
-							.prepareStatement(querySelectPart + queryWherePart + queryRegularPart + queryPeriodPart + queryOrderPart + queryFetchPart);
-						statement.setShort(1, tournament.getId());
-						statement.setDate(2, new Date(calendarFrom.getTimeInMillis()));
-						statement.setDate(3, new Date(calendarTo.getTimeInMillis()));
-					}
-
-					final ResultSet result = statement.executeQuery();
-					while (result.next()) {
-						final RCRTotalScore total = new RCRTotalScore(result.getString(1), result.getString(2), result.getInt(3), result.getInt(4),
-							result.getInt(5));
-						total.totalScore = new Integer(result.getInt(6));
-						total.umaScore = new Integer(result.getInt(7));
-						rankingScores.add(total);
-					}
-					result.close();
-					statement.close();
-				}
-					break;
-				case TOTAL_GAME_SCORE: {
-					final String querySelectPart = "SELECT player.name, player.display_name, SUM(rcr_game_score.game_score) AS total, COUNT(*) AS nb_games FROM player, rcr_game_id, rcr_game_score";
-					final String queryWherePart = " WHERE player.id=rcr_game_score.player_id AND rcr_game_id.id=rcr_game_score.rcr_game_id AND rcr_game_id.rcr_tournament_id=?";
-					final String queryRegularPart = onlyRegularPlayers ? " AND player.regular=TRUE" : "";
-					final String queryPeriodPart = " AND rcr_game_id.date>=? AND rcr_game_id.date<?";
-					final String queryGroupPart = " GROUP BY player.name, player.display_name";
-					final String queryHavingPart = useMinimumGame ? " HAVING COUNT(*)>=" + Integer.toString(minimumGames) : "";
-					final String queryOrderPart = sortingMode == EnumSortingMode.DESCENDING ? " ORDER BY total DESC" : " ORDER BY total ASC";
-					PreparedStatement statement = null;
-					if (periodMode == EnumPeriodMode.ALL) {
-						statement = dataBaseConnection
-							.prepareStatement(querySelectPart + queryWherePart + queryRegularPart + queryGroupPart + queryHavingPart + queryOrderPart);
-						statement.setShort(1, tournament.getId());
-					} else {
-						statement = dataBaseConnection.prepareStatement(
-							querySelectPart + queryWherePart + queryRegularPart + queryPeriodPart + queryGroupPart + queryHavingPart + queryOrderPart);
-						statement.setShort(1, tournament.getId());
-						statement.setDate(2, new Date(calendarFrom.getTimeInMillis()));
-						statement.setDate(3, new Date(calendarTo.getTimeInMillis()));
-					}
-
-					final ResultSet result = statement.executeQuery();
-					while (result.next()) {
-						final RCRTotalScore total = new RCRTotalScore(result.getString(1), result.getString(2), 0, 0, 0);
-						total.totalScore = new Integer(result.getInt(3));
-						total.numberOfGame = new Integer(result.getInt(4));
-						rankingScores.add(total);
-					}
-					result.close();
-					statement.close();
-				}
-					break;
-				case MEAN_GAME_SCORE: {
-					final String querySelectPart = " SELECT player.name, player.display_name, AVG(rcr_game_score.game_score) AS mean, STDDEV_POP(rcr_game_score.game_score) as stddev, COUNT(*) AS nb_games FROM player, rcr_game_id, rcr_game_score";
-					final String queryWherePart = " WHERE player.id=rcr_game_score.player_id AND rcr_game_id.id=rcr_game_score.rcr_game_id AND rcr_game_id.rcr_tournament_id=?";
-					final String queryRegularPart = onlyRegularPlayers ? " AND player.regular=TRUE" : "";
-					final String queryPeriodPart = " AND rcr_game_id.date>=? AND rcr_game_id.date<?";
-					final String queryGroupPart = " GROUP BY player.name, player.display_name";
-					final String queryHavingPart = useMinimumGame ? " HAVING COUNT(*)>=" + Integer.toString(minimumGames) : "";
-					final String queryOrderPart = sortingMode == EnumSortingMode.DESCENDING ? " ORDER BY mean DESC" : " ORDER BY mean ASC";
-					PreparedStatement statement = null;
-					if (periodMode == EnumPeriodMode.ALL) {
-						statement = dataBaseConnection
-							.prepareStatement(querySelectPart + queryWherePart + queryRegularPart + queryGroupPart + queryHavingPart + queryOrderPart);
-						statement.setShort(1, tournament.getId());
-					} else {
-						statement = dataBaseConnection.prepareStatement(
-							querySelectPart + queryWherePart + queryRegularPart + queryPeriodPart + queryGroupPart + queryHavingPart + queryOrderPart);
-						statement.setShort(1, tournament.getId());
-						statement.setDate(2, new Date(calendarFrom.getTimeInMillis()));
-						statement.setDate(3, new Date(calendarTo.getTimeInMillis()));
-					}
-
-					final ResultSet result = statement.executeQuery();
-					while (result.next()) {
-						final RCRTotalScore total = new RCRTotalScore(result.getString(1), result.getString(2), 0, 0, 0);
-						total.totalScore = result.getInt(3);
-						total.umaScore = new Long(Math.round(result.getDouble(4)));
-						total.numberOfGame = new Integer(result.getInt(5));
-						rankingScores.add(total);
-					}
-					result.close();
-					statement.close();
-				}
-					break;
-				case BEST_GAME_SCORE: {
-					final String querySelectPart = "SELECT player.name, player.display_name, YEAR(rcr_game_id.date), MONTH(rcr_game_id.date)-1, DAY(rcr_game_id.date), rcr_game_score.game_score FROM player, rcr_game_id, rcr_game_score";
-					final String queryWherePart = " WHERE player.id=rcr_game_score.player_id AND rcr_game_id.id=rcr_game_score.rcr_game_id AND rcr_game_id.rcr_tournament_id=?";
-					final String queryRegularPart = onlyRegularPlayers ? " AND player.regular=TRUE" : "";
-					final String queryPeriodPart = " AND rcr_game_id.date>=? AND rcr_game_id.date<?";
-					final String queryOrderPart = sortingMode == EnumSortingMode.DESCENDING ? " ORDER BY rcr_game_score.game_score DESC"
-						: " ORDER BY rcr_game_score.game_score ASC";
-					final String queryFetchPart = " FETCH FIRST " + Integer.toString(NUMBER_TOP) + " ROWS ONLY";
-					PreparedStatement statement = null;
-					if (periodMode == EnumPeriodMode.ALL) {
-						statement = dataBaseConnection.prepareStatement(querySelectPart + queryWherePart + queryRegularPart + queryOrderPart + queryFetchPart);
-						statement.setShort(1, tournament.getId());
-					} else {
-						statement = dataBaseConnection
-							.prepareStatement(querySelectPart + queryWherePart + queryRegularPart + queryPeriodPart + queryOrderPart + queryFetchPart);
-						statement.setShort(1, tournament.getId());
-						statement.setDate(2, new Date(calendarFrom.getTimeInMillis()));
-						statement.setDate(3, new Date(calendarTo.getTimeInMillis()));
-					}
-
-					final ResultSet result = statement.executeQuery();
-					while (result.next()) {
-						final RCRTotalScore total = new RCRTotalScore(result.getString(1), result.getString(2), result.getInt(3), result.getInt(4),
-							result.getInt(5));
-						total.totalScore = new Integer(result.getInt(6));
-						rankingScores.add(total);
-					}
-					result.close();
-					statement.close();
-				}
-					break;
-				case WIN_RATE_4: {
-					final Map<String, RCRTotalScore> mapNameScore = new HashMap<String, RCRTotalScore>();
-					{
-						final String querySelectPart = "SELECT player.name, player.display_name, COUNT(*) AS nb_games FROM player, rcr_game_id, rcr_game_score";
-						final String queryWherePart = " WHERE player.id=rcr_game_score.player_id AND rcr_game_id.id=rcr_game_score.rcr_game_id AND rcr_game_id.rcr_tournament_id=? AND rcr_game_id.nb_players=4";
-						final String queryRegularPart = onlyRegularPlayers ? " AND player.regular=TRUE" : "";
-						final String queryPeriodPart = " AND rcr_game_id.date>=? AND rcr_game_id.date<?";
-						final String queryGroupPart = " GROUP BY player.name, player.display_name";
-						final String queryHavingPart = useMinimumGame ? " HAVING COUNT(*)>=" + Integer.toString(minimumGames) : "";
-						PreparedStatement statement = null;
-						if (periodMode == EnumPeriodMode.ALL) {
-							statement = dataBaseConnection
-								.prepareStatement(querySelectPart + queryWherePart + queryRegularPart + queryGroupPart + queryHavingPart);
-							statement.setShort(1, tournament.getId());
-						} else {
-							statement = dataBaseConnection
-								.prepareStatement(querySelectPart + queryWherePart + queryRegularPart + queryPeriodPart + queryGroupPart + queryHavingPart);
-							statement.setShort(1, tournament.getId());
-							statement.setDate(2, new Date(calendarFrom.getTimeInMillis()));
-							statement.setDate(3, new Date(calendarTo.getTimeInMillis()));
-						}
-
-						final ResultSet result = statement.executeQuery();
-						while (result.next()) {
-							final RCRTotalScore total = new RCRTotalScore(result.getString(1), result.getString(2), 0, 0, 0);
-							total.numberOfGame = new Integer(result.getInt(3));
-							mapNameScore.put(total.displayName, total);
-						}
-						result.close();
-						statement.close();
-					}
-					{
-						final String querySelectPart = "SELECT player.display_name, COUNT(*) AS nb_games FROM player, rcr_game_id, rcr_game_score";
-						final String queryWherePart = " WHERE player.id=rcr_game_score.player_id AND rcr_game_id.id=rcr_game_score.rcr_game_id AND rcr_game_id.rcr_tournament_id=? AND rcr_game_id.nb_players=4 AND rcr_game_score.ranking=1";
-						final String queryRegularPart = onlyRegularPlayers ? " AND player.regular=TRUE" : "";
-						final String queryPeriodPart = " AND rcr_game_id.date>=? AND rcr_game_id.date<?";
-						final String queryGroupPart = " GROUP BY player.display_name";
-						PreparedStatement statement = null;
-						if (periodMode == EnumPeriodMode.ALL) {
-							statement = dataBaseConnection.prepareStatement(querySelectPart + queryWherePart + queryRegularPart + queryGroupPart);
-							statement.setShort(1, tournament.getId());
-						} else {
-							statement = dataBaseConnection
-								.prepareStatement(querySelectPart + queryWherePart + queryRegularPart + queryPeriodPart + queryGroupPart);
-							statement.setShort(1, tournament.getId());
-							statement.setDate(2, new Date(calendarFrom.getTimeInMillis()));
-							statement.setDate(3, new Date(calendarTo.getTimeInMillis()));
-						}
-
-						final ResultSet result = statement.executeQuery();
-						while (result.next()) {
-							final String name = result.getString(1);
-							final RCRTotalScore total = mapNameScore.get(name);
-							if (total != null) {
-								total.umaScore = new Integer(result.getInt(2));
-								total.totalScore = new Double(total.umaScore.doubleValue() * 100.0 / total.numberOfGame.doubleValue());
-							}
-						}
-						result.close();
-						statement.close();
-					}
-					rankingScores.addAll(mapNameScore.values());
-					switch (sortingMode) {
-						case DESCENDING:
-							Collections.sort(rankingScores,
-								(final RCRTotalScore o1, final RCRTotalScore o2) -> -Double.compare(o1.totalScore.doubleValue(), o2.totalScore.doubleValue()));
-							break;
-						case ASCENDING:
-							Collections.sort(rankingScores,
-								(final RCRTotalScore o1, final RCRTotalScore o2) -> Double.compare(o1.totalScore.doubleValue(), o2.totalScore.doubleValue()));
-							break;
-						default:
-							break;
-					}
-				}
-					break;
-				case WIN_RATE_5: {
-					final Map<String, RCRTotalScore> mapNameScore = new HashMap<String, RCRTotalScore>();
-					{
-						final String querySelectPart = "SELECT player.name, player.display_name, COUNT(*) AS nb_games FROM player, rcr_game_id, rcr_game_score";
-						final String queryWherePart = " WHERE player.id=rcr_game_score.player_id AND rcr_game_id.id=rcr_game_score.rcr_game_id AND rcr_game_id.rcr_tournament_id=? AND rcr_game_id.nb_players=5";
-						final String queryRegularPart = onlyRegularPlayers ? " AND player.regular=TRUE" : "";
-						final String queryPeriodPart = " AND rcr_game_id.date>=? AND rcr_game_id.date<?";
-						final String queryGroupPart = " GROUP BY player.name, player.display_name";
-						final String queryHavingPart = useMinimumGame ? " HAVING COUNT(*)>=" + Integer.toString(minimumGames / 4) : "";
-						PreparedStatement statement = null;
-						if (periodMode == EnumPeriodMode.ALL) {
-							statement = dataBaseConnection
-								.prepareStatement(querySelectPart + queryWherePart + queryRegularPart + queryGroupPart + queryHavingPart);
-							statement.setShort(1, tournament.getId());
-						} else {
-							statement = dataBaseConnection
-								.prepareStatement(querySelectPart + queryWherePart + queryRegularPart + queryPeriodPart + queryGroupPart + queryHavingPart);
-							statement.setShort(1, tournament.getId());
-							statement.setDate(2, new Date(calendarFrom.getTimeInMillis()));
-							statement.setDate(3, new Date(calendarTo.getTimeInMillis()));
-						}
-
-						final ResultSet result = statement.executeQuery();
-						while (result.next()) {
-							final RCRTotalScore total = new RCRTotalScore(result.getString(1), result.getString(2), 0, 0, 0);
-							total.numberOfGame = new Integer(result.getInt(3));
-							mapNameScore.put(total.displayName, total);
-						}
-						result.close();
-						statement.close();
-					}
-					{
-						final String querySelectPart = "SELECT player.display_name, COUNT(*) AS nb_games FROM player, rcr_game_id, rcr_game_score";
-						final String queryWherePart = " WHERE player.id=rcr_game_score.player_id AND rcr_game_id.id=rcr_game_score.rcr_game_id AND rcr_game_id.rcr_tournament_id=? AND rcr_game_id.nb_players=5 AND rcr_game_score.ranking=1";
-						final String queryRegularPart = onlyRegularPlayers ? " AND player.regular=TRUE" : "";
-						final String queryPeriodPart = " AND rcr_game_id.date>=? AND rcr_game_id.date<?";
-						final String queryGroupPart = " GROUP BY player.display_name";
-						PreparedStatement statement = null;
-						if (periodMode == EnumPeriodMode.ALL) {
-							statement = dataBaseConnection.prepareStatement(querySelectPart + queryWherePart + queryRegularPart + queryGroupPart);
-							statement.setShort(1, tournament.getId());
-						} else {
-							statement = dataBaseConnection
-								.prepareStatement(querySelectPart + queryWherePart + queryRegularPart + queryPeriodPart + queryGroupPart);
-							statement.setShort(1, tournament.getId());
-							statement.setDate(2, new Date(calendarFrom.getTimeInMillis()));
-							statement.setDate(3, new Date(calendarTo.getTimeInMillis()));
-						}
-
-						final ResultSet result = statement.executeQuery();
-						while (result.next()) {
-							final String name = result.getString(1);
-							final RCRTotalScore total = mapNameScore.get(name);
-							if (total != null) {
-								total.umaScore = result.getInt(2);
-								total.totalScore = new Double(total.umaScore.doubleValue() * 100.0 / total.numberOfGame.doubleValue());
-							}
-						}
-						result.close();
-						statement.close();
-					}
-					rankingScores.addAll(mapNameScore.values());
-					switch (sortingMode) {
-						case DESCENDING:
-							Collections.sort(rankingScores,
-								(final RCRTotalScore o1, final RCRTotalScore o2) -> -Double.compare(o1.totalScore.doubleValue(), o2.totalScore.doubleValue()));
-							break;
-						case ASCENDING:
-							Collections.sort(rankingScores,
-								(final RCRTotalScore o1, final RCRTotalScore o2) -> Double.compare(o1.totalScore.doubleValue(), o2.totalScore.doubleValue()));
-							break;
-						default:
-							break;
-					}
-				}
-					break;
-				case POSITIVE_RATE_4: {
-					final Map<String, RCRTotalScore> mapNameScore = new HashMap<String, RCRTotalScore>();
-					{
-						final String querySelectPart = "SELECT player.name, player.display_name, COUNT(*) AS nb_games FROM player, rcr_game_id, rcr_game_score";
-						final String queryWherePart = " WHERE player.id=rcr_game_score.player_id AND rcr_game_id.id=rcr_game_score.rcr_game_id AND rcr_game_id.rcr_tournament_id=? AND rcr_game_id.nb_players=4";
-						final String queryRegularPart = onlyRegularPlayers ? " AND player.regular=TRUE" : "";
-						final String queryPeriodPart = " AND rcr_game_id.date>=? AND rcr_game_id.date<?";
-						final String queryGroupPart = " GROUP BY player.name, player.display_name";
-						final String queryHavingPart = useMinimumGame ? " HAVING COUNT(*)>=" + Integer.toString(minimumGames) : "";
-						PreparedStatement statement = null;
-						if (periodMode == EnumPeriodMode.ALL) {
-							statement = dataBaseConnection
-								.prepareStatement(querySelectPart + queryWherePart + queryRegularPart + queryGroupPart + queryHavingPart);
-							statement.setShort(1, tournament.getId());
-						} else {
-							statement = dataBaseConnection
-								.prepareStatement(querySelectPart + queryWherePart + queryRegularPart + queryPeriodPart + queryGroupPart + queryHavingPart);
-							statement.setShort(1, tournament.getId());
-							statement.setDate(2, new Date(calendarFrom.getTimeInMillis()));
-							statement.setDate(3, new Date(calendarTo.getTimeInMillis()));
-						}
-
-						final ResultSet result = statement.executeQuery();
-						while (result.next()) {
-							final RCRTotalScore total = new RCRTotalScore(result.getString(1), result.getString(2), 0, 0, 0);
-							total.numberOfGame = new Integer(result.getInt(3));
-							mapNameScore.put(total.displayName, total);
-						}
-						result.close();
-						statement.close();
-					}
-					{
-						final String querySelectPart = "SELECT player.display_name, COUNT(*) AS nb_games FROM player, rcr_game_id, rcr_game_score";
-						final String queryWherePart = " WHERE player.id=rcr_game_score.player_id AND rcr_game_id.id=rcr_game_score.rcr_game_id AND rcr_game_id.rcr_tournament_id=? AND rcr_game_id.nb_players=4 AND rcr_game_score.final_score>0";
-						final String queryRegularPart = onlyRegularPlayers ? " AND player.regular=TRUE" : "";
-						final String queryPeriodPart = " AND rcr_game_id.date>=? AND rcr_game_id.date<?";
-						final String queryGroupPart = " GROUP BY player.display_name";
-						PreparedStatement statement = null;
-						if (periodMode == EnumPeriodMode.ALL) {
-							statement = dataBaseConnection.prepareStatement(querySelectPart + queryWherePart + queryRegularPart + queryGroupPart);
-							statement.setShort(1, tournament.getId());
-						} else {
-							statement = dataBaseConnection
-								.prepareStatement(querySelectPart + queryWherePart + queryRegularPart + queryPeriodPart + queryGroupPart);
-							statement.setShort(1, tournament.getId());
-							statement.setDate(2, new Date(calendarFrom.getTimeInMillis()));
-							statement.setDate(3, new Date(calendarTo.getTimeInMillis()));
-						}
-
-						final ResultSet result = statement.executeQuery();
-						while (result.next()) {
-							final String name = result.getString(1);
-							final RCRTotalScore total = mapNameScore.get(name);
-							if (total != null) {
-								total.umaScore = result.getInt(2);
-								total.totalScore = new Double(total.umaScore.doubleValue() * 100.0 / total.numberOfGame.doubleValue());
-							}
-						}
-						result.close();
-						statement.close();
-					}
-					rankingScores.addAll(mapNameScore.values());
-					switch (sortingMode) {
-						case DESCENDING:
-							Collections.sort(rankingScores,
-								(final RCRTotalScore o1, final RCRTotalScore o2) -> -Double.compare(o1.totalScore.doubleValue(), o2.totalScore.doubleValue()));
-							break;
-						case ASCENDING:
-							Collections.sort(rankingScores,
-								(final RCRTotalScore o1, final RCRTotalScore o2) -> Double.compare(o1.totalScore.doubleValue(), o2.totalScore.doubleValue()));
-							break;
-						default:
-							break;
-					}
-				}
-					break;
-				case POSITIVE_RATE_5: {
-					final Map<String, RCRTotalScore> mapNameScore = new HashMap<String, RCRTotalScore>();
-					{
-						final String querySelectPart = "SELECT player.name, player.display_name, COUNT(*) AS nb_games FROM player, rcr_game_id, rcr_game_score";
-						final String queryWherePart = " WHERE player.id=rcr_game_score.player_id AND rcr_game_id.id=rcr_game_score.rcr_game_id AND rcr_game_id.rcr_tournament_id=? AND rcr_game_id.nb_players=5";
-						final String queryRegularPart = onlyRegularPlayers ? " AND player.regular=TRUE" : "";
-						final String queryPeriodPart = " AND rcr_game_id.date>=? AND rcr_game_id.date<?";
-						final String queryGroupPart = " GROUP BY player.name, player.display_name";
-						final String queryHavingPart = useMinimumGame ? " HAVING COUNT(*)>=" + Integer.toString(minimumGames / 4) : "";
-						PreparedStatement statement = null;
-						if (periodMode == EnumPeriodMode.ALL) {
-							statement = dataBaseConnection
-								.prepareStatement(querySelectPart + queryWherePart + queryRegularPart + queryGroupPart + queryHavingPart);
-							statement.setShort(1, tournament.getId());
-						} else {
-							statement = dataBaseConnection
-								.prepareStatement(querySelectPart + queryWherePart + queryRegularPart + queryPeriodPart + queryGroupPart + queryHavingPart);
-							statement.setShort(1, tournament.getId());
-							statement.setDate(2, new Date(calendarFrom.getTimeInMillis()));
-							statement.setDate(3, new Date(calendarTo.getTimeInMillis()));
-						}
-
-						final ResultSet result = statement.executeQuery();
-						while (result.next()) {
-							final RCRTotalScore total = new RCRTotalScore(result.getString(1), result.getString(2), 0, 0, 0);
-							total.numberOfGame = new Integer(result.getInt(3));
-							mapNameScore.put(total.displayName, total);
-						}
-						result.close();
-						statement.close();
-					}
-					{
-						final String querySelectPart = "SELECT player.display_name, COUNT(*) AS nb_games FROM player, rcr_game_id, rcr_game_score";
-						final String queryWherePart = " WHERE player.id=rcr_game_score.player_id AND rcr_game_id.id=rcr_game_score.rcr_game_id AND rcr_game_id.rcr_tournament_id=? AND rcr_game_id.nb_players=5 AND rcr_game_score.final_score>0";
-						final String queryRegularPart = onlyRegularPlayers ? " AND player.regular=TRUE" : "";
-						final String queryPeriodPart = " AND rcr_game_id.date>=? AND rcr_game_id.date<?";
-						final String queryGroupPart = " GROUP BY player.display_name";
-						PreparedStatement statement = null;
-						if (periodMode == EnumPeriodMode.ALL) {
-							statement = dataBaseConnection.prepareStatement(querySelectPart + queryWherePart + queryRegularPart + queryGroupPart);
-							statement.setShort(1, tournament.getId());
-						} else {
-							statement = dataBaseConnection
-								.prepareStatement(querySelectPart + queryWherePart + queryRegularPart + queryPeriodPart + queryGroupPart);
-							statement.setShort(1, tournament.getId());
-							statement.setDate(2, new Date(calendarFrom.getTimeInMillis()));
-							statement.setDate(3, new Date(calendarTo.getTimeInMillis()));
-						}
-
-						final ResultSet result = statement.executeQuery();
-						while (result.next()) {
-							final String name = result.getString(1);
-							final RCRTotalScore total = mapNameScore.get(name);
-							if (total != null) {
-								total.umaScore = result.getInt(2);
-								total.totalScore = new Double(total.umaScore.doubleValue() * 100.0 / total.numberOfGame.doubleValue());
-							}
-						}
-						result.close();
-						statement.close();
-					}
-					rankingScores.addAll(mapNameScore.values());
-					switch (sortingMode) {
-						case DESCENDING:
-							Collections.sort(rankingScores,
-								(final RCRTotalScore o1, final RCRTotalScore o2) -> -Double.compare(o1.totalScore.doubleValue(), o2.totalScore.doubleValue()));
-							break;
-						case ASCENDING:
-							Collections.sort(rankingScores,
-								(final RCRTotalScore o1, final RCRTotalScore o2) -> Double.compare(o1.totalScore.doubleValue(), o2.totalScore.doubleValue()));
-							break;
-						default:
-							break;
-					}
-				}
-					break;
-				case ANNUAL_TOTAL_FINAL_SCORE: {
-					final String querySelectPart = "SELECT name, display_name, y, SUM(final_score) AS total, COUNT(*) AS nb_games FROM";
-					final String querySubSelectPart = " (SELECT player.name, player.display_name, YEAR(rcr_game_id.date) as y, rcr_game_score.final_score FROM player, rcr_game_id, rcr_game_score";
-					final String querySubWherePart = " WHERE player.id=rcr_game_score.player_id AND rcr_game_id.id=rcr_game_score.rcr_game_id AND rcr_game_id.rcr_tournament_id=?";
-					final String querySubRegularPart = onlyRegularPlayers ? " AND player.regular=TRUE" : "";
-					final String querySubFinalPart = ") AS year_score";
-					final String queryGroupPart = " GROUP BY name, display_name, y";
-					final String queryHavingPart = useMinimumGame ? " HAVING COUNT(*)>=" + Integer.toString(MINIMUM_GAME_YEAR) : "";
-					final String queryOrderPart = sortingMode == EnumSortingMode.DESCENDING ? " ORDER BY total DESC" : " ORDER BY total ASC";
-					final String queryFetchPart = " FETCH FIRST " + Integer.toString(NUMBER_TOP) + " ROWS ONLY";
-					final PreparedStatement statement = dataBaseConnection.prepareStatement(querySelectPart + querySubSelectPart + querySubWherePart
-						+ querySubRegularPart + querySubFinalPart + queryGroupPart + queryHavingPart + queryOrderPart + queryFetchPart);
-					statement.setShort(1, tournament.getId());
+		if (!useMinimumGame) {
+			minimumGames = 0;
+		}
 
-					final ResultSet result = statement.executeQuery();
-					while (result.next()) {
-						final RCRTotalScore total = new RCRTotalScore(result.getString(1), result.getString(2), result.getInt(3), 0, 0);
-						total.totalScore = new Integer(result.getInt(4));
-						total.numberOfGame = new Integer(result.getInt(5));
-						rankingScores.add(total);
-					}
-					result.close();
-					statement.close();
-				}
-					break;
-				case TRIMESTRIAL_TOTAL_FINAL_SCORE: {
-					final String querySelectPart = "SELECT name, display_name, y, t, SUM(final_score) AS total, COUNT(*) AS nb_games FROM";
-					final String querySubSelectPart = " (SELECT player.name, player.display_name, YEAR(rcr_game_id.date) as y, (MONTH(rcr_game_id.date)-1)/3 as t, rcr_game_score.final_score FROM player, rcr_game_id, rcr_game_score";
-					final String querySubWherePart = " WHERE player.id=rcr_game_score.player_id AND rcr_game_id.id=rcr_game_score.rcr_game_id AND rcr_game_id.rcr_tournament_id=?";
-					final String querySubRegularPart = onlyRegularPlayers ? " AND player.regular=TRUE" : "";
-					final String querySubFinalPart = ") AS year_score";
-					final String queryGroupPart = " GROUP BY name, display_name, y, t";
-					final String queryHavingPart = useMinimumGame ? " HAVING COUNT(*)>=" + Integer.toString(MINIMUM_GAME_TRIMESTER) : "";
-					final String queryOrderPart = sortingMode == EnumSortingMode.DESCENDING ? " ORDER BY total DESC" : " ORDER BY total ASC";
-					final String queryFetchPart = " FETCH FIRST " + Integer.toString(NUMBER_TOP) + " ROWS ONLY";
-					final PreparedStatement statement = dataBaseConnection.prepareStatement(querySelectPart + querySubSelectPart + querySubWherePart
-						+ querySubRegularPart + querySubFinalPart + queryGroupPart + queryHavingPart + queryOrderPart + queryFetchPart);
-					statement.setShort(1, tournament.getId());
+		try {
+			return getAggregator(tournament, periodMode, allGamePeriod, calendarFrom, calendarTo, onlyRegularPlayers).getRanking(rankingMode, sortingMode,
+				minimumGames);
+		} catch (final Exception e) {
+			e.printStackTrace();
+		}
+		return new ArrayList<RCRTotalScore>();
+	}
 
-					final ResultSet result = statement.executeQuery();
-					while (result.next()) {
-						final RCRTotalScore total = new RCRTotalScore(result.getString(1), result.getString(2), result.getInt(3), result.getInt(4), 0);
-						total.totalScore = new Integer(result.getInt(5));
-						total.numberOfGame = new Integer(result.getInt(6));
-						rankingScores.add(total);
-					}
-					result.close();
-					statement.close();
-				}
-					break;
-				case MENSUAL_TOTAL_FINAL_SCORE: {
-					final String querySelectPart = "SELECT name, display_name, y, m, SUM(final_score) AS total, COUNT(*) AS nb_games FROM";
-					final String querySubSelectPart = " (SELECT player.name, player.display_name, YEAR(rcr_game_id.date) as y, MONTH(rcr_game_id.date)-1 as m, rcr_game_score.final_score FROM player, rcr_game_id, rcr_game_score";
-					final String querySubWherePart = " WHERE player.id=rcr_game_score.player_id AND rcr_game_id.id=rcr_game_score.rcr_game_id AND rcr_game_id.rcr_tournament_id=?";
-					final String querySubRegularPart = onlyRegularPlayers ? " AND player.regular=TRUE" : "";
-					final String querySubFinalPart = ") AS year_score";
-					final String queryGroupPart = " GROUP BY name, display_name, y, m";
-					final String queryHavingPart = useMinimumGame ? " HAVING COUNT(*)>=" + Integer.toString(MINIMUM_GAME_MONTH) : "";
-					final String queryOrderPart = sortingMode == EnumSortingMode.DESCENDING ? " ORDER BY total DESC" : " ORDER BY total ASC";
-					final String queryFetchPart = " FETCH FIRST " + Integer.toString(NUMBER_TOP) + " ROWS ONLY";
-					final PreparedStatement statement = dataBaseConnection.prepareStatement(querySelectPart + querySubSelectPart + querySubWherePart
-						+ querySubRegularPart + querySubFinalPart + queryGroupPart + queryHavingPart + queryOrderPart + queryFetchPart);
-					statement.setShort(1, tournament.getId());
+	private List<RCRTotalScore> getPeriodRanking(final Tournament tournament, final EnumRankingMode rankingMode, final EnumSortingMode sortingMode,
+		final boolean onlyRegularPlayers, final boolean useMinimumGame) {
+		final List<RCRTotalScore> rankingScores = new ArrayList<RCRTotalScore>();
+		String scoreColumn = null;
+		String periodColumn = null;
+		int minimumGames = 0;
+		switch (rankingMode) {
+			case ANNUAL_TOTAL_FINAL_SCORE:
+			case ANNUAL_TOTAL_GAME_SCORE:
+				periodColumn = "0";
+				minimumGames = MINIMUM_GAME_YEAR;
+				break;
+			case TRIMESTRIAL_TOTAL_FINAL_SCORE:
+			case TRIMESTRIAL_TOTAL_GAME_SCORE:
+				periodColumn = "(rcr_player_period_stats.period_month-1)/3";
+				minimumGames = MINIMUM_GAME_TRIMESTER;
+				break;
+			default:
+				periodColumn = "rcr_player_period_stats.period_month-1";
+				minimumGames = MINIMUM_GAME_MONTH;
+				break;
+		}
+		switch (rankingMode) {
+			case ANNUAL_TOTAL_FINAL_SCORE:
+			case TRIMESTRIAL_TOTAL_FINAL_SCORE:
+			case MENSUAL_TOTAL_FINAL_SCORE:
+				scoreColumn = "rcr_player_period_stats.sum_final";
+				break;
+			default:
+				scoreColumn = "rcr_player_period_stats.sum_game";
+				break;
+		}
 
-					final ResultSet result = statement.executeQuery();
-					while (result.next()) {
-						final RCRTotalScore total = new RCRTotalScore(result.getString(1), result.getString(2), result.getInt(3), result.getInt(4), 0);
-						total.totalScore = new Integer(result.getInt(5));
-						total.numberOfGame = new Integer(result.getInt(6));
-						rankingScores.add(total);
-					}
-					result.close();
-					statement.close();
+		try {
+			final String querySelectPart = "SELECT name, display_name, y, p, SUM(score) AS total, SUM(nb_games) AS nb_games FROM";
+			final String querySubSelectPart = " (SELECT player.name, player.display_name, rcr_player_period_stats.period_year AS y, " + periodColumn + " AS p, "
+				+ scoreColumn + " AS score, rcr_player_period_stats.nb_games FROM player, rcr_player_period_stats";
+			final String querySubWherePart = " WHERE player.id=rcr_player_period_stats.player_id AND rcr_player_period_stats.rcr_tournament_id=?";
+			final String querySubRegularPart = onlyRegularPlayers ? " AND player.regular=TRUE" : "";
+			final String querySubFinalPart = ") AS period_score";
+			final String queryGroupPart = " GROUP BY name, display_name, y, p";
+			final String queryHavingPart = " HAVING SUM(nb_games)>=?";
+			final String queryOrderPart = sortingMode == EnumSortingMode.DESCENDING ? " ORDER BY total DESC" : " ORDER BY total ASC";
+			final String queryFetchPart = " FETCH FIRST " + Integer.toString(NUMBER_TOP) + " ROWS ONLY";
+			final PreparedStatement statement = prepareStatement(querySelectPart + querySubSelectPart + querySubWherePart
+				+ querySubRegularPart + querySubFinalPart + queryGroupPart + queryHavingPart + queryOrderPart + queryFetchPart);
+			try {
+				statement.setShort(1, tournament.getId());
+				statement.setInt(2, useMinimumGame ? minimumGames : 0);
+
+				final ResultSet result = statement.executeQuery();
+				while (result.next()) {
+					final RCRTotalScore total = new RCRTotalScore(result.getString(1), result.getString(2), result.getInt(3), result.getInt(4), 0);
+					total.totalScore = new Integer(result.getInt(5));
+					total.numberOfGame = new Integer(result.getInt(6));
+					rankingScores.add(total);
 				}
-					break;
-				case ANNUAL_TOTAL_GAME_SCORE: {
-					final String querySelectPart = "SELECT name, display_name, y, SUM(game_score) AS total, COUNT(*) AS nb_games FROM";
-					final String querySubSelectPart = " (SELECT player.name, player.display_name, YEAR(rcr_game_id.date) as y, rcr_game_score.game_score FROM player, rcr_game_id, rcr_game_score";
-					final String querySubWherePart = " WHERE player.id=rcr_game_score.player_id AND rcr_game_id.id=rcr_game_score.rcr_game_id AND rcr_game_id.rcr_tournament_id=?";
-					final String querySubRegularPart = onlyRegularPlayers ? " AND player.regular=TRUE" : "";
-					final String querySubFinalPart = ") AS year_score";
-					final String queryGroupPart = " GROUP BY name, display_name, y";
-					final String queryHavingPart = useMinimumGame ? " HAVING COUNT(*)>=" + Integer.toString(MINIMUM_GAME_YEAR) : "";
-					final String queryOrderPart = sortingMode == EnumSortingMode.DESCENDING ? " ORDER BY total DESC" : " ORDER BY total ASC";
-					final String queryFetchPart = " FETCH FIRST " + Integer.toString(NUMBER_TOP) + " ROWS ONLY";
-					final PreparedStatement statement = dataBaseConnection.prepareStatement(querySelectPart + querySubSelectPart + querySubWherePart
-						+ querySubRegularPart + querySubFinalPart + queryGroupPart + queryHavingPart + queryOrderPart + queryFetchPart);
-					statement.setShort(1, tournament.getId());
+				result.close();
+			} finally {
+				releaseStatement(statement);
+			}
+		} catch (final Exception e) {
+			e.printStackTrace();
+		}
+		return rankingScores;
+	}
 
-					final ResultSet result = statement.executeQuery();
-					while (result.next()) {
-						final RCRTotalScore total = new RCRTotalScore(result.getString(1), result.getString(2), result.getInt(3), 0, 0);
-						total.totalScore = new Integer(result.getInt(4));
-						total.numberOfGame = new Integer(result.getInt(5));
-						rankingScores.add(total);
-					}
-					result.close();
-					statement.close();
-				}
-					break;
-				case TRIMESTRIAL_TOTAL_GAME_SCORE: {
-					final String querySelectPart = "SELECT name, display_name, y, t, SUM(game_score) AS total, COUNT(*) AS nb_games FROM";
-					final String querySubSelectPart = " (SELECT player.name, player.display_name, YEAR(rcr_game_id.date) as y, (MONTH(rcr_game_id.date)-1)/3 as t, rcr_game_score.game_score FROM player, rcr_game_id, rcr_game_score";
-					final String querySubWherePart = " WHERE player.id=rcr_game_score.player_id AND rcr_game_id.id=rcr_game_score.rcr_game_id AND rcr_game_id.rcr_tournament_id=?";
-					final String querySubRegularPart = onlyRegularPlayers ? " AND player.regular=TRUE" : "";
-					final String querySubFinalPart = ") AS year_score";
-					final String queryGroupPart = " GROUP BY name, display_name, y, t";
-					final String queryHavingPart = useMinimumGame ? " HAVING COUNT(*)>=" + Integer.toString(MINIMUM_GAME_TRIMESTER) : "";
-					final String queryOrderPart = sortingMode == EnumSortingMode.DESCENDING ? " ORDER BY total DESC" : " ORDER BY total ASC";
-					final String queryFetchPart = " FETCH FIRST " + Integer.toString(NUMBER_TOP) + " ROWS ONLY";
-					final PreparedStatement statement = dataBaseConnection.prepareStatement(querySelectPart + querySubSelectPart + querySubWherePart
-						+ querySubRegularPart + querySubFinalPart + queryGroupPart + queryHavingPart + queryOrderPart + queryFetchPart);
-					statement.setShort(1, tournament.getId());
+	private RCRRankingAggregator getAggregator(final Tournament tournament, final EnumPeriodMode periodMode, final Date allGamePeriod[],
+		final Calendar calendarFrom, final Calendar calendarTo, final boolean onlyRegularPlayers) throws SQLException {
+		final long from;
+		final long to;
+		if (periodMode == EnumPeriodMode.ALL) {
+			from = allGamePeriod[0] != null ? allGamePeriod[0].toLocalDate().toEpochDay() : 0;
+			to = allGamePeriod[1] != null ? allGamePeriod[1].toLocalDate().toEpochDay() + 1 : 0;
+		} else {
+			from = new Date(calendarFrom.getTimeInMillis()).toLocalDate().toEpochDay();
+			to = new Date(calendarTo.getTimeInMillis()).toLocalDate().toEpochDay();
+		}
+		final long generation = getCacheGeneration();
+		final RCRRankingAggregator cached = getCachedAggregator(tournament.getId(), from, to, onlyRegularPlayers);
+		if (cached != null) {
+			return cached;
+		}
 
-					final ResultSet result = statement.executeQuery();
-					while (result.next()) {
-						final RCRTotalScore total = new RCRTotalScore(result.getString(1), result.getString(2), result.getInt(3), result.getInt(4), 0);
-						total.totalScore = new Integer(result.getInt(5));
-						total.numberOfGame = new Integer(result.getInt(6));
-						rankingScores.add(total);
-					}
-					result.close();
-					statement.close();
-				}
-					break;
-				case MENSUAL_TOTAL_GAME_SCORE: {
-					final String querySelectPart = "SELECT name, display_name, y, m, SUM(game_score) AS total, COUNT(*) AS nb_games FROM";
-					final String querySubSelectPart = " (SELECT player.name, player.display_name, YEAR(rcr_game_id.date) as y, MONTH(rcr_game_id.date)-1 as m, rcr_game_score.game_score FROM player, rcr_game_id, rcr_game_score";
-					final String querySubWherePart = " WHERE player.id=rcr_game_score.player_id AND rcr_game_id.id=rcr_game_score.rcr_game_id AND rcr_game_id.rcr_tournament_id=?";
-					final String querySubRegularPart = onlyRegularPlayers ? " AND player.regular=TRUE" : "";
-					final String querySubFinalPart = ") AS year_score";
-					final String queryGroupPart = " GROUP BY name, display_name, y, m";
-					final String queryHavingPart = useMinimumGame ? " HAVING COUNT(*)>=" + Integer.toString(MINIMUM_GAME_MONTH) : "";
-					final String queryOrderPart = sortingMode == EnumSortingMode.DESCENDING ? " ORDER BY total DESC" : " ORDER BY total ASC";
-					final String queryFetchPart = " FETCH FIRST " + Integer.toString(NUMBER_TOP) + " ROWS ONLY";
-					final PreparedStatement statement = dataBaseConnection.prepareStatement(querySelectPart + querySubSelectPart + querySubWherePart
-						+ querySubRegularPart + querySubFinalPart + queryGroupPart + queryHavingPart + queryOrderPart + queryFetchPart);
-					statement.setShort(1, tournament.getId());
+		final RCRRankingAggregator aggregator = new RCRRankingAggregator((int) from, (int) to - 1);
+		final String querySelectPart = "SELECT rcr_game_score.player_id, player.name, player.display_name, rcr_game_id.date, rcr_game_id.nb_players, rcr_game_score.ranking, rcr_game_score.game_score, rcr_game_score.uma_score, rcr_game_score.final_score FROM player, rcr_game_id, rcr_game_score";
+		final String queryWherePart = " WHERE player.id=rcr_game_score.player_id AND rcr_game_id.id=rcr_game_score.rcr_game_id AND rcr_game_id.rcr_tournament_id=?";
+		final String queryRegularPart = onlyRegularPlayers ? " AND player.regular=TRUE" : "";
+		final String queryPeriodPart = " AND rcr_game_id.date>=? AND rcr_game_id.date<?";
+		final String queryOrderPart = " ORDER BY rcr_game_id.date";
+		PreparedStatement statement = null;
+		try {
+			if (periodMode == EnumPeriodMode.ALL) {
+				statement = prepareStatement(querySelectPart + queryWherePart + queryRegularPart + queryOrderPart);
+				statement.setShort(1, tournament.getId());
+			} else {
+				statement = prepareStatement(querySelectPart + queryWherePart + queryRegularPart + queryPeriodPart + queryOrderPart);
+				statement.setShort(1, tournament.getId());
+				statement.setDate(2, new Date(calendarFrom.getTimeInMillis()));
+				statement.setDate(3, new Date(calendarTo.getTimeInMillis()));
+			}
 
-					final ResultSet result = statement.executeQuery();
-					while (result.next()) {
-						final RCRTotalScore total = new RCRTotalScore(result.getString(1), result.getString(2), result.getInt(3), result.getInt(4), 0);
-						total.totalScore = new Integer(result.getInt(5));
-						total.numberOfGame = new Integer(result.getInt(6));
-						rankingScores.add(total);
-					}
-					result.close();
-					statement.close();
+			final ResultSet result = statement.executeQuery();
+			Date lastDate = null;
+			int date = 0;
+			while (result.next()) {
+				final Date resultDate = result.getDate(4);
+				if (!resultDate.equals(lastDate)) {
+					lastDate = resultDate;
+					date = (int) resultDate.toLocalDate().toEpochDay();
 				}
-					break;
-				default:
-					break;
+				aggregator.addScore(result.getShort(1), result.getString(2), result.getString(3), date, result.getShort(5), result.getShort(6),
+					result.getInt(7), result.getInt(8), result.getInt(9));
+			}
+			result.close();
+		} finally {
+			if (statement != null) {
+				releaseStatement(statement);
 			}
-		} catch (final Exception e) {
-			e.printStackTrace();
 		}
-		return rankingScores;
+
+		setCachedAggregator(aggregator, tournament.getId(), from, to, onlyRegularPlayers, generation);
+		return aggregator;
 	}
 
 }
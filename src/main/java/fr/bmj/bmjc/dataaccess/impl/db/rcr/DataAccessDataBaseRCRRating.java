@@ -0,0 +1,159 @@
+/*
+ * This file is part of Breizh Mahjong Recorder.
+ *
+ * Breizh Mahjong Recorder is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Breizh Mahjong Recorder is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Breizh Mahjong Recorder. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.bmj.bmjc.dataaccess.impl.db.rcr;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import fr.bmj.bmjc.data.game.Player;
+import fr.bmj.bmjc.data.game.Tournament;
+import fr.bmj.bmjc.data.stat.rcr.RCRDataPackageTrend;
+import fr.bmj.bmjc.data.stat.rcr.RCRTotalScore;
+import fr.bmj.bmjc.dataaccess.abs.rcr.DataAccessRCRRating;
+import fr.bmj.bmjc.enums.EnumPeriodMode;
+import fr.bmj.bmjc.enums.EnumSortingMode;
+
+public class DataAccessDataBaseRCRRating extends DataAccessDataBaseRCRCommon implements DataAccessRCRRating {
+
+	private final RCRRatingTracker ratingTracker;
+	private final RCRRatingTracker.Source source;
+
+	public DataAccessDataBaseRCRRating(final Connection dataBaseConnection, final RCRRatingTracker ratingTracker) {
+		super(dataBaseConnection);
+		this.ratingTracker = ratingTracker;
+		source = (final short tournamentId, final long afterGameId, final int lastDate, final RCRRatingEngine engine) -> replay(tournamentId,
+			afterGameId, lastDate, engine);
+	}
+
+	private void replay(final short tournamentId, final long afterGameId, final int lastDate, final RCRRatingEngine engine) throws SQLException {
+		final String querySelectPart = "SELECT rcr_game_id.id, rcr_game_id.date, rcr_game_score.player_id, rcr_game_score.ranking FROM rcr_game_id, rcr_game_score";
+		final String queryWherePart = " WHERE rcr_game_id.id=rcr_game_score.rcr_game_id AND rcr_game_id.rcr_tournament_id=? AND rcr_game_id.id>?";
+		final String queryPeriodPart = " AND rcr_game_id.date<=?";
+		final String queryOrderPart = " ORDER BY rcr_game_id.id, rcr_game_score.ranking";
+		PreparedStatement statement = null;
+		try {
+			if (lastDate == Integer.MAX_VALUE) {
+				statement = prepareStatement(querySelectPart + queryWherePart + queryOrderPart);
+				statement.setShort(1, tournamentId);
+				statement.setLong(2, afterGameId);
+			} else {
+				statement = prepareStatement(querySelectPart + queryWherePart + queryPeriodPart + queryOrderPart);
+				statement.setShort(1, tournamentId);
+				statement.setLong(2, afterGameId);
+				statement.setDate(3, Date.valueOf(LocalDate.ofEpochDay(lastDate)));
+			}
+
+			final ResultSet result = statement.executeQuery();
+			Date lastResultDate = null;
+			int date = 0;
+			while (result.next()) {
+				final Date resultDate = result.getDate(2);
+				if (!resultDate.equals(lastResultDate)) {
+					lastResultDate = resultDate;
+					date = (int) resultDate.toLocalDate().toEpochDay();
+				}
+				engine.addScore(result.getLong(1), date, result.getShort(3), result.getShort(4));
+			}
+			result.close();
+		} finally {
+			if (statement != null) {
+				releaseStatement(statement);
+			}
+		}
+	}
+
+	private Player[] getPlayers() throws SQLException {
+		final List<Player> playerList = new ArrayList<Player>();
+		int maxId = 0;
+		final PreparedStatement statement = prepareStatement("SELECT id, name, display_name, frequent, regular, license FROM player");
+		try {
+			final ResultSet result = statement.executeQuery();
+			while (result.next()) {
+				final Player player = new Player(result.getShort(1), result.getString(2), result.getString(3), result.getBoolean(4), result.getBoolean(5),
+					result.getString(6));
+				playerList.add(player);
+				maxId = Math.max(maxId, player.getPlayerID());
+			}
+			result.close();
+		} finally {
+			releaseStatement(statement);
+		}
+
+		final Player[] players = new Player[maxId + 1];
+		for (final Player player : playerList) {
+			players[player.getPlayerID()] = player;
+		}
+		return players;
+	}
+
+	public List<RCRTotalScore> getRanking(final Tournament tournament, final EnumSortingMode sortingMode, final boolean onlyRegularPlayers,
+		final int minimumGames) {
+		if (isConnected()) {
+			try {
+				return ratingTracker.getRanking(tournament.getId(), source, getPlayers(), onlyRegularPlayers, sortingMode, minimumGames);
+			} catch (final Exception e) {
+				e.printStackTrace();
+			}
+		}
+		return new ArrayList<RCRTotalScore>();
+	}
+
+	@Override
+	public RCRDataPackageTrend getRCRDataPackageRatingTrend(final Tournament tournament, final EnumPeriodMode periodMode, final int year,
+		final int trimester, final int month, final int day) {
+		if (isConnected()) {
+			try {
+				final int firstDate;
+				final int lastDate;
+				switch (periodMode) {
+					case YEAR:
+						firstDate = (int) LocalDate.of(year, 1, 1).toEpochDay();
+						lastDate = (int) LocalDate.of(year, 1, 1).plusYears(1).toEpochDay() - 1;
+						break;
+					case TRIMESTER:
+						firstDate = (int) LocalDate.of(year, trimester * 3 + 1, 1).toEpochDay();
+						lastDate = (int) LocalDate.of(year, trimester * 3 + 1, 1).plusMonths(3).toEpochDay() - 1;
+						break;
+					case MONTH:
+						firstDate = (int) LocalDate.of(year, month + 1, 1).toEpochDay();
+						lastDate = (int) LocalDate.of(year, month + 1, 1).plusMonths(1).toEpochDay() - 1;
+						break;
+					case DAY:
+						firstDate = (int) LocalDate.of(year, month + 1, day).toEpochDay();
+						lastDate = firstDate;
+						break;
+					case ALL:
+					default:
+						firstDate = Integer.MIN_VALUE;
+						lastDate = Integer.MAX_VALUE;
+						break;
+				}
+				return ratingTracker.getTrend(tournament.getId(), source, firstDate, lastDate, getPlayers());
+			} catch (final Exception e) {
+				e.printStackTrace();
+			}
+		}
+		return null;
+	}
+
+}
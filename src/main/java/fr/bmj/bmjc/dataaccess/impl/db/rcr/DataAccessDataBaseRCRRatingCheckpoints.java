@@ -0,0 +1,180 @@
+/*
+ * This file is part of Breizh Mahjong Recorder.
+ *
+ * Breizh Mahjong Recorder is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Breizh Mahjong Recorder is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Breizh Mahjong Recorder. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.bmj.bmjc.dataaccess.impl.db.rcr;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class DataAccessDataBaseRCRRatingCheckpoints extends DataAccessDataBaseRCRCommon {
+
+	public DataAccessDataBaseRCRRatingCheckpoints(final Connection dataBaseConnection) {
+		super(dataBaseConnection);
+	}
+
+	public void discardFrom(final short tournamentId, final long gameId) {
+		try {
+			final PreparedStatement statement = prepareStatement("DELETE FROM rcr_rating_checkpoint WHERE rcr_tournament_id=? AND rcr_game_id>=?");
+			try {
+				statement.setShort(1, tournamentId);
+				statement.setLong(2, gameId);
+				statement.executeUpdate();
+			} finally {
+				releaseStatement(statement);
+			}
+		} catch (final SQLException e) {
+			e.printStackTrace();
+		}
+	}
+
+	public RCRRatingCheckpoint load(final short tournamentId) {
+		return load(tournamentId, null);
+	}
+
+	public RCRRatingCheckpoint loadBefore(final short tournamentId, final int date) {
+		return load(tournamentId, Date.valueOf(LocalDate.ofEpochDay(date)));
+	}
+
+	private RCRRatingCheckpoint load(final short tournamentId, final Date before) {
+		if (!isConnected()) {
+			return null;
+		}
+
+		try {
+			final List<Long> gameIds = new ArrayList<Long>();
+			final List<Integer> numbersOfGames = new ArrayList<Integer>();
+			{
+				final String querySelectPart = "SELECT DISTINCT rcr_rating_checkpoint.rcr_game_id, rcr_rating_checkpoint.nb_games FROM rcr_rating_checkpoint, rcr_game_id";
+				final String queryWherePart = " WHERE rcr_game_id.id=rcr_rating_checkpoint.rcr_game_id AND rcr_rating_checkpoint.rcr_tournament_id=?";
+				final String queryPeriodPart = " AND rcr_game_id.date<?";
+				final String queryOrderPart = " ORDER BY rcr_rating_checkpoint.rcr_game_id DESC";
+				PreparedStatement statement = null;
+				try {
+					if (before == null) {
+						statement = prepareStatement(querySelectPart + queryWherePart + queryOrderPart);
+						statement.setShort(1, tournamentId);
+					} else {
+						statement = prepareStatement(querySelectPart + queryWherePart + queryPeriodPart + queryOrderPart);
+						statement.setShort(1, tournamentId);
+						statement.setDate(2, before);
+					}
+					final ResultSet result = statement.executeQuery();
+					while (result.next()) {
+						gameIds.add(result.getLong(1));
+						numbersOfGames.add(result.getInt(2));
+					}
+					result.close();
+				} finally {
+					if (statement != null) {
+						releaseStatement(statement);
+					}
+				}
+			}
+
+			for (int index = 0; index < gameIds.size(); index++) {
+				final long gameId = gameIds.get(index);
+				final int numberOfProcessedGames = numbersOfGames.get(index);
+				final PreparedStatement countStatement = prepareStatement(
+					"SELECT COUNT(*), MAX(date) FROM rcr_game_id WHERE rcr_tournament_id=? AND id<=?");
+				int count = 0;
+				int lastDate = 0;
+				try {
+					countStatement.setShort(1, tournamentId);
+					countStatement.setLong(2, gameId);
+					final ResultSet countResult = countStatement.executeQuery();
+					if (countResult.next()) {
+						count = countResult.getInt(1);
+						lastDate = count > 0 ? (int) countResult.getDate(2).toLocalDate().toEpochDay() : 0;
+					}
+					countResult.close();
+				} finally {
+					releaseStatement(countStatement);
+				}
+
+				if (count == numberOfProcessedGames) {
+					double[] ratings = new double[0];
+					int[] numberOfGames = new int[0];
+					final PreparedStatement statement = prepareStatement(
+						"SELECT player_id, rating, nb_player_games FROM rcr_rating_checkpoint WHERE rcr_game_id=? ORDER BY player_id DESC");
+					try {
+						statement.setLong(1, gameId);
+						final ResultSet result = statement.executeQuery();
+						while (result.next()) {
+							final short playerId = result.getShort(1);
+							if (playerId >= ratings.length) {
+								ratings = new double[playerId + 1];
+								Arrays.fill(ratings, RCRRatingEngine.INITIAL_RATING);
+								numberOfGames = new int[playerId + 1];
+							}
+							ratings[playerId] = result.getDouble(2);
+							numberOfGames[playerId] = result.getInt(3);
+						}
+						result.close();
+					} finally {
+						releaseStatement(statement);
+					}
+
+					final RCRRatingCheckpoint checkpoint = new RCRRatingCheckpoint(gameId, lastDate, numberOfProcessedGames, ratings, numberOfGames);
+					checkpoint.setSaved();
+					return checkpoint;
+				}
+			}
+		} catch (final Exception e) {
+			e.printStackTrace();
+		}
+		return null;
+	}
+
+	public void save(final short tournamentId, final RCRRatingCheckpoint checkpoint) {
+		if (!isConnected()) {
+			return;
+		}
+
+		synchronized (dataBaseConnection) {
+			if (checkpoint.isSaved()) {
+				return;
+			}
+			try {
+				final PreparedStatement statement = dataBaseConnection.prepareStatement(
+					"INSERT INTO rcr_rating_checkpoint(rcr_game_id, player_id, rcr_tournament_id, nb_games, rating, nb_player_games) VALUES(?, ?, ?, ?, ?, ?)");
+				for (int playerId = 0; playerId < checkpoint.getCapacity(); playerId++) {
+					if (checkpoint.getNumberOfGames(playerId) > 0) {
+						statement.setLong(1, checkpoint.lastGameId);
+						statement.setShort(2, (short) playerId);
+						statement.setShort(3, tournamentId);
+						statement.setInt(4, checkpoint.numberOfProcessedGames);
+						statement.setDouble(5, checkpoint.getRating(playerId));
+						statement.setInt(6, checkpoint.getNumberOfGames(playerId));
+						statement.addBatch();
+					}
+				}
+				statement.executeBatch();
+				statement.close();
+				checkpoint.setSaved();
+			} catch (final SQLException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+}
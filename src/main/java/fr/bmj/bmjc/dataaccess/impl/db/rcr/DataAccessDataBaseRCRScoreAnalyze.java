@@ -4,6 +4,7 @@ import java.sql.Connection;
 import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.HashMap;
@@ -12,13 +13,23 @@ import java.util.Map;
 
 import fr.bmj.bmjc.data.game.Tournament;
 import fr.bmj.bmjc.data.stat.rcr.RCRDataPackageScoreAnalyze;
+import fr.bmj.bmjc.data.stat.rcr.RCRScoreMatrix;
 import fr.bmj.bmjc.dataaccess.abs.rcr.DataAccessRCRScoreAnalyze;
 import fr.bmj.bmjc.enums.EnumPeriodMode;
 
 public class DataAccessDataBaseRCRScoreAnalyze extends DataAccessDataBaseRCRCommon implements DataAccessRCRScoreAnalyze {
 
+	private static final int MAX_NUMBER_OF_PLAYERS = 5;
+
+	private boolean streamingMode;
+
 	public DataAccessDataBaseRCRScoreAnalyze(final Connection dataBaseConnection) {
 		super(dataBaseConnection);
+		streamingMode = true;
+	}
+
+	public void setStreamingMode(final boolean streamingMode) {
+		this.streamingMode = streamingMode;
 	}
 
 	@Override
@@ -73,106 +84,41 @@ public class DataAccessDataBaseRCRScoreAnalyze extends DataAccessDataBaseRCRComm
 					final String queryPeriodPart = " AND rcr_game_id.date>=? AND rcr_game_id.date<?";
 					final String queryOrderPart = " ORDER BY player.id";
 					PreparedStatement statement = null;
-					if (periodMode == EnumPeriodMode.ALL) {
-						statement = dataBaseConnection.prepareStatement(querySelectPart + queryWherePart + queryOrderPart);
-						statement.setShort(1, tournament.getId());
-					} else {
-						statement = dataBaseConnection.prepareStatement(querySelectPart + queryWherePart + queryPeriodPart + queryOrderPart);
-						statement.setShort(1, tournament.getId());
-						statement.setDate(2, new Date(calendarFrom.getTimeInMillis()));
-						statement.setDate(3, new Date(calendarTo.getTimeInMillis()));
-					}
-					final ResultSet result = statement.executeQuery();
-					int index = 0;
-					while (result.next()) {
-						final short id = result.getShort(1);
-						playerIDs.add(index, id);
-						playerNames.add(index, result.getString(2));
-						displayNames.add(index, result.getString(3));
-						mapId2Index.put(id, index);
-						index++;
-					}
-					result.close();
-					statement.close();
-				}
-
-				final List<Integer> gameIDs = new ArrayList<Integer>();
-				{
-					final String querySelectPart = "SELECT rcr_game_id.id FROM rcr_game_id";
-					final String queryWherePart = " WHERE rcr_game_id.rcr_tournament_id=?";
-					final String queryPeriodPart = " AND rcr_game_id.date>=? AND rcr_game_id.date<?";
-					final String queryOrderPart = " ORDER BY rcr_game_id.id";
-					PreparedStatement statement = null;
-					if (periodMode == EnumPeriodMode.ALL) {
-						statement = dataBaseConnection.prepareStatement(querySelectPart + queryWherePart + queryOrderPart);
-						statement.setShort(1, tournament.getId());
-					} else {
-						statement = dataBaseConnection.prepareStatement(querySelectPart + queryWherePart + queryPeriodPart + queryOrderPart);
-						statement.setShort(1, tournament.getId());
-						statement.setDate(2, new Date(calendarFrom.getTimeInMillis()));
-						statement.setDate(3, new Date(calendarTo.getTimeInMillis()));
-					}
-					final ResultSet result = statement.executeQuery();
-					while (result.next()) {
-						gameIDs.add(result.getInt(1));
-					}
-					result.close();
-					statement.close();
-				}
-
-				final double[][] scores = new double[playerIDs.size()][playerIDs.size()];
-				final double[] sums = new double[playerIDs.size()];
-				{
-					final short[] playerIDGame = new short[5];
-					final long[] playerScoreGame = new long[5];
-					int scoreIndex;
-					int nbPositives;
-					double totalPositive;
-
-					final String querySelectPart = "SELECT rcr_game_score.player_id, rcr_game_score.game_score FROM rcr_game_score";
-					final String queryWherePart = " WHERE rcr_game_score.rcr_game_id=?";
-					final String queryOrderPart = " ORDER BY rcr_game_score.game_score DESC";
-					final PreparedStatement statement = dataBaseConnection.prepareStatement(querySelectPart + queryWherePart + queryOrderPart);
-					for (int idIndex = 0; idIndex < gameIDs.size(); idIndex++) {
-						statement.setInt(1, gameIDs.get(idIndex));
+					try {
+						if (periodMode == EnumPeriodMode.ALL) {
+							statement = prepareStatement(querySelectPart + queryWherePart + queryOrderPart);
+							statement.setShort(1, tournament.getId());
+						} else {
+							statement = prepareStatement(querySelectPart + queryWherePart + queryPeriodPart + queryOrderPart);
+							statement.setShort(1, tournament.getId());
+							statement.setDate(2, new Date(calendarFrom.getTimeInMillis()));
+							statement.setDate(3, new Date(calendarTo.getTimeInMillis()));
+						}
 						final ResultSet result = statement.executeQuery();
-						int nbPlayers = 0;
+						int index = 0;
 						while (result.next()) {
-							playerIDGame[nbPlayers] = result.getShort(1);
-							playerScoreGame[nbPlayers] = result.getLong(2);
-							nbPlayers++;
+							final short id = result.getShort(1);
+							playerIDs.add(index, id);
+							playerNames.add(index, result.getString(2));
+							displayNames.add(index, result.getString(3));
+							mapId2Index.put(id, index);
+							index++;
 						}
 						result.close();
-						statement.clearParameters();
-
-						scoreIndex = 0;
-						totalPositive = 0;
-						while (scoreIndex < nbPlayers && playerScoreGame[scoreIndex] > 0) {
-							totalPositive += playerScoreGame[scoreIndex];
-							scoreIndex++;
-						}
-						if (totalPositive != 0) {
-							nbPositives = scoreIndex;
-							while (scoreIndex < nbPlayers && playerScoreGame[scoreIndex] == 0) {
-								scoreIndex++;
-							}
-							while (scoreIndex < nbPlayers) {
-								final int playerNegativeIndex = mapId2Index.get(playerIDGame[scoreIndex]);
-								for (int positiveIndex = 0; positiveIndex < nbPositives; positiveIndex++) {
-									final double scorePart = -playerScoreGame[scoreIndex] * playerScoreGame[positiveIndex] / totalPositive;
-									final int playerPositiveIndex = mapId2Index.get(playerIDGame[positiveIndex]);
-									scores[playerPositiveIndex][playerNegativeIndex] += scorePart;
-									scores[playerNegativeIndex][playerPositiveIndex] -= scorePart;
-									sums[playerPositiveIndex] += scorePart;
-									sums[playerNegativeIndex] -= scorePart;
-								}
-								scoreIndex++;
-							}
+					} finally {
+						if (statement != null) {
+							releaseStatement(statement);
 						}
 					}
-					statement.close();
 				}
-				return new RCRDataPackageScoreAnalyze(playerNames, displayNames, scores, sums);
+
+				final RCRScoreMatrix scores = new RCRScoreMatrix(playerIDs.size());
+				if (streamingMode) {
+					computeScoresStreaming(tournament, periodMode, calendarFrom, calendarTo, mapId2Index, scores);
+				} else {
+					computeScoresPerGame(tournament, periodMode, calendarFrom, calendarTo, mapId2Index, scores);
+				}
+				return new RCRDataPackageScoreAnalyze(playerNames, displayNames, scores);
 			} catch (final Exception e) {
 				e.printStackTrace();
 			}
@@ -180,4 +126,106 @@ public class DataAccessDataBaseRCRScoreAnalyze extends DataAccessDataBaseRCRComm
 		return null;
 	}
 
+	private void computeScoresStreaming(final Tournament tournament, final EnumPeriodMode periodMode, final Calendar calendarFrom,
+		final Calendar calendarTo, final Map<Short, Integer> mapId2Index, final RCRScoreMatrix scores) throws SQLException {
+		final int[] playerIndexGame = new int[MAX_NUMBER_OF_PLAYERS];
+		final long[] playerScoreGame = new long[MAX_NUMBER_OF_PLAYERS];
+
+		final String querySelectPart = "SELECT rcr_game_score.rcr_game_id, rcr_game_score.player_id, rcr_game_score.game_score FROM rcr_game_id, rcr_game_score";
+		final String queryWherePart = " WHERE rcr_game_id.id=rcr_game_score.rcr_game_id AND rcr_game_id.rcr_tournament_id=?";
+		final String queryPeriodPart = " AND rcr_game_id.date>=? AND rcr_game_id.date<?";
+		final String queryOrderPart = " ORDER BY rcr_game_score.rcr_game_id, rcr_game_score.game_score DESC";
+		PreparedStatement statement = null;
+		try {
+			if (periodMode == EnumPeriodMode.ALL) {
+				statement = prepareStatement(querySelectPart + queryWherePart + queryOrderPart);
+				statement.setShort(1, tournament.getId());
+			} else {
+				statement = prepareStatement(querySelectPart + queryWherePart + queryPeriodPart + queryOrderPart);
+				statement.setShort(1, tournament.getId());
+				statement.setDate(2, new Date(calendarFrom.getTimeInMillis()));
+				statement.setDate(3, new Date(calendarTo.getTimeInMillis()));
+			}
+			final ResultSet result = statement.executeQuery();
+			long lastGameID = -1;
+			int nbPlayers = 0;
+			while (result.next()) {
+				final long gameID = result.getLong(1);
+				if (gameID != lastGameID) {
+					RCRDataPackageScoreAnalyze.distributeGameScores(playerIndexGame, playerScoreGame, nbPlayers, scores);
+					lastGameID = gameID;
+					nbPlayers = 0;
+				}
+				if (nbPlayers < MAX_NUMBER_OF_PLAYERS) {
+					playerIndexGame[nbPlayers] = mapId2Index.get(result.getShort(2));
+					playerScoreGame[nbPlayers] = result.getLong(3);
+					nbPlayers++;
+				}
+			}
+			RCRDataPackageScoreAnalyze.distributeGameScores(playerIndexGame, playerScoreGame, nbPlayers, scores);
+			result.close();
+		} finally {
+			if (statement != null) {
+				releaseStatement(statement);
+			}
+		}
+	}
+
+	private void computeScoresPerGame(final Tournament tournament, final EnumPeriodMode periodMode, final Calendar calendarFrom,
+		final Calendar calendarTo, final Map<Short, Integer> mapId2Index, final RCRScoreMatrix scores) throws SQLException {
+		final List<Long> gameIDs = new ArrayList<Long>();
+		{
+			final String querySelectPart = "SELECT rcr_game_id.id FROM rcr_game_id";
+			final String queryWherePart = " WHERE rcr_game_id.rcr_tournament_id=?";
+			final String queryPeriodPart = " AND rcr_game_id.date>=? AND rcr_game_id.date<?";
+			final String queryOrderPart = " ORDER BY rcr_game_id.id";
+			PreparedStatement statement = null;
+			try {
+				if (periodMode == EnumPeriodMode.ALL) {
+					statement = prepareStatement(querySelectPart + queryWherePart + queryOrderPart);
+					statement.setShort(1, tournament.getId());
+				} else {
+					statement = prepareStatement(querySelectPart + queryWherePart + queryPeriodPart + queryOrderPart);
+					statement.setShort(1, tournament.getId());
+					statement.setDate(2, new Date(calendarFrom.getTimeInMillis()));
+					statement.setDate(3, new Date(calendarTo.getTimeInMillis()));
+				}
+				final ResultSet result = statement.executeQuery();
+				while (result.next()) {
+					gameIDs.add(result.getLong(1));
+				}
+				result.close();
+			} finally {
+				if (statement != null) {
+					releaseStatement(statement);
+				}
+			}
+		}
+
+		final int[] playerIndexGame = new int[MAX_NUMBER_OF_PLAYERS];
+		final long[] playerScoreGame = new long[MAX_NUMBER_OF_PLAYERS];
+
+		final String querySelectPart = "SELECT rcr_game_score.player_id, rcr_game_score.game_score FROM rcr_game_score";
+		final String queryWherePart = " WHERE rcr_game_score.rcr_game_id=?";
+		final String queryOrderPart = " ORDER BY rcr_game_score.game_score DESC";
+		final PreparedStatement statement = prepareStatement(querySelectPart + queryWherePart + queryOrderPart);
+		try {
+			for (int idIndex = 0; idIndex < gameIDs.size(); idIndex++) {
+				statement.setLong(1, gameIDs.get(idIndex));
+				final ResultSet result = statement.executeQuery();
+				int nbPlayers = 0;
+				while (result.next() && nbPlayers < MAX_NUMBER_OF_PLAYERS) {
+					playerIndexGame[nbPlayers] = mapId2Index.get(result.getShort(1));
+					playerScoreGame[nbPlayers] = result.getLong(2);
+					nbPlayers++;
+				}
+				result.close();
+				statement.clearParameters();
+				RCRDataPackageScoreAnalyze.distributeGameScores(playerIndexGame, playerScoreGame, nbPlayers, scores);
+			}
+		} finally {
+			releaseStatement(statement);
+		}
+	}
+
 }
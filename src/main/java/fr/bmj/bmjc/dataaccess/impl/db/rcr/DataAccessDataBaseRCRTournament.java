@@ -4,7 +4,6 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -30,18 +29,21 @@ public class DataAccessDataBaseRCRTournament extends DataAccessDataBaseRCRCommon
 		boolean added;
 		try {
 			final String query = "SELECT id FROM rcr_tournament ORDER BY id";
-			final Statement statement = dataBaseConnection.createStatement();
-			final ResultSet result = statement.executeQuery(query);
-			newId = 1;
-			while (result.next()) {
-				if (newId == result.getShort(1)) {
-					newId++;
-				} else {
-					break;
+			final PreparedStatement statement = prepareStatement(query);
+			try {
+				final ResultSet result = statement.executeQuery();
+				newId = 1;
+				while (result.next()) {
+					if (newId == result.getShort(1)) {
+						newId++;
+					} else {
+						break;
+					}
 				}
+				result.close();
+			} finally {
+				releaseStatement(statement);
 			}
-			result.close();
-			statement.close();
 		} catch (final SQLException e) {
 			e.printStackTrace();
 			return new UpdateResult(false, "Erreur de connexion de données");
@@ -49,11 +51,14 @@ public class DataAccessDataBaseRCRTournament extends DataAccessDataBaseRCRCommon
 
 		try {
 			final String query = "INSERT INTO rcr_tournament(id, name) VALUES(?, ?)";
-			final PreparedStatement statement = dataBaseConnection.prepareStatement(query);
-			statement.setShort(1, newId);
-			statement.setString(2, tournamentName);
-			added = statement.executeUpdate() == 1;
-			statement.close();
+			final PreparedStatement statement = prepareStatement(query);
+			try {
+				statement.setShort(1, newId);
+				statement.setString(2, tournamentName);
+				added = statement.executeUpdate() == 1;
+			} finally {
+				releaseStatement(statement);
+			}
 		} catch (final SQLException e) {
 			e.printStackTrace();
 			return new UpdateResult(false, "Erreur de connexion de données");
@@ -78,11 +83,14 @@ public class DataAccessDataBaseRCRTournament extends DataAccessDataBaseRCRCommon
 		boolean modified;
 		try {
 			final String query = "UPDATE rcr_tournament SET name=? WHERE id=?";
-			final PreparedStatement statement = dataBaseConnection.prepareStatement(query);
-			statement.setString(1, tournamentName);
-			statement.setShort(2, tournamentId);
-			modified = statement.executeUpdate() == 1;
-			statement.close();
+			final PreparedStatement statement = prepareStatement(query);
+			try {
+				statement.setString(1, tournamentName);
+				statement.setShort(2, tournamentId);
+				modified = statement.executeUpdate() == 1;
+			} finally {
+				releaseStatement(statement);
+			}
 		} catch (final SQLException e) {
 			e.printStackTrace();
 			return new UpdateResult(false, "Erreur de connexion de données");
@@ -100,13 +108,16 @@ public class DataAccessDataBaseRCRTournament extends DataAccessDataBaseRCRCommon
 		final List<Tournament> tournamentList = new ArrayList<Tournament>();
 		if (isConnected()) {
 			try {
-				final Statement statement = dataBaseConnection.createStatement();
-				final ResultSet result = statement.executeQuery("SELECT id, name FROM rcr_tournament ORDER BY id DESC");
-				while (result.next()) {
-					tournamentList.add(new Tournament(result.getShort(1), result.getString(2)));
+				final PreparedStatement statement = prepareStatement("SELECT id, name FROM rcr_tournament ORDER BY id DESC");
+				try {
+					final ResultSet result = statement.executeQuery();
+					while (result.next()) {
+						tournamentList.add(new Tournament(result.getShort(1), result.getString(2)));
+					}
+					result.close();
+				} finally {
+					releaseStatement(statement);
 				}
-				result.close();
-				statement.close();
 			} catch (final Exception e) {
 				e.printStackTrace();
 			}
@@ -123,10 +134,13 @@ public class DataAccessDataBaseRCRTournament extends DataAccessDataBaseRCRCommon
 		boolean modified;
 		try {
 			final String query = "DELETE FROM rcr_tournament WHERE id=?";
-			final PreparedStatement statement = dataBaseConnection.prepareStatement(query);
-			statement.setShort(1, tournamentId);
-			modified = statement.executeUpdate() == 1;
-			statement.close();
+			final PreparedStatement statement = prepareStatement(query);
+			try {
+				statement.setShort(1, tournamentId);
+				modified = statement.executeUpdate() == 1;
+			} finally {
+				releaseStatement(statement);
+			}
 		} catch (final SQLException e) {
 			e.printStackTrace();
 			return new UpdateResult(false, "Erreur de connexion de base de données");
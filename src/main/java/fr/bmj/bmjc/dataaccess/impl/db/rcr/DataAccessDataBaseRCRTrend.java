@@ -5,10 +5,9 @@ import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.List;
-import java.util.SortedMap;
-import java.util.TreeMap;
 
 import fr.bmj.bmjc.data.game.Tournament;
 import fr.bmj.bmjc.data.stat.rcr.RCRDataPackageTrend;
@@ -62,82 +61,89 @@ public class DataAccessDataBaseRCRTrend extends DataAccessDataBaseRCRCommon impl
 		}
 
 		try {
-			final List<Long> dates = new ArrayList<Long>();
-			final SortedMap<String, List<Integer>> dataWithPlayerName = new TreeMap<String, List<Integer>>();
-			final SortedMap<String, List<Integer>> dataWithDisplayName = new TreeMap<String, List<Integer>>();
+			final List<Short> playerIds = new ArrayList<Short>();
+			final List<String> playerNames = new ArrayList<String>();
+			final List<String> displayNames = new ArrayList<String>();
 			{
-				final String querySelectPart = "SELECT DISTINCT player.name, player.display_name FROM player, rcr_game_id, rcr_game_score";
+				final String querySelectPart = "SELECT DISTINCT player.id, player.name, player.display_name FROM player, rcr_game_id, rcr_game_score";
 				final String queryWherePart = " WHERE player.id=rcr_game_score.player_id AND rcr_game_id.id=rcr_game_score.rcr_game_id AND rcr_game_id.rcr_tournament_id=?";
 				final String queryPeriodPart = " AND rcr_game_id.date>=? AND rcr_game_id.date<?";
+				final String queryOrderPart = " ORDER BY player.id";
 				PreparedStatement statement = null;
-				if (periodMode == EnumPeriodMode.ALL) {
-					statement = dataBaseConnection.prepareStatement(querySelectPart + queryWherePart);
-					statement.setShort(1, tournament.getId());
-				} else {
-					statement = dataBaseConnection.prepareStatement(querySelectPart + queryWherePart + queryPeriodPart);
-					statement.setShort(1, tournament.getId());
-					statement.setDate(2, new Date(calendarFrom.getTimeInMillis()));
-					statement.setDate(3, new Date(calendarTo.getTimeInMillis()));
-				}
-				final ResultSet result = statement.executeQuery();
-				while (result.next()) {
-					final List<Integer> scoreListPlayerNames = new ArrayList<Integer>();
-					scoreListPlayerNames.add(0);
-					dataWithPlayerName.put(result.getString(1), scoreListPlayerNames);
-
-					final List<Integer> scoreListDisplayNames = new ArrayList<Integer>();
-					scoreListDisplayNames.add(0);
-					dataWithDisplayName.put(result.getString(2), scoreListDisplayNames);
+				try {
+					if (periodMode == EnumPeriodMode.ALL) {
+						statement = prepareStatement(querySelectPart + queryWherePart + queryOrderPart);
+						statement.setShort(1, tournament.getId());
+					} else {
+						statement = prepareStatement(querySelectPart + queryWherePart + queryPeriodPart + queryOrderPart);
+						statement.setShort(1, tournament.getId());
+						statement.setDate(2, new Date(calendarFrom.getTimeInMillis()));
+						statement.setDate(3, new Date(calendarTo.getTimeInMillis()));
+					}
+					final ResultSet result = statement.executeQuery();
+					while (result.next()) {
+						playerIds.add(result.getShort(1));
+						playerNames.add(result.getString(2));
+						displayNames.add(result.getString(3));
+					}
+					result.close();
+				} finally {
+					if (statement != null) {
+						releaseStatement(statement);
+					}
 				}
-				result.close();
-				statement.close();
 			}
 
+			final short[] sortedPlayerIds = new short[playerIds.size()];
+			for (int index = 0; index < sortedPlayerIds.length; index++) {
+				sortedPlayerIds[index] = playerIds.get(index);
+			}
+			final RCRTrendMatrix matrix = new RCRTrendMatrix(playerNames.toArray(new String[playerNames.size()]),
+				displayNames.toArray(new String[displayNames.size()]));
 			{
-				final String querySelectPart = "SELECT rcr_game_id.date, player.name, player.display_name, SUM(rcr_game_score.final_score) FROM rcr_game_id, rcr_game_score, player";
-				final String queryWherePart = " WHERE rcr_game_id.rcr_tournament_id=? AND rcr_game_id.id=rcr_game_score.rcr_game_id AND player.id=rcr_game_score.player_id";
+				final String querySelectPart = "SELECT rcr_game_id.date, rcr_game_score.player_id, SUM(rcr_game_score.final_score) FROM rcr_game_id, rcr_game_score";
+				final String queryWherePart = " WHERE rcr_game_id.rcr_tournament_id=? AND rcr_game_id.id=rcr_game_score.rcr_game_id";
 				final String queryPeriodPart = " AND rcr_game_id.date>=? AND rcr_game_id.date<?";
-				final String queryGroupPart = " GROUP BY rcr_game_id.date, player.name, player.display_name";
+				final String queryGroupPart = " GROUP BY rcr_game_id.date, rcr_game_score.player_id";
 				final String queryOrderPart = " ORDER BY rcr_game_id.date";
 				PreparedStatement statement = null;
-				if (periodMode == EnumPeriodMode.ALL) {
-					statement = dataBaseConnection.prepareStatement(querySelectPart + queryWherePart + queryGroupPart + queryOrderPart);
-					statement.setShort(1, tournament.getId());
-				} else {
-					statement = dataBaseConnection.prepareStatement(querySelectPart + queryWherePart + queryPeriodPart + queryGroupPart + queryOrderPart);
-					statement.setShort(1, tournament.getId());
-					statement.setDate(2, new Date(calendarFrom.getTimeInMillis()));
-					statement.setDate(3, new Date(calendarTo.getTimeInMillis()));
-				}
+				try {
+					if (periodMode == EnumPeriodMode.ALL) {
+						statement = prepareStatement(querySelectPart + queryWherePart + queryGroupPart + queryOrderPart);
+						statement.setShort(1, tournament.getId());
+					} else {
+						statement = prepareStatement(querySelectPart + queryWherePart + queryPeriodPart + queryGroupPart + queryOrderPart);
+						statement.setShort(1, tournament.getId());
+						statement.setDate(2, new Date(calendarFrom.getTimeInMillis()));
+						statement.setDate(3, new Date(calendarTo.getTimeInMillis()));
+					}
 
-				int dateIndex = 0;
-				long lastDate = 0;
-				long date;
-				dates.add(dateIndex, lastDate);
-				final ResultSet result = statement.executeQuery();
-				while (result.next()) {
-					date = result.getDate(1).getTime();
-					if (date != lastDate) {
-						for (final String playerName : dataWithPlayerName.keySet()) {
-							final List<Integer> playerScore = dataWithPlayerName.get(playerName);
-							playerScore.add(playerScore.get(dateIndex));
-						}
-						for (final String playerName : dataWithDisplayName.keySet()) {
-							final List<Integer> playerScore = dataWithDisplayName.get(playerName);
-							playerScore.add(playerScore.get(dateIndex));
+					boolean firstDate = true;
+					long lastDate = 0;
+					final ResultSet result = statement.executeQuery();
+					while (result.next()) {
+						final long date = result.getDate(1).getTime();
+						if (date != lastDate) {
+							if (!firstDate) {
+								matrix.endDate(lastDate);
+							}
+							firstDate = false;
+							lastDate = date;
 						}
-						lastDate = date;
-						dateIndex++;
-						dates.add(dateIndex, lastDate);
+						final int playerIndex = Arrays.binarySearch(sortedPlayerIds, result.getShort(2));
+						matrix.addScore(playerIndex, result.getInt(3));
+					}
+					if (!firstDate) {
+						matrix.endDate(lastDate);
+					}
+					result.close();
+				} finally {
+					if (statement != null) {
+						releaseStatement(statement);
 					}
-					final int score = result.getInt(4);
-					final List<Integer> scoreListPlayerNames = dataWithPlayerName.get(result.getString(2));
-					scoreListPlayerNames.set(dateIndex, scoreListPlayerNames.get(dateIndex) + score);
-					final List<Integer> scoreListDisplayNames = dataWithDisplayName.get(result.getString(3));
-					scoreListDisplayNames.set(dateIndex, scoreListDisplayNames.get(dateIndex) + score);
 				}
 			}
-			return new RCRDataPackageTrend(dates, dataWithPlayerName, dataWithDisplayName);
+			return matrix.getDataPackage();
 		} catch (final Exception e) {
 			e.printStackTrace();
 		}
@@ -0,0 +1,140 @@
+/*
+ * This file is part of Breizh Mahjong Recorder.
+ *
+ * Breizh Mahjong Recorder is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Breizh Mahjong Recorder is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Breizh Mahjong Recorder. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.bmj.bmjc.dataaccess.impl.db.rcr;
+
+import java.util.Arrays;
+
+import fr.bmj.bmjc.data.stat.rcr.RCRDataPackagePersonalAnalyze;
+
+public class RCRPersonalAnalyzeAccumulator {
+
+	private static final int INITIAL_NUMBER_OF_GAMES = 64;
+
+	private long gameIds[];
+	private int scores[];
+	private int sums[];
+	private int numberOfGames;
+
+	private double mean;
+	private double squaredDeviations;
+
+	private int totalScore;
+	private int maxScore;
+	private int minScore;
+	private int positiveGames;
+	private int negativeGames;
+	private int positiveTotal;
+	private int negativeTotal;
+
+	private int numberOfFourPlayersGames;
+	private int numberOfFivePlayersGames;
+	private final int placeFourPlayers[];
+	private final int placeFivePlayers[];
+
+	public RCRPersonalAnalyzeAccumulator() {
+		gameIds = new long[INITIAL_NUMBER_OF_GAMES];
+		scores = new int[INITIAL_NUMBER_OF_GAMES];
+		sums = new int[INITIAL_NUMBER_OF_GAMES];
+		maxScore = Integer.MIN_VALUE;
+		minScore = Integer.MAX_VALUE;
+		placeFourPlayers = new int[4];
+		placeFivePlayers = new int[5];
+	}
+
+	public void addGame(final long gameId, final short nbPlayers, final short ranking, final int score) {
+		if (numberOfGames == scores.length) {
+			final int capacity = numberOfGames * 2;
+			gameIds = Arrays.copyOf(gameIds, capacity);
+			scores = Arrays.copyOf(scores, capacity);
+			sums = Arrays.copyOf(sums, capacity);
+		}
+
+		if (score >= 0) {
+			positiveGames++;
+			positiveTotal += score;
+		} else {
+			negativeGames++;
+			negativeTotal += score;
+		}
+		maxScore = Math.max(maxScore, score);
+		minScore = Math.min(minScore, score);
+		totalScore += score;
+
+		if (nbPlayers == 4) {
+			placeFourPlayers[ranking - 1]++;
+			numberOfFourPlayersGames++;
+		} else if (nbPlayers == 5) {
+			placeFivePlayers[ranking - 1]++;
+			numberOfFivePlayersGames++;
+		}
+
+		gameIds[numberOfGames] = gameId;
+		scores[numberOfGames] = score;
+		sums[numberOfGames] = totalScore;
+		numberOfGames++;
+
+		final double delta = score - mean;
+		mean += delta / numberOfGames;
+		squaredDeviations += delta * (score - mean);
+	}
+
+	public int getNumberOfGames() {
+		return numberOfGames;
+	}
+
+	public RCRDataPackagePersonalAnalyze getDataPackage() {
+		final RCRDataPackagePersonalAnalyze dataPackage = new RCRDataPackagePersonalAnalyze();
+		final int placeFourPlayersPercent[] = new int[4];
+		final int placeFivePlayersPercent[] = new int[5];
+		for (int index = 0; index < 4; index++) {
+			placeFourPlayersPercent[index] = Math.round(placeFourPlayers[index] * 100f / numberOfFourPlayersGames);
+		}
+		for (int index = 0; index < 5; index++) {
+			placeFivePlayersPercent[index] = Math.round(placeFivePlayers[index] * 100f / numberOfFivePlayersGames);
+		}
+		final long standardDeviation = numberOfGames <= 1 ? 0 : Math.round(Math.sqrt(squaredDeviations / numberOfGames));
+
+		dataPackage.setArrays(gameIds, scores, sums, numberOfGames);
+		dataPackage.setNumberOfGames(numberOfGames);
+
+		dataPackage.setMaxScore(maxScore);
+		dataPackage.setMinScore(minScore);
+
+		dataPackage.setPositiveGames(positiveGames);
+		dataPackage.setPositiveGamesPercent(Math.round(positiveGames * 100f / numberOfGames));
+
+		dataPackage.setNegativeGames(negativeGames);
+		dataPackage.setNegativeGamesPercent(Math.round(negativeGames * 100f / numberOfGames));
+
+		dataPackage.setScoreTotal(totalScore);
+		dataPackage.setScoreMean(numberOfGames == 0 ? 0 : (int) Math.round(mean));
+		dataPackage.setScoreStandardDeviation((int) standardDeviation);
+
+		dataPackage.setPositiveTotal(positiveTotal);
+		dataPackage.setNegativeTotal(negativeTotal);
+
+		dataPackage.setNumberOfFourPlayerGames(numberOfFourPlayersGames);
+		dataPackage.setFourPlayerGamePlaces(placeFourPlayers);
+		dataPackage.setFourPlayerGamePlacePercent(placeFourPlayersPercent);
+
+		dataPackage.setNumberOfFivePlayerGames(numberOfFivePlayersGames);
+		dataPackage.setFivePlayerGamePlaces(placeFivePlayers);
+		dataPackage.setFivePlayerGamePlacePercent(placeFivePlayersPercent);
+		return dataPackage;
+	}
+
+}
@@ -0,0 +1,392 @@
+/*
+ * This file is part of Breizh Mahjong Recorder.
+ *
+ * Breizh Mahjong Recorder is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Breizh Mahjong Recorder is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Breizh Mahjong Recorder. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.bmj.bmjc.dataaccess.impl.db.rcr;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import fr.bmj.bmjc.data.stat.rcr.RCRTotalScore;
+import fr.bmj.bmjc.enums.EnumRankingMode;
+import fr.bmj.bmjc.enums.EnumSortingMode;
+
+public class RCRRankingAggregator {
+
+	private static final int NUMBER_TOP = 32;
+	private static final int INITIAL_NUMBER_OF_PLAYERS = 64;
+
+	private final int firstMonth;
+	private final int numberOfMonths;
+
+	private String[] playerNames;
+	private String[] displayNames;
+	private int[] numberOfGames;
+	private int[] numberOfFourPlayerGames;
+	private int[] numberOfFivePlayerGames;
+	private int[] fourPlayerWins;
+	private int[] fivePlayerWins;
+	private int[] fourPlayerPositives;
+	private int[] fivePlayerPositives;
+	private long[] totalFinalScores;
+	private long[] totalGameScores;
+	private long[] squareFinalScores;
+	private long[] squareGameScores;
+	private int[][] monthNumberOfGames;
+	private long[][] monthTotalFinalScores;
+	private long[][] monthTotalGameScores;
+
+	private final TopScores bestFinalScoresDescending;
+	private final TopScores bestFinalScoresAscending;
+	private final TopScores bestGameScoresDescending;
+	private final TopScores bestGameScoresAscending;
+
+	private int lastAddedDate;
+	private int lastAddedMonth;
+
+	public RCRRankingAggregator(final int firstDate, final int lastDate) {
+		if (firstDate <= lastDate) {
+			firstMonth = getMonth(firstDate);
+			numberOfMonths = getMonth(lastDate) - firstMonth + 1;
+		} else {
+			firstMonth = 0;
+			numberOfMonths = 0;
+		}
+
+		playerNames = new String[INITIAL_NUMBER_OF_PLAYERS];
+		displayNames = new String[INITIAL_NUMBER_OF_PLAYERS];
+		numberOfGames = new int[INITIAL_NUMBER_OF_PLAYERS];
+		numberOfFourPlayerGames = new int[INITIAL_NUMBER_OF_PLAYERS];
+		numberOfFivePlayerGames = new int[INITIAL_NUMBER_OF_PLAYERS];
+		fourPlayerWins = new int[INITIAL_NUMBER_OF_PLAYERS];
+		fivePlayerWins = new int[INITIAL_NUMBER_OF_PLAYERS];
+		fourPlayerPositives = new int[INITIAL_NUMBER_OF_PLAYERS];
+		fivePlayerPositives = new int[INITIAL_NUMBER_OF_PLAYERS];
+		totalFinalScores = new long[INITIAL_NUMBER_OF_PLAYERS];
+		totalGameScores = new long[INITIAL_NUMBER_OF_PLAYERS];
+		squareFinalScores = new long[INITIAL_NUMBER_OF_PLAYERS];
+		squareGameScores = new long[INITIAL_NUMBER_OF_PLAYERS];
+		monthNumberOfGames = new int[INITIAL_NUMBER_OF_PLAYERS][];
+		monthTotalFinalScores = new long[INITIAL_NUMBER_OF_PLAYERS][];
+		monthTotalGameScores = new long[INITIAL_NUMBER_OF_PLAYERS][];
+
+		bestFinalScoresDescending = new TopScores(true);
+		bestFinalScoresAscending = new TopScores(false);
+		bestGameScoresDescending = new TopScores(true);
+		bestGameScoresAscending = new TopScores(false);
+
+		lastAddedDate = Integer.MIN_VALUE;
+		lastAddedMonth = 0;
+	}
+
+	private static int getMonth(final int date) {
+		final LocalDate localDate = LocalDate.ofEpochDay(date);
+		return localDate.getYear() * 12 + localDate.getMonthValue() - 1;
+	}
+
+	private void ensurePlayerCapacity(final int playerId) {
+		if (playerId >= numberOfGames.length) {
+			final int capacity = Math.max(playerId + 1, numberOfGames.length * 2);
+			playerNames = Arrays.copyOf(playerNames, capacity);
+			displayNames = Arrays.copyOf(displayNames, capacity);
+			numberOfGames = Arrays.copyOf(numberOfGames, capacity);
+			numberOfFourPlayerGames = Arrays.copyOf(numberOfFourPlayerGames, capacity);
+			numberOfFivePlayerGames = Arrays.copyOf(numberOfFivePlayerGames, capacity);
+			fourPlayerWins = Arrays.copyOf(fourPlayerWins, capacity);
+			fivePlayerWins = Arrays.copyOf(fivePlayerWins, capacity);
+			fourPlayerPositives = Arrays.copyOf(fourPlayerPositives, capacity);
+			fivePlayerPositives = Arrays.copyOf(fivePlayerPositives, capacity);
+			totalFinalScores = Arrays.copyOf(totalFinalScores, capacity);
+			totalGameScores = Arrays.copyOf(totalGameScores, capacity);
+			squareFinalScores = Arrays.copyOf(squareFinalScores, capacity);
+			squareGameScores = Arrays.copyOf(squareGameScores, capacity);
+			monthNumberOfGames = Arrays.copyOf(monthNumberOfGames, capacity);
+			monthTotalFinalScores = Arrays.copyOf(monthTotalFinalScores, capacity);
+			monthTotalGameScores = Arrays.copyOf(monthTotalGameScores, capacity);
+		}
+	}
+
+	public void addScore(final short playerId, final String playerName, final String displayName, final int date, final int nbPlayers,
+		final int ranking, final int gameScore, final int umaScore, final int finalScore) {
+		ensurePlayerCapacity(playerId);
+		if (playerNames[playerId] == null) {
+			playerNames[playerId] = playerName;
+			displayNames[playerId] = displayName;
+			monthNumberOfGames[playerId] = new int[numberOfMonths];
+			monthTotalFinalScores[playerId] = new long[numberOfMonths];
+			monthTotalGameScores[playerId] = new long[numberOfMonths];
+		}
+
+		numberOfGames[playerId]++;
+		totalFinalScores[playerId] += finalScore;
+		totalGameScores[playerId] += gameScore;
+		squareFinalScores[playerId] += (long) finalScore * finalScore;
+		squareGameScores[playerId] += (long) gameScore * gameScore;
+		if (nbPlayers == 4) {
+			numberOfFourPlayerGames[playerId]++;
+			if (ranking == 1) {
+				fourPlayerWins[playerId]++;
+			}
+			if (finalScore > 0) {
+				fourPlayerPositives[playerId]++;
+			}
+		} else if (nbPlayers == 5) {
+			numberOfFivePlayerGames[playerId]++;
+			if (ranking == 1) {
+				fivePlayerWins[playerId]++;
+			}
+			if (finalScore > 0) {
+				fivePlayerPositives[playerId]++;
+			}
+		}
+
+		if (date != lastAddedDate) {
+			lastAddedDate = date;
+			lastAddedMonth = getMonth(date) - firstMonth;
+		}
+		if (lastAddedMonth >= 0 && lastAddedMonth < numberOfMonths) {
+			monthNumberOfGames[playerId][lastAddedMonth]++;
+			monthTotalFinalScores[playerId][lastAddedMonth] += finalScore;
+			monthTotalGameScores[playerId][lastAddedMonth] += gameScore;
+		}
+
+		bestFinalScoresDescending.offer(playerId, date, finalScore, umaScore);
+		bestFinalScoresAscending.offer(playerId, date, finalScore, umaScore);
+		bestGameScoresDescending.offer(playerId, date, gameScore, umaScore);
+		bestGameScoresAscending.offer(playerId, date, gameScore, umaScore);
+	}
+
+	public List<RCRTotalScore> getRanking(final EnumRankingMode rankingMode, final EnumSortingMode sortingMode, final int minimumGames) {
+		final List<RCRTotalScore> rankingScores = new ArrayList<RCRTotalScore>();
+		switch (rankingMode) {
+			case TOTAL_FINAL_SCORE:
+				addTotals(rankingScores, totalFinalScores, minimumGames);
+				break;
+			case TOTAL_GAME_SCORE:
+				addTotals(rankingScores, totalGameScores, minimumGames);
+				break;
+			case MEAN_FINAL_SCORE:
+				addMeans(rankingScores, totalFinalScores, squareFinalScores, minimumGames);
+				break;
+			case MEAN_GAME_SCORE:
+				addMeans(rankingScores, totalGameScores, squareGameScores, minimumGames);
+				break;
+			case BEST_FINAL_SCORE:
+				addBestScores(rankingScores, sortingMode == EnumSortingMode.DESCENDING ? bestFinalScoresDescending : bestFinalScoresAscending, true);
+				return rankingScores;
+			case BEST_GAME_SCORE:
+				addBestScores(rankingScores, sortingMode == EnumSortingMode.DESCENDING ? bestGameScoresDescending : bestGameScoresAscending, false);
+				return rankingScores;
+			case WIN_RATE_4:
+				addRates(rankingScores, numberOfFourPlayerGames, fourPlayerWins, minimumGames);
+				break;
+			case WIN_RATE_5:
+				addRates(rankingScores, numberOfFivePlayerGames, fivePlayerWins, minimumGames / 4);
+				break;
+			case POSITIVE_RATE_4:
+				addRates(rankingScores, numberOfFourPlayerGames, fourPlayerPositives, minimumGames);
+				break;
+			case POSITIVE_RATE_5:
+				addRates(rankingScores, numberOfFivePlayerGames, fivePlayerPositives, minimumGames / 4);
+				break;
+			case MENSUAL_TOTAL_FINAL_SCORE:
+				addPeriodTotals(rankingScores, monthTotalFinalScores, 1, minimumGames);
+				break;
+			case TRIMESTRIAL_TOTAL_FINAL_SCORE:
+				addPeriodTotals(rankingScores, monthTotalFinalScores, 3, minimumGames);
+				break;
+			case ANNUAL_TOTAL_FINAL_SCORE:
+				addPeriodTotals(rankingScores, monthTotalFinalScores, 12, minimumGames);
+				break;
+			case MENSUAL_TOTAL_GAME_SCORE:
+				addPeriodTotals(rankingScores, monthTotalGameScores, 1, minimumGames);
+				break;
+			case TRIMESTRIAL_TOTAL_GAME_SCORE:
+				addPeriodTotals(rankingScores, monthTotalGameScores, 3, minimumGames);
+				break;
+			case ANNUAL_TOTAL_GAME_SCORE:
+				addPeriodTotals(rankingScores, monthTotalGameScores, 12, minimumGames);
+				break;
+			default:
+				break;
+		}
+
+		switch (sortingMode) {
+			case DESCENDING:
+				Collections.sort(rankingScores,
+					(final RCRTotalScore o1, final RCRTotalScore o2) -> -Double.compare(o1.totalScore.doubleValue(), o2.totalScore.doubleValue()));
+				break;
+			case ASCENDING:
+				Collections.sort(rankingScores,
+					(final RCRTotalScore o1, final RCRTotalScore o2) -> Double.compare(o1.totalScore.doubleValue(), o2.totalScore.doubleValue()));
+				break;
+			default:
+				break;
+		}
+		if (isPeriodRankingMode(rankingMode) && rankingScores.size() > NUMBER_TOP) {
+			return new ArrayList<RCRTotalScore>(rankingScores.subList(0, NUMBER_TOP));
+		}
+		return rankingScores;
+	}
+
+	public static boolean isPeriodRankingMode(final EnumRankingMode rankingMode) {
+		switch (rankingMode) {
+			case MENSUAL_TOTAL_FINAL_SCORE:
+			case TRIMESTRIAL_TOTAL_FINAL_SCORE:
+			case ANNUAL_TOTAL_FINAL_SCORE:
+			case MENSUAL_TOTAL_GAME_SCORE:
+			case TRIMESTRIAL_TOTAL_GAME_SCORE:
+			case ANNUAL_TOTAL_GAME_SCORE:
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	private boolean isCounted(final int playerId, final int count, final int minimumGames) {
+		return playerNames[playerId] != null && count > 0 && count >= minimumGames;
+	}
+
+	private void addTotals(final List<RCRTotalScore> rankingScores, final long[] totals, final int minimumGames) {
+		for (int playerId = 0; playerId < numberOfGames.length; playerId++) {
+			if (isCounted(playerId, numberOfGames[playerId], minimumGames)) {
+				final RCRTotalScore total = new RCRTotalScore(playerNames[playerId], displayNames[playerId], 0, 0, 0);
+				total.totalScore = (int) totals[playerId];
+				total.numberOfGame = numberOfGames[playerId];
+				rankingScores.add(total);
+			}
+		}
+	}
+
+	private void addMeans(final List<RCRTotalScore> rankingScores, final long[] totals, final long[] squares, final int minimumGames) {
+		for (int playerId = 0; playerId < numberOfGames.length; playerId++) {
+			final int count = numberOfGames[playerId];
+			if (isCounted(playerId, count, minimumGames)) {
+				final double mean = (double) totals[playerId] / count;
+				final double variance = Math.max(0.0, (double) squares[playerId] / count - mean * mean);
+				final RCRTotalScore total = new RCRTotalScore(playerNames[playerId], displayNames[playerId], 0, 0, 0);
+				total.totalScore = (int) (totals[playerId] / count);
+				total.umaScore = Math.round(Math.sqrt(variance));
+				total.numberOfGame = count;
+				rankingScores.add(total);
+			}
+		}
+	}
+
+	private void addRates(final List<RCRTotalScore> rankingScores, final int[] counts, final int[] successes, final int minimumGames) {
+		for (int playerId = 0; playerId < numberOfGames.length; playerId++) {
+			final int count = counts[playerId];
+			if (isCounted(playerId, count, minimumGames)) {
+				final RCRTotalScore total = new RCRTotalScore(playerNames[playerId], displayNames[playerId], 0, 0, 0);
+				total.numberOfGame = count;
+				total.umaScore = successes[playerId];
+				total.totalScore = successes[playerId] * 100.0 / count;
+				rankingScores.add(total);
+			}
+		}
+	}
+
+	private void addPeriodTotals(final List<RCRTotalScore> rankingScores, final long[][] monthTotals, final int monthsPerPeriod,
+		final int minimumGames) {
+		for (int playerId = 0; playerId < numberOfGames.length; playerId++) {
+			if (playerNames[playerId] != null) {
+				final int[] monthCounts = monthNumberOfGames[playerId];
+				final long[] totals = monthTotals[playerId];
+				int month = 0;
+				while (month < numberOfMonths) {
+					final int absoluteMonth = firstMonth + month;
+					final int periodEnd = Math.min(numberOfMonths, month + monthsPerPeriod - absoluteMonth % monthsPerPeriod);
+					int count = 0;
+					long periodTotal = 0;
+					for (int index = month; index < periodEnd; index++) {
+						count += monthCounts[index];
+						periodTotal += totals[index];
+					}
+					if (count > 0 && count >= minimumGames) {
+						final int year = absoluteMonth / 12;
+						final int periodInYear = absoluteMonth % 12 / monthsPerPeriod;
+						final RCRTotalScore total = new RCRTotalScore(playerNames[playerId], displayNames[playerId], year,
+							monthsPerPeriod == 12 ? 0 : periodInYear, 0);
+						total.totalScore = (int) periodTotal;
+						total.numberOfGame = count;
+						rankingScores.add(total);
+					}
+					month = periodEnd;
+				}
+			}
+		}
+	}
+
+	private void addBestScores(final List<RCRTotalScore> rankingScores, final TopScores topScores, final boolean withUma) {
+		for (int index = 0; index < topScores.size; index++) {
+			final int playerId = topScores.playerIds[index];
+			final LocalDate date = LocalDate.ofEpochDay(topScores.dates[index]);
+			final RCRTotalScore total = new RCRTotalScore(playerNames[playerId], displayNames[playerId], date.getYear(), date.getMonthValue() - 1,
+				date.getDayOfMonth());
+			total.totalScore = topScores.scores[index];
+			if (withUma) {
+				total.umaScore = topScores.umaScores[index];
+			}
+			rankingScores.add(total);
+		}
+	}
+
+	private static class TopScores {
+		private final boolean descending;
+		private final short[] playerIds;
+		private final int[] dates;
+		private final int[] scores;
+		private final int[] umaScores;
+		private int size;
+
+		private TopScores(final boolean descending) {
+			this.descending = descending;
+			playerIds = new short[NUMBER_TOP];
+			dates = new int[NUMBER_TOP];
+			scores = new int[NUMBER_TOP];
+			umaScores = new int[NUMBER_TOP];
+			size = 0;
+		}
+
+		private boolean isBetter(final int score, final int reference) {
+			return descending ? score > reference : score < reference;
+		}
+
+		private void offer(final short playerId, final int date, final int score, final int umaScore) {
+			if (size == NUMBER_TOP && !isBetter(score, scores[NUMBER_TOP - 1])) {
+				return;
+			}
+			int index = size < NUMBER_TOP ? size : NUMBER_TOP - 1;
+			while (index > 0 && isBetter(score, scores[index - 1])) {
+				playerIds[index] = playerIds[index - 1];
+				dates[index] = dates[index - 1];
+				scores[index] = scores[index - 1];
+				umaScores[index] = umaScores[index - 1];
+				index--;
+			}
+			playerIds[index] = playerId;
+			dates[index] = date;
+			scores[index] = score;
+			umaScores[index] = umaScore;
+			if (size < NUMBER_TOP) {
+				size++;
+			}
+		}
+	}
+
+}
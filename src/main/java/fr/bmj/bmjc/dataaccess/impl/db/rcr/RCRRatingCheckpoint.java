@@ -0,0 +1,58 @@
+/*
+ * This file is part of Breizh Mahjong Recorder.
+ *
+ * Breizh Mahjong Recorder is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Breizh Mahjong Recorder is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Breizh Mahjong Recorder. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.bmj.bmjc.dataaccess.impl.db.rcr;
+
+public class RCRRatingCheckpoint {
+
+	public final long lastGameId;
+	public final int lastDate;
+	public final int numberOfProcessedGames;
+	final double[] ratings;
+	final int[] numberOfGames;
+
+	private boolean saved;
+
+	public RCRRatingCheckpoint(final long lastGameId, final int lastDate, final int numberOfProcessedGames, final double[] ratings,
+		final int[] numberOfGames) {
+		this.lastGameId = lastGameId;
+		this.lastDate = lastDate;
+		this.numberOfProcessedGames = numberOfProcessedGames;
+		this.ratings = ratings;
+		this.numberOfGames = numberOfGames;
+	}
+
+	public int getCapacity() {
+		return ratings.length;
+	}
+
+	public double getRating(final int playerId) {
+		return playerId < ratings.length ? ratings[playerId] : RCRRatingEngine.INITIAL_RATING;
+	}
+
+	public int getNumberOfGames(final int playerId) {
+		return playerId < numberOfGames.length ? numberOfGames[playerId] : 0;
+	}
+
+	public synchronized boolean isSaved() {
+		return saved;
+	}
+
+	public synchronized void setSaved() {
+		saved = true;
+	}
+
+}
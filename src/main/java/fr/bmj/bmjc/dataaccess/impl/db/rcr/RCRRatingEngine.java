@@ -0,0 +1,193 @@
+/*
+ * This file is part of Breizh Mahjong Recorder.
+ *
+ * Breizh Mahjong Recorder is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Breizh Mahjong Recorder is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Breizh Mahjong Recorder. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.bmj.bmjc.dataaccess.impl.db.rcr;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class RCRRatingEngine {
+
+	public static final double INITIAL_RATING = 1500.0;
+
+	private static final double K_FACTOR = 32.0;
+	private static final double SCALE = 400.0;
+	private static final int INITIAL_NUMBER_OF_PLAYERS = 64;
+	private static final int MAX_NUMBER_OF_PLAYERS_PER_GAME = 5;
+
+	private final int checkpointInterval;
+	private final List<RCRRatingCheckpoint> checkpoints;
+
+	private double[] ratings;
+	private int[] numberOfGames;
+	private long lastGameId;
+	private int lastDate;
+	private int numberOfProcessedGames;
+
+	private long currentGameId;
+	private int currentDate;
+	private int currentSize;
+	private final short[] currentPlayerIds;
+	private final int[] currentPlaces;
+	private final double[] currentDeltas;
+
+	public RCRRatingEngine(final RCRRatingCheckpoint start, final int checkpointInterval) {
+		this.checkpointInterval = checkpointInterval;
+		checkpoints = new ArrayList<RCRRatingCheckpoint>();
+		currentPlayerIds = new short[MAX_NUMBER_OF_PLAYERS_PER_GAME];
+		currentPlaces = new int[MAX_NUMBER_OF_PLAYERS_PER_GAME];
+		currentDeltas = new double[MAX_NUMBER_OF_PLAYERS_PER_GAME];
+		if (start != null) {
+			checkpoints.add(start);
+		}
+		restore(start);
+	}
+
+	private void restore(final RCRRatingCheckpoint checkpoint) {
+		if (checkpoint != null) {
+			ratings = checkpoint.ratings.clone();
+			numberOfGames = checkpoint.numberOfGames.clone();
+			lastGameId = checkpoint.lastGameId;
+			lastDate = checkpoint.lastDate;
+			numberOfProcessedGames = checkpoint.numberOfProcessedGames;
+		} else {
+			ratings = new double[INITIAL_NUMBER_OF_PLAYERS];
+			Arrays.fill(ratings, INITIAL_RATING);
+			numberOfGames = new int[INITIAL_NUMBER_OF_PLAYERS];
+			lastGameId = -1;
+			lastDate = Integer.MIN_VALUE;
+			numberOfProcessedGames = 0;
+		}
+		currentGameId = -1;
+		currentSize = 0;
+	}
+
+	private void ensurePlayerCapacity(final int playerId) {
+		if (playerId >= ratings.length) {
+			final int oldCapacity = ratings.length;
+			final int capacity = Math.max(playerId + 1, oldCapacity * 2);
+			ratings = Arrays.copyOf(ratings, capacity);
+			Arrays.fill(ratings, oldCapacity, capacity, INITIAL_RATING);
+			numberOfGames = Arrays.copyOf(numberOfGames, capacity);
+		}
+	}
+
+	public void addScore(final long gameId, final int date, final short playerId, final int place) {
+		if (gameId != currentGameId) {
+			flush();
+			currentGameId = gameId;
+			currentDate = date;
+		}
+		if (currentSize < MAX_NUMBER_OF_PLAYERS_PER_GAME) {
+			ensurePlayerCapacity(playerId);
+			currentPlayerIds[currentSize] = playerId;
+			currentPlaces[currentSize] = place;
+			currentSize++;
+		}
+	}
+
+	public void flush() {
+		if (currentSize > 1) {
+			for (int index = 0; index < currentSize; index++) {
+				final double rating = ratings[currentPlayerIds[index]];
+				double delta = 0.0;
+				for (int opponent = 0; opponent < currentSize; opponent++) {
+					if (opponent != index) {
+						final double expected = 1.0 / (1.0 + Math.pow(10.0, (ratings[currentPlayerIds[opponent]] - rating) / SCALE));
+						final double result = currentPlaces[index] < currentPlaces[opponent] ? 1.0
+							: currentPlaces[index] == currentPlaces[opponent] ? 0.5 : 0.0;
+						delta += result - expected;
+					}
+				}
+				currentDeltas[index] = K_FACTOR * delta / (currentSize - 1);
+			}
+			for (int index = 0; index < currentSize; index++) {
+				ratings[currentPlayerIds[index]] += currentDeltas[index];
+				numberOfGames[currentPlayerIds[index]]++;
+			}
+		}
+		if (currentSize > 0) {
+			lastGameId = currentGameId;
+			lastDate = currentDate;
+			numberOfProcessedGames++;
+			if (checkpointInterval > 0 && numberOfProcessedGames % checkpointInterval == 0) {
+				checkpoints.add(getCheckpoint());
+			}
+		}
+		currentGameId = -1;
+		currentSize = 0;
+	}
+
+	public RCRRatingCheckpoint getCheckpoint() {
+		return new RCRRatingCheckpoint(lastGameId, lastDate, numberOfProcessedGames, ratings.clone(), numberOfGames.clone());
+	}
+
+	public List<RCRRatingCheckpoint> getCheckpoints() {
+		return checkpoints;
+	}
+
+	public RCRRatingCheckpoint getCheckpointBefore(final int date) {
+		for (int index = checkpoints.size() - 1; index >= 0; index--) {
+			if (checkpoints.get(index).lastDate < date) {
+				return checkpoints.get(index);
+			}
+		}
+		return null;
+	}
+
+	public boolean rewind(final long gameId) {
+		flush();
+		if (lastGameId < gameId) {
+			return true;
+		}
+		int index = checkpoints.size() - 1;
+		while (index >= 0 && checkpoints.get(index).lastGameId >= gameId) {
+			index--;
+		}
+		if (index < 0) {
+			return false;
+		}
+		checkpoints.subList(index + 1, checkpoints.size()).clear();
+		restore(checkpoints.get(index));
+		return true;
+	}
+
+	public long getLastGameId() {
+		return lastGameId;
+	}
+
+	public int getLastDate() {
+		return lastDate;
+	}
+
+	public int getNumberOfProcessedGames() {
+		return numberOfProcessedGames;
+	}
+
+	public int getCapacity() {
+		return ratings.length;
+	}
+
+	public double getRating(final int playerId) {
+		return playerId < ratings.length ? ratings[playerId] : INITIAL_RATING;
+	}
+
+	public int getNumberOfGames(final int playerId) {
+		return playerId < numberOfGames.length ? numberOfGames[playerId] : 0;
+	}
+
+}
@@ -0,0 +1,243 @@
+/*
+ * This file is part of Breizh Mahjong Recorder.
+ *
+ * Breizh Mahjong Recorder is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Breizh Mahjong Recorder is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Breizh Mahjong Recorder. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.bmj.bmjc.dataaccess.impl.db.rcr;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import fr.bmj.bmjc.data.game.Player;
+import fr.bmj.bmjc.data.stat.rcr.RCRDataPackageTrend;
+import fr.bmj.bmjc.data.stat.rcr.RCRTotalScore;
+import fr.bmj.bmjc.enums.EnumSortingMode;
+
+public class RCRRatingTracker {
+
+	public static final String CHECKPOINT_INTERVAL_PROPERTY = "bmjc.ratingCheckpointInterval";
+	public static final int DEFAULT_CHECKPOINT_INTERVAL = 128;
+
+	public interface Source {
+		public void replay(short tournamentId, long afterGameId, int lastDate, RCRRatingEngine engine) throws SQLException;
+	}
+
+	private final DataAccessDataBaseRCRRatingCheckpoints checkpoints;
+	private final int checkpointInterval;
+	private final Map<Short, RCRRatingEngine> engines;
+
+	public RCRRatingTracker(final DataAccessDataBaseRCRRatingCheckpoints checkpoints) {
+		this.checkpoints = checkpoints;
+		checkpointInterval = getConfiguredCheckpointInterval();
+		engines = new HashMap<Short, RCRRatingEngine>();
+	}
+
+	public static int getConfiguredCheckpointInterval() {
+		try {
+			return Math.max(1,
+				Integer.parseInt(System.getProperty(CHECKPOINT_INTERVAL_PROPERTY, Integer.toString(DEFAULT_CHECKPOINT_INTERVAL))));
+		} catch (final NumberFormatException e) {
+			return DEFAULT_CHECKPOINT_INTERVAL;
+		}
+	}
+
+	public void discardFrom(final short tournamentId, final long gameId) {
+		checkpoints.discardFrom(tournamentId, gameId);
+	}
+
+	public synchronized void invalidateFrom(final short tournamentId, final long gameId) {
+		final RCRRatingEngine engine = engines.get(tournamentId);
+		if (engine != null && !engine.rewind(gameId)) {
+			engines.remove(tournamentId);
+		}
+	}
+
+	public synchronized void invalidate() {
+		engines.clear();
+	}
+
+	private RCRRatingEngine getEngine(final short tournamentId, final Source source) throws SQLException {
+		RCRRatingEngine engine = engines.get(tournamentId);
+		if (engine == null) {
+			engine = new RCRRatingEngine(checkpoints.load(tournamentId), checkpointInterval);
+			engines.put(tournamentId, engine);
+		}
+		source.replay(tournamentId, engine.getLastGameId(), Integer.MAX_VALUE, engine);
+		engine.flush();
+		for (final RCRRatingCheckpoint checkpoint : engine.getCheckpoints()) {
+			checkpoints.save(tournamentId, checkpoint);
+		}
+		return engine;
+	}
+
+	public synchronized List<RCRTotalScore> getRanking(final short tournamentId, final Source source, final Player[] players,
+		final boolean onlyRegularPlayers, final EnumSortingMode sortingMode, final int minimumGames) throws SQLException {
+		final RCRRatingEngine engine = getEngine(tournamentId, source);
+		final List<RCRTotalScore> rankingScores = new ArrayList<RCRTotalScore>();
+		for (int playerId = 0; playerId < engine.getCapacity(); playerId++) {
+			final int count = engine.getNumberOfGames(playerId);
+			final Player player = playerId < players.length ? players[playerId] : null;
+			if (count > 0 && count >= minimumGames && (!onlyRegularPlayers || player != null && player.isRegular())) {
+				final RCRTotalScore total = new RCRTotalScore(player != null ? player.getPlayerName() : Integer.toString(playerId),
+					player != null ? player.getDisplayName() : Integer.toString(playerId), 0, 0, 0);
+				total.totalScore = (int) Math.round(engine.getRating(playerId));
+				total.numberOfGame = count;
+				rankingScores.add(total);
+			}
+		}
+
+		switch (sortingMode) {
+			case DESCENDING:
+				Collections.sort(rankingScores,
+					(final RCRTotalScore o1, final RCRTotalScore o2) -> -Double.compare(o1.totalScore.doubleValue(), o2.totalScore.doubleValue()));
+				break;
+			case ASCENDING:
+				Collections.sort(rankingScores,
+					(final RCRTotalScore o1, final RCRTotalScore o2) -> Double.compare(o1.totalScore.doubleValue(), o2.totalScore.doubleValue()));
+				break;
+			default:
+				break;
+		}
+		return rankingScores;
+	}
+
+	public synchronized RCRDataPackageTrend getTrend(final short tournamentId, final Source source, final int firstDate, final int lastDate,
+		final Player[] players) throws SQLException {
+		final RCRRatingEngine current = getEngine(tournamentId, source);
+		RCRRatingCheckpoint start = current.getCheckpointBefore(firstDate);
+		if (start == null && firstDate != Integer.MIN_VALUE) {
+			start = checkpoints.loadBefore(tournamentId, firstDate);
+		}
+
+		final TrendBuilder builder = new TrendBuilder(start, firstDate);
+		source.replay(tournamentId, start != null ? start.lastGameId : -1, lastDate, builder);
+		return builder.getDataPackage(players);
+	}
+
+	private static class TrendBuilder extends RCRRatingEngine {
+		private static final int NOT_PLAYED = Integer.MIN_VALUE;
+
+		private final int firstDate;
+		private final List<Short> playerIds;
+		private double[] startRatings;
+		private boolean[] played;
+		private int[] dates;
+		private int numberOfDates;
+		private short[] dayPlayerIds;
+		private int dayStart;
+		private int numberOfDayPlayers;
+		private double[] dayRatings;
+		private int[] dateEnds;
+
+		private TrendBuilder(final RCRRatingCheckpoint start, final int firstDate) {
+			super(start, 0);
+			this.firstDate = firstDate;
+			playerIds = new ArrayList<Short>();
+			startRatings = new double[getCapacity()];
+			played = new boolean[getCapacity()];
+			dates = new int[64];
+			dateEnds = new int[64];
+			dayPlayerIds = new short[256];
+			dayRatings = new double[256];
+			numberOfDates = 0;
+			dayStart = 0;
+			numberOfDayPlayers = 0;
+		}
+
+		@Override
+		public void addScore(final long gameId, final int date, final short playerId, final int place) {
+			if (date < firstDate) {
+				super.addScore(gameId, date, playerId, place);
+				return;
+			}
+			if (numberOfDates == 0 || dates[numberOfDates - 1] != date) {
+				endDate();
+				if (numberOfDates == dates.length) {
+					dates = Arrays.copyOf(dates, numberOfDates * 2);
+					dateEnds = Arrays.copyOf(dateEnds, numberOfDates * 2);
+				}
+				dates[numberOfDates++] = date;
+				dayStart = numberOfDayPlayers;
+			}
+			super.addScore(gameId, date, playerId, place);
+			if (playerId >= played.length) {
+				played = Arrays.copyOf(played, Math.max(playerId + 1, played.length * 2));
+				startRatings = Arrays.copyOf(startRatings, played.length);
+			}
+			if (!played[playerId]) {
+				played[playerId] = true;
+				startRatings[playerId] = getRating(playerId);
+				playerIds.add(playerId);
+			}
+			if (numberOfDayPlayers == dayPlayerIds.length) {
+				dayPlayerIds = Arrays.copyOf(dayPlayerIds, numberOfDayPlayers * 2);
+				dayRatings = Arrays.copyOf(dayRatings, numberOfDayPlayers * 2);
+			}
+			dayPlayerIds[numberOfDayPlayers++] = playerId;
+		}
+
+		private void endDate() {
+			flush();
+			if (numberOfDates > 0) {
+				for (int index = dayStart; index < numberOfDayPlayers; index++) {
+					dayRatings[index] = getRating(dayPlayerIds[index]);
+				}
+				dateEnds[numberOfDates - 1] = numberOfDayPlayers;
+			}
+		}
+
+		private RCRDataPackageTrend getDataPackage(final Player[] players) {
+			endDate();
+			final int[] playerIndexes = new int[played.length];
+			final String[] playerNames = new String[playerIds.size()];
+			final String[] displayNames = new String[playerIds.size()];
+			final int[][] scores = new int[playerIds.size()][numberOfDates + 1];
+			for (int playerIndex = 0; playerIndex < playerIds.size(); playerIndex++) {
+				final short playerId = playerIds.get(playerIndex);
+				final Player player = playerId < players.length ? players[playerId] : null;
+				playerIndexes[playerId] = playerIndex;
+				playerNames[playerIndex] = player != null ? player.getPlayerName() : Short.toString(playerId);
+				displayNames[playerIndex] = player != null ? player.getDisplayName() : Short.toString(playerId);
+				scores[playerIndex][0] = (int) Math.round(startRatings[playerId]);
+				Arrays.fill(scores[playerIndex], 1, numberOfDates + 1, NOT_PLAYED);
+			}
+
+			final long[] milliseconds = new long[numberOfDates + 1];
+			int index = 0;
+			for (int dateIndex = 0; dateIndex < numberOfDates; dateIndex++) {
+				milliseconds[dateIndex + 1] = LocalDate.ofEpochDay(dates[dateIndex]).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+				for (; index < dateEnds[dateIndex]; index++) {
+					scores[playerIndexes[dayPlayerIds[index]]][dateIndex + 1] = (int) Math.round(dayRatings[index]);
+				}
+			}
+			// The players keep their rating on the days they do not play
+			for (final int[] playerScores : scores) {
+				for (int dateIndex = 1; dateIndex < playerScores.length; dateIndex++) {
+					if (playerScores[dateIndex] == NOT_PLAYED) {
+						playerScores[dateIndex] = playerScores[dateIndex - 1];
+					}
+				}
+			}
+			return new RCRDataPackageTrend(milliseconds, playerNames, displayNames, scores);
+		}
+	}
+
+}
@@ -0,0 +1,241 @@
+/*
+ * This file is part of Breizh Mahjong Recorder.
+ *
+ * Breizh Mahjong Recorder is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Breizh Mahjong Recorder is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Breizh Mahjong Recorder. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.bmj.bmjc.dataaccess.impl.db.rcr;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+public class RCRScoreStore {
+
+	private static final int INITIAL_CAPACITY = 1024;
+
+	private long[] gameIds;
+	private int[] dates;
+	private short[] tournamentIds;
+	private byte[] nbPlayers;
+	private byte[] nbRounds;
+	private short[] playerIds;
+	private byte[] rankings;
+	private int[] gameScores;
+	private int[] umaScores;
+	private int[] finalScores;
+	private int size;
+	private short maxPlayerId;
+
+	public RCRScoreStore() {
+		allocate(INITIAL_CAPACITY);
+		size = 0;
+		maxPlayerId = 0;
+	}
+
+	private void allocate(final int capacity) {
+		gameIds = new long[capacity];
+		dates = new int[capacity];
+		tournamentIds = new short[capacity];
+		nbPlayers = new byte[capacity];
+		nbRounds = new byte[capacity];
+		playerIds = new short[capacity];
+		rankings = new byte[capacity];
+		gameScores = new int[capacity];
+		umaScores = new int[capacity];
+		finalScores = new int[capacity];
+	}
+
+	private void ensureCapacity(final int capacity) {
+		if (capacity > gameIds.length) {
+			final int newCapacity = Math.max(capacity, gameIds.length + (gameIds.length >> 1));
+			gameIds = Arrays.copyOf(gameIds, newCapacity);
+			dates = Arrays.copyOf(dates, newCapacity);
+			tournamentIds = Arrays.copyOf(tournamentIds, newCapacity);
+			nbPlayers = Arrays.copyOf(nbPlayers, newCapacity);
+			nbRounds = Arrays.copyOf(nbRounds, newCapacity);
+			playerIds = Arrays.copyOf(playerIds, newCapacity);
+			rankings = Arrays.copyOf(rankings, newCapacity);
+			gameScores = Arrays.copyOf(gameScores, newCapacity);
+			umaScores = Arrays.copyOf(umaScores, newCapacity);
+			finalScores = Arrays.copyOf(finalScores, newCapacity);
+		}
+	}
+
+	public void clear() {
+		allocate(INITIAL_CAPACITY);
+		size = 0;
+		maxPlayerId = 0;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public void add(final long gameId, final int date, final short tournamentId, final byte nbPlayer, final byte nbRound, final short playerId,
+		final byte ranking, final int gameScore, final int umaScore, final int finalScore) {
+		ensureCapacity(size + 1);
+		set(size, gameId, date, tournamentId, nbPlayer, nbRound, playerId, ranking, gameScore, umaScore, finalScore);
+		size++;
+	}
+
+	public void insert(final long gameId, final int date, final short tournamentId, final byte nbPlayer, final byte nbRound, final short playerId,
+		final byte ranking, final int gameScore, final int umaScore, final int finalScore) {
+		ensureCapacity(size + 1);
+		int index = lowerBound(date);
+		while (index < size && dates[index] == date && (gameIds[index] < gameId || gameIds[index] == gameId && rankings[index] <= ranking)) {
+			index++;
+		}
+		final int moved = size - index;
+		if (moved > 0) {
+			System.arraycopy(gameIds, index, gameIds, index + 1, moved);
+			System.arraycopy(dates, index, dates, index + 1, moved);
+			System.arraycopy(tournamentIds, index, tournamentIds, index + 1, moved);
+			System.arraycopy(nbPlayers, index, nbPlayers, index + 1, moved);
+			System.arraycopy(nbRounds, index, nbRounds, index + 1, moved);
+			System.arraycopy(playerIds, index, playerIds, index + 1, moved);
+			System.arraycopy(rankings, index, rankings, index + 1, moved);
+			System.arraycopy(gameScores, index, gameScores, index + 1, moved);
+			System.arraycopy(umaScores, index, umaScores, index + 1, moved);
+			System.arraycopy(finalScores, index, finalScores, index + 1, moved);
+		}
+		set(index, gameId, date, tournamentId, nbPlayer, nbRound, playerId, ranking, gameScore, umaScore, finalScore);
+		size++;
+	}
+
+	private void set(final int index, final long gameId, final int date, final short tournamentId, final byte nbPlayer, final byte nbRound,
+		final short playerId, final byte ranking, final int gameScore, final int umaScore, final int finalScore) {
+		gameIds[index] = gameId;
+		dates[index] = date;
+		tournamentIds[index] = tournamentId;
+		nbPlayers[index] = nbPlayer;
+		nbRounds[index] = nbRound;
+		playerIds[index] = playerId;
+		rankings[index] = ranking;
+		gameScores[index] = gameScore;
+		umaScores[index] = umaScore;
+		finalScores[index] = finalScore;
+		if (playerId > maxPlayerId) {
+			maxPlayerId = playerId;
+		}
+	}
+
+	public int removeGame(final long gameId) {
+		final int first = indexOfGame(gameId);
+		if (first < 0) {
+			return 0;
+		}
+		int last = first;
+		while (last < size && gameIds[last] == gameId) {
+			last++;
+		}
+		final int moved = size - last;
+		final int removed = last - first;
+		if (moved > 0) {
+			System.arraycopy(gameIds, last, gameIds, first, moved);
+			System.arraycopy(dates, last, dates, first, moved);
+			System.arraycopy(tournamentIds, last, tournamentIds, first, moved);
+			System.arraycopy(nbPlayers, last, nbPlayers, first, moved);
+			System.arraycopy(nbRounds, last, nbRounds, first, moved);
+			System.arraycopy(playerIds, last, playerIds, first, moved);
+			System.arraycopy(rankings, last, rankings, first, moved);
+			System.arraycopy(gameScores, last, gameScores, first, moved);
+			System.arraycopy(umaScores, last, umaScores, first, moved);
+			System.arraycopy(finalScores, last, finalScores, first, moved);
+		}
+		size -= removed;
+		return removed;
+	}
+
+	public short getMaxPlayerId() {
+		return maxPlayerId;
+	}
+
+	public int indexOfGame(final long gameId) {
+		final long day = gameId / 100;
+		try {
+			return indexOfGame(gameId, (int) LocalDate.of((int) (day / 10000), (int) (day / 100 % 100), (int) (day % 100)).toEpochDay());
+		} catch (final DateTimeException e) {
+			for (int index = 0; index < size; index++) {
+				if (gameIds[index] == gameId) {
+					return index;
+				}
+			}
+			return -1;
+		}
+	}
+
+	public int indexOfGame(final long gameId, final int date) {
+		for (int index = lowerBound(date); index < size && dates[index] == date; index++) {
+			if (gameIds[index] == gameId) {
+				return index;
+			}
+		}
+		return -1;
+	}
+
+	public int lowerBound(final int date) {
+		int low = 0;
+		int high = size;
+		while (low < high) {
+			final int middle = (low + high) >>> 1;
+			if (dates[middle] < date) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	public long getGameId(final int index) {
+		return gameIds[index];
+	}
+
+	public int getDate(final int index) {
+		return dates[index];
+	}
+
+	public short getTournamentId(final int index) {
+		return tournamentIds[index];
+	}
+
+	public byte getNbPlayers(final int index) {
+		return nbPlayers[index];
+	}
+
+	public byte getNbRounds(final int index) {
+		return nbRounds[index];
+	}
+
+	public short getPlayerId(final int index) {
+		return playerIds[index];
+	}
+
+	public byte getRanking(final int index) {
+		return rankings[index];
+	}
+
+	public int getGameScore(final int index) {
+		return gameScores[index];
+	}
+
+	public int getUmaScore(final int index) {
+		return umaScores[index];
+	}
+
+	public int getFinalScore(final int index) {
+		return finalScores[index];
+	}
+
+}
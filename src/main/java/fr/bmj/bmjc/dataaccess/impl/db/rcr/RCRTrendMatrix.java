@@ -0,0 +1,71 @@
+/*
+ * This file is part of Breizh Mahjong Recorder.
+ *
+ * Breizh Mahjong Recorder is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Breizh Mahjong Recorder is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Breizh Mahjong Recorder. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.bmj.bmjc.dataaccess.impl.db.rcr;
+
+import java.util.Arrays;
+
+import fr.bmj.bmjc.data.stat.rcr.RCRDataPackageTrend;
+
+public class RCRTrendMatrix {
+
+	private static final int INITIAL_NUMBER_OF_DATES = 64;
+
+	private final String[] playerNames;
+	private final String[] displayNames;
+	private final int[] totals;
+	private int[][] scores;
+	private long[] dates;
+	private int numberOfDates;
+
+	public RCRTrendMatrix(final String[] playerNames, final String[] displayNames) {
+		this.playerNames = playerNames;
+		this.displayNames = displayNames;
+		totals = new int[playerNames.length];
+		scores = new int[playerNames.length][INITIAL_NUMBER_OF_DATES];
+		dates = new long[INITIAL_NUMBER_OF_DATES];
+		// Origin column
+		numberOfDates = 1;
+	}
+
+	public void addScore(final int playerIndex, final int score) {
+		totals[playerIndex] += score;
+	}
+
+	public void endDate(final long date) {
+		if (numberOfDates == dates.length) {
+			final int capacity = dates.length * 2;
+			dates = Arrays.copyOf(dates, capacity);
+			for (int playerIndex = 0; playerIndex < scores.length; playerIndex++) {
+				scores[playerIndex] = Arrays.copyOf(scores[playerIndex], capacity);
+			}
+		}
+		dates[numberOfDates] = date;
+		for (int playerIndex = 0; playerIndex < scores.length; playerIndex++) {
+			scores[playerIndex][numberOfDates] = totals[playerIndex];
+		}
+		numberOfDates++;
+	}
+
+	public RCRDataPackageTrend getDataPackage() {
+		final int[][] trimmedScores = new int[scores.length][];
+		for (int playerIndex = 0; playerIndex < scores.length; playerIndex++) {
+			trimmedScores[playerIndex] = Arrays.copyOf(scores[playerIndex], numberOfDates);
+		}
+		return new RCRDataPackageTrend(Arrays.copyOf(dates, numberOfDates), playerNames, displayNames, trimmedScores);
+	}
+
+}
@@ -0,0 +1,151 @@
+/*
+ * This file is part of Breizh Mahjong Recorder.
+ *
+ * Breizh Mahjong Recorder is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Breizh Mahjong Recorder is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Breizh Mahjong Recorder. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.bmj.bmjc.dataaccess.impl.monitor;
+
+import java.util.Arrays;
+
+public class DataAccessMethodStats implements DataAccessMethodStatsMBean {
+
+	private static final int SUB_BUCKET_BITS = 3;
+	private static final int NB_SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int NB_BUCKETS = (64 - SUB_BUCKET_BITS) * NB_SUB_BUCKETS;
+	private static final double NANOSECONDS_PER_MILLISECOND = 1000000.0;
+
+	private final String name;
+	private final long buckets[];
+	private long count;
+	private long totalTime;
+	private long maxTime;
+	private long queryTime;
+	private long nbRows;
+
+	public DataAccessMethodStats(final String name) {
+		this.name = name;
+		buckets = new long[NB_BUCKETS];
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	private static int getBucket(final long microseconds) {
+		if (microseconds < 2 * NB_SUB_BUCKETS) {
+			return (int) microseconds;
+		}
+		final int shift = 63 - Long.numberOfLeadingZeros(microseconds) - SUB_BUCKET_BITS;
+		return shift * NB_SUB_BUCKETS + (int) (microseconds >>> shift);
+	}
+
+	private static double getBucketValue(final int bucket) {
+		if (bucket < 2 * NB_SUB_BUCKETS) {
+			return bucket;
+		}
+		final int shift = bucket / NB_SUB_BUCKETS - 1;
+		final long first = (long) (bucket % NB_SUB_BUCKETS + NB_SUB_BUCKETS) << shift;
+		return first + ((1L << shift) - 1) / 2.0;
+	}
+
+	public synchronized void add(final long time, final DataAccessQueryMetrics metrics) {
+		final long duration = Math.max(0, time);
+		buckets[getBucket(duration / 1000)]++;
+		count++;
+		totalTime += duration;
+		maxTime = Math.max(maxTime, duration);
+		queryTime += metrics.getQueryTime();
+		nbRows += metrics.getNbRows();
+	}
+
+	public synchronized double getPercentileTime(final double percentile) {
+		if (count == 0) {
+			return 0.0;
+		}
+		final long rank = Math.max(1, (long) Math.ceil(count * percentile / 100.0));
+		long nbCalls = 0;
+		for (int bucket = 0; bucket < buckets.length; bucket++) {
+			nbCalls += buckets[bucket];
+			if (nbCalls >= rank) {
+				return Math.min(getBucketValue(bucket) / 1000.0, maxTime / NANOSECONDS_PER_MILLISECOND);
+			}
+		}
+		return maxTime / NANOSECONDS_PER_MILLISECOND;
+	}
+
+	@Override
+	public synchronized long getCount() {
+		return count;
+	}
+
+	@Override
+	public synchronized double getMeanTime() {
+		return count > 0 ? totalTime / NANOSECONDS_PER_MILLISECOND / count : 0.0;
+	}
+
+	@Override
+	public double getMedianTime() {
+		return getPercentileTime(50.0);
+	}
+
+	@Override
+	public double get95thPercentileTime() {
+		return getPercentileTime(95.0);
+	}
+
+	@Override
+	public double get99thPercentileTime() {
+		return getPercentileTime(99.0);
+	}
+
+	@Override
+	public synchronized double getMaxTime() {
+		return maxTime / NANOSECONDS_PER_MILLISECOND;
+	}
+
+	@Override
+	public synchronized double getQueryTime() {
+		return queryTime / NANOSECONDS_PER_MILLISECOND;
+	}
+
+	@Override
+	public synchronized double getProcessingTime() {
+		return Math.max(0, totalTime - queryTime) / NANOSECONDS_PER_MILLISECOND;
+	}
+
+	@Override
+	public synchronized long getNbRows() {
+		return nbRows;
+	}
+
+	@Override
+	public synchronized void reset() {
+		Arrays.fill(buckets, 0);
+		count = 0;
+		totalTime = 0;
+		maxTime = 0;
+		queryTime = 0;
+		nbRows = 0;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return name + ": calls " + Long.toString(count) + ", mean " + String.format("%.3f", getMeanTime()) + " ms, p50 "
+			+ String.format("%.3f", getMedianTime()) + " ms, p95 " + String.format("%.3f", get95thPercentileTime()) + " ms, p99 "
+			+ String.format("%.3f", get99thPercentileTime()) + " ms, max " + String.format("%.3f", getMaxTime()) + " ms, query "
+			+ String.format("%.1f", getQueryTime()) + " ms, processing " + String.format("%.1f", getProcessingTime()) + " ms, rows "
+			+ Long.toString(nbRows);
+	}
+
+}
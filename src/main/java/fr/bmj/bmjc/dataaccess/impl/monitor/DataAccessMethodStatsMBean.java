@@ -0,0 +1,41 @@
+/*
+ * This file is part of Breizh Mahjong Recorder.
+ *
+ * Breizh Mahjong Recorder is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Breizh Mahjong Recorder is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Breizh Mahjong Recorder. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.bmj.bmjc.dataaccess.impl.monitor;
+
+public interface DataAccessMethodStatsMBean {
+
+	public long getCount();
+
+	public double getMeanTime();
+
+	public double getMedianTime();
+
+	public double get95thPercentileTime();
+
+	public double get99thPercentileTime();
+
+	public double getMaxTime();
+
+	public double getQueryTime();
+
+	public double getProcessingTime();
+
+	public long getNbRows();
+
+	public void reset();
+
+}
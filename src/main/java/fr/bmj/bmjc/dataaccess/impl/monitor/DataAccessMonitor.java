@@ -0,0 +1,213 @@
+/*
+ * This file is part of Breizh Mahjong Recorder.
+ *
+ * Breizh Mahjong Recorder is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Breizh Mahjong Recorder is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Breizh Mahjong Recorder. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.bmj.bmjc.dataaccess.impl.monitor;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import fr.bmj.bmjc.dataaccess.abs.DataAccess;
+import fr.bmj.bmjc.dataaccess.abs.player.DataAccessManagePlayer;
+import fr.bmj.bmjc.dataaccess.abs.rcr.DataAccessRCR;
+
+public class DataAccessMonitor implements DataAccess, DataAccessMonitorMBean {
+
+	public static final String ENABLED_PROPERTY = "bmjc.monitoring";
+	public static final String OBJECT_NAME = "fr.bmj.bmjc:type=DataAccess";
+
+	private final DataAccess dataAccess;
+	private final Map<String, DataAccessMethodStats> stats;
+	private final MBeanServer mBeanServer;
+	private volatile boolean enabled;
+
+	private DataAccessRCR dataAccessRCR;
+	private DataAccessMonitorRCR monitorRCR;
+	private DataAccessManagePlayer dataAccessManagePlayer;
+	private DataAccessMonitorManagePlayer monitorManagePlayer;
+
+	public DataAccessMonitor(final DataAccess dataAccess) {
+		this.dataAccess = dataAccess;
+		stats = new LinkedHashMap<String, DataAccessMethodStats>();
+		enabled = isConfiguredEnabled();
+		mBeanServer = getMBeanServer();
+		register(OBJECT_NAME, this);
+	}
+
+	public static boolean isConfiguredEnabled() {
+		return Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, "false"));
+	}
+
+	private static MBeanServer getMBeanServer() {
+		try {
+			return ManagementFactory.getPlatformMBeanServer();
+		} catch (final Exception e) {
+			// Without JMX, the measures are still shown in the diagnostics window
+			e.printStackTrace();
+			return null;
+		}
+	}
+
+	private void register(final String name, final Object mBean) {
+		if (mBeanServer != null) {
+			try {
+				final ObjectName objectName = new ObjectName(name);
+				if (mBeanServer.isRegistered(objectName)) {
+					mBeanServer.unregisterMBean(objectName);
+				}
+				mBeanServer.registerMBean(mBean, objectName);
+			} catch (final Exception e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	private void unregister(final String name) {
+		if (mBeanServer != null) {
+			try {
+				final ObjectName objectName = new ObjectName(name);
+				if (mBeanServer.isRegistered(objectName)) {
+					mBeanServer.unregisterMBean(objectName);
+				}
+			} catch (final Exception e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	private static String getObjectName(final String method) {
+		return OBJECT_NAME + ",name=" + method;
+	}
+
+	private DataAccessMethodStats getStats(final String method) {
+		DataAccessMethodStats methodStats;
+		synchronized (stats) {
+			methodStats = stats.get(method);
+			if (methodStats != null) {
+				return methodStats;
+			}
+			methodStats = new DataAccessMethodStats(method);
+			stats.put(method, methodStats);
+		}
+		register(getObjectName(method), methodStats);
+		return methodStats;
+	}
+
+	<T> T measure(final String method, final Supplier<T> call) {
+		if (!enabled) {
+			return call.get();
+		}
+
+		final DataAccessQueryMetrics previous = DataAccessQueryMetrics.current();
+		final DataAccessQueryMetrics metrics = new DataAccessQueryMetrics();
+		metrics.bind();
+		final long start = System.nanoTime();
+		try {
+			return call.get();
+		} finally {
+			final long time = System.nanoTime() - start;
+			metrics.unbind();
+			if (previous != null) {
+				// A call made by another one is measured on its own, and its queries count in the calling one too
+				previous.add(metrics);
+				previous.bind();
+			}
+			getStats(method).add(time, metrics);
+		}
+	}
+
+	public List<DataAccessMethodStats> getStats() {
+		synchronized (stats) {
+			return Collections.unmodifiableList(new ArrayList<DataAccessMethodStats>(stats.values()));
+		}
+	}
+
+	@Override
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	@Override
+	public void setEnabled(final boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	@Override
+	public void reset() {
+		for (final DataAccessMethodStats methodStats : getStats()) {
+			methodStats.reset();
+		}
+	}
+
+	@Override
+	public String[] getMethodNames() {
+		synchronized (stats) {
+			return stats.keySet().toArray(new String[stats.size()]);
+		}
+	}
+
+	@Override
+	public void initialize() {
+		dataAccess.initialize();
+	}
+
+	@Override
+	public boolean isConnected() {
+		return dataAccess.isConnected();
+	}
+
+	@Override
+	public void disconnect() {
+		dataAccess.disconnect();
+		for (final String method : getMethodNames()) {
+			unregister(getObjectName(method));
+		}
+		unregister(OBJECT_NAME);
+	}
+
+	@Override
+	public synchronized DataAccessManagePlayer getManagePlayer() {
+		final DataAccessManagePlayer current = dataAccess.getManagePlayer();
+		if (current != dataAccessManagePlayer) {
+			dataAccessManagePlayer = current;
+			monitorManagePlayer = current != null ? new DataAccessMonitorManagePlayer(this, current) : null;
+		}
+		return monitorManagePlayer;
+	}
+
+	@Override
+	public synchronized DataAccessRCR getRCR() {
+		final DataAccessRCR current = dataAccess.getRCR();
+		if (current != dataAccessRCR) {
+			dataAccessRCR = current;
+			monitorRCR = current != null ? new DataAccessMonitorRCR(this, current) : null;
+		}
+		return monitorRCR;
+	}
+
+	@Override
+	public String toString() {
+		return "Monitoring " + (enabled ? "on" : "off") + ", " + Integer.toString(getMethodNames().length) + " methods measured";
+	}
+
+}
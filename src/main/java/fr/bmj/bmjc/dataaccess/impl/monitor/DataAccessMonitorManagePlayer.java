@@ -0,0 +1,66 @@
+/*
+ * This file is part of Breizh Mahjong Recorder.
+ *
+ * Breizh Mahjong Recorder is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Breizh Mahjong Recorder is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Breizh Mahjong Recorder. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.bmj.bmjc.dataaccess.impl.monitor;
+
+import java.util.List;
+
+import fr.bmj.bmjc.data.game.Player;
+import fr.bmj.bmjc.dataaccess.abs.UpdateResult;
+import fr.bmj.bmjc.dataaccess.abs.player.DataAccessManagePlayer;
+
+public class DataAccessMonitorManagePlayer implements DataAccessManagePlayer {
+
+	private final DataAccessMonitor monitor;
+	private final DataAccessManagePlayer dataAccess;
+
+	public DataAccessMonitorManagePlayer(final DataAccessMonitor monitor, final DataAccessManagePlayer dataAccess) {
+		this.monitor = monitor;
+		this.dataAccess = dataAccess;
+	}
+
+	@Override
+	public UpdateResult addPlayer(final String name, final String displayName) {
+		return monitor.measure("addPlayer", () -> dataAccess.addPlayer(name, displayName));
+	}
+
+	@Override
+	public List<Player> getAllPlayers() {
+		return monitor.measure("getAllPlayers", () -> dataAccess.getAllPlayers());
+	}
+
+	@Override
+	public UpdateResult modifyPlayer(final short id, final String name, final String displayName, final boolean frequent, final boolean regular,
+		final String license) {
+		return monitor.measure("modifyPlayer", () -> dataAccess.modifyPlayer(id, name, displayName, frequent, regular, license));
+	}
+
+	@Override
+	public UpdateResult deletePlayer(final short id) {
+		return monitor.measure("deletePlayer", () -> dataAccess.deletePlayer(id));
+	}
+
+	@Override
+	public void setOnlyFrequentPlayers(final boolean onlyFrequentPlayers) {
+		dataAccess.setOnlyFrequentPlayers(onlyFrequentPlayers);
+	}
+
+	@Override
+	public List<Player> getPlayers() {
+		return monitor.measure("getPlayers", () -> dataAccess.getPlayers());
+	}
+
+}
@@ -0,0 +1,195 @@
+/*
+ * This file is part of Breizh Mahjong Recorder.
+ *
+ * Breizh Mahjong Recorder is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Breizh Mahjong Recorder is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Breizh Mahjong Recorder. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.bmj.bmjc.dataaccess.impl.monitor;
+
+import java.io.Reader;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import fr.bmj.bmjc.data.game.Player;
+import fr.bmj.bmjc.data.game.Tournament;
+import fr.bmj.bmjc.data.game.rcr.RCRGame;
+import fr.bmj.bmjc.data.game.rcr.RCRGameDate;
+import fr.bmj.bmjc.data.stat.rcr.RCRDataPackagePersonalAnalyze;
+import fr.bmj.bmjc.data.stat.rcr.RCRDataPackageScoreAnalyze;
+import fr.bmj.bmjc.data.stat.rcr.RCRDataPackageTrend;
+import fr.bmj.bmjc.data.stat.rcr.RCRTotalScore;
+import fr.bmj.bmjc.dataaccess.abs.UpdateResult;
+import fr.bmj.bmjc.dataaccess.abs.rcr.DataAccessRCR;
+import fr.bmj.bmjc.dataaccess.abs.rcr.RCRGameListener;
+import fr.bmj.bmjc.dataaccess.abs.rcr.RCRGameVisitor;
+import fr.bmj.bmjc.enums.EnumPeriodMode;
+import fr.bmj.bmjc.enums.EnumRankingMode;
+import fr.bmj.bmjc.enums.EnumScoreMode;
+import fr.bmj.bmjc.enums.EnumSortingMode;
+
+public class DataAccessMonitorRCR implements DataAccessRCR {
+
+	private final DataAccessMonitor monitor;
+	private final DataAccessRCR dataAccess;
+
+	public DataAccessMonitorRCR(final DataAccessMonitor monitor, final DataAccessRCR dataAccess) {
+		this.monitor = monitor;
+		this.dataAccess = dataAccess;
+	}
+
+	@Override
+	public void addRCRGameListener(final RCRGameListener listener) {
+		dataAccess.addRCRGameListener(listener);
+	}
+
+	@Override
+	public void removeRCRGameListener(final RCRGameListener listener) {
+		dataAccess.removeRCRGameListener(listener);
+	}
+
+	@Override
+	public UpdateResult addRCRTournament(final String tournamentName) {
+		return monitor.measure("addRCRTournament", () -> dataAccess.addRCRTournament(tournamentName));
+	}
+
+	@Override
+	public UpdateResult modifyRCRTournament(final short tournamentId, final String tournamentName) {
+		return monitor.measure("modifyRCRTournament", () -> dataAccess.modifyRCRTournament(tournamentId, tournamentName));
+	}
+
+	@Override
+	public List<Tournament> getRCRTournaments() {
+		return monitor.measure("getRCRTournaments", () -> dataAccess.getRCRTournaments());
+	}
+
+	@Override
+	public UpdateResult deleteRCRTournament(final short tournamentId) {
+		return monitor.measure("deleteRCRTournament", () -> dataAccess.deleteRCRTournament(tournamentId));
+	}
+
+	@Override
+	public void setOnlyRegularPlayers(final boolean onlyRegularPlayers) {
+		dataAccess.setOnlyRegularPlayers(onlyRegularPlayers);
+	}
+
+	@Override
+	public UpdateResult addRCRGame(final RCRGame game) {
+		return monitor.measure("addRCRGame", () -> dataAccess.addRCRGame(game));
+	}
+
+	@Override
+	public List<Integer> getRCRYears(final Tournament tournament) {
+		return monitor.measure("getRCRYears", () -> dataAccess.getRCRYears(tournament));
+	}
+
+	@Override
+	public List<Integer> getRCRGameDays(final Tournament tournament, final int year, final int month) {
+		return monitor.measure("getRCRGameDays", () -> dataAccess.getRCRGameDays(tournament, year, month));
+	}
+
+	@Override
+	public List<Long> getRCRGameIds(final Tournament tournament, final int year, final int month, final int day) {
+		return monitor.measure("getRCRGameIds", () -> dataAccess.getRCRGameIds(tournament, year, month, day));
+	}
+
+	@Override
+	public List<RCRGameDate> getRCRGameDates(final Tournament tournament) {
+		return monitor.measure("getRCRGameDates", () -> dataAccess.getRCRGameDates(tournament));
+	}
+
+	@Override
+	public RCRGame getRCRGame(final long id) {
+		return monitor.measure("getRCRGame", () -> dataAccess.getRCRGame(id));
+	}
+
+	@Override
+	public boolean getRCRGames(final Tournament tournament, final LocalDate from, final LocalDate to, final RCRGameVisitor visitor) {
+		return monitor.measure("getRCRGames", () -> dataAccess.getRCRGames(tournament, from, to, visitor));
+	}
+
+	@Override
+	public UpdateResult deleteRCRGame(final long id) {
+		return monitor.measure("deleteRCRGame", () -> dataAccess.deleteRCRGame(id));
+	}
+
+	@Override
+	public UpdateResult importRCRGames(final Reader reader, final int batchSize) {
+		return monitor.measure("importRCRGames", () -> dataAccess.importRCRGames(reader, batchSize));
+	}
+
+	@Override
+	public List<Player> getRCRPlayers() {
+		return monitor.measure("getRCRPlayers", () -> dataAccess.getRCRPlayers());
+	}
+
+	@Override
+	public List<Player> getRCRPlayers(final boolean onlyRegularPlayers) {
+		return monitor.measure("getRCRPlayers", () -> dataAccess.getRCRPlayers(onlyRegularPlayers));
+	}
+
+	@Override
+	public void setUseMinimumGame(final boolean useMinimumGame) {
+		dataAccess.setUseMinimumGame(useMinimumGame);
+	}
+
+	@Override
+	public List<RCRTotalScore> getRCRDataPackageRanking(final Tournament tournament, final EnumRankingMode rankingMode, final EnumSortingMode sortingMode,
+		final EnumPeriodMode periodMode, final int year, final int trimester, final int month, final int day) {
+		return monitor.measure("getRCRDataPackageRanking",
+			() -> dataAccess.getRCRDataPackageRanking(tournament, rankingMode, sortingMode, periodMode, year, trimester, month, day));
+	}
+
+	@Override
+	public List<RCRTotalScore> getRCRDataPackageRanking(final Tournament tournament, final EnumRankingMode rankingMode, final EnumSortingMode sortingMode,
+		final EnumPeriodMode periodMode, final int year, final int trimester, final int month, final int day, final boolean onlyRegularPlayers,
+		final boolean useMinimumGame) {
+		return monitor.measure("getRCRDataPackageRanking", () -> dataAccess.getRCRDataPackageRanking(tournament, rankingMode, sortingMode, periodMode, year,
+			trimester, month, day, onlyRegularPlayers, useMinimumGame));
+	}
+
+	@Override
+	public RCRDataPackageTrend getRCRDataPackageTrend(final Tournament tournament, final EnumPeriodMode periodMode, final int year, final int trimester,
+		final int month, final int day) {
+		return monitor.measure("getRCRDataPackageTrend", () -> dataAccess.getRCRDataPackageTrend(tournament, periodMode, year, trimester, month, day));
+	}
+
+	@Override
+	public RCRDataPackageTrend getRCRDataPackageRatingTrend(final Tournament tournament, final EnumPeriodMode periodMode, final int year,
+		final int trimester, final int month, final int day) {
+		return monitor.measure("getRCRDataPackageRatingTrend",
+			() -> dataAccess.getRCRDataPackageRatingTrend(tournament, periodMode, year, trimester, month, day));
+	}
+
+	@Override
+	public RCRDataPackagePersonalAnalyze getRCRDataPackagePersonalAnalyze(final Tournament tournament, final short playerId, final EnumScoreMode scoreMode,
+		final EnumPeriodMode periodMode, final int year, final int trimester, final int month, final int day) {
+		return monitor.measure("getRCRDataPackagePersonalAnalyze",
+			() -> dataAccess.getRCRDataPackagePersonalAnalyze(tournament, playerId, scoreMode, periodMode, year, trimester, month, day));
+	}
+
+	@Override
+	public Map<Short, RCRDataPackagePersonalAnalyze> getRCRDataPackagePersonalAnalyzeAllPlayers(final Tournament tournament, final EnumScoreMode scoreMode,
+		final EnumPeriodMode periodMode, final int year, final int trimester, final int month, final int day) {
+		return monitor.measure("getRCRDataPackagePersonalAnalyzeAllPlayers",
+			() -> dataAccess.getRCRDataPackagePersonalAnalyzeAllPlayers(tournament, scoreMode, periodMode, year, trimester, month, day));
+	}
+
+	@Override
+	public RCRDataPackageScoreAnalyze getRCRDataPackageScoreAnalyze(final Tournament tournament, final EnumPeriodMode periodMode, final int year,
+		final int trimester, final int month, final int day) {
+		return monitor.measure("getRCRDataPackageScoreAnalyze",
+			() -> dataAccess.getRCRDataPackageScoreAnalyze(tournament, periodMode, year, trimester, month, day));
+	}
+
+}
@@ -0,0 +1,144 @@
+/*
+ * This file is part of Breizh Mahjong Recorder.
+ *
+ * Breizh Mahjong Recorder is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Breizh Mahjong Recorder is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Breizh Mahjong Recorder. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.bmj.bmjc.dataaccess.impl.monitor;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+public class DataAccessQueryMetrics {
+
+	private static final ThreadLocal<DataAccessQueryMetrics> CURRENT = new ThreadLocal<DataAccessQueryMetrics>();
+
+	private long queryTime;
+	private long nbRows;
+
+	public static DataAccessQueryMetrics current() {
+		return CURRENT.get();
+	}
+
+	public void bind() {
+		CURRENT.set(this);
+	}
+
+	public void unbind() {
+		if (CURRENT.get() == this) {
+			CURRENT.remove();
+		}
+	}
+
+	public long getQueryTime() {
+		return queryTime;
+	}
+
+	public long getNbRows() {
+		return nbRows;
+	}
+
+	void add(final DataAccessQueryMetrics metrics) {
+		queryTime += metrics.queryTime;
+		nbRows += metrics.nbRows;
+	}
+
+	public static PreparedStatement measure(final PreparedStatement statement) {
+		final DataAccessQueryMetrics metrics = CURRENT.get();
+		if (metrics == null) {
+			return statement;
+		}
+		return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(), new Class<?>[] {
+			PreparedStatement.class
+		}, new MeasuredStatement(metrics, statement));
+	}
+
+	public static PreparedStatement unwrap(final PreparedStatement statement) {
+		if (Proxy.isProxyClass(statement.getClass())) {
+			final InvocationHandler handler = Proxy.getInvocationHandler(statement);
+			if (handler instanceof MeasuredStatement) {
+				return ((MeasuredStatement) handler).statement;
+			}
+		}
+		return statement;
+	}
+
+	private static Object invoke(final Object target, final Method method, final Object arguments[]) throws Throwable {
+		try {
+			return method.invoke(target, arguments);
+		} catch (final InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+
+	private static class MeasuredStatement implements InvocationHandler {
+		private final DataAccessQueryMetrics metrics;
+		private final PreparedStatement statement;
+
+		private MeasuredStatement(final DataAccessQueryMetrics metrics, final PreparedStatement statement) {
+			this.metrics = metrics;
+			this.statement = statement;
+		}
+
+		@Override
+		public Object invoke(final Object proxy, final Method method, final Object arguments[]) throws Throwable {
+			if (!method.getName().startsWith("execute")) {
+				return DataAccessQueryMetrics.invoke(statement, method, arguments);
+			}
+			final long start = System.nanoTime();
+			try {
+				final Object result = DataAccessQueryMetrics.invoke(statement, method, arguments);
+				if (result instanceof ResultSet) {
+					return Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[] {
+						ResultSet.class
+					}, new MeasuredResultSet(metrics, (ResultSet) result));
+				}
+				return result;
+			} finally {
+				metrics.queryTime += System.nanoTime() - start;
+			}
+		}
+	}
+
+	private static class MeasuredResultSet implements InvocationHandler {
+		private final DataAccessQueryMetrics metrics;
+		private final ResultSet result;
+
+		private MeasuredResultSet(final DataAccessQueryMetrics metrics, final ResultSet result) {
+			this.metrics = metrics;
+			this.result = result;
+		}
+
+		@Override
+		public Object invoke(final Object proxy, final Method method, final Object arguments[]) throws Throwable {
+			if (!method.getName().equals("next")) {
+				return DataAccessQueryMetrics.invoke(result, method, arguments);
+			}
+			final long start = System.nanoTime();
+			try {
+				final Object hasNext = DataAccessQueryMetrics.invoke(result, method, arguments);
+				if (Boolean.TRUE.equals(hasNext)) {
+					metrics.nbRows++;
+				}
+				return hasNext;
+			} finally {
+				metrics.queryTime += System.nanoTime() - start;
+			}
+		}
+	}
+
+}
@@ -32,7 +32,8 @@ public enum EnumRankingMode {
 	ANNUAL_TOTAL_FINAL_SCORE("Score total annuel"),
 	MENSUAL_TOTAL_GAME_SCORE("Stack total mensuel"),
 	TRIMESTRIAL_TOTAL_GAME_SCORE("Stack total trimestriel"),
-	ANNUAL_TOTAL_GAME_SCORE("Stack total annuel");
+	ANNUAL_TOTAL_GAME_SCORE("Stack total annuel"),
+	ELO_RATING("Classement Elo");
 
 	private final String display;
 
@@ -16,13 +16,248 @@
  */
 package fr.bmj.bmjc.exe;
 
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import javax.swing.JOptionPane;
+
+import fr.bmj.bmjc.data.game.Tournament;
+import fr.bmj.bmjc.dataaccess.abs.UpdateResult;
+import fr.bmj.bmjc.dataaccess.abs.rcr.DataAccessRCR;
 import fr.bmj.bmjc.dataaccess.impl.db.DataAccessDataBase;
+import fr.bmj.bmjc.dataaccess.impl.monitor.DataAccessMonitor;
+import fr.bmj.bmjc.enums.EnumRankingMode;
+import fr.bmj.bmjc.enums.EnumSortingMode;
+import fr.bmj.bmjc.export.RCRBatchReport;
 import fr.bmj.bmjc.gui.UIMainWindow;
+import fr.bmj.bmjc.server.RCRHttpServer;
 
 public class Main {
 
+	private static final String REBUILD_PERIOD_STATS = "--rebuild-period-stats";
+	private static final String IMPORT_GAMES = "--import";
+	private static final int DEFAULT_IMPORT_BATCH_SIZE = 1000;
+	private static final String IMPORT_USAGE = "--import <fichier.csv[.gz]> [taille des lots]";
+	private static final String REPORT = "--report";
+	private static final String REPORT_USAGE = "--report tournament=<id ou nom> [periods=all,2017,2017-T2,2017-05,2017-05-14,2017-*] [modes=all|TOTAL_FINAL_SCORE,...]"
+		+ " [format=csv|json] [output=reports] [threads=N] [sorting=DESCENDING|ASCENDING] [cards=true] [regular=true] [minimum=true]";
+	private static final String SERVER = "--server";
+	private static final String SERVER_USAGE = "--server [port]";
+
 	public static void main(final String[] args) throws Exception {
-		new UIMainWindow(new DataAccessDataBase());
+		if (args.length > 0 && args[0].equals(REBUILD_PERIOD_STATS)) {
+			final DataAccessDataBase dataAccess = new DataAccessDataBase();
+			dataAccess.initialize();
+			final UpdateResult result = dataAccess.rebuildRCRPeriodStats();
+			System.out.println(result.getMessage());
+			dataAccess.disconnect();
+			System.exit(result.getResult() ? 0 : 1);
+		}
+		if (args.length > 0 && args[0].equals(IMPORT_GAMES)) {
+			System.exit(importGames(Arrays.copyOfRange(args, 1, args.length)) ? 0 : 1);
+		}
+		if (args.length > 0 && args[0].equals(REPORT)) {
+			System.setProperty("java.awt.headless", "true");
+			System.exit(report(Arrays.copyOfRange(args, 1, args.length)) ? 0 : 1);
+		}
+		if (args.length > 0 && args[0].equals(SERVER)) {
+			System.setProperty("java.awt.headless", "true");
+			final int port;
+			try {
+				port = args.length > 1 ? Integer.parseInt(args[1]) : RCRHttpServer.DEFAULT_PORT;
+				if (port < 0 || port > 65535) {
+					throw new IllegalArgumentException("le port doit être entre 0 et 65535");
+				}
+			} catch (final IllegalArgumentException e) {
+				System.out.println(e.getMessage());
+				System.out.println(SERVER_USAGE);
+				System.exit(1);
+				return;
+			}
+			final DataAccessDataBase dataAccess = new DataAccessDataBase();
+			dataAccess.initialize();
+			if (!dataAccess.isConnected()) {
+				System.out.println("Pas de connxion à la base de données");
+				System.exit(1);
+			}
+			System.out.println(dataAccess.getInitializeResult().getMessage());
+			final DataAccessMonitor monitor = new DataAccessMonitor(dataAccess);
+			final RCRHttpServer server = startServer(monitor.getRCR(), dataAccess, port);
+			Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+				server.stop();
+				System.out.println(server);
+				System.out.println(dataAccess.getRCRCache());
+				monitor.disconnect();
+			}));
+			return;
+		}
+
+		final DataAccessDataBase dataAccess = new DataAccessDataBase();
+		final DataAccessMonitor monitor = new DataAccessMonitor(dataAccess);
+		final UIMainWindow window = new UIMainWindow(monitor);
+		if (dataAccess.isConnected() && !dataAccess.getInitializeResult().getResult()) {
+			JOptionPane.showMessageDialog(window, dataAccess.getInitializeResult().getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
+		}
+		// The server shares the data access of the user interface, whose changes move its watermark
+		final int port = RCRHttpServer.getConfiguredPort();
+		if (port >= 0 && dataAccess.isConnected()) {
+			final RCRHttpServer server = startServer(monitor.getRCR(), dataAccess, port);
+			window.addWindowListener(new WindowAdapter() {
+				@Override
+				public void windowClosed(final WindowEvent e) {
+					server.stop();
+					System.out.println(server);
+				}
+			});
+		}
+	}
+
+	private static RCRHttpServer startServer(final DataAccessRCR dataAccessRCR, final DataAccessDataBase dataAccess, final int port)
+		throws IOException {
+		final RCRHttpServer server = new RCRHttpServer(dataAccessRCR, dataAccess.getRCRCache()::getGeneration, port,
+			RCRHttpServer.getConfiguredWorkers(), RCRHttpServer.DEFAULT_CACHE_SIZE);
+		server.start();
+		System.out.println("Serveur HTTP sur le port " + Integer.toString(server.getPort()));
+		return server;
+	}
+
+	private static boolean importGames(final String[] args) {
+		if (args.length < 1) {
+			System.out.println(IMPORT_USAGE);
+			return false;
+		}
+		final int batchSize;
+		try {
+			batchSize = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_IMPORT_BATCH_SIZE;
+			if (batchSize < 1) {
+				throw new IllegalArgumentException("la taille des lots doit être au moins 1");
+			}
+		} catch (final IllegalArgumentException e) {
+			System.out.println(e.getMessage());
+			System.out.println(IMPORT_USAGE);
+			return false;
+		}
+
+		final DataAccessDataBase dataAccess = new DataAccessDataBase();
+		dataAccess.initialize();
+		if (!dataAccess.isConnected()) {
+			System.out.println("Pas de connxion à la base de données");
+			return false;
+		}
+		InputStream input = null;
+		try {
+			input = new FileInputStream(args[0]);
+			if (args[0].endsWith(".gz")) {
+				input = new GZIPInputStream(input);
+			}
+			final Reader reader = new InputStreamReader(input, Charset.forName("UTF-8"));
+			final long start = System.currentTimeMillis();
+			final UpdateResult result = dataAccess.getRCR().importRCRGames(reader, batchSize);
+			System.out.println(result.getMessage());
+			System.out.println(Long.toString(System.currentTimeMillis() - start) + " ms");
+			return result.getResult();
+		} catch (final IOException e) {
+			System.out.println(e.getMessage());
+			return false;
+		} finally {
+			if (input != null) {
+				try {
+					input.close();
+				} catch (final IOException e) {
+					e.printStackTrace();
+				}
+			}
+			dataAccess.disconnect();
+		}
+	}
+
+	private static boolean report(final String[] args) {
+		final Map<String, String> options = new HashMap<String, String>();
+		for (final String arg : args) {
+			final int separator = arg.indexOf('=');
+			if (separator <= 0) {
+				System.out.println(REPORT_USAGE);
+				return false;
+			}
+			options.put(arg.substring(0, separator), arg.substring(separator + 1));
+		}
+		if (!options.containsKey("tournament")) {
+			System.out.println(REPORT_USAGE);
+			return false;
+		}
+
+		final List<RCRBatchReport.Period> periods = new ArrayList<RCRBatchReport.Period>();
+		final List<EnumRankingMode> rankingModes = new ArrayList<EnumRankingMode>();
+		final EnumSortingMode sortingMode;
+		final int nbThreads;
+		try {
+			for (final String period : options.getOrDefault("periods", "all").split(",")) {
+				periods.addAll(RCRBatchReport.Period.parse(period));
+			}
+			final String modes = options.getOrDefault("modes", "all");
+			if (modes.equalsIgnoreCase("all")) {
+				rankingModes.addAll(Arrays.asList(EnumRankingMode.values()));
+			} else {
+				for (final String mode : modes.split(",")) {
+					rankingModes.add(EnumRankingMode.valueOf(mode.trim().toUpperCase()));
+				}
+			}
+			sortingMode = EnumSortingMode.valueOf(options.getOrDefault("sorting", EnumSortingMode.DESCENDING.name()).toUpperCase());
+			nbThreads = Integer.parseInt(options.getOrDefault("threads", Integer.toString(Runtime.getRuntime().availableProcessors())));
+			if (nbThreads < 1) {
+				throw new IllegalArgumentException("threads doit être au moins 1");
+			}
+		} catch (final IllegalArgumentException e) {
+			System.out.println(e.getMessage());
+			System.out.println(REPORT_USAGE);
+			return false;
+		}
+		final boolean json = options.getOrDefault("format", "csv").equalsIgnoreCase("json");
+
+		final DataAccessDataBase dataAccess = new DataAccessDataBase();
+		dataAccess.initialize();
+		if (!dataAccess.isConnected()) {
+			System.out.println("Pas de connxion à la base de données");
+			return false;
+		}
+		try {
+			final DataAccessRCR dataAccessRCR = dataAccess.getRCR();
+			dataAccessRCR.setOnlyRegularPlayers(Boolean.parseBoolean(options.get("regular")));
+			dataAccessRCR.setUseMinimumGame(Boolean.parseBoolean(options.get("minimum")));
+
+			final String tournamentOption = options.get("tournament");
+			Tournament tournament = null;
+			for (final Tournament candidate : dataAccessRCR.getRCRTournaments()) {
+				if (candidate.getName().equalsIgnoreCase(tournamentOption) || Short.toString(candidate.getId()).equals(tournamentOption)) {
+					tournament = candidate;
+				}
+			}
+			if (tournament == null) {
+				System.out.println("Tournoi inconnu : " + tournamentOption);
+				return false;
+			}
+
+			final RCRBatchReport report = new RCRBatchReport(dataAccessRCR, tournament, sortingMode, new File(options.getOrDefault("output", "reports")), json,
+				nbThreads);
+			final UpdateResult result = report.run(periods, rankingModes, Boolean.parseBoolean(options.get("cards")));
+			System.out.println(result.getMessage());
+			return result.getResult();
+		} finally {
+			dataAccess.disconnect();
+		}
 	}
 
 }
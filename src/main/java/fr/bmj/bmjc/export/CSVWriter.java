@@ -0,0 +1,229 @@
+/*
+ * This file is part of Breizh Mahjong Recorder.
+ *
+ * Breizh Mahjong Recorder is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Breizh Mahjong Recorder is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Breizh Mahjong Recorder. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.bmj.bmjc.export;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPOutputStream;
+
+public class CSVWriter implements Closeable {
+
+	public static final char SEPARATOR = ';';
+	public static final String GZIP_EXTENSION = ".gz";
+
+	private static final int BUFFER_SIZE = 1 << 16;
+	private static final int MAXIMUM_NUMBER_SIZE = 20;
+	private static final byte LINE_SEPARATOR[] = System.lineSeparator().getBytes();
+	private static final byte MINIMUM_LONG[] = Long.toString(Long.MIN_VALUE).getBytes();
+
+	private final FileChannel channel;
+	private final OutputStream gzipStream;
+	private final byte buffer[];
+	private final ByteBuffer byteBuffer;
+	private int position;
+	private boolean firstField;
+	private long numberOfRows;
+	private final long startTime;
+	private long endTime;
+	private boolean closed;
+
+	public CSVWriter(final File file) throws IOException {
+		this(file, file.getName().endsWith(GZIP_EXTENSION));
+	}
+
+	public CSVWriter(final File file, final boolean gzip) throws IOException {
+		channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+		gzipStream = gzip ? new GZIPOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE) : null;
+		buffer = new byte[BUFFER_SIZE];
+		byteBuffer = ByteBuffer.wrap(buffer);
+		position = 0;
+		firstField = true;
+		numberOfRows = 0;
+		startTime = System.nanoTime();
+		endTime = 0;
+		closed = false;
+	}
+
+	private void ensureCapacity(final int size) throws IOException {
+		if (position + size > buffer.length) {
+			flushBuffer();
+		}
+	}
+
+	private void flushBuffer() throws IOException {
+		if (position > 0) {
+			if (gzipStream != null) {
+				gzipStream.write(buffer, 0, position);
+			} else {
+				byteBuffer.clear();
+				byteBuffer.limit(position);
+				while (byteBuffer.hasRemaining()) {
+					channel.write(byteBuffer);
+				}
+			}
+			position = 0;
+		}
+	}
+
+	private void startField() throws IOException {
+		if (firstField) {
+			firstField = false;
+		} else {
+			ensureCapacity(1);
+			buffer[position++] = SEPARATOR;
+		}
+	}
+
+	private void putByte(final int value) throws IOException {
+		ensureCapacity(1);
+		buffer[position++] = (byte) value;
+	}
+
+	private void putDigits(final long value, final int minimumDigits) throws IOException {
+		ensureCapacity(MAXIMUM_NUMBER_SIZE);
+		if (value == Long.MIN_VALUE) {
+			System.arraycopy(MINIMUM_LONG, 0, buffer, position, MINIMUM_LONG.length);
+			position += MINIMUM_LONG.length;
+			return;
+		}
+		long remaining = value;
+		if (remaining < 0) {
+			buffer[position++] = '-';
+			remaining = -remaining;
+		}
+		int numberOfDigits = 1;
+		for (long power = 10; power <= remaining && numberOfDigits < 19; power *= 10) {
+			numberOfDigits++;
+		}
+		numberOfDigits = Math.max(numberOfDigits, minimumDigits);
+		for (int index = position + numberOfDigits - 1; index >= position; index--) {
+			buffer[index] = (byte) ('0' + remaining % 10);
+			remaining /= 10;
+		}
+		position += numberOfDigits;
+	}
+
+	private void putString(final CharSequence value) throws IOException {
+		final int length = value.length();
+		for (int index = 0; index < length; index++) {
+			final char character = value.charAt(index);
+			if (character < 0x80) {
+				putByte(character);
+			} else if (character < 0x800) {
+				putByte(0xC0 | character >> 6);
+				putByte(0x80 | character & 0x3F);
+			} else if (Character.isHighSurrogate(character) && index + 1 < length && Character.isLowSurrogate(value.charAt(index + 1))) {
+				final int codePoint = Character.toCodePoint(character, value.charAt(++index));
+				putByte(0xF0 | codePoint >> 18);
+				putByte(0x80 | codePoint >> 12 & 0x3F);
+				putByte(0x80 | codePoint >> 6 & 0x3F);
+				putByte(0x80 | codePoint & 0x3F);
+			} else {
+				putByte(0xE0 | character >> 12);
+				putByte(0x80 | character >> 6 & 0x3F);
+				putByte(0x80 | character & 0x3F);
+			}
+		}
+	}
+
+	public CSVWriter writeField(final CharSequence value) throws IOException {
+		startField();
+		if (value != null) {
+			putString(value);
+		}
+		return this;
+	}
+
+	public CSVWriter writeField(final long value) throws IOException {
+		startField();
+		putDigits(value, 1);
+		return this;
+	}
+
+	public CSVWriter writeField(final boolean value) throws IOException {
+		startField();
+		putString(value ? "true" : "false");
+		return this;
+	}
+
+	public CSVWriter writeDateField(final int year, final int month, final int day) throws IOException {
+		startField();
+		putDigits(year, 4);
+		putByte('-');
+		putDigits(month, 2);
+		putByte('-');
+		putDigits(day, 2);
+		return this;
+	}
+
+	public void endRow() throws IOException {
+		ensureCapacity(LINE_SEPARATOR.length);
+		System.arraycopy(LINE_SEPARATOR, 0, buffer, position, LINE_SEPARATOR.length);
+		position += LINE_SEPARATOR.length;
+		firstField = true;
+		numberOfRows++;
+	}
+
+	public void writeRow(final String... values) throws IOException {
+		for (final String value : values) {
+			writeField(value);
+		}
+		endRow();
+	}
+
+	public long getNumberOfRows() {
+		return numberOfRows;
+	}
+
+	public long getElapsedMilliseconds() {
+		return ((endTime != 0 ? endTime : System.nanoTime()) - startTime) / 1000000;
+	}
+
+	public long getRowsPerSecond() {
+		final long elapsed = (endTime != 0 ? endTime : System.nanoTime()) - startTime;
+		return elapsed > 0 ? numberOfRows * 1000000000L / elapsed : 0;
+	}
+
+	public String getReport() {
+		return Long.toString(numberOfRows) + " lignes en " + Long.toString(getElapsedMilliseconds()) + " ms (" + Long.toString(getRowsPerSecond())
+			+ " lignes/s)";
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		try {
+			flushBuffer();
+			if (gzipStream != null) {
+				gzipStream.close();
+			}
+		} finally {
+			channel.close();
+			endTime = System.nanoTime();
+		}
+	}
+
+}
@@ -0,0 +1,171 @@
+/*
+ * This file is part of Breizh Mahjong Recorder.
+ *
+ * Breizh Mahjong Recorder is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Breizh Mahjong Recorder is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Breizh Mahjong Recorder. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.bmj.bmjc.export;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+public class JSONWriter {
+
+	private final Appendable output;
+	private boolean hasValue[];
+	private int depth;
+	private boolean afterName;
+
+	public JSONWriter(final Appendable output) {
+		this.output = output;
+		hasValue = new boolean[16];
+		depth = 0;
+		afterName = false;
+	}
+
+	private void startValue() throws IOException {
+		if (afterName) {
+			afterName = false;
+		} else if (depth > 0) {
+			if (hasValue[depth]) {
+				output.append(',');
+			}
+			hasValue[depth] = true;
+		}
+	}
+
+	private JSONWriter begin(final char mark) throws IOException {
+		startValue();
+		output.append(mark);
+		depth++;
+		if (depth == hasValue.length) {
+			hasValue = Arrays.copyOf(hasValue, depth * 2);
+		}
+		hasValue[depth] = false;
+		return this;
+	}
+
+	private JSONWriter end(final char mark) throws IOException {
+		depth--;
+		output.append(mark);
+		return this;
+	}
+
+	public JSONWriter beginObject() throws IOException {
+		return begin('{');
+	}
+
+	public JSONWriter endObject() throws IOException {
+		return end('}');
+	}
+
+	public JSONWriter beginArray() throws IOException {
+		return begin('[');
+	}
+
+	public JSONWriter endArray() throws IOException {
+		return end(']');
+	}
+
+	public JSONWriter name(final String name) throws IOException {
+		startValue();
+		putString(name);
+		output.append(':');
+		afterName = true;
+		return this;
+	}
+
+	public JSONWriter value(final CharSequence value) throws IOException {
+		startValue();
+		if (value == null) {
+			output.append("null");
+		} else {
+			putString(value);
+		}
+		return this;
+	}
+
+	public JSONWriter value(final long value) throws IOException {
+		startValue();
+		output.append(Long.toString(value));
+		return this;
+	}
+
+	public JSONWriter value(final double value) throws IOException {
+		startValue();
+		output.append(Double.isNaN(value) || Double.isInfinite(value) ? "null" : Double.toString(value));
+		return this;
+	}
+
+	public JSONWriter value(final boolean value) throws IOException {
+		startValue();
+		output.append(value ? "true" : "false");
+		return this;
+	}
+
+	public JSONWriter value(final Number value) throws IOException {
+		if (value == null) {
+			return value((CharSequence) null);
+		}
+		if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+			return value(value.longValue());
+		}
+		return value(value.doubleValue());
+	}
+
+	public JSONWriter field(final String name, final CharSequence value) throws IOException {
+		return name(name).value(value);
+	}
+
+	public JSONWriter field(final String name, final long value) throws IOException {
+		return name(name).value(value);
+	}
+
+	public JSONWriter field(final String name, final Number value) throws IOException {
+		return name(name).value(value);
+	}
+
+	private void putString(final CharSequence value) throws IOException {
+		output.append('"');
+		final int length = value.length();
+		for (int index = 0; index < length; index++) {
+			final char character = value.charAt(index);
+			switch (character) {
+				case '"':
+					output.append("\\\"");
+					break;
+				case '\\':
+					output.append("\\\\");
+					break;
+				case '\n':
+					output.append("\\n");
+					break;
+				case '\r':
+					output.append("\\r");
+					break;
+				case '\t':
+					output.append("\\t");
+					break;
+				default:
+					if (character < 0x20) {
+						output.append("\\u00").append(Character.forDigit(character >> 4, 16)).append(Character.forDigit(character & 0xF, 16));
+					} else {
+						output.append(character);
+					}
+					break;
+			}
+		}
+		output.append('"');
+	}
+
+}
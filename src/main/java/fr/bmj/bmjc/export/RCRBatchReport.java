@@ -0,0 +1,357 @@
+/*
+ * This file is part of Breizh Mahjong Recorder.
+ *
+ * Breizh Mahjong Recorder is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Breizh Mahjong Recorder is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Breizh Mahjong Recorder. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.bmj.bmjc.export;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import fr.bmj.bmjc.data.game.Player;
+import fr.bmj.bmjc.data.game.Tournament;
+import fr.bmj.bmjc.data.stat.rcr.RCRDataPackagePersonalAnalyze;
+import fr.bmj.bmjc.data.stat.rcr.RCRTotalScore;
+import fr.bmj.bmjc.dataaccess.abs.UpdateResult;
+import fr.bmj.bmjc.dataaccess.abs.rcr.DataAccessRCR;
+import fr.bmj.bmjc.enums.EnumPeriodMode;
+import fr.bmj.bmjc.enums.EnumRankingMode;
+import fr.bmj.bmjc.enums.EnumScoreMode;
+import fr.bmj.bmjc.enums.EnumSortingMode;
+
+public class RCRBatchReport {
+
+	public static final String CARDS_NAME = "cards";
+
+	private final DataAccessRCR dataAccess;
+	private final Tournament tournament;
+	private final EnumSortingMode sortingMode;
+	private final File directory;
+	private final boolean json;
+	private final int nbThreads;
+
+	public RCRBatchReport(final DataAccessRCR dataAccess, final Tournament tournament, final EnumSortingMode sortingMode, final File directory,
+		final boolean json, final int nbThreads) {
+		this.dataAccess = dataAccess;
+		this.tournament = tournament;
+		this.sortingMode = sortingMode;
+		this.directory = directory;
+		this.json = json;
+		this.nbThreads = Math.max(1, nbThreads);
+	}
+
+	public UpdateResult run(final List<Period> periods, final List<EnumRankingMode> rankingModes, final boolean cards) {
+		if (!directory.isDirectory() && !directory.mkdirs()) {
+			return new UpdateResult(false, "Impossible de créer le répertoire " + directory.getPath());
+		}
+
+		final long start = System.nanoTime();
+		final ExecutorService executor = Executors.newFixedThreadPool(nbThreads);
+		final List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+		for (final Period period : periods) {
+			for (final EnumRankingMode rankingMode : rankingModes) {
+				results.add(executor.submit(write(getFile(period, rankingMode.name().toLowerCase()), (final Writer writer) -> writeRanking(writer,
+					period, rankingMode))));
+			}
+			if (cards) {
+				results.add(executor.submit(write(getFile(period, CARDS_NAME), (final Writer writer) -> writeCards(writer, period))));
+			}
+		}
+
+		int nbFailures = 0;
+		for (final Future<Boolean> result : results) {
+			try {
+				if (!result.get()) {
+					nbFailures++;
+				}
+			} catch (final Exception e) {
+				e.printStackTrace();
+				nbFailures++;
+			}
+		}
+		executor.shutdown();
+
+		final String time = Long.toString((System.nanoTime() - start) / 1000000) + " ms";
+		if (nbFailures > 0) {
+			return new UpdateResult(false, Integer.toString(nbFailures) + " rapports sur " + Integer.toString(results.size()) + " ont échoué (" + time + ")");
+		}
+		return new UpdateResult(true, Integer.toString(results.size()) + " rapports écrits dans " + directory.getPath() + " (" + time + ")");
+	}
+
+	private File getFile(final Period period, final String name) {
+		return new File(directory, "rcr-" + Short.toString(tournament.getId()) + "-" + period.getName() + "-" + name + (json ? ".json" : ".csv"));
+	}
+
+	private interface Report {
+		public void write(Writer writer) throws Exception;
+	}
+
+	private static Callable<Boolean> write(final File file, final Report report) {
+		return () -> {
+			Writer writer = null;
+			try {
+				writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8));
+				report.write(writer);
+				writer.close();
+				return true;
+			} catch (final Exception e) {
+				e.printStackTrace();
+				return false;
+			} finally {
+				if (writer != null) {
+					try {
+						writer.close();
+					} catch (final Exception e) {
+					}
+				}
+			}
+		};
+	}
+
+	private void writeRanking(final Writer writer, final Period period, final EnumRankingMode rankingMode) throws Exception {
+		final List<RCRTotalScore> scores = dataAccess.getRCRDataPackageRanking(tournament, rankingMode, sortingMode, period.periodMode, period.year,
+			period.trimester, period.month, period.day);
+		if (scores == null) {
+			throw new IllegalStateException("Pas de classement " + rankingMode.name() + " pour " + period.getName());
+		}
+
+		if (json) {
+			final JSONWriter jsonWriter = new JSONWriter(writer);
+			jsonWriter.beginObject();
+			writeHeader(jsonWriter, period);
+			jsonWriter.field("rankingMode", rankingMode.name()).field("sortingMode", sortingMode.name());
+			jsonWriter.name("ranking");
+			writeRanking(jsonWriter, scores);
+			jsonWriter.endObject();
+		} else {
+			final int ranks[] = getRanks(scores);
+			writeCSVRow(writer, "Classement", rankingMode.toString());
+			writeCSVRow(writer, "Tournois", tournament.getName());
+			writeCSVRow(writer, "Ordre", sortingMode.toString());
+			writeCSVRow(writer, "Période", period.getName());
+			writeCSVRow(writer, "Rang", "Joueur", "Nom affiché", "Score", "Uma", "Nombre de parties", "Année", "Mois", "Jour");
+			for (int index = 0; index < ranks.length; index++) {
+				final RCRTotalScore score = scores.get(index);
+				writeCSVRow(writer, Integer.toString(ranks[index]), score.playerName, score.displayName, String.valueOf(score.totalScore),
+					String.valueOf(score.umaScore), String.valueOf(score.numberOfGame), Integer.toString(score.year), Integer.toString(score.month),
+					Integer.toString(score.day));
+			}
+		}
+	}
+
+	private void writeCards(final Writer writer, final Period period) throws Exception {
+		final Map<Short, RCRDataPackagePersonalAnalyze> dataPackages = dataAccess.getRCRDataPackagePersonalAnalyzeAllPlayers(tournament,
+			EnumScoreMode.FINAL_SCORE, period.periodMode, period.year, period.trimester, period.month, period.day);
+		final Map<Short, Player> players = new HashMap<Short, Player>();
+		for (final Player player : dataAccess.getRCRPlayers()) {
+			players.put(player.getPlayerID(), player);
+		}
+
+		if (json) {
+			final JSONWriter jsonWriter = new JSONWriter(writer);
+			jsonWriter.beginObject();
+			writeHeader(jsonWriter, period);
+			jsonWriter.name("players").beginArray();
+			for (final Map.Entry<Short, RCRDataPackagePersonalAnalyze> entry : dataPackages.entrySet()) {
+				jsonWriter.beginObject();
+				writeCard(jsonWriter, entry.getKey(), players.get(entry.getKey()), entry.getValue());
+				jsonWriter.endObject();
+			}
+			jsonWriter.endArray();
+			jsonWriter.endObject();
+		} else {
+			writeCSVRow(writer, "Tournois", tournament.getName());
+			writeCSVRow(writer, "Période", period.getName());
+			writeCSVRow(writer, "Joueur", "Nom affiché", "Nombre de parties", "Score total", "Score moyen", "Écart type", "Score max", "Score min",
+				"Parties positives (%)", "1er (4j)", "2e (4j)", "3e (4j)", "4e (4j)", "1er (5j)", "2e (5j)", "3e (5j)", "4e (5j)", "5e (5j)");
+			for (final Map.Entry<Short, RCRDataPackagePersonalAnalyze> entry : dataPackages.entrySet()) {
+				final Player player = players.get(entry.getKey());
+				final RCRDataPackagePersonalAnalyze dataPackage = entry.getValue();
+				final int fourPlayerPlaces[] = dataPackage.getFourPlayerGamePlaces();
+				final int fivePlayerPlaces[] = dataPackage.getFivePlayerGamePlaces();
+				writeCSVRow(writer, player != null ? player.getPlayerName() : Short.toString(entry.getKey()),
+					player != null ? player.getDisplayName() : Short.toString(entry.getKey()), Integer.toString(dataPackage.getNumberOfGames()),
+					Integer.toString(dataPackage.getScoreTotal()), Integer.toString(dataPackage.getScoreMean()),
+					Integer.toString(dataPackage.getScoreStandardDeviation()), Integer.toString(dataPackage.getMaxScore()),
+					Integer.toString(dataPackage.getMinScore()), Integer.toString(dataPackage.getPositiveGamesPercent()),
+					Integer.toString(fourPlayerPlaces[0]), Integer.toString(fourPlayerPlaces[1]), Integer.toString(fourPlayerPlaces[2]),
+					Integer.toString(fourPlayerPlaces[3]), Integer.toString(fivePlayerPlaces[0]), Integer.toString(fivePlayerPlaces[1]),
+					Integer.toString(fivePlayerPlaces[2]), Integer.toString(fivePlayerPlaces[3]), Integer.toString(fivePlayerPlaces[4]));
+			}
+		}
+	}
+
+	public static int[] getRanks(final List<RCRTotalScore> scores) {
+		final int ranks[] = new int[scores.size()];
+		for (int index = 0; index < ranks.length; index++) {
+			ranks[index] = index > 0 && scores.get(index).totalScore.equals(scores.get(index - 1).totalScore) ? ranks[index - 1] : index + 1;
+		}
+		return ranks;
+	}
+
+	public static void writeRanking(final JSONWriter jsonWriter, final List<RCRTotalScore> scores) throws IOException {
+		final int ranks[] = getRanks(scores);
+		jsonWriter.beginArray();
+		for (int index = 0; index < ranks.length; index++) {
+			final RCRTotalScore score = scores.get(index);
+			jsonWriter.beginObject();
+			jsonWriter.field("rank", ranks[index]).field("playerName", score.playerName).field("displayName", score.displayName);
+			jsonWriter.field("score", score.totalScore).field("uma", score.umaScore).field("games", score.numberOfGame);
+			jsonWriter.field("year", score.year).field("month", score.month).field("day", score.day);
+			jsonWriter.endObject();
+		}
+		jsonWriter.endArray();
+	}
+
+	public static void writeCard(final JSONWriter jsonWriter, final short playerId, final Player player, final RCRDataPackagePersonalAnalyze dataPackage)
+		throws IOException {
+		jsonWriter.field("playerId", playerId).field("playerName", player != null ? player.getPlayerName() : null);
+		jsonWriter.field("displayName", player != null ? player.getDisplayName() : null);
+		jsonWriter.field("games", dataPackage.getNumberOfGames()).field("total", dataPackage.getScoreTotal());
+		jsonWriter.field("mean", dataPackage.getScoreMean()).field("standardDeviation", dataPackage.getScoreStandardDeviation());
+		jsonWriter.field("max", dataPackage.getMaxScore()).field("min", dataPackage.getMinScore());
+		jsonWriter.field("positivePercent", dataPackage.getPositiveGamesPercent());
+		jsonWriter.name("fourPlayerPlaces").beginArray();
+		for (final int places : dataPackage.getFourPlayerGamePlaces()) {
+			jsonWriter.value(places);
+		}
+		jsonWriter.endArray();
+		jsonWriter.name("fivePlayerPlaces").beginArray();
+		for (final int places : dataPackage.getFivePlayerGamePlaces()) {
+			jsonWriter.value(places);
+		}
+		jsonWriter.endArray();
+	}
+
+	private void writeHeader(final JSONWriter jsonWriter, final Period period) throws Exception {
+		jsonWriter.field("tournamentId", tournament.getId()).field("tournament", tournament.getName());
+		jsonWriter.field("period", period.getName()).field("periodMode", period.periodMode.name());
+	}
+
+	private static void writeCSVRow(final Writer writer, final String... values) throws Exception {
+		for (int index = 0; index < values.length; index++) {
+			if (index > 0) {
+				writer.write(CSVWriter.SEPARATOR);
+			}
+			if (values[index] != null) {
+				writer.write(values[index]);
+			}
+		}
+		writer.write(System.lineSeparator());
+	}
+
+	public static class Period {
+
+		private final String name;
+		private final EnumPeriodMode periodMode;
+		private final int year;
+		private final int trimester;
+		private final int month;
+		private final int day;
+
+		public Period(final String name, final EnumPeriodMode periodMode, final int year, final int trimester, final int month, final int day) {
+			this.name = name;
+			this.periodMode = periodMode;
+			this.year = year;
+			this.trimester = trimester;
+			this.month = month;
+			this.day = day;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public EnumPeriodMode getPeriodMode() {
+			return periodMode;
+		}
+
+		public int getYear() {
+			return year;
+		}
+
+		public int getTrimester() {
+			return trimester;
+		}
+
+		public int getMonth() {
+			return month;
+		}
+
+		public int getDay() {
+			return day;
+		}
+
+		public static List<Period> parse(final String text) {
+			final List<Period> periods = new ArrayList<Period>();
+			final String fields[] = text.trim().split("-");
+			try {
+				if (text.trim().equalsIgnoreCase("all")) {
+					periods.add(new Period("all", EnumPeriodMode.ALL, 0, 0, 0, 0));
+				} else if (fields.length == 1) {
+					periods.add(new Period(fields[0], EnumPeriodMode.YEAR, Integer.parseInt(fields[0]), 0, 0, 0));
+				} else if (fields.length == 2 && fields[1].equals("*")) {
+					final int year = Integer.parseInt(fields[0]);
+					periods.add(new Period(fields[0], EnumPeriodMode.YEAR, year, 0, 0, 0));
+					for (int trimester = 0; trimester < 4; trimester++) {
+						periods.add(new Period(fields[0] + "-T" + Integer.toString(trimester + 1), EnumPeriodMode.TRIMESTER, year, trimester, 0, 0));
+					}
+					for (int month = 0; month < 12; month++) {
+						periods.add(new Period(String.format("%04d-%02d", year, month + 1), EnumPeriodMode.MONTH, year, 0, month, 0));
+					}
+				} else if (fields.length == 2 && fields[1].toUpperCase().startsWith("T")) {
+					final int trimester = Integer.parseInt(fields[1].substring(1)) - 1;
+					if (trimester < 0 || trimester > 3) {
+						throw new IllegalArgumentException("Trimestre invalide : " + text);
+					}
+					periods.add(new Period(fields[0] + "-T" + Integer.toString(trimester + 1), EnumPeriodMode.TRIMESTER, Integer.parseInt(fields[0]),
+						trimester, 0, 0));
+				} else if (fields.length == 2) {
+					final int month = Integer.parseInt(fields[1]) - 1;
+					if (month < 0 || month > 11) {
+						throw new IllegalArgumentException("Mois invalide : " + text);
+					}
+					periods.add(new Period(text.trim(), EnumPeriodMode.MONTH, Integer.parseInt(fields[0]), month / 3, month, 0));
+				} else if (fields.length == 3) {
+					final int month = Integer.parseInt(fields[1]) - 1;
+					final int day = Integer.parseInt(fields[2]);
+					if (month < 0 || month > 11 || day < 1 || day > 31) {
+						throw new IllegalArgumentException("Jour invalide : " + text);
+					}
+					periods.add(new Period(text.trim(), EnumPeriodMode.DAY, Integer.parseInt(fields[0]), month / 3, month, day));
+				} else {
+					throw new IllegalArgumentException("Période invalide : " + text);
+				}
+			} catch (final NumberFormatException e) {
+				throw new IllegalArgumentException("Période invalide : " + text);
+			}
+			return periods;
+		}
+
+	}
+
+}
@@ -0,0 +1,245 @@
+/*
+ * This file is part of Breizh Mahjong Recorder.
+ *
+ * Breizh Mahjong Recorder is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Breizh Mahjong Recorder is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Breizh Mahjong Recorder. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.bmj.bmjc.gui;
+
+import java.awt.event.ActionEvent;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.swing.JLabel;
+import javax.swing.Timer;
+
+import org.jfree.chart.ChartPanel;
+import org.jfree.chart.axis.ValueAxis;
+import org.jfree.chart.event.AxisChangeEvent;
+
+public class UIChartDownsampler {
+
+	public interface SeriesUpdater {
+		public void update(int[] indexes);
+	}
+
+	private static final int UPDATE_DELAY = 150;
+	private static final int DEFAULT_WIDTH = 800;
+	private static final int MINIMUM_POINTS = 3;
+
+	private final String name;
+	private final List<Source> sources;
+	private final Timer updateTimer;
+	private final JLabel reportLabel;
+
+	private ChartPanel chartPanel;
+	private ValueAxis domainAxis;
+	private int lastWidth;
+	private double lastLowerBound;
+	private double lastUpperBound;
+	private long pointsIn;
+	private long pointsOut;
+
+	public UIChartDownsampler(final String name) {
+		this.name = name;
+		sources = new ArrayList<Source>();
+		updateTimer = new Timer(UPDATE_DELAY, (final ActionEvent e) -> update());
+		updateTimer.setRepeats(false);
+		reportLabel = new JLabel();
+		lastWidth = -1;
+	}
+
+	public void addSeries(final double[] x, final double[] y, final boolean minMax, final SeriesUpdater updater) {
+		sources.add(new Source(x, y, minMax, updater));
+	}
+
+	public void install(final ChartPanel chartPanel, final ValueAxis domainAxis) {
+		this.chartPanel = chartPanel;
+		this.domainAxis = domainAxis;
+		chartPanel.addComponentListener(new ComponentAdapter() {
+			@Override
+			public void componentResized(final ComponentEvent e) {
+				updateTimer.restart();
+			}
+		});
+		domainAxis.addChangeListener((final AxisChangeEvent e) -> updateTimer.restart());
+		update();
+	}
+
+	private int getPlotWidth() {
+		final Rectangle2D dataArea = chartPanel.getScreenDataArea();
+		if (dataArea != null && dataArea.getWidth() > 0) {
+			return (int) dataArea.getWidth();
+		}
+		return chartPanel.getWidth() > 0 ? chartPanel.getWidth() : DEFAULT_WIDTH;
+	}
+
+	private void update() {
+		final int width = Math.max(getPlotWidth(), MINIMUM_POINTS);
+		final double lowerBound = domainAxis.getLowerBound();
+		final double upperBound = domainAxis.getUpperBound();
+		if (width == lastWidth && lowerBound == lastLowerBound && upperBound == lastUpperBound) {
+			return;
+		}
+		lastWidth = width;
+		lastLowerBound = lowerBound;
+		lastUpperBound = upperBound;
+
+		long numberOfPointsIn = 0;
+		long numberOfPointsOut = 0;
+		for (final Source source : sources) {
+			int from = 0;
+			int to = source.x.length;
+			if (upperBound > lowerBound) {
+				// One more point on each side, the lines continue to the border of the plot
+				from = Math.max(0, lowerBound(source.x, lowerBound) - 1);
+				to = Math.min(source.x.length, lowerBound(source.x, upperBound) + 1);
+			}
+			final int[] indexes = source.minMax ? minMaxBuckets(source.y, from, to, width / 2)
+				: largestTriangleThreeBuckets(source.x, source.y, from, to, width);
+			source.updater.update(indexes);
+			numberOfPointsIn += to - from;
+			numberOfPointsOut += indexes.length;
+		}
+		pointsIn = numberOfPointsIn;
+		pointsOut = numberOfPointsOut;
+		reportLabel.setText(getReport());
+	}
+
+	public long getPointsIn() {
+		return pointsIn;
+	}
+
+	public long getPointsOut() {
+		return pointsOut;
+	}
+
+	public JLabel getReportLabel() {
+		return reportLabel;
+	}
+
+	public String getReport() {
+		return name + " : " + Long.toString(pointsIn) + " points, " + Long.toString(pointsOut) + " affichés";
+	}
+
+	private static int lowerBound(final double[] x, final double value) {
+		int low = 0;
+		int high = x.length;
+		while (low < high) {
+			final int middle = low + high >>> 1;
+			if (x[middle] < value) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	private static int[] allIndexes(final int from, final int to) {
+		final int[] indexes = new int[Math.max(0, to - from)];
+		for (int index = 0; index < indexes.length; index++) {
+			indexes[index] = from + index;
+		}
+		return indexes;
+	}
+
+	public static int[] largestTriangleThreeBuckets(final double[] x, final double[] y, final int from, final int to, final int threshold) {
+		final int length = to - from;
+		if (threshold >= length || threshold < MINIMUM_POINTS) {
+			return allIndexes(from, to);
+		}
+
+		final int[] indexes = new int[threshold];
+		int numberOfIndexes = 0;
+		indexes[numberOfIndexes++] = from;
+		final double bucketSize = (double) (length - 2) / (threshold - 2);
+		int previous = from;
+		for (int bucket = 0; bucket < threshold - 2; bucket++) {
+			final int nextStart = from + 1 + (int) ((bucket + 1) * bucketSize);
+			final int nextEnd = Math.min(from + 1 + (int) ((bucket + 2) * bucketSize), to);
+			double meanX = 0.0;
+			double meanY = 0.0;
+			for (int index = nextStart; index < nextEnd; index++) {
+				meanX += x[index];
+				meanY += y[index];
+			}
+			meanX /= nextEnd - nextStart;
+			meanY /= nextEnd - nextStart;
+
+			final int start = from + 1 + (int) (bucket * bucketSize);
+			final int end = from + 1 + (int) ((bucket + 1) * bucketSize);
+			double maximumArea = -1.0;
+			int selected = start;
+			for (int index = start; index < end; index++) {
+				final double area = Math.abs((x[previous] - meanX) * (y[index] - y[previous]) - (x[previous] - x[index]) * (meanY - y[previous]));
+				if (area > maximumArea) {
+					maximumArea = area;
+					selected = index;
+				}
+			}
+			indexes[numberOfIndexes++] = selected;
+			previous = selected;
+		}
+		indexes[numberOfIndexes++] = to - 1;
+		return indexes;
+	}
+
+	public static int[] minMaxBuckets(final double[] y, final int from, final int to, final int numberOfBuckets) {
+		final int length = to - from;
+		if (numberOfBuckets * 2 >= length || numberOfBuckets < 1) {
+			return allIndexes(from, to);
+		}
+
+		final int[] indexes = new int[numberOfBuckets * 2];
+		int numberOfIndexes = 0;
+		for (int bucket = 0; bucket < numberOfBuckets; bucket++) {
+			final int start = from + (int) ((long) bucket * length / numberOfBuckets);
+			final int end = from + (int) ((long) (bucket + 1) * length / numberOfBuckets);
+			int minimum = start;
+			int maximum = start;
+			for (int index = start + 1; index < end; index++) {
+				if (y[index] < y[minimum]) {
+					minimum = index;
+				}
+				if (y[index] > y[maximum]) {
+					maximum = index;
+				}
+			}
+			indexes[numberOfIndexes++] = Math.min(minimum, maximum);
+			if (minimum != maximum) {
+				indexes[numberOfIndexes++] = Math.max(minimum, maximum);
+			}
+		}
+		return Arrays.copyOf(indexes, numberOfIndexes);
+	}
+
+	private static class Source {
+		private final double[] x;
+		private final double[] y;
+		private final boolean minMax;
+		private final SeriesUpdater updater;
+
+		private Source(final double[] x, final double[] y, final boolean minMax, final SeriesUpdater updater) {
+			this.x = x;
+			this.y = y;
+			this.minMax = minMax;
+			this.updater = updater;
+		}
+	}
+
+}
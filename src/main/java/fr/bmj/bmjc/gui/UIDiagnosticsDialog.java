@@ -0,0 +1,139 @@
+/*
+ * This file is part of Breizh Mahjong Recorder.
+ *
+ * Breizh Mahjong Recorder is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Breizh Mahjong Recorder is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Breizh Mahjong Recorder. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.bmj.bmjc.gui;
+
+import java.awt.BorderLayout;
+import java.awt.Container;
+import java.awt.Dimension;
+import java.awt.FlowLayout;
+import java.awt.event.ActionEvent;
+import java.util.List;
+
+import javax.swing.JButton;
+import javax.swing.JCheckBox;
+import javax.swing.JDialog;
+import javax.swing.JFrame;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.table.DefaultTableModel;
+
+import fr.bmj.bmjc.dataaccess.impl.monitor.DataAccessMethodStats;
+import fr.bmj.bmjc.dataaccess.impl.monitor.DataAccessMonitor;
+
+public class UIDiagnosticsDialog extends JDialog {
+	private static final long serialVersionUID = 6160413939573818124L;
+
+	private static final int DIALOG_HEIGHT = 480;
+	private static final int DIALOG_WIDTH = 1080;
+	private static final String COLUMN_NAMES[] = {
+		"Méthode",
+		"Appels",
+		"Moyenne",
+		"p50",
+		"p95",
+		"p99",
+		"Max",
+		"Requêtes",
+		"Traitement",
+		"Lignes"
+	};
+
+	private final DataAccessMonitor monitor;
+	private final DefaultTableModel tableModel;
+	private final JCheckBox checkBoxEnabled;
+
+	public UIDiagnosticsDialog(final JFrame owner, final DataAccessMonitor monitor) {
+		super(owner, "Diagnostics", false);
+		this.monitor = monitor;
+
+		final Container pane = getContentPane();
+		pane.setLayout(new BorderLayout());
+
+		tableModel = new DefaultTableModel(COLUMN_NAMES, 0) {
+			private static final long serialVersionUID = -2270545913389180734L;
+
+			@Override
+			public boolean isCellEditable(final int row, final int column) {
+				return false;
+			}
+
+			@Override
+			public Class<?> getColumnClass(final int column) {
+				if (column == 0) {
+					return String.class;
+				} else if (column == 1 || column == COLUMN_NAMES.length - 1) {
+					return Long.class;
+				} else {
+					return Double.class;
+				}
+			}
+		};
+		final JTable table = new JTable(tableModel);
+		table.setAutoCreateRowSorter(true);
+		table.getColumnModel().getColumn(0).setPreferredWidth(280);
+		pane.add(new JScrollPane(table), BorderLayout.CENTER);
+
+		final JPanel panelButtons = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+		pane.add(panelButtons, BorderLayout.SOUTH);
+
+		checkBoxEnabled = new JCheckBox("Mesure activée", monitor.isEnabled());
+		checkBoxEnabled.addActionListener((final ActionEvent e) -> monitor.setEnabled(checkBoxEnabled.isSelected()));
+		panelButtons.add(checkBoxEnabled);
+
+		final JButton buttonRefresh = new JButton("Actualiser");
+		buttonRefresh.addActionListener((final ActionEvent e) -> refresh());
+		panelButtons.add(buttonRefresh);
+
+		final JButton buttonReset = new JButton("Réinitialiser");
+		buttonReset.addActionListener((final ActionEvent e) -> {
+			monitor.reset();
+			refresh();
+		});
+		panelButtons.add(buttonReset);
+
+		final JButton buttonClose = new JButton("Fermer");
+		buttonClose.addActionListener((final ActionEvent e) -> dispose());
+		panelButtons.add(buttonClose);
+
+		setPreferredSize(new Dimension(DIALOG_WIDTH, DIALOG_HEIGHT));
+		pack();
+		setLocationRelativeTo(owner);
+		refresh();
+	}
+
+	private void refresh() {
+		checkBoxEnabled.setSelected(monitor.isEnabled());
+		final List<DataAccessMethodStats> stats = monitor.getStats();
+		tableModel.setRowCount(0);
+		for (final DataAccessMethodStats methodStats : stats) {
+			tableModel.addRow(new Object[] {
+				methodStats.getName(),
+				methodStats.getCount(),
+				methodStats.getMeanTime(),
+				methodStats.getMedianTime(),
+				methodStats.get95thPercentileTime(),
+				methodStats.get99thPercentileTime(),
+				methodStats.getMaxTime(),
+				methodStats.getQueryTime(),
+				methodStats.getProcessingTime(),
+				methodStats.getNbRows()
+			});
+		}
+	}
+
+}
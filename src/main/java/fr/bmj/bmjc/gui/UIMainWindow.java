@@ -24,15 +24,24 @@ import java.awt.event.ActionListener;
 import java.awt.event.KeyEvent;
 import java.awt.event.WindowEvent;
 import java.awt.event.WindowListener;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.net.URL;
+import java.nio.charset.Charset;
+import java.util.zip.GZIPInputStream;
 
 import javax.imageio.ImageIO;
 import javax.swing.ButtonGroup;
 import javax.swing.JCheckBoxMenuItem;
+import javax.swing.JFileChooser;
 import javax.swing.JFrame;
 import javax.swing.JMenu;
 import javax.swing.JMenuBar;
 import javax.swing.JMenuItem;
+import javax.swing.JOptionPane;
 import javax.swing.JRadioButtonMenuItem;
 import javax.swing.JTabbedPane;
 import javax.swing.SwingConstants;
@@ -40,6 +49,8 @@ import javax.swing.WindowConstants;
 import javax.swing.event.ChangeEvent;
 
 import fr.bmj.bmjc.dataaccess.abs.DataAccess;
+import fr.bmj.bmjc.dataaccess.abs.UpdateResult;
+import fr.bmj.bmjc.dataaccess.impl.monitor.DataAccessMonitor;
 import fr.bmj.bmjc.gui.player.UITabPanelManagePlayer;
 import fr.bmj.bmjc.gui.rcr.UITabPanelRCRGameHistory;
 import fr.bmj.bmjc.gui.rcr.UITabPanelRCRManage;
@@ -70,6 +81,7 @@ public class UIMainWindow extends JFrame implements WindowListener {
 	private static final boolean USE_MIN_GAME = false;
 	private static final boolean ONLY_REGULAR_PLAYERS = false;
 	private static final boolean ONLY_FREQUENT_PLAYERS = true;
+	private static final int IMPORT_BATCH_SIZE = 1000;
 
 	private final DataAccess dataAccess;
 
@@ -128,6 +140,11 @@ public class UIMainWindow extends JFrame implements WindowListener {
 		menuItemExport.setMnemonic(KeyEvent.VK_E);
 		menuItemExport.addActionListener((final ActionEvent e) -> export());
 		menuFile.add(menuItemExport);
+
+		final JMenuItem menuItemImport = new JMenuItem("Importer des parties");
+		menuItemImport.setMnemonic(KeyEvent.VK_I);
+		menuItemImport.addActionListener((final ActionEvent e) -> importGames());
+		menuFile.add(menuItemImport);
 		menuFile.addSeparator();
 
 		final JMenuItem menuItemFileExit = new JMenuItem("Quitter");
@@ -175,6 +192,15 @@ public class UIMainWindow extends JFrame implements WindowListener {
 		menuSettingsOnlyFrequentPlayers.addActionListener((final ActionEvent e) -> setOnlyFrequentPlayers());
 		menuSettings.add(menuSettingsOnlyFrequentPlayers);
 
+		if (dataAccess instanceof DataAccessMonitor) {
+			menuSettings.addSeparator();
+
+			final JMenuItem menuItemDiagnostics = new JMenuItem("Diagnostics");
+			menuItemDiagnostics.setMnemonic(KeyEvent.VK_G);
+			menuItemDiagnostics.addActionListener((final ActionEvent e) -> new UIDiagnosticsDialog(this, (DataAccessMonitor) dataAccess).setVisible(true));
+			menuSettings.add(menuItemDiagnostics);
+		}
+
 		addWindowListener(this);
 		setMinimumSize(new Dimension(WINDOW_WIDTH, WINDOW_HEIGHT));
 		setPreferredSize(new Dimension(WINDOW_WIDTH, WINDOW_HEIGHT));
@@ -200,7 +226,9 @@ public class UIMainWindow extends JFrame implements WindowListener {
 		final UITabPanel tab = getCurrentTab();
 		if (tab != null) {
 			menuItemExport.setEnabled(tab.canExport());
-			tab.refresh();
+			if (!tab.isUpToDate()) {
+				tab.refresh();
+			}
 		}
 	}
 
@@ -211,6 +239,44 @@ public class UIMainWindow extends JFrame implements WindowListener {
 		}
 	}
 
+	private void importGames() {
+		final JFileChooser fileChooser = new JFileChooser();
+		fileChooser.setFileSelectionMode(JFileChooser.FILES_ONLY);
+		fileChooser.setMultiSelectionEnabled(false);
+		if (fileChooser.showOpenDialog(this) == JFileChooser.APPROVE_OPTION) {
+			final File file = fileChooser.getSelectedFile();
+			UITaskScheduler.getInstance().execute(() -> {
+				Reader reader = null;
+				try {
+					InputStream input = new FileInputStream(file);
+					if (file.getName().endsWith(".gz")) {
+						input = new GZIPInputStream(input);
+					}
+					reader = new InputStreamReader(input, Charset.forName("UTF-8"));
+					final UpdateResult result = dataAccess.getRCR().importRCRGames(reader, IMPORT_BATCH_SIZE);
+					if (result.getResult()) {
+						JOptionPane.showMessageDialog(this, result.getMessage(), "Succès", JOptionPane.INFORMATION_MESSAGE);
+					} else {
+						JOptionPane.showMessageDialog(this, result.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
+					}
+					final UITabPanel tab = getCurrentTab();
+					if (tab != null) {
+						tab.refresh();
+					}
+				} catch (final Exception e) {
+					JOptionPane.showMessageDialog(this, e.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
+				} finally {
+					if (reader != null) {
+						try {
+							reader.close();
+						} catch (final Exception e) {
+						}
+					}
+				}
+			});
+		}
+	}
+
 	private void exit() {
 		dataAccess.disconnect();
 		dispose();
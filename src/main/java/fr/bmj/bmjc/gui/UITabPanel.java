@@ -21,6 +21,10 @@ import java.io.File;
 import javax.swing.JFileChooser;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
+
+import fr.bmj.bmjc.export.CSVExport;
+import fr.bmj.bmjc.export.CSVWriter;
 
 public abstract class UITabPanel extends JPanel {
 	private static final long serialVersionUID = -784698626936944693L;
@@ -38,9 +42,24 @@ public abstract class UITabPanel extends JPanel {
 
 	abstract public void export();
 
-	protected static final String SEPARATOR = ";";
-
 	private File lastSaveFilePath = null;
+	private boolean upToDate = false;
+
+	public boolean isUpToDate() {
+		return upToDate;
+	}
+
+	protected void setUpToDate(final boolean upToDate) {
+		this.upToDate = upToDate;
+	}
+
+	protected void runOnEventDispatchThread(final Runnable runnable) {
+		if (SwingUtilities.isEventDispatchThread()) {
+			runnable.run();
+		} else {
+			SwingUtilities.invokeLater(runnable);
+		}
+	}
 
 	protected File askSaveFileName(final String proposedSaveFileName) {
 		final JFileChooser fileChooser = new JFileChooser();
@@ -76,4 +95,32 @@ public abstract class UITabPanel extends JPanel {
 		}
 	}
 
+	protected UITask runTask(final String name, final UITaskScheduler.Work work) {
+		return UITaskScheduler.getInstance().submit(this, name, work);
+	}
+
+	protected void runInBackground(final Runnable work) {
+		UITaskScheduler.getInstance().execute(work);
+	}
+
+	protected void exportCSV(final File file, final CSVExport export) {
+		CSVWriter writer = null;
+		try {
+			writer = new CSVWriter(file);
+			export.write(writer);
+			writer.close();
+			JOptionPane.showMessageDialog(this, file.getName() + " : " + writer.getReport(), "Succès", JOptionPane.INFORMATION_MESSAGE);
+		} catch (final Exception e) {
+			e.printStackTrace();
+			JOptionPane.showMessageDialog(this, "Une erreur est survenue lors de sauvegarde.", "Erreur", JOptionPane.ERROR_MESSAGE);
+		} finally {
+			if (writer != null) {
+				try {
+					writer.close();
+				} catch (final Exception e) {
+				}
+			}
+		}
+	}
+
 }
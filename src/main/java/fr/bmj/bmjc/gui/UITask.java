@@ -0,0 +1,77 @@
+/*
+ * This file is part of Breizh Mahjong Recorder.
+ *
+ * Breizh Mahjong Recorder is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Breizh Mahjong Recorder is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Breizh Mahjong Recorder. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.bmj.bmjc.gui;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.SwingUtilities;
+
+import fr.bmj.bmjc.dataaccess.abs.DataAccessCancellation;
+
+public class UITask {
+
+	private final DataAccessCancellation cancellation;
+	private final List<Runnable> updates;
+
+	UITask() {
+		cancellation = new DataAccessCancellation();
+		updates = new ArrayList<Runnable>();
+	}
+
+	public boolean isCancelled() {
+		return cancellation.isCancelled();
+	}
+
+	void cancel() {
+		cancellation.cancel();
+	}
+
+	void bind() {
+		cancellation.bind();
+	}
+
+	void unbind() {
+		cancellation.unbind();
+	}
+
+	public void publish(final Runnable update) {
+		synchronized (updates) {
+			updates.add(update);
+		}
+	}
+
+	void flush() {
+		final Runnable batch[];
+		synchronized (updates) {
+			batch = updates.toArray(new Runnable[updates.size()]);
+			updates.clear();
+		}
+		if (batch.length == 0 || isCancelled()) {
+			return;
+		}
+		SwingUtilities.invokeLater(() -> {
+			if (isCancelled()) {
+				return;
+			}
+			for (final Runnable update : batch) {
+				update.run();
+			}
+		});
+	}
+
+}
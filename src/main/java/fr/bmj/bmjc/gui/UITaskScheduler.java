@@ -0,0 +1,120 @@
+/*
+ * This file is part of Breizh Mahjong Recorder.
+ *
+ * Breizh Mahjong Recorder is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Breizh Mahjong Recorder is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Breizh Mahjong Recorder. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.bmj.bmjc.gui;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class UITaskScheduler {
+
+	public interface Work {
+		public void run(UITask task) throws Exception;
+	}
+
+	private static final UITaskScheduler INSTANCE = new UITaskScheduler(Math.max(2, Runtime.getRuntime().availableProcessors()));
+
+	private final ThreadPoolExecutor executor;
+	private final Map<TaskKey, UITask> currentTasks;
+
+	private UITaskScheduler(final int nbThreads) {
+		final AtomicInteger threadIndex = new AtomicInteger();
+		final ThreadFactory threadFactory = (final Runnable runnable) -> {
+			final Thread thread = new Thread(runnable, "bmjc-ui-task-" + Integer.toString(threadIndex.incrementAndGet()));
+			thread.setDaemon(true);
+			return thread;
+		};
+		executor = new ThreadPoolExecutor(nbThreads, nbThreads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), threadFactory);
+		executor.allowCoreThreadTimeOut(true);
+		currentTasks = new HashMap<TaskKey, UITask>();
+	}
+
+	public static UITaskScheduler getInstance() {
+		return INSTANCE;
+	}
+
+	public UITask submit(final Object owner, final String name, final Work work) {
+		final TaskKey key = new TaskKey(owner, name);
+		final UITask task = new UITask();
+		final UITask previousTask;
+		synchronized (currentTasks) {
+			previousTask = currentTasks.put(key, task);
+		}
+		if (previousTask != null) {
+			previousTask.cancel();
+		}
+
+		executor.execute(() -> {
+			if (task.isCancelled()) {
+				return;
+			}
+			task.bind();
+			try {
+				work.run(task);
+				task.flush();
+			} catch (final Exception e) {
+				if (!task.isCancelled()) {
+					e.printStackTrace();
+				}
+			} finally {
+				task.unbind();
+			}
+		});
+		return task;
+	}
+
+	public void execute(final Runnable work) {
+		executor.execute(work);
+	}
+
+	public int getNbQueuedTasks() {
+		return executor.getQueue().size();
+	}
+
+	public int getNbActiveTasks() {
+		return executor.getActiveCount();
+	}
+
+	private static class TaskKey {
+		private final Object owner;
+		private final String name;
+
+		private TaskKey(final Object owner, final String name) {
+			this.owner = owner;
+			this.name = name;
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(owner) * 31 + name.hashCode();
+		}
+
+		@Override
+		public boolean equals(final Object object) {
+			if (!(object instanceof TaskKey)) {
+				return false;
+			}
+			final TaskKey key = (TaskKey) object;
+			return owner == key.owner && name.equals(key.name);
+		}
+	}
+
+}
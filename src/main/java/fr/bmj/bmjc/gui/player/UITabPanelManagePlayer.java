@@ -23,11 +23,7 @@ import java.awt.GridBagLayout;
 import java.awt.Insets;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileOutputStream;
-import java.io.OutputStreamWriter;
-import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -47,6 +43,7 @@ import fr.bmj.bmjc.data.game.ComparatorAscendingPlayerDisplayName;
 import fr.bmj.bmjc.data.game.Player;
 import fr.bmj.bmjc.dataaccess.abs.UpdateResult;
 import fr.bmj.bmjc.dataaccess.abs.player.DataAccessManagePlayer;
+import fr.bmj.bmjc.export.CSVWriter;
 import fr.bmj.bmjc.gui.UITabPanel;
 import fr.bri.awt.ProportionalGridLayout;
 import fr.bri.awt.ProportionalGridLayoutConstraint;
@@ -227,7 +224,7 @@ public class UITabPanelManagePlayer extends UITabPanel {
 	}
 
 	private void refreshPlayer() {
-		new Thread(() -> {
+		runInBackground(() -> {
 			try {
 				comboBoxPlayer.removeActionListener(comboBoxPlayerActionListener);
 				comboBoxPlayer.removeAllItems();
@@ -250,7 +247,7 @@ public class UITabPanelManagePlayer extends UITabPanel {
 			} catch (final Exception e) {
 				JOptionPane.showMessageDialog(this, e.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
 			}
-		}).start();
+		});
 	}
 
 	private void addPlayer() {
@@ -333,55 +330,24 @@ public class UITabPanelManagePlayer extends UITabPanel {
 
 	@Override
 	public void export() {
-		new Thread(() -> {
+		runInBackground(() -> {
 			try {
 				final File fileSaveFile = askSaveFileName("Players.csv");
 				if (fileSaveFile != null) {
-					BufferedWriter writer = null;
-					try {
-						writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(fileSaveFile), Charset.forName("UTF-8")));
-						writer.write("Id");
-						writer.write(SEPARATOR);
-						writer.write("Display Name");
-						writer.write(SEPARATOR);
-						writer.write("Name");
-						writer.write(SEPARATOR);
-						writer.write("Frequent");
-						writer.write(SEPARATOR);
-						writer.write("Regular");
-						writer.newLine();
-						writer.write("License");
-						writer.newLine();
-
-						for (int index = 0; index < listPlayer.size(); index++) {
-							final Player player = listPlayer.get(index);
-							writer.write(Integer.toString(player.getPlayerID()));
-							writer.write(SEPARATOR);
-							writer.write(player.getDisplayName());
-							writer.write(SEPARATOR);
-							writer.write(player.getPlayerName());
-							writer.write(SEPARATOR);
-							writer.write(Boolean.toString(player.isFrequent()));
-							writer.write(SEPARATOR);
-							writer.write(Boolean.toString(player.isRegular()));
-							writer.newLine();
-							writer.write(SEPARATOR);
-							writer.write(player.getLicense() != null ? player.getLicense() : "");
+					final List<Player> players = new ArrayList<Player>(listPlayer);
+					exportCSV(fileSaveFile, (final CSVWriter writer) -> {
+						writer.writeRow("Id", "Display Name", "Name", "Frequent", "Regular", "License");
+						for (int index = 0; index < players.size(); index++) {
+							final Player player = players.get(index);
+							writer.writeField(player.getPlayerID()).writeField(player.getDisplayName()).writeField(player.getPlayerName())
+								.writeField(player.isFrequent()).writeField(player.isRegular()).writeField(player.getLicense());
+							writer.endRow();
 						}
-					} catch (final Exception e) {
-						JOptionPane.showMessageDialog(this, "Une erreur est survenue lors de sauvegarde.", "Erreur", JOptionPane.ERROR_MESSAGE);
-					} finally {
-						if (writer != null) {
-							try {
-								writer.close();
-							} catch (final Exception e) {
-							}
-						}
-					}
+					});
 				}
 			} catch (final Exception e) {
 				JOptionPane.showMessageDialog(this, e.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
 			}
-		}).start();
+		});
 	}
 }
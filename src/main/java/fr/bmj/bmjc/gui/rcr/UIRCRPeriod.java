@@ -0,0 +1,69 @@
+/*
+ * This file is part of Breizh Mahjong Recorder.
+ *
+ * Breizh Mahjong Recorder is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Breizh Mahjong Recorder is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Breizh Mahjong Recorder. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.bmj.bmjc.gui.rcr;
+
+import javax.swing.JComboBox;
+
+import fr.bmj.bmjc.data.game.Tournament;
+import fr.bmj.bmjc.data.game.rcr.RCRGame;
+import fr.bmj.bmjc.enums.EnumPeriodMode;
+
+public class UIRCRPeriod {
+
+	public final Tournament tournament;
+	public final EnumPeriodMode periodMode;
+	public final int year;
+	public final int trimester;
+	public final int month;
+	public final int day;
+
+	public UIRCRPeriod(final Tournament tournament, final EnumPeriodMode periodMode, final int year, final int trimester, final int month,
+		final int day) {
+		this.tournament = tournament;
+		this.periodMode = periodMode;
+		this.year = year;
+		this.trimester = trimester;
+		this.month = month;
+		this.day = day;
+	}
+
+	public boolean contains(final RCRGame game) {
+		return game.getTournamentId() == tournament.getId() && game.isInPeriod(periodMode, year, trimester, month, day);
+	}
+
+	public static boolean isListed(final RCRGame game, final JComboBox<Integer> comboYear, final JComboBox<String> comboMonth,
+		final JComboBox<Integer> comboDay) {
+		if (!contains(comboYear, game.getYear())) {
+			return false;
+		}
+		final Object selectedYear = comboYear.getSelectedItem();
+		if (selectedYear != null && (Integer) selectedYear == game.getYear() && comboMonth.getSelectedIndex() == game.getMonth()) {
+			return contains(comboDay, game.getDay());
+		}
+		return true;
+	}
+
+	private static boolean contains(final JComboBox<Integer> comboBox, final int value) {
+		for (int index = 0; index < comboBox.getItemCount(); index++) {
+			if (comboBox.getItemAt(index) == value) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
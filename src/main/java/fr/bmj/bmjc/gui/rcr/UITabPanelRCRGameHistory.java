@@ -24,15 +24,12 @@ import java.awt.GridBagLayout;
 import java.awt.Insets;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileOutputStream;
-import java.io.OutputStreamWriter;
-import java.nio.charset.Charset;
 import java.text.DateFormatSymbols;
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
 import java.text.SimpleDateFormat;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collections;
@@ -49,17 +46,23 @@ import javax.swing.JSplitPane;
 import javax.swing.JTree;
 import javax.swing.ScrollPaneConstants;
 import javax.swing.SwingConstants;
+import javax.swing.event.TreeExpansionEvent;
 import javax.swing.event.TreeSelectionEvent;
+import javax.swing.event.TreeWillExpandListener;
 import javax.swing.tree.DefaultMutableTreeNode;
 import javax.swing.tree.DefaultTreeModel;
+import javax.swing.tree.ExpandVetoException;
 import javax.swing.tree.TreePath;
 import javax.swing.tree.TreeSelectionModel;
 
 import fr.bmj.bmjc.data.game.ComparatorDescendingTournamentID;
 import fr.bmj.bmjc.data.game.Tournament;
 import fr.bmj.bmjc.data.game.rcr.RCRGame;
+import fr.bmj.bmjc.data.game.rcr.RCRGameDate;
 import fr.bmj.bmjc.data.game.rcr.RCRScore;
 import fr.bmj.bmjc.dataaccess.abs.rcr.DataAccessRCR;
+import fr.bmj.bmjc.dataaccess.abs.rcr.RCRGameVisitor;
+import fr.bmj.bmjc.export.CSVWriter;
 import fr.bmj.bmjc.gui.UITabPanel;
 
 public class UITabPanelRCRGameHistory extends UITabPanel {
@@ -72,6 +75,11 @@ public class UITabPanelRCRGameHistory extends UITabPanel {
 	};
 	private final int LABEL_HEIGHT = 18;
 
+	private static final int TREE_LEVEL_TOURNAMENT = 0;
+	private static final int TREE_LEVEL_YEAR = 1;
+	private static final int TREE_LEVEL_MONTH = 2;
+	private static final int TREE_LEVEL_DAY = 3;
+
 	private boolean displayFullName;
 	private final DataAccessRCR dataAccess;
 
@@ -86,6 +94,7 @@ public class UITabPanelRCRGameHistory extends UITabPanel {
 	private TreePath selectedPath;
 	private Long selectedId;
 
+	private final String monthStrings[];
 	private final SimpleDateFormat dateFormat;
 	private final Calendar calendar;
 	private final DecimalFormat normalDecimalFormat;
@@ -97,6 +106,7 @@ public class UITabPanelRCRGameHistory extends UITabPanel {
 		this.dataAccess = dataAccess;
 		displayFullName = false;
 
+		monthStrings = DateFormatSymbols.getInstance(Locale.FRANCE).getMonths();
 		dateFormat = new SimpleDateFormat("yyyy-MM-dd");
 		calendar = Calendar.getInstance();
 		normalDecimalFormat = new DecimalFormat("#,###");
@@ -134,11 +144,24 @@ public class UITabPanelRCRGameHistory extends UITabPanel {
 			c.weightx = 1.0;
 			leftComponent.add(comboTournament, c);
 
-			treeModel = new DefaultTreeModel(null);
+			treeModel = new DefaultTreeModel(null, true);
 			treeIds = new JTree(treeModel);
 			treeIds.setRootVisible(true);
 			treeIds.getSelectionModel().setSelectionMode(TreeSelectionModel.SINGLE_TREE_SELECTION);
 			treeIds.getSelectionModel().addTreeSelectionListener((final TreeSelectionEvent e) -> selectGame());
+			treeIds.addTreeWillExpandListener(new TreeWillExpandListener() {
+				@Override
+				public void treeWillExpand(final TreeExpansionEvent event) throws ExpandVetoException {
+					final Object node = event.getPath().getLastPathComponent();
+					if (node instanceof GameDateTreeNode && ((GameDateTreeNode) node).loadChildren()) {
+						treeModel.nodeStructureChanged((GameDateTreeNode) node);
+					}
+				}
+
+				@Override
+				public void treeWillCollapse(final TreeExpansionEvent event) throws ExpandVetoException {
+				}
+			});
 			final JScrollPane scrollList = new JScrollPane(treeIds, ScrollPaneConstants.VERTICAL_SCROLLBAR_ALWAYS,
 				ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
 			c.gridy = 1;
@@ -269,7 +292,7 @@ public class UITabPanelRCRGameHistory extends UITabPanel {
 	}
 
 	private void refreshTournament() {
-		new Thread(() -> {
+		runInBackground(() -> {
 			try {
 				listTournament.clear();
 				final List<Tournament> newTournaments = dataAccess.getRCRTournaments();
@@ -294,48 +317,18 @@ public class UITabPanelRCRGameHistory extends UITabPanel {
 			} catch (final Exception e) {
 				JOptionPane.showMessageDialog(this, e.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
 			}
-		}).start();
+		});
 	}
 
 	private void refreshTree() {
-		new Thread(() -> {
+		runInBackground(() -> {
 			try {
 				invalidate();
-				final String monthStrings[] = DateFormatSymbols.getInstance(Locale.FRANCE).getMonths();
 				final int selectedTournamentIndex = comboTournament.getSelectedIndex();
 				if (listTournament.size() > 0 && selectedTournamentIndex >= 0) {
 					final Tournament tournament = listTournament.get(selectedTournamentIndex);
-					final List<Integer> yearList = new ArrayList<Integer>(dataAccess.getRCRYears(tournament));
-					Collections.sort(yearList);
-
-					final DefaultMutableTreeNode root = new DefaultMutableTreeNode(tournament.getName());
-					for (int index = 0; index < yearList.size(); index++) {
-						final int year = yearList.get(index);
-						final DefaultMutableTreeNode nodeYear = new DefaultMutableTreeNode(year);
-						root.add(nodeYear);
-
-						for (int month = 0; month < 12; month++) {
-							final List<Integer> days = dataAccess.getRCRGameDays(tournament, year, month);
-							if (days.size() > 0) {
-								Collections.sort(days);
-								final DefaultMutableTreeNode nodeMonth = new DefaultMutableTreeNode(monthStrings[month]);
-								nodeYear.add(nodeMonth);
-
-								for (int dayIndex = 0; dayIndex < days.size(); dayIndex++) {
-									final int day = days.get(dayIndex);
-									final List<Long> idList = dataAccess.getRCRGameIds(tournament, year, month, day);
-									Collections.sort(idList);
-									final DefaultMutableTreeNode nodeDay = new DefaultMutableTreeNode(day);
-									nodeMonth.add(nodeDay);
-
-									for (int idIndex = 0; idIndex < idList.size(); idIndex++) {
-										final DefaultMutableTreeNode nodeId = new DefaultMutableTreeNode(idList.get(idIndex));
-										nodeDay.add(nodeId);
-									}
-								}
-							}
-						}
-					}
+					final GameDateTreeNode root = new GameDateTreeNode(tournament.getName(), dataAccess.getRCRGameDates(tournament), TREE_LEVEL_TOURNAMENT);
+					root.loadChildren();
 					treeModel.setRoot(root);
 				} else {
 					treeModel.setRoot(null);
@@ -346,14 +339,14 @@ public class UITabPanelRCRGameHistory extends UITabPanel {
 			} catch (final Exception e) {
 				JOptionPane.showMessageDialog(this, e.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
 			}
-		}).start();
+		});
 	}
 
 	private void selectGame() {
 		selectedPath = treeIds.getSelectionPath();
 		if (selectedPath != null) {
 			final DefaultMutableTreeNode selectedNode = (DefaultMutableTreeNode) selectedPath.getLastPathComponent();
-			if (selectedNode.isLeaf()) {
+			if (!selectedNode.getAllowsChildren()) {
 				selectedId = (Long) selectedNode.getUserObject();
 			} else {
 				selectedId = null;
@@ -365,7 +358,7 @@ public class UITabPanelRCRGameHistory extends UITabPanel {
 	}
 
 	private void displayGame() {
-		new Thread(() -> {
+		runInBackground(() -> {
 			try {
 				if (selectedId != null) {
 					final RCRGame game = dataAccess.getRCRGame(selectedId);
@@ -421,11 +414,11 @@ public class UITabPanelRCRGameHistory extends UITabPanel {
 			} catch (final Exception e) {
 				JOptionPane.showMessageDialog(this, e.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
 			}
-		}).start();
+		});
 	}
 
 	private void clearGame() {
-		new Thread(() -> {
+		runInBackground(() -> {
 			try {
 				labelDate.setText("");
 				labelRounds.setText("");
@@ -437,7 +430,7 @@ public class UITabPanelRCRGameHistory extends UITabPanel {
 			} catch (final Exception e) {
 				JOptionPane.showMessageDialog(this, e.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
 			}
-		}).start();
+		});
 	}
 
 	@Override
@@ -447,7 +440,7 @@ public class UITabPanelRCRGameHistory extends UITabPanel {
 
 	@Override
 	public void export() {
-		new Thread(() -> {
+		runInBackground(() -> {
 			try {
 				if (selectedPath != null) {
 					final Object[] path = selectedPath.getPath();
@@ -461,73 +454,125 @@ public class UITabPanelRCRGameHistory extends UITabPanel {
 						proposedSaveFileName.append(".csv");
 						final File fileSaveFile = askSaveFileName(proposedSaveFileName.toString());
 						if (fileSaveFile != null) {
-							BufferedWriter writer = null;
-							try {
-								writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(fileSaveFile), Charset.forName("UTF-8")));
-								exportChildren((DefaultMutableTreeNode) selectedPath.getLastPathComponent(), writer);
-							} catch (final Exception e) {
-								JOptionPane.showMessageDialog(this, "Une erreur est survenue lors de sauvegarde.", "Erreur", JOptionPane.ERROR_MESSAGE);
-							} finally {
-								if (writer != null) {
-									try {
-										writer.close();
-									} catch (final Exception e) {
-									}
-								}
-							}
+							exportCSV(fileSaveFile, (final CSVWriter writer) -> exportChildren((DefaultMutableTreeNode) selectedPath.getLastPathComponent(), writer));
 						}
 					}
 				}
 			} catch (final Exception e) {
 				JOptionPane.showMessageDialog(this, e.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
 			}
-		}).start();
+		});
 	}
 
-	private void exportChildren(final DefaultMutableTreeNode node, final BufferedWriter writer) throws Exception {
+	private void exportChildren(final DefaultMutableTreeNode node, final CSVWriter writer) throws Exception {
 		if (node != null && writer != null) {
-			if (!node.isLeaf()) {
-				for (int index = 0; index < node.getChildCount(); index++) {
-					exportChildren((DefaultMutableTreeNode) node.getChildAt(index), writer);
+			final Tournament tournament = listTournament.get(comboTournament.getSelectedIndex());
+			if (node instanceof GameDateTreeNode) {
+				final GameDateTreeNode gameDateNode = (GameDateTreeNode) node;
+				if (gameDateNode.gameDates.size() > 0) {
+					final GameCSVWriter gameWriter = new GameCSVWriter(writer, null);
+					if (!dataAccess.getRCRGames(tournament, gameDateNode.getFirstDate(), gameDateNode.getLastDate(), gameWriter)) {
+						throw new Exception("Les parties n'ont pas pu être lues");
+					}
+				}
+			} else if (node.getParent() instanceof GameDateTreeNode) {
+				final GameDateTreeNode dayNode = (GameDateTreeNode) node.getParent();
+				final GameCSVWriter gameWriter = new GameCSVWriter(writer, (Long) node.getUserObject());
+				if (!dataAccess.getRCRGames(tournament, dayNode.getFirstDate(), dayNode.getLastDate(), gameWriter)) {
+					throw new Exception("La partie n'a pas pu être lue");
+				}
+			}
+		}
+	}
+
+	private class GameCSVWriter implements RCRGameVisitor {
+		private final CSVWriter writer;
+		private final Long onlyId;
+
+		public GameCSVWriter(final CSVWriter writer, final Long onlyId) {
+			this.writer = writer;
+			this.onlyId = onlyId;
+		}
+
+		@Override
+		public void visitGame(final long id, final short tournamentId, final int year, final int month, final int day, final short nbPlayers,
+			final short nbRounds) throws Exception {
+			if (onlyId == null || onlyId.longValue() == id) {
+				writer.writeField("#").writeField(id).writeField(tournamentId).writeDateField(year, month + 1, day).writeField(nbPlayers).writeField(nbRounds)
+					.writeField("");
+				writer.endRow();
+			}
+		}
+
+		@Override
+		public void visitScore(final long id, final short playerId, final String playerName, final String displayName, final short place,
+			final int gameScore, final int umaScore, final int finalScore) throws Exception {
+			if (onlyId == null || onlyId.longValue() == id) {
+				writer.writeField("*").writeField(id).writeField(playerId).writeField(place).writeField(gameScore).writeField(umaScore).writeField(finalScore);
+				writer.endRow();
+			}
+		}
+	}
+
+	private class GameDateTreeNode extends DefaultMutableTreeNode {
+		private static final long serialVersionUID = 2466014418467016312L;
+
+		private final List<RCRGameDate> gameDates;
+		private final int level;
+		private boolean loaded;
+
+		public GameDateTreeNode(final Object userObject, final List<RCRGameDate> gameDates, final int level) {
+			super(userObject, true);
+			this.gameDates = gameDates;
+			this.level = level;
+			loaded = false;
+		}
+
+		public LocalDate getFirstDate() {
+			final RCRGameDate gameDate = gameDates.get(0);
+			return LocalDate.of(gameDate.getYear(), gameDate.getMonth() + 1, gameDate.getDay());
+		}
+
+		public LocalDate getLastDate() {
+			final RCRGameDate gameDate = gameDates.get(gameDates.size() - 1);
+			return LocalDate.of(gameDate.getYear(), gameDate.getMonth() + 1, gameDate.getDay());
+		}
+
+		private int getKey(final RCRGameDate gameDate) {
+			switch (level) {
+				case TREE_LEVEL_TOURNAMENT:
+					return gameDate.getYear();
+				case TREE_LEVEL_YEAR:
+					return gameDate.getMonth();
+				case TREE_LEVEL_MONTH:
+				default:
+					return gameDate.getDay();
+			}
+		}
+
+		public boolean loadChildren() {
+			if (loaded) {
+				return false;
+			}
+			loaded = true;
+			if (level == TREE_LEVEL_DAY) {
+				for (int index = 0; index < gameDates.size(); index++) {
+					add(new DefaultMutableTreeNode(gameDates.get(index).getId(), false));
 				}
 			} else {
-				final Integer id = (Integer) node.getUserObject();
-				final RCRGame game = dataAccess.getRCRGame(id);
-				if (game != null) {
-					calendar.set(game.getYear(), game.getMonth(), game.getDay());
-					writer.write("#");
-					writer.write(SEPARATOR);
-					writer.write(Long.toString(game.getId()));
-					writer.write(SEPARATOR);
-					writer.write(Integer.toString(game.getTournamentId()));
-					writer.write(SEPARATOR);
-					writer.write(dateFormat.format(calendar.getTime()));
-					writer.write(SEPARATOR);
-					writer.write(Integer.toString(game.getNbPlayers()));
-					writer.write(SEPARATOR);
-					writer.write(Integer.toString(game.getNbRounds()));
-					writer.write(SEPARATOR);
-					writer.newLine();
-
-					for (int index = 0; index < game.getScores().size(); index++) {
-						final RCRScore score = game.getScores().get(index);
-						writer.write("*");
-						writer.write(SEPARATOR);
-						writer.write(Long.toString(game.getId()));
-						writer.write(SEPARATOR);
-						writer.write(Integer.toString(score.getPlayerId()));
-						writer.write(SEPARATOR);
-						writer.write(Integer.toString(score.getPlace()));
-						writer.write(SEPARATOR);
-						writer.write(Integer.toString(score.getGameScore()));
-						writer.write(SEPARATOR);
-						writer.write(Integer.toString(score.getUmaScore()));
-						writer.write(SEPARATOR);
-						writer.write(Integer.toString(score.getFinalScore()));
-						writer.newLine();
+				int first = 0;
+				while (first < gameDates.size()) {
+					final int key = getKey(gameDates.get(first));
+					int last = first + 1;
+					while (last < gameDates.size() && getKey(gameDates.get(last)) == key) {
+						last++;
 					}
+					final Object userObject = level == TREE_LEVEL_YEAR ? monthStrings[key] : Integer.valueOf(key);
+					add(new GameDateTreeNode(userObject, gameDates.subList(first, last), level + 1));
+					first = last;
 				}
 			}
+			return true;
 		}
 	}
 }
@@ -253,7 +253,7 @@ public class UITabPanelRCRManage extends UITabPanel {
 	}
 
 	private void refreshTournament() {
-		new Thread(() -> {
+		runInBackground(() -> {
 			try {
 				comboBoxTournament.removeActionListener(comboBoxTournamentActionListener);
 				comboBoxGameTournament.removeActionListener(comboBoxGameTournamentActionListener);
@@ -280,7 +280,7 @@ public class UITabPanelRCRManage extends UITabPanel {
 			} catch (final Exception e) {
 				JOptionPane.showMessageDialog(this, e.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
 			}
-		}).start();
+		});
 	}
 
 	private void addTournament() {
@@ -62,6 +62,7 @@ import fr.bmj.bmjc.data.game.Player;
 import fr.bmj.bmjc.data.game.Tournament;
 import fr.bmj.bmjc.data.game.rcr.RCRGame;
 import fr.bmj.bmjc.data.game.rcr.RCRScore;
+import fr.bmj.bmjc.data.game.rcr.RCRUmaTable;
 import fr.bmj.bmjc.dataaccess.abs.UpdateResult;
 import fr.bmj.bmjc.dataaccess.abs.player.DataAccessManagePlayer;
 import fr.bmj.bmjc.dataaccess.abs.rcr.DataAccessRCR;
@@ -93,28 +94,6 @@ public class UITabPanelRCRNewGame extends UITabPanel {
 	};
 	private static final int DEFAULT_NUMBER_OF_ROUNDS_INDEX = 1;
 
-	private static final String UMA_SET_NAMES[] = {
-		"+15000", "+30000"
-	};
-	private static final int DEFAULT_UMA_SET_INDEX = 0;
-
-	// UMA[UMA_SET][NB_PLAYERS][RANKING]
-	private static final int UMA[][][] = {
-		{
-			{
-				15000, 5000, -5000, -15000
-			}, {
-				15000, 5000, 0, -5000, -15000
-			}
-		}, {
-			{
-				30000, 10000, -10000, -30000
-			}, {
-				30000, 10000, 0, -10000, -30000
-			}
-		}
-	};
-
 	private boolean displayFullName;
 	private final DataAccessRCR dataAccessRCR;
 	private final DataAccessManagePlayer dataAccessPlayer;
@@ -202,8 +181,8 @@ public class UITabPanelRCRNewGame extends UITabPanel {
 
 			c.x = 6;
 			northPanel.add(new JLabel("Uma: ", SwingConstants.RIGHT), c);
-			comboBoxUma = new JComboBox<>(UMA_SET_NAMES);
-			comboBoxUma.setSelectedIndex(DEFAULT_UMA_SET_INDEX);
+			comboBoxUma = new JComboBox<>(RCRUmaTable.UMA_SET_NAMES);
+			comboBoxUma.setSelectedIndex(RCRUmaTable.DEFAULT_UMA_SET_INDEX);
 			comboBoxUma.addActionListener((final ActionEvent e) -> disableSaveButton());
 			c.x = 7;
 			northPanel.add(comboBoxUma, c);
@@ -378,7 +357,7 @@ public class UITabPanelRCRNewGame extends UITabPanel {
 
 	@Override
 	public void refresh() {
-		new Thread(() -> {
+		runInBackground(() -> {
 			try {
 				comboBoxTournament.removeAllItems();
 				listTournament.clear();
@@ -419,7 +398,7 @@ public class UITabPanelRCRNewGame extends UITabPanel {
 			} catch (final Exception e) {
 				JOptionPane.showMessageDialog(this, e.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
 			}
-		}).start();
+		});
 	}
 
 	private class LabelDateMouseListener extends MouseAdapter {
@@ -561,43 +540,21 @@ public class UITabPanelRCRNewGame extends UITabPanel {
 			return -Integer.compare(o1.gameScore, o2.gameScore);
 		});
 
-		// Distribute UMA
-		final int uma[] = UMA[umaSetIndex][nbPlayersIndex];
-		short playerIndex = 0;
-		while (playerIndex < nbPlayers) {
-			short equalityPlayerIndex = playerIndex;
-			equalityPlayerIndex++;
-			int totalUma = uma[playerIndex];
-			while (equalityPlayerIndex < nbPlayers && playerScoreList.get(playerIndex).gameScore == playerScoreList.get(equalityPlayerIndex).gameScore) {
-				totalUma += uma[equalityPlayerIndex];
-				equalityPlayerIndex++;
-			}
-
-			totalUma /= equalityPlayerIndex - playerIndex;
-			for (int index = playerIndex; index < equalityPlayerIndex; index++) {
-				final PlayerScore playerScore = playerScoreList.get(index);
-				playerScore.uma = totalUma;
-				playerScore.finalScore = playerScore.gameScore + totalUma;
-				playerScore.place = playerIndex;
-				playerScore.place++;
-			}
-			playerIndex = equalityPlayerIndex;
+		// Distribute UMA and adjust score according to number of rounds
+		final int gameScores[] = new int[nbPlayers];
+		final short places[] = new short[nbPlayers];
+		final int umaScores[] = new int[nbPlayers];
+		final int finalScores[] = new int[nbPlayers];
+		for (int index = 0; index < nbPlayers; index++) {
+			gameScores[index] = playerScoreList.get(index).gameScore;
 		}
-
-		// Adjust score according to number of rounds
-		switch (comboBoxNumberRounds.getSelectedIndex()) {
-			case 0:
-				for (int index = 0; index < playerScoreList.size(); index++) {
-					playerScoreList.get(index).finalScore /= 2;
-				}
-				break;
-			case 2:
-				for (int index = 0; index < playerScoreList.size(); index++) {
-					playerScoreList.get(index).finalScore *= 2;
-				}
-				break;
-			default:
-				break;
+		RCRUmaTable.distribute(umaSetIndex, nbPlayers, NUMBER_OF_ROUNDS[comboBoxNumberRounds.getSelectedIndex()], gameScores, places, umaScores,
+			finalScores);
+		for (int index = 0; index < nbPlayers; index++) {
+			final PlayerScore playerScore = playerScoreList.get(index);
+			playerScore.place = places[index];
+			playerScore.uma = umaScores[index];
+			playerScore.finalScore = finalScores[index];
 		}
 
 		// Update display
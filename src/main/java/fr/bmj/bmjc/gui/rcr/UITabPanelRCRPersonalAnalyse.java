@@ -58,18 +58,28 @@ import fr.bmj.bmjc.data.game.ComparatorAscendingPlayerName;
 import fr.bmj.bmjc.data.game.ComparatorDescendingTournamentID;
 import fr.bmj.bmjc.data.game.Player;
 import fr.bmj.bmjc.data.game.Tournament;
+import fr.bmj.bmjc.data.game.rcr.RCRGame;
+import fr.bmj.bmjc.data.game.rcr.RCRScore;
 import fr.bmj.bmjc.data.stat.rcr.RCRDataPackagePersonalAnalyze;
 import fr.bmj.bmjc.dataaccess.abs.rcr.DataAccessRCR;
+import fr.bmj.bmjc.dataaccess.abs.rcr.RCRGameListener;
 import fr.bmj.bmjc.enums.EnumPeriodMode;
 import fr.bmj.bmjc.enums.EnumScoreMode;
 import fr.bmj.bmjc.enums.EnumTrimester;
+import fr.bmj.bmjc.gui.UIChartDownsampler;
 import fr.bmj.bmjc.gui.UITabPanel;
+import fr.bmj.bmjc.gui.UITask;
 import fr.bri.awt.ProportionalGridLayout;
 import fr.bri.awt.ProportionalGridLayoutConstraint;
 
 public class UITabPanelRCRPersonalAnalyse extends UITabPanel {
 	private static final long serialVersionUID = -1239855677109744990L;
 
+	private static final String TASK_REFRESH = "refresh";
+	private static final String TASK_YEAR = "year";
+	private static final String TASK_DAY = "day";
+	private static final String TASK_DISPLAY = "display";
+
 	private static final int MAX_NUMBER_OF_TICKS = 20;
 	private static final int TICK_UNIT_MULTIPLE = 5;
 
@@ -132,6 +142,11 @@ public class UITabPanelRCRPersonalAnalyse extends UITabPanel {
 	private final List<Player> listPlayers;
 	private final List<Tournament> listTournament;
 
+	private boolean loading;
+	private boolean periodListsComplete;
+	private UIRCRPeriod displayedPeriod;
+	private short displayedPlayerId;
+
 	public UITabPanelRCRPersonalAnalyse(final DataAccessRCR dataAccess) {
 		this.dataAccess = dataAccess;
 
@@ -383,6 +398,23 @@ public class UITabPanelRCRPersonalAnalyse extends UITabPanel {
 
 		comboBoxActivated = new boolean[COMBOBOX_NUMBER];
 		changePeriodParameters(false);
+
+		dataAccess.addRCRGameListener(new RCRGameListener() {
+			@Override
+			public void rcrGameAdded(final RCRGame game) {
+				runOnEventDispatchThread(() -> changeGame(game));
+			}
+
+			@Override
+			public void rcrGameDeleted(final RCRGame game) {
+				runOnEventDispatchThread(() -> changeGame(game));
+			}
+
+			@Override
+			public void rcrDataChanged() {
+				runOnEventDispatchThread(() -> setUpToDate(false));
+			}
+		});
 	}
 
 	@Override
@@ -395,6 +427,8 @@ public class UITabPanelRCRPersonalAnalyse extends UITabPanel {
 		this.displayFullName = displayFullName;
 		if (toRefresh) {
 			refresh();
+		} else {
+			setUpToDate(false);
 		}
 	}
 
@@ -463,21 +497,26 @@ public class UITabPanelRCRPersonalAnalyse extends UITabPanel {
 
 	@Override
 	public void refresh() {
-		new Thread(() -> {
+		periodListsComplete = true;
+		runTask(TASK_REFRESH, (final UITask task) -> {
 			try {
-				refreshPlayers();
-				refreshTournament();
+				final List<Player> newPlayers = dataAccess.getRCRPlayers();
+				final List<Tournament> newTournaments = dataAccess.getRCRTournaments();
+				task.publish(() -> {
+					refreshPlayers(newPlayers);
+					refreshTournament(newTournaments);
+				});
 			} catch (final Exception e) {
 				JOptionPane.showMessageDialog(this, e.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
 			}
-		}).start();
+		});
 	}
 
-	private void refreshPlayers() {
+	private void refreshPlayers(final List<Player> newPlayers) {
 		comboPlayerNames.removeActionListener(periodParametersComboBoxLowLevelActionListener);
 		comboPlayerNames.removeAllItems();
 		listPlayers.clear();
-		listPlayers.addAll(dataAccess.getRCRPlayers());
+		listPlayers.addAll(newPlayers);
 		if (displayFullName) {
 			Collections.sort(listPlayers, new ComparatorAscendingPlayerName());
 			for (int index = 0; index < listPlayers.size(); index++) {
@@ -495,9 +534,9 @@ public class UITabPanelRCRPersonalAnalyse extends UITabPanel {
 		comboPlayerNames.addActionListener(periodParametersComboBoxLowLevelActionListener);
 	}
 
-	private void refreshTournament() {
+	private void refreshTournament(final List<Tournament> newTournaments) {
 		listTournament.clear();
-		listTournament.addAll(dataAccess.getRCRTournaments());
+		listTournament.addAll(newTournaments);
 		if (listTournament.size() > 0) {
 			Collections.sort(listTournament, new ComparatorDescendingTournamentID());
 
@@ -515,234 +554,303 @@ public class UITabPanelRCRPersonalAnalyse extends UITabPanel {
 	}
 
 	private void refreshYear() {
-		new Thread(() -> {
-			try {
-				final int selectedTournamentIndex = comboTournament.getSelectedIndex();
-				if (listTournament.size() > 0 && selectedTournamentIndex >= 0) {
-					comboYear.removeActionListener(periodParametersComboBoxHighLevelActionListener);
-					comboYear.removeAllItems();
-
-					final Tournament tournament = listTournament.get(selectedTournamentIndex);
+		final int selectedTournamentIndex = comboTournament.getSelectedIndex();
+		if (listTournament.size() > 0 && selectedTournamentIndex >= 0) {
+			final Tournament tournament = listTournament.get(selectedTournamentIndex);
+			runTask(TASK_YEAR, (final UITask task) -> {
+				try {
 					final List<Integer> years = new ArrayList<Integer>(dataAccess.getRCRYears(tournament));
 					Collections.sort(years);
 					Collections.reverse(years);
-					for (int index = 0; index < years.size(); index++) {
-						comboYear.addItem(years.get(index));
-					}
+					task.publish(() -> {
+						comboYear.removeActionListener(periodParametersComboBoxHighLevelActionListener);
+						comboYear.removeAllItems();
+						for (int index = 0; index < years.size(); index++) {
+							comboYear.addItem(years.get(index));
+						}
 
-					comboYear.addActionListener(periodParametersComboBoxHighLevelActionListener);
-					if (years.size() > 0) {
-						comboYear.setSelectedIndex(0);
-					} else {
-						comboYear.setSelectedIndex(-1);
-					}
+						comboYear.addActionListener(periodParametersComboBoxHighLevelActionListener);
+						if (years.size() > 0) {
+							comboYear.setSelectedIndex(0);
+						} else {
+							comboYear.setSelectedIndex(-1);
+						}
+					});
+				} catch (final Exception e) {
+					JOptionPane.showMessageDialog(this, e.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
 				}
-			} catch (final Exception e) {
-				JOptionPane.showMessageDialog(this, e.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
-			}
-		}).start();
+			});
+		}
 	}
 
 	private void refreshDay() {
-		new Thread(() -> {
-			try {
-				final int selectedTournamentIndex = comboTournament.getSelectedIndex();
-				final int selectedYearIndex = comboYear.getSelectedIndex();
-				if (selectedTournamentIndex != -1 && selectedYearIndex != -1) {
-					comboDay.removeActionListener(periodParametersComboBoxLowLevelActionListener);
-					comboDay.removeAllItems();
-
-					final Tournament tournament = listTournament.get(selectedTournamentIndex);
-					final int year = (Integer) comboYear.getSelectedItem();
-					final int month = comboMonth.getSelectedIndex();
+		final int selectedTournamentIndex = comboTournament.getSelectedIndex();
+		final int selectedYearIndex = comboYear.getSelectedIndex();
+		if (selectedTournamentIndex != -1 && selectedYearIndex != -1) {
+			final Tournament tournament = listTournament.get(selectedTournamentIndex);
+			final int year = (Integer) comboYear.getSelectedItem();
+			final int month = comboMonth.getSelectedIndex();
+			runTask(TASK_DAY, (final UITask task) -> {
+				try {
 					final List<Integer> days = new ArrayList<Integer>(dataAccess.getRCRGameDays(tournament, year, month));
 					Collections.sort(days);
-					for (int index = 0; index < days.size(); index++) {
-						comboDay.addItem(days.get(index));
-					}
+					task.publish(() -> {
+						comboDay.removeActionListener(periodParametersComboBoxLowLevelActionListener);
+						comboDay.removeAllItems();
+						for (int index = 0; index < days.size(); index++) {
+							comboDay.addItem(days.get(index));
+						}
 
-					comboDay.addActionListener(periodParametersComboBoxLowLevelActionListener);
-					if (days.size() > 0) {
-						comboDay.setSelectedIndex(0);
-					} else {
-						comboDay.setSelectedIndex(-1);
-					}
+						comboDay.addActionListener(periodParametersComboBoxLowLevelActionListener);
+						if (days.size() > 0) {
+							comboDay.setSelectedIndex(0);
+						} else {
+							comboDay.setSelectedIndex(-1);
+						}
+					});
+				} catch (final Exception e) {
+					JOptionPane.showMessageDialog(this, e.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
 				}
-			} catch (final Exception e) {
-				JOptionPane.showMessageDialog(this, e.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
-			}
-		}).start();
+			});
+		}
 	}
 
 	private void display() {
-		new Thread(() -> {
+		disableComboBoxes();
+		panelBarChart.removeAll();
+		panelLineChart.removeAll();
+		validate();
+		repaint();
+
+		final EnumPeriodMode periodMode = periodModes[comboPeriodMode.getSelectedIndex()];
+		final EnumScoreMode scoreMode = scoreModes[comboScoreMode.getSelectedIndex()];
+
+		final int selectedPlayerIndex = comboPlayerNames.getSelectedIndex();
+		final int selectedTournamentIndex = comboTournament.getSelectedIndex();
+		final int selectedYearIndex = comboYear.getSelectedIndex();
+		final int selectedDayIndex = comboDay.getSelectedIndex();
+		final boolean validSelection = selectedPlayerIndex != -1 && selectedTournamentIndex != -1 && selectedYearIndex != -1
+			&& (periodMode != EnumPeriodMode.DAY || selectedDayIndex != -1);
+		final Player player = validSelection ? listPlayers.get(selectedPlayerIndex) : null;
+		final Tournament tournament = validSelection ? listTournament.get(selectedTournamentIndex) : null;
+		final int year = validSelection ? (Integer) comboYear.getSelectedItem() : 0;
+		final int trimester = comboTrimester.getSelectedIndex();
+		final int month = comboMonth.getSelectedIndex();
+		final int day = selectedDayIndex != -1 ? (Integer) comboDay.getSelectedItem() : 0;
+		loading = true;
+		displayedPeriod = null;
+
+		runTask(TASK_DISPLAY, (final UITask task) -> {
 			try {
-				disableComboBoxes();
-				panelBarChart.removeAll();
-				panelLineChart.removeAll();
-				validate();
-				repaint();
-
-				final EnumPeriodMode periodMode = periodModes[comboPeriodMode.getSelectedIndex()];
-				final EnumScoreMode scoreMode = scoreModes[comboScoreMode.getSelectedIndex()];
-
-				final int selectedPlayerIndex = comboPlayerNames.getSelectedIndex();
-				final int selectedTournamentIndex = comboTournament.getSelectedIndex();
-				final int selectedYearIndex = comboYear.getSelectedIndex();
-				final int selectedDayIndex = comboDay.getSelectedIndex();
-
-				if (selectedPlayerIndex != -1 && selectedTournamentIndex != -1 && selectedYearIndex != -1
-					&& (periodMode != EnumPeriodMode.DAY || selectedDayIndex != -1)) {
-					final Player player = listPlayers.get(selectedPlayerIndex);
-					final Tournament tournament = listTournament.get(selectedTournamentIndex);
-					final int year = (Integer) comboYear.getSelectedItem();
-					final int trimester = comboTrimester.getSelectedIndex();
-					final int month = comboMonth.getSelectedIndex();
-					final int day = selectedDayIndex != -1 ? (Integer) comboDay.getSelectedItem() : 0;
+				if (validSelection) {
 					final RCRDataPackagePersonalAnalyze dataPackage = dataAccess.getRCRDataPackagePersonalAnalyze(tournament, player.getPlayerID(), scoreMode,
 						periodMode, year, trimester, month, day);
+					task.publish(() -> {
+						displayedPeriod = new UIRCRPeriod(tournament, periodMode, year, trimester, month, day);
+						displayedPlayerId = player.getPlayerID();
+						setUpToDate(dataPackage != null && periodListsComplete);
+						displayDataPackage(dataPackage);
+					});
+				} else {
+					task.publish(() -> clearGameInfo());
+				}
+				task.publish(() -> {
+					loading = false;
+					validate();
+					enableComboBoxes();
+					repaint();
+				});
+			} catch (final Exception e) {
+				JOptionPane.showMessageDialog(this, e.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
+			}
+		});
+	}
 
-					if (dataPackage != null && dataPackage.getNumberOfGames() > 0) {
-						final int numberOfGames = dataPackage.getNumberOfGames();
-
-						// Stats
-						{
-							labelNumberOfGames.setText(format.format(dataPackage.getNumberOfGames()));
-							labelScoreMax.setText(format.format(dataPackage.getMaxScore()));
-							labelScoreMin.setText(format.format(dataPackage.getMinScore()));
-							labelPositiveGames.setText(format.format(dataPackage.getPositiveGames()));
-							labelPositivePercentage.setText(format.format(dataPackage.getPositiveGamesPercent()) + PERCENTAGE_STRING);
-							labelNegativeGames.setText(format.format(dataPackage.getNegativeGames()));
-							labelNegativePercentage.setText(format.format(dataPackage.getNegativeGamesPercent()) + PERCENTAGE_STRING);
-							labelTotalScore.setText(format.format(dataPackage.getScoreTotal()));
-							labelMeanScore
-								.setText(format.format(dataPackage.getScoreMean()) + PLUS_MINUS + format.format(dataPackage.getScoreStandardDeviation()));
-							labelPositiveTotal.setText(format.format(dataPackage.getPositiveTotal()));
-							labelNegativeTotal.setText(format.format(dataPackage.getNegativeTotal()));
-
-							labelNumberOfFourPlayersGames.setText(format.format(dataPackage.getNumberOfFourPlayerGames()));
-							if (dataPackage.getNumberOfFourPlayerGames() > 0) {
-								for (int index = 0; index < 4; index++) {
-									labelFourPlayersGamePlaces[index].setText(format.format(dataPackage.getFourPlayerGamePlaces()[index]));
-									labelFourPlayersGamePlacesPercent[index]
-										.setText(format.format(dataPackage.getFourPlayerGamePlacePercent()[index]) + PERCENTAGE_STRING);
-								}
-							} else {
-								for (int index = 0; index < 4; index++) {
-									labelFourPlayersGamePlaces[index].setText(ZERO_STRING);
-									labelFourPlayersGamePlacesPercent[index].setText(ZERO_STRING + PERCENTAGE_STRING);
-								}
-							}
-
-							labelNumberOfFivePlayersGames.setText(format.format(dataPackage.getNumberOfFivePlayerGames()));
-							if (dataPackage.getNumberOfFivePlayerGames() > 0) {
-								for (int index = 0; index < 5; index++) {
-									labelFivePlayersGamePlaces[index].setText(format.format(dataPackage.getFivePlayerGamePlaces()[index]));
-									labelFivePlayersGamePlacesPercent[index]
-										.setText(format.format(dataPackage.getFivePlayerGamePlacePercent()[index]) + PERCENTAGE_STRING);
-								}
-							} else {
-								for (int index = 0; index < 5; index++) {
-									labelFivePlayersGamePlaces[index].setText(ZERO_STRING);
-									labelFivePlayersGamePlacesPercent[index].setText(ZERO_STRING + PERCENTAGE_STRING);
-								}
-							}
-						}
+	private void changeGame(final RCRGame game) {
+		if (!UIRCRPeriod.isListed(game, comboYear, comboMonth, comboDay)) {
+			periodListsComplete = false;
+			setUpToDate(false);
+		}
+		if (!loading && (displayedPeriod == null || !displayedPeriod.contains(game) || !isPlayerOf(game))) {
+			return;
+		}
 
-						// Charts
-						{
-							int tickUnit;
-							if (numberOfGames < MAX_NUMBER_OF_TICKS) {
-								tickUnit = 1;
-							} else {
-								tickUnit = (numberOfGames / (MAX_NUMBER_OF_TICKS * TICK_UNIT_MULTIPLE) + 1) * TICK_UNIT_MULTIPLE;
-							}
-							// Bar Chart
-							{
-								final XYSeries scoreSeries = new XYSeries("Score");
-								final List<Integer> listScore = dataPackage.getListScore();
-								final List<Long> listGameID = dataPackage.getListGameID();
-								final List<String> listToolTipText = new ArrayList<String>();
-								for (int index = 0; index < numberOfGames; index++) {
-									scoreSeries.add(index + 1, listScore.get(index));
-									listToolTipText.add(index, "<html>Score : " + Integer.toString(listScore.get(index)) + "<br>ID : "
-										+ Long.toString(listGameID.get(index)) + "</html>");
-								}
-								final CustomXYToolTipGenerator toolTip = new CustomXYToolTipGenerator();
-								toolTip.addToolTipSeries(listToolTipText);
-								final IntervalXYDataset scoreDateSet = new XYSeriesCollection(scoreSeries);
-								final NumberAxis scoreDomainAxis = new NumberAxis();
-								scoreDomainAxis.setRange(0, numberOfGames + 1);
-								scoreDomainAxis.setTickUnit(new NumberTickUnit(tickUnit));
-								scoreDomainAxis.setLowerMargin(0.0);
-								scoreDomainAxis.setUpperMargin(0.0);
-								final ValueAxis scoreRangeAxis = new NumberAxis("Score");
-								final XYBarRenderer scoreRender = new XYBarRenderer(0.5);
-								scoreRender.setSeriesPaint(0, Color.BLUE);
-								scoreRender.setSeriesToolTipGenerator(0, toolTip);
-								scoreRender.setShadowVisible(false);
-								final XYPlot scorePlot = new XYPlot(scoreDateSet, scoreDomainAxis, scoreRangeAxis, scoreRender);
-								scorePlot.setBackgroundPaint(new Color(255, 255, 255, 0));
-								scorePlot.setDomainGridlinePaint(Color.BLACK);
-								scorePlot.setRangeGridlinePaint(Color.BLACK);
-
-								final ValueMarker marker = new ValueMarker(0.0, Color.RED, new BasicStroke(1), null, null, 1.0f);
-								scorePlot.addRangeMarker(marker);
-
-								final ChartPanel chartPanel = new ChartPanel(new JFreeChart(scorePlot));
-								chartPanel.setPopupMenu(null);
-								chartPanel.setMouseZoomable(false);
-								panelBarChart.add(chartPanel, BorderLayout.CENTER);
-							}
-							// Line Chart
-							{
-								final XYSeries sumSeries = new XYSeries("Score total");
-								sumSeries.add(0, 0);
-								final List<Integer> listSum = dataPackage.getListSum();
-								final List<String> listToolTipText = new ArrayList<String>();
-								for (int index = 0; index < numberOfGames; index++) {
-									sumSeries.add(index + 1, listSum.get(index));
-									listToolTipText.add(index, Integer.toString(listSum.get(index)));
-								}
-								final CustomXYToolTipGenerator toolTip = new CustomXYToolTipGenerator();
-								toolTip.addToolTipSeries(listToolTipText);
-								final IntervalXYDataset sumDataSet = new XYSeriesCollection(sumSeries);
-								final NumberAxis sumDomainAxis = new NumberAxis();
-								sumDomainAxis.setRange(0, numberOfGames + 1);
-								sumDomainAxis.setTickUnit(new NumberTickUnit(tickUnit));
-								sumDomainAxis.setLowerMargin(0.0);
-								sumDomainAxis.setUpperMargin(0.0);
-								final NumberAxis sumRangeAxis = new NumberAxis("Score total");
-								final XYLineAndShapeRenderer sumRender = new XYLineAndShapeRenderer();
-								sumRender.setSeriesPaint(0, Color.BLUE);
-								sumRender.setSeriesToolTipGenerator(0, toolTip);
-								sumRender.setSeriesShapesVisible(0, false);
-								final XYPlot sumPlot = new XYPlot(sumDataSet, sumDomainAxis, sumRangeAxis, sumRender);
-								sumPlot.setBackgroundPaint(new Color(255, 255, 255, 0));
-								sumPlot.setDomainGridlinePaint(Color.BLACK);
-								sumPlot.setRangeGridlinePaint(Color.BLACK);
-								final ValueMarker marker = new ValueMarker(0.0, Color.RED, new BasicStroke(1), null, null, 1.0f);
-								sumPlot.addRangeMarker(marker);
-
-								final ChartPanel chartPanel = new ChartPanel(new JFreeChart(sumPlot));
-								chartPanel.setPopupMenu(null);
-								chartPanel.setMouseZoomable(false);
-								panelLineChart.add(chartPanel, BorderLayout.CENTER);
-							}
-						}
-					} else {
-						clearGameInfo();
+		if (loading || isShowing()) {
+			display();
+		} else {
+			displayedPeriod = null;
+			setUpToDate(false);
+		}
+	}
+
+	private boolean isPlayerOf(final RCRGame game) {
+		for (final RCRScore score : game.getScores()) {
+			if (score.getPlayerId() == displayedPlayerId) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void displayDataPackage(final RCRDataPackagePersonalAnalyze dataPackage) {
+		if (dataPackage != null && dataPackage.getNumberOfGames() > 0) {
+			final int numberOfGames = dataPackage.getNumberOfGames();
+
+			// Stats
+			{
+				labelNumberOfGames.setText(format.format(dataPackage.getNumberOfGames()));
+				labelScoreMax.setText(format.format(dataPackage.getMaxScore()));
+				labelScoreMin.setText(format.format(dataPackage.getMinScore()));
+				labelPositiveGames.setText(format.format(dataPackage.getPositiveGames()));
+				labelPositivePercentage.setText(format.format(dataPackage.getPositiveGamesPercent()) + PERCENTAGE_STRING);
+				labelNegativeGames.setText(format.format(dataPackage.getNegativeGames()));
+				labelNegativePercentage.setText(format.format(dataPackage.getNegativeGamesPercent()) + PERCENTAGE_STRING);
+				labelTotalScore.setText(format.format(dataPackage.getScoreTotal()));
+				labelMeanScore
+					.setText(format.format(dataPackage.getScoreMean()) + PLUS_MINUS + format.format(dataPackage.getScoreStandardDeviation()));
+				labelPositiveTotal.setText(format.format(dataPackage.getPositiveTotal()));
+				labelNegativeTotal.setText(format.format(dataPackage.getNegativeTotal()));
+
+				labelNumberOfFourPlayersGames.setText(format.format(dataPackage.getNumberOfFourPlayerGames()));
+				if (dataPackage.getNumberOfFourPlayerGames() > 0) {
+					for (int index = 0; index < 4; index++) {
+						labelFourPlayersGamePlaces[index].setText(format.format(dataPackage.getFourPlayerGamePlaces()[index]));
+						labelFourPlayersGamePlacesPercent[index]
+							.setText(format.format(dataPackage.getFourPlayerGamePlacePercent()[index]) + PERCENTAGE_STRING);
 					}
 				} else {
-					clearGameInfo();
+					for (int index = 0; index < 4; index++) {
+						labelFourPlayersGamePlaces[index].setText(ZERO_STRING);
+						labelFourPlayersGamePlacesPercent[index].setText(ZERO_STRING + PERCENTAGE_STRING);
+					}
+				}
+
+				labelNumberOfFivePlayersGames.setText(format.format(dataPackage.getNumberOfFivePlayerGames()));
+				if (dataPackage.getNumberOfFivePlayerGames() > 0) {
+					for (int index = 0; index < 5; index++) {
+						labelFivePlayersGamePlaces[index].setText(format.format(dataPackage.getFivePlayerGamePlaces()[index]));
+						labelFivePlayersGamePlacesPercent[index]
+							.setText(format.format(dataPackage.getFivePlayerGamePlacePercent()[index]) + PERCENTAGE_STRING);
+					}
+				} else {
+					for (int index = 0; index < 5; index++) {
+						labelFivePlayersGamePlaces[index].setText(ZERO_STRING);
+						labelFivePlayersGamePlacesPercent[index].setText(ZERO_STRING + PERCENTAGE_STRING);
+					}
+				}
+			}
+
+			// Charts
+			{
+				int tickUnit;
+				if (numberOfGames < MAX_NUMBER_OF_TICKS) {
+					tickUnit = 1;
+				} else {
+					tickUnit = (numberOfGames / (MAX_NUMBER_OF_TICKS * TICK_UNIT_MULTIPLE) + 1) * TICK_UNIT_MULTIPLE;
+				}
+				// Bar Chart
+				{
+					final XYSeries scoreSeries = new XYSeries("Score");
+					final double[] x = new double[numberOfGames];
+					final double[] y = new double[numberOfGames];
+					for (int index = 0; index < numberOfGames; index++) {
+						x[index] = index + 1;
+						y[index] = dataPackage.getScore(index);
+					}
+					final IntervalXYDataset scoreDateSet = new XYSeriesCollection(scoreSeries);
+					final NumberAxis scoreDomainAxis = new NumberAxis();
+					scoreDomainAxis.setRange(0, numberOfGames + 1);
+					scoreDomainAxis.setTickUnit(new NumberTickUnit(tickUnit));
+					scoreDomainAxis.setLowerMargin(0.0);
+					scoreDomainAxis.setUpperMargin(0.0);
+					final ValueAxis scoreRangeAxis = new NumberAxis("Score");
+					final XYBarRenderer scoreRender = new XYBarRenderer(0.5);
+					scoreRender.setSeriesPaint(0, Color.BLUE);
+					scoreRender.setShadowVisible(false);
+					final XYPlot scorePlot = new XYPlot(scoreDateSet, scoreDomainAxis, scoreRangeAxis, scoreRender);
+					scorePlot.setBackgroundPaint(new Color(255, 255, 255, 0));
+					scorePlot.setDomainGridlinePaint(Color.BLACK);
+					scorePlot.setRangeGridlinePaint(Color.BLACK);
+
+					final ValueMarker marker = new ValueMarker(0.0, Color.RED, new BasicStroke(1), null, null, 1.0f);
+					scorePlot.addRangeMarker(marker);
+
+					final ChartPanel chartPanel = new ChartPanel(new JFreeChart(scorePlot));
+					chartPanel.setPopupMenu(null);
+					chartPanel.setMouseZoomable(false);
+					panelBarChart.add(chartPanel, BorderLayout.CENTER);
+
+					final UIChartDownsampler downsampler = new UIChartDownsampler("Scores");
+					downsampler.addSeries(x, y, true, (final int[] indexes) -> {
+						final List<String> listToolTipText = new ArrayList<String>(indexes.length);
+						scoreSeries.setNotify(false);
+						scoreSeries.clear();
+						for (final int index : indexes) {
+							scoreSeries.add(index + 1, dataPackage.getScore(index));
+							listToolTipText.add("<html>Score : " + Integer.toString(dataPackage.getScore(index)) + "<br>ID : "
+								+ Long.toString(dataPackage.getGameId(index)) + "</html>");
+						}
+						final CustomXYToolTipGenerator toolTip = new CustomXYToolTipGenerator();
+						toolTip.addToolTipSeries(listToolTipText);
+						scoreRender.setSeriesToolTipGenerator(0, toolTip);
+						scoreSeries.setNotify(true);
+					});
+					panelBarChart.add(downsampler.getReportLabel(), BorderLayout.SOUTH);
+					downsampler.install(chartPanel, scoreDomainAxis);
+				}
+				// Line Chart
+				{
+					final XYSeries sumSeries = new XYSeries("Score total");
+					// The line starts from 0 before the first game
+					final double[] x = new double[numberOfGames + 1];
+					final double[] y = new double[numberOfGames + 1];
+					for (int index = 0; index < numberOfGames; index++) {
+						x[index + 1] = index + 1;
+						y[index + 1] = dataPackage.getSum(index);
+					}
+					final IntervalXYDataset sumDataSet = new XYSeriesCollection(sumSeries);
+					final NumberAxis sumDomainAxis = new NumberAxis();
+					sumDomainAxis.setRange(0, numberOfGames + 1);
+					sumDomainAxis.setTickUnit(new NumberTickUnit(tickUnit));
+					sumDomainAxis.setLowerMargin(0.0);
+					sumDomainAxis.setUpperMargin(0.0);
+					final NumberAxis sumRangeAxis = new NumberAxis("Score total");
+					final XYLineAndShapeRenderer sumRender = new XYLineAndShapeRenderer();
+					sumRender.setSeriesPaint(0, Color.BLUE);
+					sumRender.setSeriesShapesVisible(0, false);
+					final XYPlot sumPlot = new XYPlot(sumDataSet, sumDomainAxis, sumRangeAxis, sumRender);
+					sumPlot.setBackgroundPaint(new Color(255, 255, 255, 0));
+					sumPlot.setDomainGridlinePaint(Color.BLACK);
+					sumPlot.setRangeGridlinePaint(Color.BLACK);
+					final ValueMarker marker = new ValueMarker(0.0, Color.RED, new BasicStroke(1), null, null, 1.0f);
+					sumPlot.addRangeMarker(marker);
+
+					final ChartPanel chartPanel = new ChartPanel(new JFreeChart(sumPlot));
+					chartPanel.setPopupMenu(null);
+					chartPanel.setMouseZoomable(false);
+					panelLineChart.add(chartPanel, BorderLayout.CENTER);
+
+					final UIChartDownsampler downsampler = new UIChartDownsampler("Score total");
+					downsampler.addSeries(x, y, false, (final int[] indexes) -> {
+						final List<String> listToolTipText = new ArrayList<String>(indexes.length);
+						sumSeries.setNotify(false);
+						sumSeries.clear();
+						for (final int index : indexes) {
+							sumSeries.add(x[index], y[index]);
+							listToolTipText.add(Integer.toString((int) y[index]));
+						}
+						final CustomXYToolTipGenerator toolTip = new CustomXYToolTipGenerator();
+						toolTip.addToolTipSeries(listToolTipText);
+						sumRender.setSeriesToolTipGenerator(0, toolTip);
+						sumSeries.setNotify(true);
+					});
+					panelLineChart.add(downsampler.getReportLabel(), BorderLayout.SOUTH);
+					downsampler.install(chartPanel, sumDomainAxis);
 				}
-				validate();
-				enableComboBoxes();
-				repaint();
-			} catch (final Exception e) {
-				JOptionPane.showMessageDialog(this, e.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
 			}
-		}).start();
+		} else {
+			clearGameInfo();
+		}
 	}
 
 	private void clearGameInfo() {
@@ -24,11 +24,7 @@ import java.awt.GridBagLayout;
 import java.awt.Insets;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileOutputStream;
-import java.io.OutputStreamWriter;
-import java.nio.charset.Charset;
 import java.text.DateFormatSymbols;
 import java.time.LocalDate;
 import java.time.temporal.ChronoField;
@@ -48,7 +44,9 @@ import javax.swing.SwingConstants;
 
 import fr.bmj.bmjc.data.game.ComparatorDescendingTournamentID;
 import fr.bmj.bmjc.data.game.Tournament;
+import fr.bmj.bmjc.data.game.rcr.RCRGame;
 import fr.bmj.bmjc.data.stat.rcr.FieldHighlighted;
+import fr.bmj.bmjc.data.stat.rcr.RCRRankingUpdate;
 import fr.bmj.bmjc.data.stat.rcr.RCRTotalScore;
 import fr.bmj.bmjc.data.stat.rcr.RCRTotalScoreFieldAccess;
 import fr.bmj.bmjc.data.stat.rcr.RCRTotalScoreFieldAccessDay;
@@ -65,11 +63,14 @@ import fr.bmj.bmjc.data.stat.rcr.RCRTotalScoreFieldAccessTotalScore;
 import fr.bmj.bmjc.data.stat.rcr.RCRTotalScoreFieldAccessTrimester;
 import fr.bmj.bmjc.data.stat.rcr.RCRTotalScoreFieldAccessYear;
 import fr.bmj.bmjc.dataaccess.abs.rcr.DataAccessRCR;
+import fr.bmj.bmjc.dataaccess.abs.rcr.RCRGameListener;
 import fr.bmj.bmjc.enums.EnumPeriodMode;
 import fr.bmj.bmjc.enums.EnumRankingMode;
 import fr.bmj.bmjc.enums.EnumSortingMode;
 import fr.bmj.bmjc.enums.EnumTrimester;
+import fr.bmj.bmjc.export.CSVWriter;
 import fr.bmj.bmjc.gui.UITabPanel;
+import fr.bmj.bmjc.gui.UITask;
 import fr.bri.awt.ProportionalGridLayout;
 import fr.bri.awt.ProportionalGridLayoutConstraint;
 
@@ -82,6 +83,11 @@ public class UITabPanelRCRRanking extends UITabPanel {
 	};
 	private final int LABEL_HEIGHT = 18;
 
+	private static final String TASK_TOURNAMENT = "tournament";
+	private static final String TASK_YEAR = "year";
+	private static final String TASK_DAY = "day";
+	private static final String TASK_DISPLAY = "display";
+
 	private static final int COMBOBOX_NUMBER = 5;
 	private static final int COMBOBOX_PERIOD = 0;
 	private static final int COMBOBOX_YEAR_INDEX = 1;
@@ -118,6 +124,13 @@ public class UITabPanelRCRRanking extends UITabPanel {
 
 	private final List<Tournament> listTournament;
 
+	private boolean loading;
+	private boolean periodListsComplete;
+	private UIRCRPeriod displayedPeriod;
+	private EnumRankingMode displayedRankingMode;
+	private EnumSortingMode displayedSortingMode;
+	private List<RCRTotalScore> displayedRanking;
+
 	public UITabPanelRCRRanking(final DataAccessRCR dataAccess) {
 		this.dataAccess = dataAccess;
 
@@ -299,6 +312,23 @@ public class UITabPanelRCRRanking extends UITabPanel {
 
 		comboBoxActivated = new boolean[COMBOBOX_NUMBER];
 		togglePeriodMode(false);
+
+		dataAccess.addRCRGameListener(new RCRGameListener() {
+			@Override
+			public void rcrGameAdded(final RCRGame game) {
+				runOnEventDispatchThread(() -> changeGame(game, true));
+			}
+
+			@Override
+			public void rcrGameDeleted(final RCRGame game) {
+				runOnEventDispatchThread(() -> changeGame(game, false));
+			}
+
+			@Override
+			public void rcrDataChanged() {
+				runOnEventDispatchThread(() -> setUpToDate(false));
+			}
+		});
 	}
 
 	@Override
@@ -311,6 +341,8 @@ public class UITabPanelRCRRanking extends UITabPanel {
 		this.displayFullName = displayFullName;
 		if (toRefresh) {
 			display();
+		} else {
+			setUpToDate(false);
 		}
 	}
 
@@ -336,6 +368,7 @@ public class UITabPanelRCRRanking extends UITabPanel {
 			case ANNUAL_TOTAL_GAME_SCORE:
 			case TRIMESTRIAL_TOTAL_GAME_SCORE:
 			case MENSUAL_TOTAL_GAME_SCORE:
+			case ELO_RATING:
 				comboBoxActivated[COMBOBOX_PERIOD] = false;
 				comboPeriodMode.setEnabled(false);
 				break;
@@ -411,297 +444,356 @@ public class UITabPanelRCRRanking extends UITabPanel {
 
 	@Override
 	public void refresh() {
+		periodListsComplete = true;
 		refreshTournament();
 	}
 
 	private void refreshTournament() {
-		new Thread(() -> {
+		runTask(TASK_TOURNAMENT, (final UITask task) -> {
 			try {
-				listTournament.clear();
 				final List<Tournament> newTournaments = dataAccess.getRCRTournaments();
-				if (newTournaments.size() > 0) {
-					listTournament.addAll(newTournaments);
-					Collections.sort(listTournament, new ComparatorDescendingTournamentID());
-
-					comboTournament.removeActionListener(tournamentComboBoxActionListener);
-					comboTournament.removeAllItems();
-					for (int index = 0; index < listTournament.size(); index++) {
-						final Tournament tournament = listTournament.get(index);
-						comboTournament.addItem(tournament.getName());
-					}
-					comboTournament.addActionListener(tournamentComboBoxActionListener);
-					if (listTournament.size() > 0) {
-						comboTournament.setSelectedIndex(0);
+				task.publish(() -> {
+					listTournament.clear();
+					if (newTournaments.size() > 0) {
+						listTournament.addAll(newTournaments);
+						Collections.sort(listTournament, new ComparatorDescendingTournamentID());
+
+						comboTournament.removeActionListener(tournamentComboBoxActionListener);
+						comboTournament.removeAllItems();
+						for (int index = 0; index < listTournament.size(); index++) {
+							final Tournament tournament = listTournament.get(index);
+							comboTournament.addItem(tournament.getName());
+						}
+						comboTournament.addActionListener(tournamentComboBoxActionListener);
+						if (listTournament.size() > 0) {
+							comboTournament.setSelectedIndex(0);
+						}
 					}
-				}
+				});
 			} catch (final Exception e) {
 				JOptionPane.showMessageDialog(this, e.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
 			}
-		}).start();
+		});
 	}
 
 	private void refreshYear() {
-		new Thread(() -> {
-			try {
-				final int selectedTournamentIndex = comboTournament.getSelectedIndex();
-				if (listTournament.size() > 0 && selectedTournamentIndex >= 0) {
-					comboYear.removeActionListener(periodParametersComboBoxHighLevelActionListener);
-					comboYear.removeAllItems();
-
-					final Tournament tournament = listTournament.get(selectedTournamentIndex);
+		final int selectedTournamentIndex = comboTournament.getSelectedIndex();
+		if (listTournament.size() > 0 && selectedTournamentIndex >= 0) {
+			final Tournament tournament = listTournament.get(selectedTournamentIndex);
+			runTask(TASK_YEAR, (final UITask task) -> {
+				try {
 					final List<Integer> years = new ArrayList<Integer>(dataAccess.getRCRYears(tournament));
 					Collections.sort(years);
 					Collections.reverse(years);
-					for (int index = 0; index < years.size(); index++) {
-						comboYear.addItem(years.get(index));
-					}
+					task.publish(() -> {
+						comboYear.removeActionListener(periodParametersComboBoxHighLevelActionListener);
+						comboYear.removeAllItems();
+						for (int index = 0; index < years.size(); index++) {
+							comboYear.addItem(years.get(index));
+						}
 
-					comboYear.addActionListener(periodParametersComboBoxHighLevelActionListener);
-					if (years.size() > 0) {
-						comboYear.setSelectedIndex(0);
-					} else {
-						comboYear.setSelectedIndex(-1);
-					}
+						comboYear.addActionListener(periodParametersComboBoxHighLevelActionListener);
+						if (years.size() > 0) {
+							comboYear.setSelectedIndex(0);
+						} else {
+							comboYear.setSelectedIndex(-1);
+						}
+					});
+				} catch (final Exception e) {
+					JOptionPane.showMessageDialog(this, e.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
 				}
-			} catch (final Exception e) {
-				JOptionPane.showMessageDialog(this, e.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
-			}
-		}).start();
+			});
+		}
 	}
 
 	private void refreshDay() {
-		new Thread(() -> {
-			try {
-				final int selectedTournamentIndex = comboTournament.getSelectedIndex();
-				final int selectedYearIndex = comboYear.getSelectedIndex();
-				if (selectedTournamentIndex != -1 && selectedYearIndex != -1) {
-					comboDay.removeActionListener(periodParametersComboBoxLowLevelActionListener);
-					comboDay.removeAllItems();
-
-					final Tournament tournament = listTournament.get(selectedTournamentIndex);
-					final int year = (Integer) comboYear.getSelectedItem();
-					final int month = comboMonth.getSelectedIndex();
+		final int selectedTournamentIndex = comboTournament.getSelectedIndex();
+		final int selectedYearIndex = comboYear.getSelectedIndex();
+		if (selectedTournamentIndex != -1 && selectedYearIndex != -1) {
+			final Tournament tournament = listTournament.get(selectedTournamentIndex);
+			final int year = (Integer) comboYear.getSelectedItem();
+			final int month = comboMonth.getSelectedIndex();
+			runTask(TASK_DAY, (final UITask task) -> {
+				try {
 					final List<Integer> days = new ArrayList<Integer>(dataAccess.getRCRGameDays(tournament, year, month));
 					Collections.sort(days);
-					for (int index = 0; index < days.size(); index++) {
-						comboDay.addItem(days.get(index));
-					}
+					task.publish(() -> {
+						comboDay.removeActionListener(periodParametersComboBoxLowLevelActionListener);
+						comboDay.removeAllItems();
+						for (int index = 0; index < days.size(); index++) {
+							comboDay.addItem(days.get(index));
+						}
 
-					comboDay.addActionListener(periodParametersComboBoxLowLevelActionListener);
-					if (days.size() > 0) {
-						comboDay.setSelectedIndex(0);
-					} else {
-						comboDay.setSelectedIndex(-1);
-					}
+						comboDay.addActionListener(periodParametersComboBoxLowLevelActionListener);
+						if (days.size() > 0) {
+							comboDay.setSelectedIndex(0);
+						} else {
+							comboDay.setSelectedIndex(-1);
+						}
+					});
+				} catch (final Exception e) {
+					JOptionPane.showMessageDialog(this, e.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
 				}
-			} catch (final Exception e) {
-				JOptionPane.showMessageDialog(this, e.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
-			}
-		}).start();
+			});
+		}
 	}
 
 	private void display() {
-		new Thread(() -> {
-			try {
-				disableComboBoxes();
-				panelRanking.removeAll();
-				validate();
-				repaint();
+		disableComboBoxes();
+		panelRanking.removeAll();
+		validate();
+		repaint();
+		loading = true;
+		displayedRanking = null;
 
-				final EnumRankingMode rankingMode = rankingModes[comboRankingMode.getSelectedIndex()];
-				final EnumSortingMode sortingMode = sortingModes[comboSortingMode.getSelectedIndex()];
-				final EnumPeriodMode periodMode = periodModes[comboPeriodMode.getSelectedIndex()];
+		final EnumRankingMode rankingMode = rankingModes[comboRankingMode.getSelectedIndex()];
+		final EnumSortingMode sortingMode = sortingModes[comboSortingMode.getSelectedIndex()];
+		final EnumPeriodMode periodMode = comboBoxActivated[COMBOBOX_PERIOD] ? periodModes[comboPeriodMode.getSelectedIndex()] : EnumPeriodMode.ALL;
 
-				final int selectedTournamentIndex = comboTournament.getSelectedIndex();
-				final int selectedYearIndex = comboYear.getSelectedIndex();
-				final int selectedDayIndex = comboDay.getSelectedIndex();
-				if (selectedTournamentIndex != -1 && selectedYearIndex != -1 && (periodMode != EnumPeriodMode.DAY || selectedDayIndex != -1)) {
-					final Tournament tournament = listTournament.get(selectedTournamentIndex);
-					final int year = (Integer) comboYear.getSelectedItem();
-					final int trimestral = comboTrimester.getSelectedIndex();
-					final int month = comboMonth.getSelectedIndex();
-					final int day = selectedDayIndex != -1 ? (Integer) comboDay.getSelectedItem() : 0;
+		final int selectedTournamentIndex = comboTournament.getSelectedIndex();
+		final int selectedYearIndex = comboYear.getSelectedIndex();
+		final int selectedDayIndex = comboDay.getSelectedIndex();
+		final boolean validSelection = selectedTournamentIndex != -1 && selectedYearIndex != -1
+			&& (periodMode != EnumPeriodMode.DAY || selectedDayIndex != -1);
+		final Tournament tournament = validSelection ? listTournament.get(selectedTournamentIndex) : null;
+		final int year = validSelection ? (Integer) comboYear.getSelectedItem() : 0;
+		final int trimestral = comboTrimester.getSelectedIndex();
+		final int month = comboMonth.getSelectedIndex();
+		final int day = selectedDayIndex != -1 ? (Integer) comboDay.getSelectedItem() : 0;
+
+		runTask(TASK_DISPLAY, (final UITask task) -> {
+			try {
+				if (validSelection) {
 					final List<RCRTotalScore> scoreList = dataAccess.getRCRDataPackageRanking(tournament, rankingMode, sortingMode, periodMode, year,
 						trimestral, month, day);
+					task.publish(() -> {
+						// The period rankings cover all the games
+						displayedPeriod = new UIRCRPeriod(tournament, comboBoxActivated[COMBOBOX_PERIOD] ? periodMode : EnumPeriodMode.ALL, year,
+							trimestral, month, day);
+						displayedRankingMode = rankingMode;
+						displayedSortingMode = sortingMode;
+						displayedRanking = scoreList;
+						setUpToDate(scoreList != null && periodListsComplete);
+						displayRanking(rankingMode, scoreList);
+					});
+				}
+				task.publish(() -> {
+					loading = false;
+					validate();
+					scrollRanking.getVerticalScrollBar().setValue(0);
+					enableComboBoxes();
+					repaint();
+				});
+			} catch (final Exception e) {
+				JOptionPane.showMessageDialog(this, e.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
+			}
+		});
+	}
 
-					if (scoreList != null && scoreList.size() > 0) {
-						labelTitles[0].setText("Classement");
-						labelTitles[1].setText("Nom du joueur");
-						FieldHighlighted scoreFieldHighlighted = null;
-						final List<RCRTotalScoreFieldAccess> access = new ArrayList<>(3);
-						access.add(0, null);
-						if (displayFullName) {
-							access.add(1, new RCRTotalScoreFieldAccessPlayName());
-						} else {
-							access.add(1, new RCRTotalScoreFieldAccessDisplayName());
-						}
-						switch (rankingMode) {
-							case TOTAL_FINAL_SCORE:
-								labelTitles[2].setText(rankingMode.toString());
-								labelTitles[3].setText("Nombre de parties");
-								scoreFieldHighlighted = (final RCRTotalScore data) -> data.totalScore.intValue() < 0;
-								access.add(2, new RCRTotalScoreFieldAccessTotalScore());
-								access.add(3, new RCRTotalScoreFieldAccessNumberOfGames());
-								break;
-							case MEAN_FINAL_SCORE:
-								labelTitles[2].setText(rankingMode.toString() + " (Écart type)");
-								labelTitles[3].setText("Nombre de parties");
-								scoreFieldHighlighted = (final RCRTotalScore data) -> data.totalScore.intValue() < 0;
-								access.add(2, new RCRTotalScoreFieldAccessMeanScore());
-								access.add(3, new RCRTotalScoreFieldAccessNumberOfGames());
-								break;
-							case BEST_FINAL_SCORE:
-								labelTitles[2].setText(rankingMode.toString() + " (Uma)");
-								labelTitles[3].setText("Date");
-								scoreFieldHighlighted = (final RCRTotalScore data) -> data.totalScore.intValue() < 0;
-								access.add(2, new RCRTotalScoreFieldAccessFinalScore());
-								access.add(3, new RCRTotalScoreFieldAccessDay());
-								break;
-							case TOTAL_GAME_SCORE:
-								labelTitles[2].setText(rankingMode.toString());
-								labelTitles[3].setText("Nombre de parties");
-								scoreFieldHighlighted = (final RCRTotalScore data) -> data.totalScore.intValue() < 0;
-								access.add(2, new RCRTotalScoreFieldAccessTotalScore());
-								access.add(3, new RCRTotalScoreFieldAccessNumberOfGames());
-								break;
-							case MEAN_GAME_SCORE:
-								labelTitles[2].setText(rankingMode.toString() + " (Écart type)");
-								labelTitles[3].setText("Nombre de parties");
-								scoreFieldHighlighted = (final RCRTotalScore data) -> data.totalScore.intValue() < 0;
-								access.add(2, new RCRTotalScoreFieldAccessMeanScore());
-								access.add(3, new RCRTotalScoreFieldAccessNumberOfGames());
-								break;
-							case BEST_GAME_SCORE:
-								labelTitles[2].setText(rankingMode.toString());
-								labelTitles[3].setText("Date");
-								scoreFieldHighlighted = (final RCRTotalScore data) -> data.totalScore.intValue() < 0;
-								access.add(2, new RCRTotalScoreFieldAccessGameScore());
-								access.add(3, new RCRTotalScoreFieldAccessDay());
-								break;
-							case WIN_RATE_4:
-								labelTitles[2].setText(rankingMode.toString());
-								labelTitles[3].setText("Nombre de parties");
-								scoreFieldHighlighted = (final RCRTotalScore data) -> data.totalScore.doubleValue() < 25.0;
-								access.add(2, new RCRTotalScoreFieldAccessPercentage());
-								access.add(3, new RCRTotalScoreFieldAccessFractionNumberOfGames());
-								break;
-							case WIN_RATE_5:
-								labelTitles[2].setText(rankingMode.toString());
-								labelTitles[3].setText("Nombre de parties");
-								scoreFieldHighlighted = (final RCRTotalScore data) -> data.totalScore.doubleValue() < 20.0;
-								access.add(2, new RCRTotalScoreFieldAccessPercentage());
-								access.add(3, new RCRTotalScoreFieldAccessFractionNumberOfGames());
-								break;
-							case POSITIVE_RATE_4:
-								labelTitles[2].setText(rankingMode.toString());
-								labelTitles[3].setText("Nombre de parties");
-								scoreFieldHighlighted = (final RCRTotalScore data) -> data.totalScore.doubleValue() < 50.0;
-								access.add(2, new RCRTotalScoreFieldAccessPercentage());
-								access.add(3, new RCRTotalScoreFieldAccessFractionNumberOfGames());
-								break;
-							case POSITIVE_RATE_5:
-								labelTitles[2].setText(rankingMode.toString());
-								labelTitles[3].setText("Nombre de parties");
-								scoreFieldHighlighted = (final RCRTotalScore data) -> data.totalScore.doubleValue() < 40.0;
-								access.add(2, new RCRTotalScoreFieldAccessPercentage());
-								access.add(3, new RCRTotalScoreFieldAccessFractionNumberOfGames());
-								break;
-							case ANNUAL_TOTAL_FINAL_SCORE:
-								labelTitles[2].setText(rankingMode.toString());
-								labelTitles[3].setText("Date");
-								scoreFieldHighlighted = (final RCRTotalScore data) -> data.totalScore.intValue() < 0;
-								access.add(2, new RCRTotalScoreFieldAccessTotalScore());
-								access.add(3, new RCRTotalScoreFieldAccessYear());
-								break;
-							case TRIMESTRIAL_TOTAL_FINAL_SCORE:
-								labelTitles[2].setText(rankingMode.toString());
-								labelTitles[3].setText("Date");
-								scoreFieldHighlighted = (final RCRTotalScore data) -> data.totalScore.intValue() < 0;
-								access.add(2, new RCRTotalScoreFieldAccessTotalScore());
-								access.add(3, new RCRTotalScoreFieldAccessTrimester());
-								break;
-							case MENSUAL_TOTAL_FINAL_SCORE:
-								labelTitles[2].setText(rankingMode.toString());
-								labelTitles[3].setText("Date");
-								scoreFieldHighlighted = (final RCRTotalScore data) -> data.totalScore.intValue() < 0;
-								access.add(2, new RCRTotalScoreFieldAccessTotalScore());
-								access.add(3, new RCRTotalScoreFieldAccessMonth());
-								break;
-							case ANNUAL_TOTAL_GAME_SCORE:
-								labelTitles[2].setText(rankingMode.toString());
-								labelTitles[3].setText("Date");
-								scoreFieldHighlighted = (final RCRTotalScore data) -> data.totalScore.intValue() < 0;
-								access.add(2, new RCRTotalScoreFieldAccessTotalScore());
-								access.add(3, new RCRTotalScoreFieldAccessYear());
-								break;
-							case TRIMESTRIAL_TOTAL_GAME_SCORE:
-								labelTitles[2].setText(rankingMode.toString());
-								labelTitles[3].setText("Date");
-								scoreFieldHighlighted = (final RCRTotalScore data) -> data.totalScore.intValue() < 0;
-								access.add(2, new RCRTotalScoreFieldAccessTotalScore());
-								access.add(3, new RCRTotalScoreFieldAccessTrimester());
-								break;
-							case MENSUAL_TOTAL_GAME_SCORE:
-								labelTitles[2].setText(rankingMode.toString());
-								labelTitles[3].setText("Date");
-								scoreFieldHighlighted = (final RCRTotalScore data) -> data.totalScore.intValue() < 0;
-								access.add(2, new RCRTotalScoreFieldAccessTotalScore());
-								access.add(3, new RCRTotalScoreFieldAccessMonth());
-								break;
-							default:
-								break;
-						}
+	private void changeGame(final RCRGame game, final boolean added) {
+		if (!UIRCRPeriod.isListed(game, comboYear, comboMonth, comboDay)) {
+			periodListsComplete = false;
+			setUpToDate(false);
+		}
+		if (!loading && (displayedRanking == null || !displayedPeriod.contains(game))) {
+			return;
+		}
 
-						data = new String[scoreList.size()][NB_COLUMNS];
-						final JLabel labels[] = new JLabel[NB_COLUMNS];
-						final GridBagConstraints constraints = new GridBagConstraints(0, 0, 1, 1, 0.0, 0.0, GridBagConstraints.CENTER, GridBagConstraints.BOTH,
-							new Insets(0, 0, 0, 0), 64, 2);
-						int lastIndex = 0;
-						RCRTotalScore lastRecord = null;
-						for (int index = 0; index < scoreList.size(); index++) {
-							final RCRTotalScore record = scoreList.get(index);
-
-							if (lastRecord == null || lastRecord.totalScore != record.totalScore) {
-								lastIndex = index;
-							}
-							lastRecord = record;
-
-							data[index][0] = Integer.toString(lastIndex + 1);
-							for (int labelIndex = 1; labelIndex < labels.length; labelIndex++) {
-								data[index][labelIndex] = access.get(labelIndex).getDataString(record);
-							}
-							final boolean highlighted = scoreFieldHighlighted.highlighted(record);
-
-							constraints.gridy = index;
-							for (int labelIndex = 0; labelIndex < labels.length; labelIndex++) {
-								labels[labelIndex] = new JLabel(data[index][labelIndex], labelIndex == 1 ? SwingConstants.LEADING : SwingConstants.CENTER);
-								constraints.gridx = labelIndex;
-								labels[labelIndex].setPreferredSize(labelSizes[labelIndex]);
-								if (labelIndex == 2 && highlighted) {
-									labels[labelIndex].setForeground(Color.RED);
-								}
-								panelRanking.add(labels[labelIndex], constraints);
-							}
+		// Over all the games, the minimum number of games depends on the first and the last ones
+		final List<RCRTotalScore> newRanking = added && !loading && displayedPeriod.periodMode != EnumPeriodMode.ALL
+			? RCRRankingUpdate.withGame(displayedRanking, displayedRankingMode, displayedSortingMode, game)
+			: null;
+		if (newRanking != null) {
+			displayedRanking = newRanking;
+			panelRanking.removeAll();
+			displayRanking(displayedRankingMode, newRanking);
+			validate();
+			repaint();
+		} else if (loading || isShowing()) {
+			display();
+		} else {
+			displayedRanking = null;
+			setUpToDate(false);
+		}
+	}
 
-							if (index % 2 == 0) {
-								for (int labelIndex = 0; labelIndex < labels.length; labelIndex++) {
-									labels[labelIndex].setOpaque(true);
-									labels[labelIndex].setBackground(Color.LIGHT_GRAY);
-								}
-							}
-						}
-					} else {
-						data = null;
+	private void displayRanking(final EnumRankingMode rankingMode, final List<RCRTotalScore> scoreList) {
+		if (scoreList != null && scoreList.size() > 0) {
+			labelTitles[0].setText("Classement");
+			labelTitles[1].setText("Nom du joueur");
+			FieldHighlighted scoreFieldHighlighted = null;
+			final List<RCRTotalScoreFieldAccess> access = new ArrayList<>(3);
+			access.add(0, null);
+			if (displayFullName) {
+				access.add(1, new RCRTotalScoreFieldAccessPlayName());
+			} else {
+				access.add(1, new RCRTotalScoreFieldAccessDisplayName());
+			}
+			switch (rankingMode) {
+				case TOTAL_FINAL_SCORE:
+					labelTitles[2].setText(rankingMode.toString());
+					labelTitles[3].setText("Nombre de parties");
+					scoreFieldHighlighted = (final RCRTotalScore data) -> data.totalScore.intValue() < 0;
+					access.add(2, new RCRTotalScoreFieldAccessTotalScore());
+					access.add(3, new RCRTotalScoreFieldAccessNumberOfGames());
+					break;
+				case MEAN_FINAL_SCORE:
+					labelTitles[2].setText(rankingMode.toString() + " (Écart type)");
+					labelTitles[3].setText("Nombre de parties");
+					scoreFieldHighlighted = (final RCRTotalScore data) -> data.totalScore.intValue() < 0;
+					access.add(2, new RCRTotalScoreFieldAccessMeanScore());
+					access.add(3, new RCRTotalScoreFieldAccessNumberOfGames());
+					break;
+				case BEST_FINAL_SCORE:
+					labelTitles[2].setText(rankingMode.toString() + " (Uma)");
+					labelTitles[3].setText("Date");
+					scoreFieldHighlighted = (final RCRTotalScore data) -> data.totalScore.intValue() < 0;
+					access.add(2, new RCRTotalScoreFieldAccessFinalScore());
+					access.add(3, new RCRTotalScoreFieldAccessDay());
+					break;
+				case TOTAL_GAME_SCORE:
+					labelTitles[2].setText(rankingMode.toString());
+					labelTitles[3].setText("Nombre de parties");
+					scoreFieldHighlighted = (final RCRTotalScore data) -> data.totalScore.intValue() < 0;
+					access.add(2, new RCRTotalScoreFieldAccessTotalScore());
+					access.add(3, new RCRTotalScoreFieldAccessNumberOfGames());
+					break;
+				case MEAN_GAME_SCORE:
+					labelTitles[2].setText(rankingMode.toString() + " (Écart type)");
+					labelTitles[3].setText("Nombre de parties");
+					scoreFieldHighlighted = (final RCRTotalScore data) -> data.totalScore.intValue() < 0;
+					access.add(2, new RCRTotalScoreFieldAccessMeanScore());
+					access.add(3, new RCRTotalScoreFieldAccessNumberOfGames());
+					break;
+				case BEST_GAME_SCORE:
+					labelTitles[2].setText(rankingMode.toString());
+					labelTitles[3].setText("Date");
+					scoreFieldHighlighted = (final RCRTotalScore data) -> data.totalScore.intValue() < 0;
+					access.add(2, new RCRTotalScoreFieldAccessGameScore());
+					access.add(3, new RCRTotalScoreFieldAccessDay());
+					break;
+				case WIN_RATE_4:
+					labelTitles[2].setText(rankingMode.toString());
+					labelTitles[3].setText("Nombre de parties");
+					scoreFieldHighlighted = (final RCRTotalScore data) -> data.totalScore.doubleValue() < 25.0;
+					access.add(2, new RCRTotalScoreFieldAccessPercentage());
+					access.add(3, new RCRTotalScoreFieldAccessFractionNumberOfGames());
+					break;
+				case WIN_RATE_5:
+					labelTitles[2].setText(rankingMode.toString());
+					labelTitles[3].setText("Nombre de parties");
+					scoreFieldHighlighted = (final RCRTotalScore data) -> data.totalScore.doubleValue() < 20.0;
+					access.add(2, new RCRTotalScoreFieldAccessPercentage());
+					access.add(3, new RCRTotalScoreFieldAccessFractionNumberOfGames());
+					break;
+				case POSITIVE_RATE_4:
+					labelTitles[2].setText(rankingMode.toString());
+					labelTitles[3].setText("Nombre de parties");
+					scoreFieldHighlighted = (final RCRTotalScore data) -> data.totalScore.doubleValue() < 50.0;
+					access.add(2, new RCRTotalScoreFieldAccessPercentage());
+					access.add(3, new RCRTotalScoreFieldAccessFractionNumberOfGames());
+					break;
+				case POSITIVE_RATE_5:
+					labelTitles[2].setText(rankingMode.toString());
+					labelTitles[3].setText("Nombre de parties");
+					scoreFieldHighlighted = (final RCRTotalScore data) -> data.totalScore.doubleValue() < 40.0;
+					access.add(2, new RCRTotalScoreFieldAccessPercentage());
+					access.add(3, new RCRTotalScoreFieldAccessFractionNumberOfGames());
+					break;
+				case ANNUAL_TOTAL_FINAL_SCORE:
+					labelTitles[2].setText(rankingMode.toString());
+					labelTitles[3].setText("Date");
+					scoreFieldHighlighted = (final RCRTotalScore data) -> data.totalScore.intValue() < 0;
+					access.add(2, new RCRTotalScoreFieldAccessTotalScore());
+					access.add(3, new RCRTotalScoreFieldAccessYear());
+					break;
+				case TRIMESTRIAL_TOTAL_FINAL_SCORE:
+					labelTitles[2].setText(rankingMode.toString());
+					labelTitles[3].setText("Date");
+					scoreFieldHighlighted = (final RCRTotalScore data) -> data.totalScore.intValue() < 0;
+					access.add(2, new RCRTotalScoreFieldAccessTotalScore());
+					access.add(3, new RCRTotalScoreFieldAccessTrimester());
+					break;
+				case MENSUAL_TOTAL_FINAL_SCORE:
+					labelTitles[2].setText(rankingMode.toString());
+					labelTitles[3].setText("Date");
+					scoreFieldHighlighted = (final RCRTotalScore data) -> data.totalScore.intValue() < 0;
+					access.add(2, new RCRTotalScoreFieldAccessTotalScore());
+					access.add(3, new RCRTotalScoreFieldAccessMonth());
+					break;
+				case ANNUAL_TOTAL_GAME_SCORE:
+					labelTitles[2].setText(rankingMode.toString());
+					labelTitles[3].setText("Date");
+					scoreFieldHighlighted = (final RCRTotalScore data) -> data.totalScore.intValue() < 0;
+					access.add(2, new RCRTotalScoreFieldAccessTotalScore());
+					access.add(3, new RCRTotalScoreFieldAccessYear());
+					break;
+				case TRIMESTRIAL_TOTAL_GAME_SCORE:
+					labelTitles[2].setText(rankingMode.toString());
+					labelTitles[3].setText("Date");
+					scoreFieldHighlighted = (final RCRTotalScore data) -> data.totalScore.intValue() < 0;
+					access.add(2, new RCRTotalScoreFieldAccessTotalScore());
+					access.add(3, new RCRTotalScoreFieldAccessTrimester());
+					break;
+				case MENSUAL_TOTAL_GAME_SCORE:
+					labelTitles[2].setText(rankingMode.toString());
+					labelTitles[3].setText("Date");
+					scoreFieldHighlighted = (final RCRTotalScore data) -> data.totalScore.intValue() < 0;
+					access.add(2, new RCRTotalScoreFieldAccessTotalScore());
+					access.add(3, new RCRTotalScoreFieldAccessMonth());
+					break;
+				case ELO_RATING:
+					labelTitles[2].setText(rankingMode.toString());
+					labelTitles[3].setText("Nombre de parties");
+					scoreFieldHighlighted = (final RCRTotalScore data) -> data.totalScore.intValue() < 1500;
+					access.add(2, new RCRTotalScoreFieldAccessTotalScore());
+					access.add(3, new RCRTotalScoreFieldAccessNumberOfGames());
+					break;
+				default:
+					break;
+			}
+
+			data = new String[scoreList.size()][NB_COLUMNS];
+			final JLabel labels[] = new JLabel[NB_COLUMNS];
+			final GridBagConstraints constraints = new GridBagConstraints(0, 0, 1, 1, 0.0, 0.0, GridBagConstraints.CENTER, GridBagConstraints.BOTH,
+				new Insets(0, 0, 0, 0), 64, 2);
+			int lastIndex = 0;
+			RCRTotalScore lastRecord = null;
+			for (int index = 0; index < scoreList.size(); index++) {
+				final RCRTotalScore record = scoreList.get(index);
+
+				if (lastRecord == null || lastRecord.totalScore != record.totalScore) {
+					lastIndex = index;
+				}
+				lastRecord = record;
+
+				data[index][0] = Integer.toString(lastIndex + 1);
+				for (int labelIndex = 1; labelIndex < labels.length; labelIndex++) {
+					data[index][labelIndex] = access.get(labelIndex).getDataString(record);
+				}
+				final boolean highlighted = scoreFieldHighlighted.highlighted(record);
+
+				constraints.gridy = index;
+				for (int labelIndex = 0; labelIndex < labels.length; labelIndex++) {
+					labels[labelIndex] = new JLabel(data[index][labelIndex], labelIndex == 1 ? SwingConstants.LEADING : SwingConstants.CENTER);
+					constraints.gridx = labelIndex;
+					labels[labelIndex].setPreferredSize(labelSizes[labelIndex]);
+					if (labelIndex == 2 && highlighted) {
+						labels[labelIndex].setForeground(Color.RED);
+					}
+					panelRanking.add(labels[labelIndex], constraints);
+				}
+
+				if (index % 2 == 0) {
+					for (int labelIndex = 0; labelIndex < labels.length; labelIndex++) {
+						labels[labelIndex].setOpaque(true);
+						labels[labelIndex].setBackground(Color.LIGHT_GRAY);
 					}
 				}
-				validate();
-				scrollRanking.getVerticalScrollBar().setValue(0);
-				enableComboBoxes();
-				repaint();
-			} catch (final Exception e) {
-				JOptionPane.showMessageDialog(this, e.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
 			}
-		}).start();
+		} else {
+			data = null;
+		}
 	}
 
 	@Override
@@ -713,7 +805,7 @@ public class UITabPanelRCRRanking extends UITabPanel {
 
 	@Override
 	public void export() {
-		new Thread(() -> {
+		runInBackground(() -> {
 			try {
 				final EnumRankingMode rankingMode = rankingModes[comboRankingMode.getSelectedIndex()];
 				final EnumSortingMode sortingMode = sortingModes[comboSortingMode.getSelectedIndex()];
@@ -757,84 +849,47 @@ public class UITabPanelRCRRanking extends UITabPanel {
 						proposedSaveFileName.append(".csv");
 						final File fileSaveFile = askSaveFileName(proposedSaveFileName.toString());
 						if (fileSaveFile != null) {
-							BufferedWriter writer = null;
-							try {
-								writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(fileSaveFile), Charset.forName("UTF-8")));
-								writer.write("Classement");
-								writer.write(SEPARATOR);
-								writer.write(rankingMode.toString());
-								writer.newLine();
-
-								writer.write("Tournois");
-								writer.write(SEPARATOR);
-								writer.write(tournament.getName());
-								writer.newLine();
-
-								writer.write("Ordre");
-								writer.write(SEPARATOR);
-								writer.write(sortingMode.toString());
-								writer.newLine();
-
-								writer.write("Période mode");
-								writer.write(SEPARATOR);
-								writer.write(periodMode.toString());
-								writer.newLine();
-
-								writer.write("Période");
-								writer.write(SEPARATOR);
+							final String rankingData[][] = data;
+							exportCSV(fileSaveFile, (final CSVWriter writer) -> {
+								writer.writeRow("Classement", rankingMode.toString());
+								writer.writeRow("Tournois", tournament.getName());
+								writer.writeRow("Ordre", sortingMode.toString());
+								writer.writeRow("Période mode", periodMode.toString());
+
+								writer.writeField("Période");
 								switch (periodMode) {
 									case ALL:
-										writer.write("Tout");
+										writer.writeField("Tout");
 										break;
 									case YEAR:
-										writer.write(Integer.toString(year));
+										writer.writeField(year);
 										break;
 									case TRIMESTER:
-										writer.write(comboTrimester.getSelectedItem().toString());
-										writer.write(" ");
-										writer.write(Integer.toString(year));
+										writer.writeField(comboTrimester.getSelectedItem().toString() + " " + Integer.toString(year));
 										break;
 									case MONTH:
-										writer.write(comboMonth.getSelectedItem().toString());
-										writer.write(" ");
-										writer.write(Integer.toString(year));
+										writer.writeField(comboMonth.getSelectedItem().toString() + " " + Integer.toString(year));
 										break;
 									default:
 										break;
 								}
-								writer.newLine();
+								writer.endRow();
 
-								writer.write(labelTitles[0].getText());
-								for (int fieldIndex = 1; fieldIndex < labelTitles.length; fieldIndex++) {
-									writer.write(SEPARATOR);
-									writer.write(labelTitles[fieldIndex].getText());
-								}
-								writer.newLine();
-
-								for (int index = 0; index < data.length; index++) {
-									writer.write(data[index][0]);
-									for (int fieldIndex = 1; fieldIndex < data[index].length; fieldIndex++) {
-										writer.write(SEPARATOR);
-										writer.write(data[index][fieldIndex]);
-									}
-									writer.newLine();
+								for (int fieldIndex = 0; fieldIndex < labelTitles.length; fieldIndex++) {
+									writer.writeField(labelTitles[fieldIndex].getText());
 								}
-							} catch (final Exception e) {
-								JOptionPane.showMessageDialog(this, "Une erreur est survenue lors de sauvegarde.", "Erreur", JOptionPane.ERROR_MESSAGE);
-							} finally {
-								if (writer != null) {
-									try {
-										writer.close();
-									} catch (final Exception e) {
-									}
+								writer.endRow();
+
+								for (int index = 0; index < rankingData.length; index++) {
+									writer.writeRow(rankingData[index]);
 								}
-							}
+							});
 						}
 					}
 				}
 			} catch (final Exception e) {
 				JOptionPane.showMessageDialog(this, e.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
 			}
-		}).start();
+		});
 	}
 }
@@ -43,17 +43,22 @@ import javax.swing.SwingConstants;
 
 import fr.bmj.bmjc.data.game.ComparatorDescendingTournamentID;
 import fr.bmj.bmjc.data.game.Tournament;
+import fr.bmj.bmjc.data.game.rcr.RCRGame;
 import fr.bmj.bmjc.data.stat.rcr.RCRDataPackageScoreAnalyze;
 import fr.bmj.bmjc.dataaccess.abs.rcr.DataAccessRCR;
+import fr.bmj.bmjc.dataaccess.abs.rcr.RCRGameListener;
 import fr.bmj.bmjc.enums.EnumPeriodMode;
 import fr.bmj.bmjc.enums.EnumTrimester;
 import fr.bmj.bmjc.gui.UITabPanel;
+import fr.bmj.bmjc.gui.UITask;
 import fr.bri.awt.ProportionalGridLayout;
 import fr.bri.awt.ProportionalGridLayoutConstraint;
 
 public class UITabPanelRCRScoreAnalyze extends UITabPanel {
 	private static final long serialVersionUID = -2831122708393360423L;
 
+	private static final String TASK_DISPLAY = "display";
+
 	private static final int COMBOBOX_NUMBER = 4;
 	private static final int COMBOBOX_YEAR_INDEX = 0;
 	private static final int COMBOBOX_TRIMESTER_INDEX = 1;
@@ -91,6 +96,13 @@ public class UITabPanelRCRScoreAnalyze extends UITabPanel {
 
 	private final List<Tournament> listTournament;
 
+	private boolean loading;
+	private boolean periodListsComplete;
+	private UIRCRPeriod displayedPeriod;
+	private RCRDataPackageScoreAnalyze scoreAnalyze;
+	private JLabel labelScores[][];
+	private JLabel labelSums[];
+
 	public UITabPanelRCRScoreAnalyze(final DataAccessRCR dataAccess) {
 		this.dataAccess = dataAccess;
 
@@ -257,6 +269,23 @@ public class UITabPanelRCRScoreAnalyze extends UITabPanel {
 
 		comboBoxActivated = new boolean[COMBOBOX_NUMBER];
 		changePeriodParameters(false);
+
+		dataAccess.addRCRGameListener(new RCRGameListener() {
+			@Override
+			public void rcrGameAdded(final RCRGame game) {
+				runOnEventDispatchThread(() -> changeGame(game, true));
+			}
+
+			@Override
+			public void rcrGameDeleted(final RCRGame game) {
+				runOnEventDispatchThread(() -> changeGame(game, false));
+			}
+
+			@Override
+			public void rcrDataChanged() {
+				runOnEventDispatchThread(() -> setUpToDate(false));
+			}
+		});
 	}
 
 	@Override
@@ -269,6 +298,8 @@ public class UITabPanelRCRScoreAnalyze extends UITabPanel {
 		this.displayFullName = displayFullName;
 		if (toRefresh) {
 			display();
+		} else {
+			setUpToDate(false);
 		}
 	}
 
@@ -334,11 +365,12 @@ public class UITabPanelRCRScoreAnalyze extends UITabPanel {
 
 	@Override
 	public void refresh() {
+		periodListsComplete = true;
 		refreshTournament();
 	}
 
 	private void refreshTournament() {
-		new Thread(() -> {
+		runInBackground(() -> {
 			try {
 				listTournament.clear();
 				final List<Tournament> newTournaments = dataAccess.getRCRTournaments();
@@ -360,11 +392,11 @@ public class UITabPanelRCRScoreAnalyze extends UITabPanel {
 			} catch (final Exception e) {
 				JOptionPane.showMessageDialog(this, e.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
 			}
-		}).start();
+		});
 	}
 
 	private void refreshYear() {
-		new Thread(() -> {
+		runInBackground(() -> {
 			try {
 				final int selectedTournamentIndex = comboTournament.getSelectedIndex();
 				if (listTournament.size() > 0 && selectedTournamentIndex >= 0) {
@@ -389,11 +421,11 @@ public class UITabPanelRCRScoreAnalyze extends UITabPanel {
 			} catch (final Exception e) {
 				JOptionPane.showMessageDialog(this, e.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
 			}
-		}).start();
+		});
 	}
 
 	private void refreshDay() {
-		new Thread(() -> {
+		runInBackground(() -> {
 			try {
 				final int selectedTournamentIndex = comboTournament.getSelectedIndex();
 				final int selectedYearIndex = comboYear.getSelectedIndex();
@@ -420,7 +452,7 @@ public class UITabPanelRCRScoreAnalyze extends UITabPanel {
 			} catch (final Exception e) {
 				JOptionPane.showMessageDialog(this, e.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
 			}
-		}).start();
+		});
 	}
 
 	private void synchronizedScrolls() {
@@ -430,111 +462,161 @@ public class UITabPanelRCRScoreAnalyze extends UITabPanel {
 	}
 
 	private void display() {
-		new Thread(() -> {
-			try {
-				disableComboBoxes();
-				panelTitleUpper.removeAll();
-				panelTitleLeft.removeAll();
-				panelScore.removeAll();
-				validate();
-				repaint();
+		disableComboBoxes();
+		panelTitleUpper.removeAll();
+		panelTitleLeft.removeAll();
+		panelScore.removeAll();
+		validate();
+		repaint();
+		loading = true;
+		scoreAnalyze = null;
 
-				final EnumPeriodMode periodMode = periodModes[comboPeriodMode.getSelectedIndex()];
+		final EnumPeriodMode periodMode = periodModes[comboPeriodMode.getSelectedIndex()];
 
-				final int selectedTournamentIndex = comboTournament.getSelectedIndex();
-				final int selectedYearIndex = comboYear.getSelectedIndex();
-				final int selectedDayIndex = comboDay.getSelectedIndex();
-				if (selectedTournamentIndex != -1 && selectedYearIndex != -1 && (periodMode != EnumPeriodMode.DAY || selectedDayIndex != -1)) {
-					final Tournament tournament = listTournament.get(selectedTournamentIndex);
-					final int year = (Integer) comboYear.getSelectedItem();
-					final int trimester = comboTrimester.getSelectedIndex();
-					final int month = comboMonth.getSelectedIndex();
-					final int day = selectedDayIndex != -1 ? (Integer) comboDay.getSelectedItem() : 0;
+		final int selectedTournamentIndex = comboTournament.getSelectedIndex();
+		final int selectedYearIndex = comboYear.getSelectedIndex();
+		final int selectedDayIndex = comboDay.getSelectedIndex();
+		final boolean validSelection = selectedTournamentIndex != -1 && selectedYearIndex != -1
+			&& (periodMode != EnumPeriodMode.DAY || selectedDayIndex != -1);
+		final Tournament tournament = validSelection ? listTournament.get(selectedTournamentIndex) : null;
+		final int year = validSelection ? (Integer) comboYear.getSelectedItem() : 0;
+		final int trimester = comboTrimester.getSelectedIndex();
+		final int month = comboMonth.getSelectedIndex();
+		final int day = selectedDayIndex != -1 ? (Integer) comboDay.getSelectedItem() : 0;
+
+		runTask(TASK_DISPLAY, (final UITask task) -> {
+			try {
+				if (validSelection) {
 					final RCRDataPackageScoreAnalyze score = dataAccess.getRCRDataPackageScoreAnalyze(tournament, periodMode, year, trimester, month, day);
+					task.publish(() -> {
+						displayedPeriod = new UIRCRPeriod(tournament, periodMode, year, trimester, month, day);
+						scoreAnalyze = score;
+						setUpToDate(score != null && periodListsComplete);
+						displayScores(score);
+					});
+				}
+				task.publish(() -> {
+					loading = false;
+					validate();
+					enableComboBoxes();
+					repaint();
+				});
+			} catch (final Exception e) {
+				JOptionPane.showMessageDialog(this, e.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
+			}
+		});
+	}
 
-					if (score != null) {
-						final Dimension labelSize = new Dimension(LABEL_WIDTH, LABEL_HEIGHT);
-
-						final int nbPlayers = score.playerNames.size();
-						panelTitleUpper.setLayout(new ProportionalGridLayout(1, nbPlayers, 0, 0));
-						panelTitleLeft.setLayout(new ProportionalGridLayout(nbPlayers + 1, 1, 0, 0));
-						panelScore.setLayout(new ProportionalGridLayout(nbPlayers + 1, nbPlayers, 0, 0));
-						final ProportionalGridLayoutConstraint constraintsScore = new ProportionalGridLayoutConstraint(0, 1, 0, 1);
-						final ProportionalGridLayoutConstraint constraintsUpper = new ProportionalGridLayoutConstraint(0, 1, 0, 1);
-						final ProportionalGridLayoutConstraint constraintsLeft = new ProportionalGridLayoutConstraint(0, 1, 0, 1);
-
-						constraintsUpper.y = 0;
-						constraintsLeft.x = 0;
-						for (int index = 0; index < nbPlayers; index++) {
-							final JLabel labelPlayerNameUpper = new JLabel(displayFullName ? score.playerNames.get(index) : score.displayNames.get(index),
-								SwingConstants.CENTER);
-							labelPlayerNameUpper.setPreferredSize(labelSize);
-							labelPlayerNameUpper.setBorder(BorderFactory.createLineBorder(Color.GRAY, 1));
-							constraintsUpper.x = index;
-							panelTitleUpper.add(labelPlayerNameUpper, constraintsUpper);
-
-							final JLabel labelPlayerNameLeft = new JLabel(displayFullName ? score.playerNames.get(index) : score.displayNames.get(index),
-								SwingConstants.CENTER);
-							labelPlayerNameLeft.setPreferredSize(labelSize);
-							labelPlayerNameLeft.setBorder(BorderFactory.createLineBorder(Color.GRAY, 1));
-							constraintsLeft.y = index;
-							panelTitleLeft.add(labelPlayerNameLeft, constraintsLeft);
-						}
+	private void displayScores(final RCRDataPackageScoreAnalyze score) {
+		if (score != null) {
+			final Dimension labelSize = new Dimension(LABEL_WIDTH, LABEL_HEIGHT);
+
+			final int nbPlayers = score.playerNames.size();
+			labelScores = new JLabel[nbPlayers][nbPlayers];
+			labelSums = new JLabel[nbPlayers];
+			panelTitleUpper.setLayout(new ProportionalGridLayout(1, nbPlayers, 0, 0));
+			panelTitleLeft.setLayout(new ProportionalGridLayout(nbPlayers + 1, 1, 0, 0));
+			panelScore.setLayout(new ProportionalGridLayout(nbPlayers + 1, nbPlayers, 0, 0));
+			final ProportionalGridLayoutConstraint constraintsScore = new ProportionalGridLayoutConstraint(0, 1, 0, 1);
+			final ProportionalGridLayoutConstraint constraintsUpper = new ProportionalGridLayoutConstraint(0, 1, 0, 1);
+			final ProportionalGridLayoutConstraint constraintsLeft = new ProportionalGridLayoutConstraint(0, 1, 0, 1);
+
+			constraintsUpper.y = 0;
+			constraintsLeft.x = 0;
+			for (int index = 0; index < nbPlayers; index++) {
+				final JLabel labelPlayerNameUpper = new JLabel(displayFullName ? score.playerNames.get(index) : score.displayNames.get(index),
+					SwingConstants.CENTER);
+				labelPlayerNameUpper.setPreferredSize(labelSize);
+				labelPlayerNameUpper.setBorder(BorderFactory.createLineBorder(Color.GRAY, 1));
+				constraintsUpper.x = index;
+				panelTitleUpper.add(labelPlayerNameUpper, constraintsUpper);
+
+				final JLabel labelPlayerNameLeft = new JLabel(displayFullName ? score.playerNames.get(index) : score.displayNames.get(index),
+					SwingConstants.CENTER);
+				labelPlayerNameLeft.setPreferredSize(labelSize);
+				labelPlayerNameLeft.setBorder(BorderFactory.createLineBorder(Color.GRAY, 1));
+				constraintsLeft.y = index;
+				panelTitleLeft.add(labelPlayerNameLeft, constraintsLeft);
+			}
 
-						{
-							final JLabel labelPlayerNameLeftSum = new JLabel("Somme", SwingConstants.CENTER);
-							labelPlayerNameLeftSum.setPreferredSize(labelSize);
-							labelPlayerNameLeftSum.setBorder(BorderFactory.createLineBorder(Color.GRAY, 1));
-							constraintsLeft.y = nbPlayers;
-							panelTitleLeft.add(labelPlayerNameLeftSum, constraintsLeft);
-						}
+			{
+				final JLabel labelPlayerNameLeftSum = new JLabel("Somme", SwingConstants.CENTER);
+				labelPlayerNameLeftSum.setPreferredSize(labelSize);
+				labelPlayerNameLeftSum.setBorder(BorderFactory.createLineBorder(Color.GRAY, 1));
+				constraintsLeft.y = nbPlayers;
+				panelTitleLeft.add(labelPlayerNameLeftSum, constraintsLeft);
+			}
 
-						for (int y = 0; y < nbPlayers; y++) {
-							constraintsScore.y = y;
-							for (int x = 0; x < nbPlayers; x++) {
-								final JLabel labelScore = new JLabel("", SwingConstants.CENTER);
-								labelScore.setPreferredSize(labelSize);
-								labelScore.setBorder(BorderFactory.createLineBorder(Color.GRAY, 1));
-								if (x == y) {
-									labelScore.setOpaque(true);
-									labelScore.setBackground(Color.BLACK);
-								} else {
-									labelScore.setText(Long.toString(Math.round(score.scores[x][y])));
-									if (score.scores[x][y] < 0) {
-										labelScore.setForeground(Color.RED);
-									}
-									if (y % 2 == 0) {
-										labelScore.setOpaque(true);
-										labelScore.setBackground(Color.LIGHT_GRAY);
-									}
-								}
-								constraintsScore.x = x;
-								panelScore.add(labelScore, constraintsScore);
-							}
+			for (int y = 0; y < nbPlayers; y++) {
+				constraintsScore.y = y;
+				for (int x = 0; x < nbPlayers; x++) {
+					final JLabel labelScore = new JLabel("", SwingConstants.CENTER);
+					labelScore.setPreferredSize(labelSize);
+					labelScore.setBorder(BorderFactory.createLineBorder(Color.GRAY, 1));
+					if (x == y) {
+						labelScore.setOpaque(true);
+						labelScore.setBackground(Color.BLACK);
+					} else {
+						displayScore(labelScore, score.scores.get(x, y));
+						if (y % 2 == 0) {
+							labelScore.setOpaque(true);
+							labelScore.setBackground(Color.LIGHT_GRAY);
 						}
+					}
+					constraintsScore.x = x;
+					panelScore.add(labelScore, constraintsScore);
+					labelScores[x][y] = labelScore;
+				}
+			}
 
-						{
-							constraintsScore.y = nbPlayers;
-							for (int x = 0; x < nbPlayers; x++) {
-								final JLabel labelScore = new JLabel(Long.toString(Math.round(score.sums[x])), SwingConstants.CENTER);
-								if (score.sums[x] < 0) {
-									labelScore.setForeground(Color.RED);
-								}
-								labelScore.setPreferredSize(labelSize);
-								labelScore.setBorder(BorderFactory.createLineBorder(Color.GRAY, 1));
-								constraintsScore.x = x;
-								panelScore.add(labelScore, constraintsScore);
-							}
-						}
+			{
+				constraintsScore.y = nbPlayers;
+				for (int x = 0; x < nbPlayers; x++) {
+					final JLabel labelScore = new JLabel("", SwingConstants.CENTER);
+					displayScore(labelScore, score.scores.getSum(x));
+					labelScore.setPreferredSize(labelSize);
+					labelScore.setBorder(BorderFactory.createLineBorder(Color.GRAY, 1));
+					constraintsScore.x = x;
+					panelScore.add(labelScore, constraintsScore);
+					labelSums[x] = labelScore;
+				}
+			}
+		}
+	}
+
+	private void displayScore(final JLabel label, final double score) {
+		label.setText(Long.toString(Math.round(score)));
+		label.setForeground(score < 0 ? Color.RED : null);
+	}
+
+	private void changeGame(final RCRGame game, final boolean added) {
+		if (!UIRCRPeriod.isListed(game, comboYear, comboMonth, comboDay)) {
+			periodListsComplete = false;
+			setUpToDate(false);
+		}
+		if (!loading && (scoreAnalyze == null || !displayedPeriod.contains(game))) {
+			return;
+		}
+
+		final RCRDataPackageScoreAnalyze newScoreAnalyze = added && !loading ? scoreAnalyze.withGame(game) : null;
+		if (newScoreAnalyze != null) {
+			scoreAnalyze = newScoreAnalyze;
+			final int playerIndexes[] = newScoreAnalyze.getPlayerIndexes(game);
+			for (final int x : playerIndexes) {
+				for (final int y : playerIndexes) {
+					if (x != y) {
+						displayScore(labelScores[x][y], newScoreAnalyze.scores.get(x, y));
 					}
 				}
-				validate();
-				enableComboBoxes();
-				repaint();
-			} catch (final Exception e) {
-				JOptionPane.showMessageDialog(this, e.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
+				displayScore(labelSums[x], newScoreAnalyze.scores.getSum(x));
 			}
-		}).start();
+			repaint();
+		} else if (loading || isShowing()) {
+			display();
+		} else {
+			scoreAnalyze = null;
+			setUpToDate(false);
+		}
 	}
 
 	@Override
@@ -25,11 +25,7 @@ import java.awt.GridBagLayout;
 import java.awt.Insets;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileOutputStream;
-import java.io.OutputStreamWriter;
-import java.nio.charset.Charset;
 import java.text.DateFormat;
 import java.text.DateFormatSymbols;
 import java.util.ArrayList;
@@ -40,7 +36,6 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Set;
-import java.util.SortedMap;
 
 import javax.swing.BorderFactory;
 import javax.swing.BoxLayout;
@@ -73,20 +68,33 @@ import fr.bmj.bmjc.data.game.ComparatorAscendingPlayerName;
 import fr.bmj.bmjc.data.game.ComparatorDescendingTournamentID;
 import fr.bmj.bmjc.data.game.Player;
 import fr.bmj.bmjc.data.game.Tournament;
+import fr.bmj.bmjc.data.game.rcr.RCRGame;
 import fr.bmj.bmjc.data.stat.rcr.RCRDataPackageTrend;
 import fr.bmj.bmjc.dataaccess.abs.rcr.DataAccessRCR;
+import fr.bmj.bmjc.dataaccess.abs.rcr.RCRGameListener;
 import fr.bmj.bmjc.enums.EnumPeriodMode;
+import fr.bmj.bmjc.enums.EnumTrendMode;
 import fr.bmj.bmjc.enums.EnumTrimester;
+import fr.bmj.bmjc.export.CSVWriter;
+import fr.bmj.bmjc.gui.UIChartDownsampler;
 import fr.bmj.bmjc.gui.UITabPanel;
+import fr.bmj.bmjc.gui.UITask;
 import fr.bri.awt.ProportionalGridLayout;
 import fr.bri.awt.ProportionalGridLayoutConstraint;
 
 public class UITabPanelRCRTrend extends UITabPanel {
 	private static final long serialVersionUID = 6352466319081554030L;
 
+	private static final String TASK_REFRESH = "refresh";
+	private static final String TASK_YEAR = "year";
+	private static final String TASK_DAY = "day";
+	private static final String TASK_DATA = "data";
+	private static final String TASK_CHART = "chart";
+
 	private static final int MAX_NUMBER_OF_TICKS = 10;
 	private static final int TICK_UNIT_MULTIPLE = 7;
 	private static final long MILLISECONDS_PER_DAY = 1000l * 60l * 60l * 24l;
+	private static final double RATING_REFERENCE = 1500.0;
 
 	private static final int COMBOBOX_NUMBER = 4;
 	private static final int COMBOBOX_YEAR_INDEX = 0;
@@ -98,6 +106,8 @@ public class UITabPanelRCRTrend extends UITabPanel {
 	private final DataAccessRCR dataAccess;
 
 	private final JComboBox<String> comboTournament;
+	private final EnumTrendMode trendModes[];
+	private final JComboBox<String> comboTrendMode;
 
 	private final EnumPeriodMode periodModes[];
 	private final JComboBox<String> comboPeriodMode;
@@ -124,6 +134,11 @@ public class UITabPanelRCRTrend extends UITabPanel {
 	private final List<Tournament> listTournament;
 	private final List<Player> listPlayers;
 
+	private boolean loading;
+	private boolean periodListsComplete;
+	private UIRCRPeriod displayedPeriod;
+	private EnumTrendMode displayedTrendMode;
+
 	public UITabPanelRCRTrend(final DataAccessRCR dataAccess) {
 		this.dataAccess = dataAccess;
 
@@ -147,6 +162,20 @@ public class UITabPanelRCRTrend extends UITabPanel {
 				c.gridWidth = 5;
 				panelNorth.add(comboTournament, c);
 
+				c.x = 8;
+				c.gridWidth = 1;
+				panelNorth.add(new JLabel("Courbe :", SwingConstants.RIGHT), c);
+				trendModes = EnumTrendMode.values();
+				final String trendModeStrings[] = new String[trendModes.length];
+				for (int index = 0; index < trendModes.length; index++) {
+					trendModeStrings[index] = trendModes[index].toString();
+				}
+				comboTrendMode = new JComboBox<String>(trendModeStrings);
+				comboTrendMode.setEditable(false);
+				comboTrendMode.setSelectedIndex(0);
+				c.x = 9;
+				panelNorth.add(comboTrendMode, c);
+
 				c.y = 1;
 				c.x = 0;
 				c.gridWidth = 1;
@@ -259,6 +288,7 @@ public class UITabPanelRCRTrend extends UITabPanel {
 		filterButtonActionListeneer = (final ActionEvent e) -> displayData();
 
 		comboPeriodMode.addActionListener((final ActionEvent e) -> changePeriodParameters(true));
+		comboTrendMode.addActionListener((final ActionEvent e) -> refreshData());
 		tournamentComboBoxActionListener = (final ActionEvent e) -> refreshYear();
 
 		periodParametersComboBoxHighLevelActionListener = (final ActionEvent e) -> refreshDay();
@@ -269,6 +299,23 @@ public class UITabPanelRCRTrend extends UITabPanel {
 
 		comboBoxActivated = new boolean[COMBOBOX_NUMBER];
 		changePeriodParameters(false);
+
+		dataAccess.addRCRGameListener(new RCRGameListener() {
+			@Override
+			public void rcrGameAdded(final RCRGame game) {
+				runOnEventDispatchThread(() -> changeGame(game, true));
+			}
+
+			@Override
+			public void rcrGameDeleted(final RCRGame game) {
+				runOnEventDispatchThread(() -> changeGame(game, false));
+			}
+
+			@Override
+			public void rcrDataChanged() {
+				runOnEventDispatchThread(() -> setUpToDate(false));
+			}
+		});
 	}
 
 	@Override
@@ -282,6 +329,8 @@ public class UITabPanelRCRTrend extends UITabPanel {
 		if (toRefresh) {
 			displayPlayerName();
 			displayData();
+		} else {
+			setUpToDate(false);
 		}
 	}
 
@@ -330,6 +379,7 @@ public class UITabPanelRCRTrend extends UITabPanel {
 
 	private void disableComboBoxes() {
 		comboTournament.setEnabled(false);
+		comboTrendMode.setEnabled(false);
 		comboPeriodMode.setEnabled(false);
 		comboYear.setEnabled(false);
 		comboTrimester.setEnabled(false);
@@ -339,6 +389,7 @@ public class UITabPanelRCRTrend extends UITabPanel {
 
 	private void enableComboBoxes() {
 		comboTournament.setEnabled(true);
+		comboTrendMode.setEnabled(true);
 		comboPeriodMode.setEnabled(true);
 		comboYear.setEnabled(comboBoxActivated[COMBOBOX_YEAR_INDEX]);
 		comboTrimester.setEnabled(comboBoxActivated[COMBOBOX_TRIMESTER_INDEX]);
@@ -348,19 +399,24 @@ public class UITabPanelRCRTrend extends UITabPanel {
 
 	@Override
 	public void refresh() {
-		new Thread(() -> {
+		periodListsComplete = true;
+		runTask(TASK_REFRESH, (final UITask task) -> {
 			try {
-				refreshPlayerName();
-				refreshTournament();
+				final List<Player> newPlayers = dataAccess.getRCRPlayers();
+				final List<Tournament> newTournaments = dataAccess.getRCRTournaments();
+				task.publish(() -> {
+					refreshPlayerName(newPlayers);
+					refreshTournament(newTournaments);
+				});
 			} catch (final Exception e) {
 				JOptionPane.showMessageDialog(this, e.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
 			}
-		}).start();
+		});
 	}
 
-	private void refreshPlayerName() {
+	private void refreshPlayerName(final List<Player> newPlayers) {
 		listPlayers.clear();
-		listPlayers.addAll(dataAccess.getRCRPlayers());
+		listPlayers.addAll(newPlayers);
 		if (listPlayers.size() > 0) {
 			checkBoxSelectAll.removeActionListener(selectAllCheckBoxActionListener);
 			buttonFilter.removeActionListener(filterButtonActionListeneer);
@@ -394,9 +450,8 @@ public class UITabPanelRCRTrend extends UITabPanel {
 		repaint();
 	}
 
-	private void refreshTournament() {
+	private void refreshTournament(final List<Tournament> newTournaments) {
 		listTournament.clear();
-		final List<Tournament> newTournaments = dataAccess.getRCRTournaments();
 		if (newTournaments.size() > 0) {
 			listTournament.addAll(newTournaments);
 			Collections.sort(listTournament, new ComparatorDescendingTournamentID());
@@ -415,87 +470,124 @@ public class UITabPanelRCRTrend extends UITabPanel {
 	}
 
 	private void refreshYear() {
-		new Thread(() -> {
-			try {
-				final int selectedTournamentIndex = comboTournament.getSelectedIndex();
-				if (listTournament.size() > 0 && selectedTournamentIndex >= 0) {
-					comboYear.removeActionListener(periodParametersComboBoxHighLevelActionListener);
-					comboYear.removeAllItems();
-
-					final Tournament tournament = listTournament.get(selectedTournamentIndex);
+		final int selectedTournamentIndex = comboTournament.getSelectedIndex();
+		if (listTournament.size() > 0 && selectedTournamentIndex >= 0) {
+			final Tournament tournament = listTournament.get(selectedTournamentIndex);
+			runTask(TASK_YEAR, (final UITask task) -> {
+				try {
 					final List<Integer> years = new ArrayList<Integer>(dataAccess.getRCRYears(tournament));
 					Collections.sort(years);
 					Collections.reverse(years);
-					for (int index = 0; index < years.size(); index++) {
-						comboYear.addItem(years.get(index));
-					}
+					task.publish(() -> {
+						comboYear.removeActionListener(periodParametersComboBoxHighLevelActionListener);
+						comboYear.removeAllItems();
+						for (int index = 0; index < years.size(); index++) {
+							comboYear.addItem(years.get(index));
+						}
 
-					comboYear.addActionListener(periodParametersComboBoxHighLevelActionListener);
-					if (years.size() > 0) {
-						comboYear.setSelectedIndex(0);
-					} else {
-						comboYear.setSelectedIndex(-1);
-					}
+						comboYear.addActionListener(periodParametersComboBoxHighLevelActionListener);
+						if (years.size() > 0) {
+							comboYear.setSelectedIndex(0);
+						} else {
+							comboYear.setSelectedIndex(-1);
+						}
+					});
+				} catch (final Exception e) {
+					JOptionPane.showMessageDialog(this, e.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
 				}
-			} catch (final Exception e) {
-				JOptionPane.showMessageDialog(this, e.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
-			}
-		}).start();
+			});
+		}
 	}
 
 	private void refreshDay() {
-		new Thread(() -> {
-			try {
-				final int selectedTournamentIndex = comboTournament.getSelectedIndex();
-				final int selectedYearIndex = comboYear.getSelectedIndex();
-				if (selectedTournamentIndex != -1 && selectedYearIndex != -1) {
-					comboDay.removeActionListener(periodParametersComboBoxLowLevelActionListener);
-					comboDay.removeAllItems();
-
-					final Tournament tournament = listTournament.get(selectedTournamentIndex);
-					final int year = (Integer) comboYear.getSelectedItem();
-					final int month = comboMonth.getSelectedIndex();
+		final int selectedTournamentIndex = comboTournament.getSelectedIndex();
+		final int selectedYearIndex = comboYear.getSelectedIndex();
+		if (selectedTournamentIndex != -1 && selectedYearIndex != -1) {
+			final Tournament tournament = listTournament.get(selectedTournamentIndex);
+			final int year = (Integer) comboYear.getSelectedItem();
+			final int month = comboMonth.getSelectedIndex();
+			runTask(TASK_DAY, (final UITask task) -> {
+				try {
 					final List<Integer> days = new ArrayList<Integer>(dataAccess.getRCRGameDays(tournament, year, month));
 					Collections.sort(days);
-					for (int index = 0; index < days.size(); index++) {
-						comboDay.addItem(days.get(index));
-					}
+					task.publish(() -> {
+						comboDay.removeActionListener(periodParametersComboBoxLowLevelActionListener);
+						comboDay.removeAllItems();
+						for (int index = 0; index < days.size(); index++) {
+							comboDay.addItem(days.get(index));
+						}
 
-					comboDay.addActionListener(periodParametersComboBoxLowLevelActionListener);
-					if (days.size() > 0) {
-						comboDay.setSelectedIndex(0);
-					} else {
-						comboDay.setSelectedIndex(-1);
-					}
+						comboDay.addActionListener(periodParametersComboBoxLowLevelActionListener);
+						if (days.size() > 0) {
+							comboDay.setSelectedIndex(0);
+						} else {
+							comboDay.setSelectedIndex(-1);
+						}
+					});
+				} catch (final Exception e) {
+					JOptionPane.showMessageDialog(this, e.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
 				}
-			} catch (final Exception e) {
-				JOptionPane.showMessageDialog(this, e.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
-			}
-		}).start();
+			});
+		}
 	}
 
 	private void refreshData() {
-		new Thread(() -> {
-			try {
-				final EnumPeriodMode periodMode = periodModes[comboPeriodMode.getSelectedIndex()];
+		final EnumTrendMode trendMode = trendModes[comboTrendMode.getSelectedIndex()];
+		final EnumPeriodMode periodMode = periodModes[comboPeriodMode.getSelectedIndex()];
 
-				final int selectedTournamentIndex = comboTournament.getSelectedIndex();
-				final int selectedYearIndex = comboYear.getSelectedIndex();
-				final int selectedDayIndex = comboDay.getSelectedIndex();
-				if (selectedTournamentIndex != -1 && selectedYearIndex != -1) {
-					final Tournament tournament = listTournament.get(selectedTournamentIndex);
-					final int year = (Integer) comboYear.getSelectedItem();
-					final int trimester = comboTrimester.getSelectedIndex();
-					final int month = comboMonth.getSelectedIndex();
-					final int day = selectedDayIndex != -1 ? (Integer) comboDay.getSelectedItem() : 0;
-					trend = dataAccess.getRCRDataPackageTrend(tournament, periodMode, year, trimester, month, day);
+		final int selectedTournamentIndex = comboTournament.getSelectedIndex();
+		final int selectedYearIndex = comboYear.getSelectedIndex();
+		final int selectedDayIndex = comboDay.getSelectedIndex();
+		final boolean validSelection = selectedTournamentIndex != -1 && selectedYearIndex != -1;
+		final Tournament tournament = validSelection ? listTournament.get(selectedTournamentIndex) : null;
+		final int year = validSelection ? (Integer) comboYear.getSelectedItem() : 0;
+		final int trimester = comboTrimester.getSelectedIndex();
+		final int month = comboMonth.getSelectedIndex();
+		final int day = selectedDayIndex != -1 ? (Integer) comboDay.getSelectedItem() : 0;
+		loading = true;
+
+		runTask(TASK_DATA, (final UITask task) -> {
+			try {
+				if (validSelection) {
+					final RCRDataPackageTrend newTrend = trendMode == EnumTrendMode.RATING
+						? dataAccess.getRCRDataPackageRatingTrend(tournament, periodMode, year, trimester, month, day)
+						: dataAccess.getRCRDataPackageTrend(tournament, periodMode, year, trimester, month, day);
+					task.publish(() -> {
+						trend = newTrend;
+						displayedPeriod = new UIRCRPeriod(tournament, periodMode, year, trimester, month, day);
+						displayedTrendMode = trendMode;
+						setUpToDate(newTrend != null && periodListsComplete);
+					});
 				}
-
-				displayData();
+				task.publish(() -> {
+					loading = false;
+					displayData();
+				});
 			} catch (final Exception e) {
 				JOptionPane.showMessageDialog(this, e.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
 			}
-		}).start();
+		});
+	}
+
+	private void changeGame(final RCRGame game, final boolean added) {
+		if (!UIRCRPeriod.isListed(game, comboYear, comboMonth, comboDay)) {
+			periodListsComplete = false;
+			setUpToDate(false);
+		}
+		final boolean rating = displayedTrendMode == EnumTrendMode.RATING;
+		if (!loading && (trend == null || displayedPeriod == null
+			|| (rating ? game.getTournamentId() != displayedPeriod.tournament.getId() : !displayedPeriod.contains(game)))) {
+			return;
+		}
+
+		if (added && !loading && !rating) {
+			trend = trend.withGame(game);
+			displayData();
+		} else if (loading || isShowing()) {
+			refreshData();
+		} else {
+			setUpToDate(false);
+		}
 	}
 
 	private void selectAll() {
@@ -507,47 +599,65 @@ public class UITabPanelRCRTrend extends UITabPanel {
 	}
 
 	private void displayData() {
-		new Thread(() -> {
+		disableComboBoxes();
+		panelChart.removeAll();
+		validate();
+		repaint();
+
+		final RCRDataPackageTrend displayedTrend = trend;
+		final boolean rating = displayedTrendMode == EnumTrendMode.RATING;
+		final boolean fullName = displayFullName;
+		final Set<String> selectedNames = new HashSet<String>();
+		if (fullName) {
+			for (int index = 0; index < listCheckBoxPlayerSelect.size(); index++) {
+				if (listCheckBoxPlayerSelect.get(index).isSelected()) {
+					selectedNames.add(listPlayers.get(index).getPlayerName());
+				}
+			}
+		} else {
+			for (int index = 0; index < listCheckBoxPlayerSelect.size(); index++) {
+				if (listCheckBoxPlayerSelect.get(index).isSelected()) {
+					selectedNames.add(listPlayers.get(index).getDisplayName());
+				}
+			}
+		}
+
+		runTask(TASK_CHART, (final UITask task) -> {
 			try {
-				disableComboBoxes();
-				panelChart.removeAll();
-				validate();
-				repaint();
-
-				if (trend.dates.size() > 0) {
-					final Set<String> selectedNames = new HashSet<String>();
-					if (displayFullName) {
-						for (int index = 0; index < listCheckBoxPlayerSelect.size(); index++) {
-							if (listCheckBoxPlayerSelect.get(index).isSelected()) {
-								selectedNames.add(listPlayers.get(index).getPlayerName());
-							}
-						}
-					} else {
-						for (int index = 0; index < listCheckBoxPlayerSelect.size(); index++) {
-							if (listCheckBoxPlayerSelect.get(index).isSelected()) {
-								selectedNames.add(listPlayers.get(index).getDisplayName());
-							}
-						}
-					}
+				if (displayedTrend != null && displayedTrend.getNumberOfDates() > 1) {
+					final long[] dates = displayedTrend.dates;
 
-					final SortedMap<String, List<Integer>> data = displayFullName ? trend.dataWithPlayerName : trend.dataWithDisplayName;
-					final List<Long> dates = trend.dates;
+					final double[] x = new double[dates.length - 1];
+					for (int index = 1; index < dates.length; index++) {
+						x[index - 1] = dates[index];
+					}
 
+					final UIChartDownsampler downsampler = new UIChartDownsampler("Tendance");
 					final TimeSeriesCollection series = new TimeSeriesCollection();
 					final XYItemRenderer sumRender = new XYLineAndShapeRenderer();
-					for (final String playerName : data.keySet()) {
+					for (final int playerIndex : displayedTrend.getPlayerOrder(fullName)) {
+						final String playerName = displayedTrend.getName(playerIndex, fullName);
 						if (selectedNames.contains(playerName)) {
-							final List<Integer> score = data.get(playerName);
-							final TimeSeries sumSeries = new TimeSeries(playerName);
-							for (int index = 1; index < score.size(); index++) {
-								sumSeries.add(new Day(new Date(dates.get(index))), score.get(index));
+							final int[] score = displayedTrend.scores[playerIndex];
+							final double[] y = new double[score.length - 1];
+							for (int index = 1; index < score.length; index++) {
+								y[index - 1] = score[index];
 							}
+							final TimeSeries sumSeries = new TimeSeries(playerName);
+							downsampler.addSeries(x, y, false, (final int[] indexes) -> {
+								sumSeries.setNotify(false);
+								sumSeries.clear();
+								for (final int index : indexes) {
+									sumSeries.add(new Day(new Date(dates[index + 1])), score[index + 1]);
+								}
+								sumSeries.setNotify(true);
+							});
 							series.addSeries(sumSeries);
 						}
 					}
 
 					int tickUnit;
-					final int numberOfDays = (int) ((dates.get(dates.size() - 1) - dates.get(1)) / MILLISECONDS_PER_DAY);
+					final int numberOfDays = (int) ((dates[dates.length - 1] - dates[1]) / MILLISECONDS_PER_DAY);
 					if (numberOfDays < MAX_NUMBER_OF_TICKS) {
 						tickUnit = 1;
 					} else {
@@ -555,32 +665,38 @@ public class UITabPanelRCRTrend extends UITabPanel {
 					}
 
 					final DateAxis sumDomainAxis = new DateAxis("Date");
-					sumDomainAxis.setRange(new Date(dates.get(1) - MILLISECONDS_PER_DAY), new Date(dates.get(dates.size() - 1) + MILLISECONDS_PER_DAY));
+					sumDomainAxis.setRange(new Date(dates[1] - MILLISECONDS_PER_DAY), new Date(dates[dates.length - 1] + MILLISECONDS_PER_DAY));
 					sumDomainAxis.setTickUnit(new DateTickUnit(DateTickUnitType.DAY, tickUnit));
 					sumDomainAxis.setLowerMargin(0.0);
 					sumDomainAxis.setUpperMargin(0.0);
 
-					final NumberAxis sumRangeAxis = new NumberAxis("Score total");
+					final NumberAxis sumRangeAxis = new NumberAxis(rating ? EnumTrendMode.RATING.toString() : EnumTrendMode.FINAL_SCORE.toString());
+					sumRangeAxis.setAutoRangeIncludesZero(!rating);
 					final XYPlot sumPlot = new XYPlot(series, sumDomainAxis, sumRangeAxis, sumRender);
 					sumPlot.setBackgroundPaint(new Color(255, 255, 255, 0));
 					sumPlot.setDomainGridlinePaint(Color.BLACK);
 					sumPlot.setRangeGridlinePaint(Color.BLACK);
-					final ValueMarker marker = new ValueMarker(0.0, Color.RED, new BasicStroke(1), null, null, 1.0f);
+					final ValueMarker marker = new ValueMarker(rating ? RATING_REFERENCE : 0.0, Color.RED, new BasicStroke(1), null, null, 1.0f);
 					sumPlot.addRangeMarker(marker);
 
-					final ChartPanel chartPanel = new ChartPanel(new JFreeChart(sumPlot));
-					chartPanel.setPopupMenu(null);
-					chartPanel.setMouseZoomable(false);
-					panelChart.add(chartPanel, BorderLayout.CENTER);
+					task.publish(() -> {
+						final ChartPanel chartPanel = new ChartPanel(new JFreeChart(sumPlot));
+						chartPanel.setPopupMenu(null);
+						chartPanel.setMouseZoomable(false);
+						panelChart.add(chartPanel, BorderLayout.CENTER);
+						panelChart.add(downsampler.getReportLabel(), BorderLayout.SOUTH);
+						downsampler.install(chartPanel, sumDomainAxis);
+					});
 				}
-
-				validate();
-				enableComboBoxes();
-				repaint();
+				task.publish(() -> {
+					validate();
+					enableComboBoxes();
+					repaint();
+				});
 			} catch (final Exception e) {
 				JOptionPane.showMessageDialog(this, e.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
 			}
-		}).start();
+		});
 	}
 
 	@Override
@@ -592,7 +708,7 @@ public class UITabPanelRCRTrend extends UITabPanel {
 
 	@Override
 	public void export() {
-		new Thread(() -> {
+		runInBackground(() -> {
 			try {
 				final EnumPeriodMode periodMode = periodModes[comboPeriodMode.getSelectedIndex()];
 
@@ -602,10 +718,10 @@ public class UITabPanelRCRTrend extends UITabPanel {
 					final Tournament tournament = listTournament.get(selectedTournamentIndex);
 					final int year = (Integer) comboYear.getSelectedItem();
 
-					if (trend != null && trend.dates.size() > 0) {
+					if (trend != null && trend.getNumberOfDates() > 1) {
 						final StringBuffer proposedSaveFileName = new StringBuffer();
 						proposedSaveFileName.append(tournament.getName());
-						proposedSaveFileName.append("_tendance_");
+						proposedSaveFileName.append(displayedTrendMode == EnumTrendMode.RATING ? "_elo_" : "_tendance_");
 						proposedSaveFileName.append(periodMode.toString());
 						proposedSaveFileName.append("_");
 						switch (periodMode) {
@@ -630,49 +746,37 @@ public class UITabPanelRCRTrend extends UITabPanel {
 						proposedSaveFileName.append(".csv");
 						final File fileSaveFile = askSaveFileName(proposedSaveFileName.toString());
 						if (fileSaveFile != null) {
-							BufferedWriter writer = null;
-							try {
-								writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(fileSaveFile), Charset.forName("UTF-8")));
-
-								final SortedMap<String, List<Integer>> data = displayFullName ? trend.dataWithPlayerName : trend.dataWithDisplayName;
-								final List<Long> dates = trend.dates;
+							final RCRDataPackageTrend exportedTrend = trend;
+							exportCSV(fileSaveFile, (final CSVWriter writer) -> {
+								final boolean fullName = displayFullName;
+								final long[] dates = exportedTrend.dates;
 
 								final DateFormat dateFormat = DateFormat.getDateInstance(DateFormat.LONG, Locale.FRANCE);
 								final Calendar calendar = Calendar.getInstance();
 
-								for (int index = 0; index < dates.size(); index++) {
-									writer.write(SEPARATOR);
-									calendar.setTimeInMillis(dates.get(index));
-									writer.write(dateFormat.format(calendar.getTime()));
-								}
-								writer.newLine();
-
-								for (final String playerName : data.keySet()) {
-									writer.write(playerName);
-									final List<Integer> score = data.get(playerName);
-									for (int dateIndex = 0; dateIndex < score.size(); dateIndex++) {
-										writer.write(SEPARATOR);
-										writer.write(Integer.toString(score.get(dateIndex)));
-									}
-									writer.newLine();
+								writer.writeField("");
+								for (int index = 0; index < dates.length; index++) {
+									calendar.setTimeInMillis(dates[index]);
+									writer.writeField(dateFormat.format(calendar.getTime()));
 								}
-							} catch (final Exception e) {
-								JOptionPane.showMessageDialog(this, "Une erreur est survenue lors de sauvegarde.", "Erreur", JOptionPane.ERROR_MESSAGE);
-							} finally {
-								if (writer != null) {
-									try {
-										writer.close();
-									} catch (final Exception e) {
+								writer.endRow();
+
+								for (final int playerIndex : exportedTrend.getPlayerOrder(fullName)) {
+									writer.writeField(exportedTrend.getName(playerIndex, fullName));
+									final int[] score = exportedTrend.scores[playerIndex];
+									for (int dateIndex = 0; dateIndex < score.length; dateIndex++) {
+										writer.writeField(score[dateIndex]);
 									}
+									writer.endRow();
 								}
-							}
+							});
 						}
 					}
 				}
 			} catch (final Exception e) {
 				JOptionPane.showMessageDialog(this, e.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
 			}
-		}).start();
+		});
 	}
 
 }
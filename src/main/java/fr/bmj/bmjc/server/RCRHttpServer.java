@@ -0,0 +1,690 @@
+/*
+ * This file is part of Breizh Mahjong Recorder.
+ *
+ * Breizh Mahjong Recorder is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Breizh Mahjong Recorder is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Breizh Mahjong Recorder. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.bmj.bmjc.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.zip.GZIPOutputStream;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import fr.bmj.bmjc.data.game.Player;
+import fr.bmj.bmjc.data.game.Tournament;
+import fr.bmj.bmjc.data.game.rcr.RCRGame;
+import fr.bmj.bmjc.data.game.rcr.RCRScore;
+import fr.bmj.bmjc.data.stat.rcr.RCRDataPackagePersonalAnalyze;
+import fr.bmj.bmjc.data.stat.rcr.RCRDataPackageTrend;
+import fr.bmj.bmjc.data.stat.rcr.RCRTotalScore;
+import fr.bmj.bmjc.dataaccess.abs.rcr.DataAccessRCR;
+import fr.bmj.bmjc.enums.EnumRankingMode;
+import fr.bmj.bmjc.enums.EnumScoreMode;
+import fr.bmj.bmjc.enums.EnumSortingMode;
+import fr.bmj.bmjc.export.JSONWriter;
+import fr.bmj.bmjc.export.RCRBatchReport;
+import fr.bmj.bmjc.export.RCRBatchReport.Period;
+
+public class RCRHttpServer {
+
+	public static final String PORT_PROPERTY = "bmjc.httpPort";
+	public static final String WORKERS_PROPERTY = "bmjc.httpWorkers";
+	public static final int DEFAULT_PORT = 8080;
+	public static final int DEFAULT_CACHE_SIZE = 512;
+
+	private static final String NO_DELAY_PROPERTY = "sun.net.httpserver.nodelay";
+	private static final String CONTEXT = "/api/";
+	private static final String CONTENT_TYPE = "application/json; charset=utf-8";
+	private static final int QUEUE_SIZE_PER_WORKER = 16;
+	private static final int GZIP_MINIMUM_SIZE = 1024;
+
+	private static final int OK = 200;
+	private static final int NOT_MODIFIED = 304;
+	private static final int BAD_REQUEST = 400;
+	private static final int NOT_FOUND = 404;
+	private static final int METHOD_NOT_ALLOWED = 405;
+	private static final int INTERNAL_ERROR = 500;
+
+	private final DataAccessRCR dataAccess;
+	private final LongSupplier watermark;
+	private final String epoch;
+	private final int cacheSize;
+	private final Map<String, Response> responses;
+	private final ThreadPoolExecutor executor;
+	private final HttpServer server;
+
+	private long nbRequests;
+	private long nbCacheHits;
+	private long nbNotModified;
+	private long nbErrors;
+	private long totalTime;
+	private long maxTime;
+
+	public RCRHttpServer(final DataAccessRCR dataAccess, final LongSupplier watermark, final int port, final int nbWorkers, final int cacheSize)
+		throws IOException {
+		this.dataAccess = dataAccess;
+		this.watermark = watermark;
+		epoch = Long.toString(System.currentTimeMillis(), 36);
+		this.cacheSize = cacheSize;
+		responses = new LinkedHashMap<String, Response>(16, 0.75f, true) {
+			private static final long serialVersionUID = -4113675104981765352L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<String, Response> eldest) {
+				return size() > RCRHttpServer.this.cacheSize;
+			}
+		};
+
+		final int workers = Math.max(1, nbWorkers);
+		final AtomicInteger threadIndex = new AtomicInteger();
+		final ThreadFactory threadFactory = (final Runnable runnable) -> new Thread(runnable, "bmjc-http-" + Integer.toString(threadIndex.incrementAndGet()));
+		executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<Runnable>(workers * QUEUE_SIZE_PER_WORKER),
+			threadFactory, new ThreadPoolExecutor.CallerRunsPolicy());
+
+		// The headers and the body are written separately, Nagle's algorithm would hold the body until the client acknowledges the headers
+		if (System.getProperty(NO_DELAY_PROPERTY) == null) {
+			System.setProperty(NO_DELAY_PROPERTY, "true");
+		}
+		server = HttpServer.create(new InetSocketAddress(port), 0);
+		server.createContext(CONTEXT, this::handle);
+		server.setExecutor(executor);
+	}
+
+	public static int getConfiguredPort() {
+		final String port = System.getProperty(PORT_PROPERTY);
+		if (port == null) {
+			return -1;
+		}
+		try {
+			return Integer.parseInt(port);
+		} catch (final NumberFormatException e) {
+			return DEFAULT_PORT;
+		}
+	}
+
+	public static int getConfiguredWorkers() {
+		final int defaultWorkers = Runtime.getRuntime().availableProcessors();
+		try {
+			return Math.max(1, Integer.parseInt(System.getProperty(WORKERS_PROPERTY, Integer.toString(defaultWorkers))));
+		} catch (final NumberFormatException e) {
+			return defaultWorkers;
+		}
+	}
+
+	public void start() {
+		server.start();
+	}
+
+	public void stop() {
+		server.stop(1);
+		executor.shutdown();
+		try {
+			executor.awaitTermination(1, TimeUnit.SECONDS);
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	public int getPort() {
+		return server.getAddress().getPort();
+	}
+
+	private void handle(final HttpExchange exchange) throws IOException {
+		final long start = System.nanoTime();
+		final boolean head = exchange.getRequestMethod().equals("HEAD");
+		int status = INTERNAL_ERROR;
+		boolean cacheHit = false;
+		try {
+			if (!head && !exchange.getRequestMethod().equals("GET")) {
+				exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+				throw new HttpError(METHOD_NOT_ALLOWED, "Méthode non supportée : " + exchange.getRequestMethod());
+			}
+
+			final URI uri = exchange.getRequestURI();
+			final String route = uri.getPath().substring(CONTEXT.length());
+			final Map<String, String> parameters = parseQuery(uri.getRawQuery());
+			final long generation = watermark.getAsLong();
+			final String key = route + "?" + parameters.toString();
+			Response response = getResponse(key, generation);
+			cacheHit = response != null;
+			if (response == null) {
+				response = new Response(generation, compute(route, parameters));
+				putResponse(key, response);
+			}
+			final String eTag = "\"" + epoch + "-" + Long.toString(response.generation, 36) + "\"";
+			if (matches(exchange.getRequestHeaders().getFirst("If-None-Match"), eTag)) {
+				status = NOT_MODIFIED;
+				send(exchange, status, null, eTag, true);
+			} else {
+				status = OK;
+				final String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+				if (response.gzipBody != null && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+					exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+					send(exchange, status, response.gzipBody, eTag, head);
+				} else {
+					send(exchange, status, response.body, eTag, head);
+				}
+			}
+		} catch (final HttpError e) {
+			status = e.status;
+			send(exchange, status, error(e.getMessage()), null, head);
+		} catch (final Exception e) {
+			e.printStackTrace();
+			status = INTERNAL_ERROR;
+			// Nothing more can be said once the headers are sent
+			if (exchange.getResponseCode() < 0) {
+				send(exchange, status, error("Erreur interne"), null, head);
+			}
+		} finally {
+			exchange.close();
+			record(System.nanoTime() - start, status, cacheHit);
+		}
+	}
+
+	private static boolean matches(final String ifNoneMatch, final String eTag) {
+		if (ifNoneMatch == null) {
+			return false;
+		}
+		for (final String candidate : ifNoneMatch.split(",")) {
+			final String value = candidate.trim();
+			if (value.equals("*") || value.equals(eTag) || value.startsWith("W/") && value.substring(2).equals(eTag)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static void send(final HttpExchange exchange, final int status, final byte body[], final String eTag, final boolean head) throws IOException {
+		final Headers headers = exchange.getResponseHeaders();
+		headers.set("Content-Type", CONTENT_TYPE);
+		headers.set("Cache-Control", "no-cache");
+		headers.set("Vary", "Accept-Encoding");
+		headers.set("Access-Control-Allow-Origin", "*");
+		if (eTag != null) {
+			headers.set("ETag", eTag);
+		}
+		if (head || body == null) {
+			exchange.sendResponseHeaders(status, -1);
+		} else {
+			exchange.sendResponseHeaders(status, body.length);
+			final OutputStream output = exchange.getResponseBody();
+			output.write(body);
+			output.close();
+		}
+	}
+
+	private static byte[] error(final String message) {
+		final StringBuilder builder = new StringBuilder();
+		try {
+			new JSONWriter(builder).beginObject().field("error", message).endObject();
+		} catch (final IOException e) {
+			e.printStackTrace();
+		}
+		return builder.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static Map<String, String> parseQuery(final String query) throws HttpError {
+		final Map<String, String> parameters = new TreeMap<String, String>();
+		if (query == null || query.isEmpty()) {
+			return parameters;
+		}
+		try {
+			for (final String parameter : query.split("&")) {
+				if (!parameter.isEmpty()) {
+					final int separator = parameter.indexOf('=');
+					if (separator < 0) {
+						parameters.put(URLDecoder.decode(parameter, "UTF-8"), "");
+					} else {
+						parameters.put(URLDecoder.decode(parameter.substring(0, separator), "UTF-8"), URLDecoder.decode(parameter.substring(separator + 1), "UTF-8"));
+					}
+				}
+			}
+		} catch (final UnsupportedEncodingException | IllegalArgumentException e) {
+			throw new HttpError(BAD_REQUEST, "Requête invalide : " + query);
+		}
+		return parameters;
+	}
+
+	private synchronized Response getResponse(final String key, final long generation) {
+		final Response response = responses.get(key);
+		if (response == null) {
+			return null;
+		}
+		if (response.generation != generation) {
+			responses.remove(key);
+			return null;
+		}
+		return response;
+	}
+
+	private synchronized void putResponse(final String key, final Response response) {
+		if (cacheSize > 0) {
+			responses.put(key, response);
+		}
+	}
+
+	private synchronized void record(final long time, final int status, final boolean cacheHit) {
+		nbRequests++;
+		totalTime += time;
+		maxTime = Math.max(maxTime, time);
+		if (cacheHit) {
+			nbCacheHits++;
+		}
+		if (status == NOT_MODIFIED) {
+			nbNotModified++;
+		} else if (status >= BAD_REQUEST) {
+			nbErrors++;
+		}
+	}
+
+	private byte[] compute(final String route, final Map<String, String> parameters) throws Exception {
+		final StringBuilder builder = new StringBuilder(4096);
+		final JSONWriter jsonWriter = new JSONWriter(builder);
+		switch (route) {
+			case "tournaments":
+				writeTournaments(jsonWriter);
+				break;
+			case "players":
+				writePlayers(jsonWriter, parameters);
+				break;
+			case "years":
+				writeYears(jsonWriter, parameters);
+				break;
+			case "ranking":
+				writeRanking(jsonWriter, parameters);
+				break;
+			case "trend":
+				writeTrend(jsonWriter, parameters);
+				break;
+			case "personal":
+				writePersonalAnalyze(jsonWriter, parameters);
+				break;
+			case "cards":
+				writeCards(jsonWriter, parameters);
+				break;
+			case "game":
+				writeGame(jsonWriter, parameters);
+				break;
+			case "games":
+				writeGames(jsonWriter, parameters);
+				break;
+			default:
+				throw new HttpError(NOT_FOUND, "Ressource inconnue : " + route);
+		}
+		return builder.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	private void writeTournaments(final JSONWriter jsonWriter) throws Exception {
+		final List<Tournament> tournaments = check(dataAccess.getRCRTournaments());
+		jsonWriter.beginArray();
+		for (final Tournament tournament : tournaments) {
+			jsonWriter.beginObject().field("id", tournament.getId()).field("name", tournament.getName()).endObject();
+		}
+		jsonWriter.endArray();
+	}
+
+	private void writePlayers(final JSONWriter jsonWriter, final Map<String, String> parameters) throws Exception {
+		final List<Player> players = check(dataAccess.getRCRPlayers(getBoolean(parameters, "regular")));
+		jsonWriter.beginArray();
+		for (final Player player : players) {
+			jsonWriter.beginObject();
+			jsonWriter.field("playerId", player.getPlayerID()).field("playerName", player.getPlayerName()).field("displayName", player.getDisplayName());
+			jsonWriter.name("regular").value(player.isRegular());
+			jsonWriter.endObject();
+		}
+		jsonWriter.endArray();
+	}
+
+	private void writeYears(final JSONWriter jsonWriter, final Map<String, String> parameters) throws Exception {
+		final List<Integer> years = check(dataAccess.getRCRYears(getTournament(parameters)));
+		jsonWriter.beginArray();
+		for (final Integer year : years) {
+			jsonWriter.value(year);
+		}
+		jsonWriter.endArray();
+	}
+
+	private void writeRanking(final JSONWriter jsonWriter, final Map<String, String> parameters) throws Exception {
+		final Tournament tournament = getTournament(parameters);
+		final Period period = getPeriod(parameters);
+		final EnumRankingMode rankingMode = getEnum(parameters, "mode", EnumRankingMode.class, EnumRankingMode.TOTAL_FINAL_SCORE);
+		final EnumSortingMode sortingMode = getEnum(parameters, "sorting", EnumSortingMode.class, EnumSortingMode.DESCENDING);
+		final boolean onlyRegularPlayers = getBoolean(parameters, "regular");
+		final boolean useMinimumGame = getBoolean(parameters, "minimum");
+		final List<RCRTotalScore> scores = check(dataAccess.getRCRDataPackageRanking(tournament, rankingMode, sortingMode, period.getPeriodMode(),
+			period.getYear(), period.getTrimester(), period.getMonth(), period.getDay(), onlyRegularPlayers, useMinimumGame));
+
+		jsonWriter.beginObject();
+		writeHeader(jsonWriter, tournament, period);
+		jsonWriter.field("rankingMode", rankingMode.name()).field("sortingMode", sortingMode.name());
+		jsonWriter.name("regular").value(onlyRegularPlayers);
+		jsonWriter.name("minimum").value(useMinimumGame);
+		jsonWriter.name("ranking");
+		RCRBatchReport.writeRanking(jsonWriter, scores);
+		jsonWriter.endObject();
+	}
+
+	private void writeTrend(final JSONWriter jsonWriter, final Map<String, String> parameters) throws Exception {
+		final Tournament tournament = getTournament(parameters);
+		final Period period = getPeriod(parameters);
+		final RCRDataPackageTrend trend = check(dataAccess.getRCRDataPackageTrend(tournament, period.getPeriodMode(), period.getYear(),
+			period.getTrimester(), period.getMonth(), period.getDay()));
+
+		jsonWriter.beginObject();
+		writeHeader(jsonWriter, tournament, period);
+		// The first date is the origin of the curves
+		jsonWriter.name("dates").beginArray();
+		for (final long date : trend.dates) {
+			jsonWriter.value(date == 0 ? null : Instant.ofEpochMilli(date).atZone(ZoneId.systemDefault()).toLocalDate().toString());
+		}
+		jsonWriter.endArray();
+		jsonWriter.name("players").beginArray();
+		for (int playerIndex = 0; playerIndex < trend.getNumberOfPlayers(); playerIndex++) {
+			jsonWriter.beginObject();
+			jsonWriter.field("playerName", trend.playerNames[playerIndex]).field("displayName", trend.displayNames[playerIndex]);
+			jsonWriter.name("scores").beginArray();
+			for (final int score : trend.scores[playerIndex]) {
+				jsonWriter.value(score);
+			}
+			jsonWriter.endArray();
+			jsonWriter.endObject();
+		}
+		jsonWriter.endArray();
+		jsonWriter.endObject();
+	}
+
+	private void writePersonalAnalyze(final JSONWriter jsonWriter, final Map<String, String> parameters) throws Exception {
+		final Tournament tournament = getTournament(parameters);
+		final Period period = getPeriod(parameters);
+		final EnumScoreMode scoreMode = getEnum(parameters, "score", EnumScoreMode.class, EnumScoreMode.FINAL_SCORE);
+		final short playerId;
+		try {
+			playerId = Short.parseShort(getParameter(parameters, "player"));
+		} catch (final NumberFormatException e) {
+			throw new HttpError(BAD_REQUEST, "Joueur invalide : " + parameters.get("player"));
+		}
+		final Player player = getPlayers().get(playerId);
+		if (player == null) {
+			throw new HttpError(NOT_FOUND, "Joueur inconnu : " + Short.toString(playerId));
+		}
+		final RCRDataPackagePersonalAnalyze dataPackage = check(dataAccess.getRCRDataPackagePersonalAnalyze(tournament, playerId, scoreMode,
+			period.getPeriodMode(), period.getYear(), period.getTrimester(), period.getMonth(), period.getDay()));
+
+		jsonWriter.beginObject();
+		writeHeader(jsonWriter, tournament, period);
+		jsonWriter.field("scoreMode", scoreMode.name());
+		RCRBatchReport.writeCard(jsonWriter, playerId, player, dataPackage);
+		jsonWriter.name("gameIds").beginArray();
+		for (int index = 0; index < dataPackage.getNumberOfGames(); index++) {
+			jsonWriter.value(dataPackage.getGameId(index));
+		}
+		jsonWriter.endArray();
+		jsonWriter.name("scores").beginArray();
+		for (int index = 0; index < dataPackage.getNumberOfGames(); index++) {
+			jsonWriter.value(dataPackage.getScore(index));
+		}
+		jsonWriter.endArray();
+		jsonWriter.name("sums").beginArray();
+		for (int index = 0; index < dataPackage.getNumberOfGames(); index++) {
+			jsonWriter.value(dataPackage.getSum(index));
+		}
+		jsonWriter.endArray();
+		jsonWriter.endObject();
+	}
+
+	private void writeCards(final JSONWriter jsonWriter, final Map<String, String> parameters) throws Exception {
+		final Tournament tournament = getTournament(parameters);
+		final Period period = getPeriod(parameters);
+		final EnumScoreMode scoreMode = getEnum(parameters, "score", EnumScoreMode.class, EnumScoreMode.FINAL_SCORE);
+		final Map<Short, RCRDataPackagePersonalAnalyze> dataPackages = check(dataAccess.getRCRDataPackagePersonalAnalyzeAllPlayers(tournament,
+			scoreMode, period.getPeriodMode(), period.getYear(), period.getTrimester(), period.getMonth(), period.getDay()));
+		final Map<Short, Player> players = getPlayers();
+
+		jsonWriter.beginObject();
+		writeHeader(jsonWriter, tournament, period);
+		jsonWriter.field("scoreMode", scoreMode.name());
+		jsonWriter.name("players").beginArray();
+		for (final Map.Entry<Short, RCRDataPackagePersonalAnalyze> entry : dataPackages.entrySet()) {
+			jsonWriter.beginObject();
+			RCRBatchReport.writeCard(jsonWriter, entry.getKey(), players.get(entry.getKey()), entry.getValue());
+			jsonWriter.endObject();
+		}
+		jsonWriter.endArray();
+		jsonWriter.endObject();
+	}
+
+	private void writeGame(final JSONWriter jsonWriter, final Map<String, String> parameters) throws Exception {
+		final long id;
+		try {
+			id = Long.parseLong(getParameter(parameters, "id"));
+		} catch (final NumberFormatException e) {
+			throw new HttpError(BAD_REQUEST, "Partie invalide : " + parameters.get("id"));
+		}
+		final RCRGame game = dataAccess.getRCRGame(id);
+		if (game == null) {
+			throw new HttpError(NOT_FOUND, "Partie inconnue : " + Long.toString(id));
+		}
+		writeGame(jsonWriter, game);
+	}
+
+	private void writeGames(final JSONWriter jsonWriter, final Map<String, String> parameters) throws Exception {
+		final Tournament tournament = getTournament(parameters);
+		final LocalDate date;
+		try {
+			date = LocalDate.parse(getParameter(parameters, "date"));
+		} catch (final DateTimeParseException e) {
+			throw new HttpError(BAD_REQUEST, "Date invalide : " + parameters.get("date"));
+		}
+		final List<Long> ids = check(dataAccess.getRCRGameIds(tournament, date.getYear(), date.getMonthValue() - 1, date.getDayOfMonth()));
+
+		jsonWriter.beginObject();
+		jsonWriter.field("tournamentId", tournament.getId()).field("tournament", tournament.getName()).field("date", date.toString());
+		jsonWriter.name("games").beginArray();
+		for (final Long id : ids) {
+			final RCRGame game = dataAccess.getRCRGame(id);
+			if (game != null) {
+				writeGame(jsonWriter, game);
+			}
+		}
+		jsonWriter.endArray();
+		jsonWriter.endObject();
+	}
+
+	private static void writeGame(final JSONWriter jsonWriter, final RCRGame game) throws IOException {
+		jsonWriter.beginObject();
+		jsonWriter.field("id", game.getId()).field("tournamentId", game.getTournamentId());
+		jsonWriter.field("date", LocalDate.of(game.getYear(), game.getMonth() + 1, game.getDay()).toString());
+		jsonWriter.field("rounds", game.getNbRounds()).field("players", game.getNbPlayers());
+		jsonWriter.name("scores").beginArray();
+		for (final RCRScore score : game.getScores()) {
+			jsonWriter.beginObject();
+			jsonWriter.field("playerId", score.getPlayerId()).field("playerName", score.getPlayerName()).field("displayName", score.getDisplayName());
+			jsonWriter.field("place", score.getPlace()).field("gameScore", score.getGameScore()).field("uma", score.getUmaScore());
+			jsonWriter.field("finalScore", score.getFinalScore());
+			jsonWriter.endObject();
+		}
+		jsonWriter.endArray();
+		jsonWriter.endObject();
+	}
+
+	private static void writeHeader(final JSONWriter jsonWriter, final Tournament tournament, final Period period) throws IOException {
+		jsonWriter.field("tournamentId", tournament.getId()).field("tournament", tournament.getName());
+		jsonWriter.field("period", period.getName()).field("periodMode", period.getPeriodMode().name());
+	}
+
+	private static <T> T check(final T result) throws HttpError {
+		if (result == null) {
+			throw new HttpError(INTERNAL_ERROR, "Erreur de la base de données");
+		}
+		return result;
+	}
+
+	private static String getParameter(final Map<String, String> parameters, final String name) throws HttpError {
+		final String value = parameters.get(name);
+		if (value == null || value.isEmpty()) {
+			throw new HttpError(BAD_REQUEST, "Paramètre manquant : " + name);
+		}
+		return value;
+	}
+
+	private static <E extends Enum<E>> E getEnum(final Map<String, String> parameters, final String name, final Class<E> enumClass, final E defaultValue)
+		throws HttpError {
+		final String value = parameters.get(name);
+		if (value == null || value.isEmpty()) {
+			return defaultValue;
+		}
+		try {
+			return Enum.valueOf(enumClass, value.trim().toUpperCase());
+		} catch (final IllegalArgumentException e) {
+			throw new HttpError(BAD_REQUEST, "Valeur invalide pour " + name + " : " + value);
+		}
+	}
+
+	private static boolean getBoolean(final Map<String, String> parameters, final String name) throws HttpError {
+		final String value = parameters.get(name);
+		if (value == null || value.isEmpty() || value.equalsIgnoreCase("false")) {
+			return false;
+		}
+		if (value.equalsIgnoreCase("true")) {
+			return true;
+		}
+		throw new HttpError(BAD_REQUEST, "Valeur invalide pour " + name + " : " + value);
+	}
+
+	private Tournament getTournament(final Map<String, String> parameters) throws HttpError {
+		final String value = getParameter(parameters, "tournament");
+		for (final Tournament tournament : check(dataAccess.getRCRTournaments())) {
+			if (Short.toString(tournament.getId()).equals(value) || tournament.getName().equalsIgnoreCase(value)) {
+				return tournament;
+			}
+		}
+		throw new HttpError(NOT_FOUND, "Tournoi inconnu : " + value);
+	}
+
+	private static Period getPeriod(final Map<String, String> parameters) throws HttpError {
+		final List<Period> periods;
+		try {
+			periods = Period.parse(parameters.getOrDefault("period", "all"));
+		} catch (final IllegalArgumentException e) {
+			throw new HttpError(BAD_REQUEST, e.getMessage());
+		}
+		if (periods.size() != 1) {
+			throw new HttpError(BAD_REQUEST, "Une seule période par requête : " + parameters.get("period"));
+		}
+		return periods.get(0);
+	}
+
+	private Map<Short, Player> getPlayers() throws HttpError {
+		final Map<Short, Player> players = new HashMap<Short, Player>();
+		for (final Player player : check(dataAccess.getRCRPlayers(false))) {
+			players.put(player.getPlayerID(), player);
+		}
+		return players;
+	}
+
+	public int getCacheSize() {
+		return cacheSize;
+	}
+
+	public synchronized int getNbCachedResponses() {
+		return responses.size();
+	}
+
+	public synchronized long getNbRequests() {
+		return nbRequests;
+	}
+
+	public synchronized long getNbCacheHits() {
+		return nbCacheHits;
+	}
+
+	public synchronized long getNbNotModified() {
+		return nbNotModified;
+	}
+
+	public synchronized long getNbErrors() {
+		return nbErrors;
+	}
+
+	public synchronized long getTotalTime() {
+		return totalTime;
+	}
+
+	public synchronized long getMaxTime() {
+		return maxTime;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "HTTP requests " + Long.toString(nbRequests) + ", cache hits " + Long.toString(nbCacheHits) + ", not modified " + Long.toString(nbNotModified)
+			+ ", errors " + Long.toString(nbErrors) + ", mean time " + Long.toString(nbRequests > 0 ? totalTime / nbRequests / 1000 : 0) + " us, max time "
+			+ Long.toString(maxTime / 1000) + " us, cached responses " + Integer.toString(responses.size()) + "/" + Integer.toString(cacheSize);
+	}
+
+	private static class Response {
+		private final long generation;
+		private final byte body[];
+		private final byte gzipBody[];
+
+		public Response(final long generation, final byte body[]) throws IOException {
+			this.generation = generation;
+			this.body = body;
+			if (body.length >= GZIP_MINIMUM_SIZE) {
+				final ByteArrayOutputStream output = new ByteArrayOutputStream(body.length / 4);
+				final GZIPOutputStream gzipOutput = new GZIPOutputStream(output);
+				gzipOutput.write(body);
+				gzipOutput.close();
+				gzipBody = output.toByteArray();
+			} else {
+				gzipBody = null;
+			}
+		}
+	}
+
+	private static class HttpError extends Exception {
+		private static final long serialVersionUID = 6402853471942150633L;
+
+		private final int status;
+
+		public HttpError(final int status, final String message) {
+			super(message);
+			this.status = status;
+		}
+	}
+
+}